@@ -1,6 +1,5 @@
 package me.deecaad.core.compatibility.block;
 
-import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.ReflectionUtil;
 import net.minecraft.server.v1_12_R1.AxisAlignedBB;
 import net.minecraft.server.v1_12_R1.BlockPosition;
@@ -35,21 +34,21 @@ public class Block_1_12_R1 implements BlockCompatibility {
     }
 
     @Override
-    public HitBox getHitBox(@NotNull Block block, boolean allowLiquid) {
+    public BlockShape getShape(@NotNull Block block, boolean allowLiquid) {
+        // 1.12 has no BlockData to use as a cache key, so shapes are not
+        // cached in this version.
+        return computeShape(block).filter(allowLiquid);
+    }
+
+    @Override
+    public @NotNull BlockShape computeShape(@NotNull Block block) {
         if (!block.getChunk().isLoaded())
-            return null;
+            return BlockShape.EMPTY;
         if (block.isEmpty())
-            return null;
+            return BlockShape.EMPTY;
 
-        boolean isLiquid = block.isLiquid();
-        if (!allowLiquid && isLiquid)
-            return null;
-
-        if (isLiquid) {
-            HitBox hitBox = new HitBox(block.getX(), block.getY(), block.getZ(), block.getX() + 1, block.getY() + 1, block.getZ() + 1);
-            hitBox.setBlockHitBox(block);
-            return hitBox;
-        }
+        if (block.isLiquid())
+            return new BlockShape(true, true, new double[]{0, 0, 0, 1, 1, 1}, null);
 
         WorldServer worldServer = ((CraftWorld) block.getWorld()).getHandle();
         BlockPosition blockPosition = new BlockPosition(block.getX(), block.getY(), block.getZ());
@@ -58,17 +57,14 @@ public class Block_1_12_R1 implements BlockCompatibility {
 
         // Passable block check -> false means passable (thats why !)
         if (!(blockData.d(worldServer, blockPosition) != net.minecraft.server.v1_12_R1.Block.k && nmsBlock.a(blockData, false)))
-            return null;
+            return BlockShape.EMPTY;
 
         AxisAlignedBB aabb = blockData.e(worldServer, blockPosition);
         // 1.12 -> e
         // 1.11 -> d
         // 1.9 - 1.10 -> c
 
-        int x = blockPosition.getX(), y = blockPosition.getY(), z = blockPosition.getZ();
-        HitBox hitBox = new HitBox(x + aabb.a, y + aabb.b, z + aabb.c, x + aabb.d, y + aabb.e, z + aabb.f);
-        hitBox.setBlockHitBox(block);
-        return hitBox;
+        return new BlockShape(false, false, new double[]{aabb.a, aabb.b, aabb.c, aabb.d, aabb.e, aabb.f}, null);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package me.deecaad.core.compatibility.block;
 
-import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.ReflectionUtil;
 import net.minecraft.server.v1_13_R2.AxisAlignedBB;
 import net.minecraft.server.v1_13_R2.BlockPosition;
@@ -32,43 +31,39 @@ public class Block_1_13_R2 implements BlockCompatibility {
     }
 
     @Override
-    public HitBox getHitBox(@NotNull Block block, boolean allowLiquid) {
-        if (!block.getChunk().isLoaded())
-            return null;
+    public @NotNull BlockShape computeShape(@NotNull Block block) {
         if (block.isEmpty())
-            return null;
+            return BlockShape.EMPTY;
 
         boolean isLiquid = block.isLiquid();
-        if (!allowLiquid) {
-            if (block.isPassable() || block.isLiquid())
-                return null;
-        } else if (!isLiquid && block.isPassable()) {
-            // Check like this because liquid is also passable...
-            return null;
-        }
-
-        HitBox hitBox;
-        if (isLiquid) {
-            hitBox = new HitBox(block.getX(), block.getY(), block.getZ(), block.getX() + 1, block.getY() + 1, block.getZ() + 1);
-        } else {
-            BoundingBox boundingBox = block.getBoundingBox();
-            hitBox = new HitBox(boundingBox.getMinX(), boundingBox.getMinY(), boundingBox.getMinZ(), boundingBox.getMaxX(), boundingBox.getMaxY(), boundingBox.getMaxZ());
-        }
-        hitBox.setBlockHitBox(block);
-
+        if (isLiquid)
+            return new BlockShape(true, block.isPassable(), new double[]{0, 0, 0, 1, 1, 1}, null);
+
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        BoundingBox boundingBox = block.getBoundingBox();
+        double[] box = new double[]{
+            boundingBox.getMinX() - x, boundingBox.getMinY() - y, boundingBox.getMinZ() - z,
+            boundingBox.getMaxX() - x, boundingBox.getMaxY() - y, boundingBox.getMaxZ() - z};
+
+        double[] parts = null;
         CraftBlock craftBlock = (CraftBlock) block;
         List<AxisAlignedBB> voxelShape = craftBlock.getNMS().getCollisionShape(craftBlock.getCraftWorld().getHandle(), craftBlock.getPosition()).d();
         if (voxelShape.size() > 1) {
-            int x = block.getX();
-            int y = block.getY();
-            int z = block.getZ();
+            parts = new double[voxelShape.size() * 6];
+            int i = 0;
             for (AxisAlignedBB boxPart : voxelShape) {
-                hitBox.addVoxelShapePart(new HitBox(x + boxPart.minX, y + boxPart.minY, z + boxPart.minZ,
-                    x + boxPart.maxX, y + boxPart.maxY, z + boxPart.maxZ));
+                parts[i++] = boxPart.minX;
+                parts[i++] = boxPart.minY;
+                parts[i++] = boxPart.minZ;
+                parts[i++] = boxPart.maxX;
+                parts[i++] = boxPart.maxY;
+                parts[i++] = boxPart.maxZ;
             }
         }
 
-        return hitBox;
+        return new BlockShape(false, block.isPassable(), box, parts);
     }
 
     @Override
@@ -210,15 +210,15 @@ public class FakeEntity_1_13_R2 extends FakeEntity {
                 continue;
             }
 
-            connection.sendPacket(spawn);
-            connection.sendPacket(meta);
-            connection.sendPacket(head);
-            connection.sendPacket(velocity);
-            connection.sendPacket(look);
+            send(connection, spawn);
+            send(connection, meta);
+            send(connection, head);
+            send(connection, velocity);
+            send(connection, look);
             PacketPlayOutEntityEquipment[] equipment = getEquipmentPacket();
             if (equipment != null) {
                 for (PacketPlayOutEntityEquipment packet : equipment) {
-                    connection.sendPacket(packet);
+                    send(connection, packet);
                 }
             }
 
@@ -232,17 +232,17 @@ public class FakeEntity_1_13_R2 extends FakeEntity {
         if (connections.contains(connection))
             throw new IllegalArgumentException();
 
-        connection.sendPacket(type.isAlive()
+        send(connection, type.isAlive()
             ? new PacketPlayOutSpawnEntityLiving((EntityLiving) entity)
             : new PacketPlayOutSpawnEntity(entity, getSpawnId(), type == EntityType.FALLING_BLOCK ? Block.getCombinedId(block) : 0));
-        connection.sendPacket(new PacketPlayOutEntityMetadata(cache, entity.getDataWatcher(), true));
-        connection.sendPacket(new PacketPlayOutEntityLook(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
-        connection.sendPacket(new PacketPlayOutEntityVelocity(cache, motion.getX(), motion.getY(), motion.getZ()));
-        connection.sendPacket(new PacketPlayOutEntityHeadRotation(entity, convertYaw(getYaw())));
+        send(connection, new PacketPlayOutEntityMetadata(cache, entity.getDataWatcher(), true));
+        send(connection, new PacketPlayOutEntityLook(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
+        send(connection, new PacketPlayOutEntityVelocity(cache, motion.getX(), motion.getY(), motion.getZ()));
+        send(connection, new PacketPlayOutEntityHeadRotation(entity, convertYaw(getYaw())));
         PacketPlayOutEntityEquipment[] equipment = getEquipmentPacket();
         if (equipment != null) {
             for (PacketPlayOutEntityEquipment packet : equipment) {
-                connection.sendPacket(packet);
+                send(connection, packet);
             }
         }
 
@@ -268,7 +268,7 @@ public class FakeEntity_1_13_R2 extends FakeEntity {
     @Override
     public void remove(@NotNull Player player) {
         PlayerConnection connection = ((CraftPlayer) player).getHandle().playerConnection;
-        connection.sendPacket(new PacketPlayOutEntityDestroy(cache));
+        send(connection, new PacketPlayOutEntityDestroy(cache));
 
         // Uninject player from seeing position changes
         if (!connections.remove(connection)) {
@@ -325,6 +325,16 @@ public class FakeEntity_1_13_R2 extends FakeEntity {
         return temp.isEmpty() ? null : temp.toArray(new PacketPlayOutEntityEquipment[0]);
     }
 
+    /**
+     * Sends the packet right away, or queues it while fake entity packets are being bundled.
+     */
+    private void send(PlayerConnection connection, Packet<?> packet) {
+        if (isBundling())
+            queue(connection.player.getBukkitEntity(), packet);
+        else
+            connection.sendPacket(packet);
+    }
+
     private void sendPackets(Packet<?>... packets) {
         Iterator<PlayerConnection> connectionIterator = connections.iterator();
         while (connectionIterator.hasNext()) {
@@ -334,7 +344,7 @@ public class FakeEntity_1_13_R2 extends FakeEntity {
                 continue;
             }
             for (Packet<?> packet : packets) {
-                connection.sendPacket(packet);
+                send(connection, packet);
             }
         }
     }
@@ -213,14 +213,14 @@ public class FakeEntity_1_16_R3 extends FakeEntity {
                 continue;
             }
 
-            connection.sendPacket(spawn);
-            connection.sendPacket(meta);
-            connection.sendPacket(head);
-            connection.sendPacket(velocity);
-            connection.sendPacket(look);
+            send(connection, spawn);
+            send(connection, meta);
+            send(connection, head);
+            send(connection, velocity);
+            send(connection, look);
             PacketPlayOutEntityEquipment equipment = getEquipmentPacket();
             if (equipment != null)
-                connection.sendPacket(equipment);
+                send(connection, equipment);
 
             connections.add(connection);
         }
@@ -232,16 +232,16 @@ public class FakeEntity_1_16_R3 extends FakeEntity {
         if (connections.contains(connection))
             throw new IllegalArgumentException();
 
-        connection.sendPacket(type.isAlive()
+        send(connection, type.isAlive()
             ? new PacketPlayOutSpawnEntityLiving((EntityLiving) entity)
             : new PacketPlayOutSpawnEntity(entity, type == EntityType.FALLING_BLOCK ? Block.getCombinedId(block) : 0));
-        connection.sendPacket(new PacketPlayOutEntityMetadata(cache, entity.getDataWatcher(), true));
-        connection.sendPacket(new PacketPlayOutEntityLook(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
-        connection.sendPacket(new PacketPlayOutEntityVelocity(cache, new Vec3D(motion.getX(), motion.getY(), motion.getZ())));
-        connection.sendPacket(new PacketPlayOutEntityHeadRotation(entity, convertYaw(getYaw())));
+        send(connection, new PacketPlayOutEntityMetadata(cache, entity.getDataWatcher(), true));
+        send(connection, new PacketPlayOutEntityLook(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
+        send(connection, new PacketPlayOutEntityVelocity(cache, new Vec3D(motion.getX(), motion.getY(), motion.getZ())));
+        send(connection, new PacketPlayOutEntityHeadRotation(entity, convertYaw(getYaw())));
         PacketPlayOutEntityEquipment equipment = getEquipmentPacket();
         if (equipment != null)
-            connection.sendPacket(equipment);
+            send(connection, equipment);
 
         // Inject the player's packet connection into this listener, so we can
         // show the player position/velocity/rotation changes
@@ -265,7 +265,7 @@ public class FakeEntity_1_16_R3 extends FakeEntity {
     @Override
     public void remove(@NotNull Player player) {
         PlayerConnection connection = ((CraftPlayer) player).getHandle().playerConnection;
-        connection.sendPacket(new PacketPlayOutEntityDestroy(cache));
+        send(connection, new PacketPlayOutEntityDestroy(cache));
 
         // Uninject player from seeing position changes
         if (!connections.remove(connection)) {
@@ -320,6 +320,16 @@ public class FakeEntity_1_16_R3 extends FakeEntity {
         return equipmentList.isEmpty() ? null : new PacketPlayOutEntityEquipment(cache, equipmentList);
     }
 
+    /**
+     * Sends the packet right away, or queues it while fake entity packets are being bundled.
+     */
+    private void send(PlayerConnection connection, Packet<?> packet) {
+        if (isBundling())
+            queue(connection.player.getBukkitEntity(), packet);
+        else
+            connection.sendPacket(packet);
+    }
+
     private void sendPackets(Packet<?>... packets) {
         Iterator<PlayerConnection> connectionIterator = connections.iterator();
         while (connectionIterator.hasNext()) {
@@ -329,7 +339,7 @@ public class FakeEntity_1_16_R3 extends FakeEntity {
                 continue;
             }
             for (Packet<?> packet : packets) {
-                connection.sendPacket(packet);
+                send(connection, packet);
             }
         }
     }
@@ -225,13 +225,13 @@ public class FakeEntity_1_20_R1 extends FakeEntity {
                 continue;
             }
 
-            connection.send(spawn);
-            connection.send(meta);
-            connection.send(head);
-            connection.send(velocity);
-            connection.send(look);
+            send(connection, spawn);
+            send(connection, meta);
+            send(connection, head);
+            send(connection, velocity);
+            send(connection, look);
             if (equipment != null)
-                connection.send(equipment);
+                send(connection, equipment);
 
             connections.add(connection);
         }
@@ -244,16 +244,16 @@ public class FakeEntity_1_20_R1 extends FakeEntity {
 
         ServerGamePacketListenerImpl connection = ((CraftPlayer) player).getHandle().connection;
 
-        connection.send(type.isAlive()
+        send(connection, type.isAlive()
             ? new ClientboundAddEntityPacket(entity) // TODO CHECK THIS... used to be "addmob", changed in 1.19?
             : new ClientboundAddEntityPacket(entity, type == EntityType.FALLING_BLOCK ? Block.getId(block) : 0));
-        connection.send(new ClientboundSetEntityDataPacket(cache, getEntityData(entity.getEntityData(), true)));
-        connection.send(new Rot(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
-        connection.send(new ClientboundSetEntityMotionPacket(cache, new Vec3(motion.getX(), motion.getY(), motion.getZ())));
-        connection.send(new ClientboundRotateHeadPacket(entity, convertYaw(getYaw())));
+        send(connection, new ClientboundSetEntityDataPacket(cache, getEntityData(entity.getEntityData(), true)));
+        send(connection, new Rot(cache, convertYaw(getYaw()), convertPitch(getPitch()), false));
+        send(connection, new ClientboundSetEntityMotionPacket(cache, new Vec3(motion.getX(), motion.getY(), motion.getZ())));
+        send(connection, new ClientboundRotateHeadPacket(entity, convertYaw(getYaw())));
         ClientboundSetEquipmentPacket equipment = getEquipmentPacket();
         if (equipment != null)
-            connection.send(equipment);
+            send(connection, equipment);
 
         // Inject the player's packet connection into this listener, so we can
         // show the player position/velocity/rotation changes
@@ -279,7 +279,7 @@ public class FakeEntity_1_20_R1 extends FakeEntity {
         if (!player.isOnline())
             return;
         ServerGamePacketListenerImpl connection = ((CraftPlayer) player).getHandle().connection;
-        connection.send(new ClientboundRemoveEntitiesPacket(cache));
+        send(connection, new ClientboundRemoveEntitiesPacket(cache));
 
         // Uninject player from seeing position changes
         if (!connections.remove(connection)) {
@@ -334,6 +334,16 @@ public class FakeEntity_1_20_R1 extends FakeEntity {
         return equipmentList.isEmpty() ? null : new ClientboundSetEquipmentPacket(cache, equipmentList);
     }
 
+    /**
+     * Sends the packet right away, or queues it while fake entity packets are being bundled.
+     */
+    private void send(ServerGamePacketListenerImpl connection, Packet<?> packet) {
+        if (isBundling())
+            queue(connection.player.getBukkitEntity(), packet);
+        else
+            connection.send(packet);
+    }
+
     private void sendPackets(Packet<?>... packets) {
         Iterator<ServerGamePacketListenerImpl> connectionIterator = connections.iterator();
         while (connectionIterator.hasNext()) {
@@ -343,7 +353,7 @@ public class FakeEntity_1_20_R1 extends FakeEntity {
                 continue;
             }
             for (Packet<?> packet : packets) {
-                connection.send(packet);
+                send(connection, packet);
             }
         }
     }
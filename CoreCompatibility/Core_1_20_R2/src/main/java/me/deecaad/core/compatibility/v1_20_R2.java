@@ -9,6 +9,7 @@ import me.deecaad.core.compatibility.entity.Entity_1_20_R2;
 import me.deecaad.core.compatibility.nbt.NBTCompatibility;
 import me.deecaad.core.compatibility.nbt.NBT_1_20_R2;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import org.bukkit.World;
@@ -18,8 +19,13 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class v1_20_R2 implements ICompatibility {
 
+    private static final int MAX_BUNDLE_SIZE = 4096;
+
     private final EntityCompatibility entityCompatibility;
     private final BlockCompatibility blockCompatibility;
     private final NBTCompatibility nbtCompatibility;
@@ -51,6 +57,18 @@ public class v1_20_R2 implements ICompatibility {
         }
     }
 
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void sendBundle(Player player, List<Object> packets) {
+        ServerGamePacketListenerImpl playerConnection = getEntityPlayer(player).connection;
+
+        // The client disconnects when a bundle has more than 4096 packets
+        for (int i = 0; i < packets.size(); i += MAX_BUNDLE_SIZE) {
+            List bundle = new ArrayList<>(packets.subList(i, Math.min(packets.size(), i + MAX_BUNDLE_SIZE)));
+            playerConnection.send(new ClientboundBundlePacket(bundle));
+        }
+    }
+
     @Override
     public @NotNull NBTCompatibility getNBTCompatibility() {
         return nbtCompatibility;
@@ -1,24 +1,38 @@
 package me.deecaad.core.compatibility.worldguard;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.LocalPlayer;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
 import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.RegionResultSet;
 import com.sk89q.worldguard.protection.flags.*;
 import com.sk89q.worldguard.protection.flags.registry.FlagConflictException;
 import com.sk89q.worldguard.protection.flags.registry.FlagRegistry;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import com.sk89q.worldguard.protection.regions.RegionQuery;
+import me.deecaad.core.MechanicsCore;
+import me.deecaad.core.utils.primitive.LongMap;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.logging.Level;
 
 public class WorldGuardV7 implements WorldGuardCompatibility {
@@ -26,18 +40,16 @@ public class WorldGuardV7 implements WorldGuardCompatibility {
     private final Map<String, Flag<?>> flags;
     private final FlagRegistry registry;
 
+    // Results of testFlags for each set of regions, cleared every tick
+    private final Map<CacheKey, Boolean> tickCache;
+
     public WorldGuardV7() {
         flags = new HashMap<>();
         registry = WorldGuard.getInstance().getFlagRegistry();
+        tickCache = new HashMap<>();
     }
 
-    @Override
-    public boolean testFlag(@NotNull Location location, @Nullable Player player, @NotNull String flagName) {
-        RegionContainer regionContainer = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery regionQuery = regionContainer.createQuery();
-        ApplicableRegionSet applicableRegionSet = regionQuery.getApplicableRegions(BukkitAdapter.adapt(location));
-        LocalPlayer local = player == null ? null : WorldGuardPlugin.inst().wrapPlayer(player);
-
+    private StateFlag getStateFlag(String flagName) {
         Flag<?> flag = flags.get(flagName);
         if (flag == null) {
             String flagList = "[" + String.join(", ", flags.keySet()) + "]";
@@ -46,10 +58,54 @@ public class WorldGuardV7 implements WorldGuardCompatibility {
             throw new IllegalArgumentException("Flag: " + flagName + " is not a StateFlag");
         }
 
-        StateFlag stateFlag = (StateFlag) flag;
+        return (StateFlag) flag;
+    }
+
+    @Override
+    public boolean testFlag(@NotNull Location location, @Nullable Player player, @NotNull String flagName) {
+        RegionContainer regionContainer = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        RegionQuery regionQuery = regionContainer.createQuery();
+        ApplicableRegionSet applicableRegionSet = regionQuery.getApplicableRegions(BukkitAdapter.adapt(location));
+        LocalPlayer local = player == null ? null : WorldGuardPlugin.inst().wrapPlayer(player);
+
+        StateFlag stateFlag = getStateFlag(flagName);
         return applicableRegionSet.testState(local, stateFlag);
     }
 
+    @Override
+    public @NotNull BlockTest testFlags(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+        @Nullable Player player, @NotNull String flagName) {
+
+        StateFlag flag = getStateFlag(flagName);
+        BlockTest outside = WorldGuardCompatibility.super.testFlags(world, minX, minY, minZ, maxX, maxY, maxZ, player, flagName);
+        RegionManager manager = WorldGuard.getInstance().getPlatform().getRegionContainer().get(BukkitAdapter.adapt(world));
+        if (manager == null)
+            return outside;
+
+        // 1 query for the whole box, every section only checks these regions
+        ProtectedRegion box = new ProtectedCuboidRegion("mechanicscore-batch", BlockVector3.at(minX, minY, minZ), BlockVector3.at(maxX, maxY, maxZ));
+        List<ProtectedRegion> regions = new ArrayList<>();
+        for (ProtectedRegion region : manager.getApplicableRegions(box)) {
+            if (!(region instanceof GlobalProtectedRegion))
+                regions.add(region);
+        }
+
+        LocalPlayer local = player == null ? null : WorldGuardPlugin.inst().wrapPlayer(player);
+        Batch batch = new Batch(world.getUID(), manager.getRegion(ProtectedRegion.GLOBAL_REGION), local, flag, regions.toArray(new ProtectedRegion[0]));
+
+        // Most explosions are not near any regions, so every block has the same result
+        if (regions.isEmpty()) {
+            boolean result = batch.test(Collections.emptyList());
+            return (x, y, z) -> isInside(x, y, z, minX, minY, minZ, maxX, maxY, maxZ) ? result : outside.test(x, y, z);
+        }
+
+        return (x, y, z) -> isInside(x, y, z, minX, minY, minZ, maxX, maxY, maxZ) ? batch.test(x, y, z) : outside.test(x, y, z);
+    }
+
+    private static boolean isInside(int x, int y, int z, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
     @Override
     public Object getValue(@NotNull Location location, @NotNull String flagName) {
         RegionContainer regionContainer = WorldGuard.getInstance().getPlatform().getRegionContainer();
@@ -107,4 +163,129 @@ public class WorldGuardV7 implements WorldGuardCompatibility {
     public boolean isInstalled() {
         return true;
     }
+
+    private record CacheKey(UUID world, StateFlag flag, @Nullable UUID player, Set<String> regions) {
+    }
+
+    /**
+     * Tests 1 flag for the blocks in a box. Regions are resolved once per 16x16x16 section. When the
+     * section is fully inside (or outside) every region, all of its blocks share 1 result. Otherwise,
+     * blocks are grouped by the regions that contain them, and each group is tested once.
+     */
+    private final class Batch {
+
+        private final UUID world;
+        private final ProtectedRegion global;
+        private final LocalPlayer local;
+        private final StateFlag flag;
+        private final ProtectedRegion[] regions;
+        private final LongMap<Section> sections;
+
+        private Batch(UUID world, ProtectedRegion global, LocalPlayer local, StateFlag flag, ProtectedRegion[] regions) {
+            this.world = world;
+            this.global = global;
+            this.local = local;
+            this.flag = flag;
+            this.regions = regions;
+            this.sections = new LongMap<>();
+        }
+
+        private boolean test(int x, int y, int z) {
+            int sectionX = x >> 4;
+            int sectionY = y >> 4;
+            int sectionZ = z >> 4;
+            long key = ((long) sectionX & 0x3FFFFFL) << 42 | ((long) sectionZ & 0x3FFFFFL) << 20 | ((long) sectionY & 0xFFFFFL);
+
+            Section section = sections.get(key);
+            if (section == null) {
+                section = new Section(sectionX << 4, sectionY << 4, sectionZ << 4);
+                sections.put(key, section);
+            }
+            return section.test(x, y, z);
+        }
+
+        /**
+         * Tests the flag for a block contained by exactly the given regions.
+         */
+        private boolean test(List<ProtectedRegion> contained) {
+            Set<String> ids = new HashSet<>();
+            for (ProtectedRegion region : contained)
+                ids.add(region.getId());
+
+            CacheKey key = new CacheKey(world, flag, local == null ? null : local.getUniqueId(), ids);
+            Boolean result = tickCache.get(key);
+            if (result == null) {
+                result = new RegionResultSet(contained, global).testState(local, flag);
+                if (tickCache.isEmpty())
+                    Bukkit.getScheduler().runTask(MechanicsCore.getPlugin(), tickCache::clear);
+                tickCache.put(key, result);
+            }
+            return result;
+        }
+
+        private final class Section {
+
+            private final ProtectedRegion[] intersecting;
+            private final Boolean uniform;
+            private final LongMap<Boolean> masks;
+
+            private Section(int minX, int minY, int minZ) {
+                int maxX = minX + 15;
+                int maxY = minY + 15;
+                int maxZ = minZ + 15;
+
+                List<ProtectedRegion> intersecting = new ArrayList<>();
+                boolean isUniform = true;
+                for (ProtectedRegion region : regions) {
+                    BlockVector3 min = region.getMinimumPoint();
+                    BlockVector3 max = region.getMaximumPoint();
+                    if (max.getBlockX() < minX || min.getBlockX() > maxX || max.getBlockY() < minY || min.getBlockY() > maxY || max.getBlockZ() < minZ || min.getBlockZ() > maxZ)
+                        continue;
+
+                    // Only cuboids are guaranteed to contain every block inside their bounds
+                    intersecting.add(region);
+                    boolean isCovered = min.getBlockX() <= minX && max.getBlockX() >= maxX && min.getBlockY() <= minY && max.getBlockY() >= maxY && min.getBlockZ() <= minZ && max.getBlockZ() >= maxZ;
+                    if (!(region instanceof ProtectedCuboidRegion) || !isCovered)
+                        isUniform = false;
+                }
+
+                this.intersecting = intersecting.toArray(new ProtectedRegion[0]);
+                this.uniform = isUniform ? Batch.this.test(intersecting) : null;
+                this.masks = isUniform ? null : new LongMap<>();
+            }
+
+            private boolean test(int x, int y, int z) {
+                if (uniform != null)
+                    return uniform;
+
+                // Too many regions for a mask, which should never happen
+                if (intersecting.length > Long.SIZE) {
+                    List<ProtectedRegion> contained = new ArrayList<>();
+                    for (ProtectedRegion region : intersecting) {
+                        if (region.contains(x, y, z))
+                            contained.add(region);
+                    }
+                    return Batch.this.test(contained);
+                }
+
+                long mask = 0L;
+                for (int i = 0; i < intersecting.length; i++) {
+                    if (intersecting[i].contains(x, y, z))
+                        mask |= 1L << i;
+                }
+
+                Boolean result = masks.get(mask);
+                if (result == null) {
+                    List<ProtectedRegion> contained = new ArrayList<>();
+                    for (int i = 0; i < intersecting.length; i++) {
+                        if ((mask & (1L << i)) != 0)
+                            contained.add(intersecting[i]);
+                    }
+                    result = Batch.this.test(contained);
+                    masks.put(mask, result);
+                }
+                return result;
+            }
+        }
+    }
 }
\ No newline at end of file
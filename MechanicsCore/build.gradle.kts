@@ -4,6 +4,7 @@ plugins {
     id("io.codearte.nexus-staging") version "0.30.0"
     id("me.deecaad.mechanics-project")
     kotlin("jvm") version Versions.KOTLIN
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -37,6 +38,14 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.9.2")
     testImplementation(Dependencies.LATEST_SPIGOT_API)
     testImplementation(Dependencies.ANNOTATIONS)
+
+    jmh(Dependencies.LATEST_SPIGOT_API)
+}
+
+// Run with ./gradlew :MechanicsCore:jmh, "gc.alloc.rate.norm" is the bytes
+// allocated per benchmark operation
+jmh {
+    profilers.add("gc")
 }
 
 // Create javadocJar and sourcesJar tasks
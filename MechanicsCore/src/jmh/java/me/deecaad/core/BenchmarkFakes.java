@@ -0,0 +1,81 @@
+package me.deecaad.core;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * Creates fake implementations of bukkit interfaces, so benchmarks can run without a server. Each
+ * benchmark only implements the methods its code path uses, and every fake shares the server and
+ * world basics (the name, version and world height).
+ *
+ * <p>
+ * WeaponMechanics benchmarks use this class too, through MechanicsCore's jmh source set.
+ */
+public final class BenchmarkFakes {
+
+    /**
+     * Don't let anyone instantiate this class
+     */
+    private BenchmarkFakes() {
+    }
+
+    /**
+     * Sets the bukkit server to a fake server, unless a server was already set. The fake server
+     * reports 1.20.6, so version checks (like {@link me.deecaad.core.utils.MinecraftVersions}) work.
+     */
+    public static void setupServer() {
+        if (Bukkit.getServer() == null)
+            Bukkit.setServer(proxy(Server.class));
+    }
+
+    /**
+     * Creates a fake implementation of a bukkit (or compatibility) interface. When the handler
+     * returns <code>null</code>, methods with a default implementation use it, methods that return
+     * nothing do nothing, and other methods throw an {@link UnsupportedOperationException}.
+     *
+     * @param clazz The non-null interface to implement.
+     * @param handler The non-null handler for the methods the benchmark uses.
+     * @return The non-null fake.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T proxy(Class<T> clazz, Handler handler) {
+        return (T) Proxy.newProxyInstance(clazz.getClassLoader(), new Class[]{clazz}, (proxy, method, args) -> switch (method.getName()) {
+            case "getMinHeight" -> -64;
+            case "getMaxHeight" -> 320;
+            case "getLogger" -> Logger.getLogger("Benchmark");
+            case "getName" -> "Benchmark";
+            case "getVersion" -> "git-Benchmark (MC: 1.20.6)";
+            case "getBukkitVersion" -> "1.20.6-R0.1-SNAPSHOT";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> clazz.getSimpleName() + "Proxy";
+            default -> {
+                Object value = handler.invoke(proxy, method.getName(), args);
+                if (value != null || method.getReturnType() == void.class)
+                    yield value;
+                if (method.isDefault())
+                    yield InvocationHandler.invokeDefault(proxy, method, args);
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * Creates a fake implementation of a bukkit interface that only supports the shared basics.
+     *
+     * @param clazz The non-null interface to implement.
+     * @return The non-null fake.
+     */
+    public static <T> T proxy(Class<T> clazz) {
+        return proxy(clazz, (proxy, method, args) -> null);
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        Object invoke(Object proxy, String method, Object[] args);
+    }
+}
@@ -0,0 +1,154 @@
+package me.deecaad.core.mechanics;
+
+import me.deecaad.core.BenchmarkFakes;
+import me.deecaad.core.mechanics.defaultmechanics.DamageMechanic;
+import me.deecaad.core.mechanics.defaultmechanics.IgniteMechanic;
+import me.deecaad.core.mechanics.defaultmechanics.LeapMechanic;
+import me.deecaad.core.mechanics.defaultmechanics.Mechanic;
+import me.deecaad.core.mechanics.defaultmechanics.PotionMechanic;
+import me.deecaad.core.mechanics.defaultmechanics.PushMechanic;
+import me.deecaad.core.mechanics.defaultmechanics.SoundMechanic;
+import me.deecaad.core.mechanics.targeters.SourceTargeter;
+import org.bukkit.Location;
+import org.bukkit.Sound;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long it takes to use a list of common default mechanics (sound, potion, damage,
+ * ignite, push and leap) that target the source, like most weapon mechanics do.
+ *
+ * <p>
+ * The cast has a target location (like the hit location of a projectile) a few blocks away from
+ * the source, so push and leap compute a real velocity instead of returning early. Calls on the
+ * fake entity and world are counted and consumed, so the JIT cannot remove the work.
+ *
+ * <p>
+ * {@link #compiled(Blackhole)} uses {@link Mechanics#use(CastData)}, which targets the source
+ * once for every mechanic. {@link #legacy(Blackhole)} is a copy of the old loop, where every
+ * mechanic clones the cast and targets the source on its own. Both grow linearly with the number
+ * of <code>mechanics</code>, but <code>compiled</code> should grow slower.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MechanicsBenchmark {
+
+    @Param({"1", "6", "18"})
+    public int mechanics;
+
+    private List<Mechanic> list;
+    private Mechanics compiled;
+    private CastData cast;
+    private int[] calls;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        BenchmarkFakes.setupServer();
+
+        // The entity ignores potion effects, so no PotionEffect is needed
+        // (PotionEffectType needs the server's registries).
+        List<Supplier<Mechanic>> types = List.of(
+            () -> new SoundMechanic(Sound.ENTITY_GENERIC_EXPLODE, 1.0f, 1.0f, 0.1f, SoundCategory.PLAYERS, null, new ArrayList<>(1)),
+            () -> new PotionMechanic(null),
+            () -> new DamageMechanic(2.0, false, false),
+            () -> new IgniteMechanic(20),
+            () -> new PushMechanic(1.0, 1.0),
+            () -> new LeapMechanic(1.0, 1.0));
+
+        list = new ArrayList<>(mechanics);
+        for (int i = 0; i < mechanics; i++)
+            list.add(defaults(types.get(i % types.size()).get()));
+
+        compiled = new Mechanics(list);
+
+        calls = new int[1];
+        World world = world(calls);
+        cast = new CastData(entity(new Location(world, 0.5, 64.0, 0.5), calls), null, null);
+        cast.setTargetLocation(new Location(world, 4.5, 65.0, 2.5));
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        compiled.use(cast);
+        blackhole.consume(calls[0]);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (Mechanic mechanic : list)
+            mechanic.use(cast);
+        blackhole.consume(calls[0]);
+    }
+
+    /**
+     * Sets the options that are normally set by {@link Mechanic#applyParentArgs}, so the mechanic
+     * can be used without a config.
+     */
+    private static Mechanic defaults(Mechanic mechanic) throws ReflectiveOperationException {
+        set(mechanic, "repeatAmount", 1);
+        set(mechanic, "repeatInterval", 1);
+        set(mechanic, "chance", 1.0);
+        mechanic.targeter = new SourceTargeter();
+        mechanic.conditions = new ArrayList<>(1);
+        return mechanic;
+    }
+
+    private static void set(Mechanic mechanic, String name, Object value) throws ReflectiveOperationException {
+        Field field = Mechanic.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mechanic, value);
+    }
+
+    private static World world(int[] calls) {
+        UUID uuid = UUID.randomUUID();
+        return BenchmarkFakes.proxy(World.class, (proxy, method, args) -> switch (method) {
+            case "getUID" -> uuid;
+            case "playSound" -> {
+                calls[0]++;
+                yield null;
+            }
+            default -> null;
+        });
+    }
+
+    private static LivingEntity entity(Location location, int[] calls) {
+        return BenchmarkFakes.proxy(LivingEntity.class, (proxy, method, args) -> switch (method) {
+            case "getLocation" -> location.clone();
+            case "getEyeLocation" -> location.clone().add(0.0, 1.62, 0.0);
+            case "getWorld" -> location.getWorld();
+            case "addPotionEffect" -> {
+                calls[0]++;
+                yield true;
+            }
+            case "damage", "setFireTicks", "setVelocity" -> {
+                calls[0]++;
+                yield null;
+            }
+            default -> null;
+        });
+    }
+}
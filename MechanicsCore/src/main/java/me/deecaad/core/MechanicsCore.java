@@ -7,6 +7,7 @@ import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerInstancer;
 import me.deecaad.core.listeners.ItemCraftListener;
 import me.deecaad.core.listeners.MechanicsCastListener;
+import me.deecaad.core.mechanics.MechanicScheduler;
 import me.deecaad.core.mechanics.Mechanics;
 import me.deecaad.core.mechanics.conditions.Condition;
 import me.deecaad.core.mechanics.conditions.GeyserCondition;
@@ -23,6 +24,7 @@ import me.deecaad.core.utils.FileUtil;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.MinecraftVersions;
 import me.deecaad.core.utils.ReflectionUtil;
+import me.deecaad.core.utils.spatial.EntityIndex;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
@@ -111,6 +113,14 @@ public class MechanicsCore extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(EquipListener.SINGLETON, this);
         Bukkit.getPluginManager().registerEvents(new ItemCraftListener(), this);
         Bukkit.getPluginManager().registerEvents(new MechanicsCastListener(), this);
+        EntityIndex.SINGLETON.register(this);
+
+        // The entity index lazily moves entities between chunks, so we only
+        // need to let it know when a new tick has started.
+        Bukkit.getScheduler().runTaskTimer(this, EntityIndex.SINGLETON::nextTick, 0, 1);
+
+        // Delayed and repeating mechanics share 1 task
+        Bukkit.getScheduler().runTaskTimer(this, MechanicScheduler.SINGLETON::tick, 0, 1);
 
         // Adventure Chat API
         adventure = BukkitAudiences.create(this);
@@ -139,6 +149,7 @@ public class MechanicsCore extends JavaPlugin {
     public void onDisable() {
         HandlerList.unregisterAll(this);
         Bukkit.getServer().getScheduler().cancelTasks(this);
+        MechanicScheduler.SINGLETON.cancelAll();
         debug = null;
         adventure.close();
         adventure = null;
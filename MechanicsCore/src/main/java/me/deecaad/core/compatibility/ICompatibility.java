@@ -10,6 +10,8 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * This interface outlines a version dependant api, where there is an implementing class for each
  * minecraft protocol version.
@@ -65,6 +67,18 @@ public interface ICompatibility {
      */
     void sendPackets(Player player, Object... packets);
 
+    /**
+     * Sends the given <code>packets</code> to the given <code>player</code> as 1 burst. In 1.19.4 and
+     * higher, the packets are wrapped in bundle packets, so the client handles all of them on the
+     * same frame. Otherwise, this is the same as {@link #sendPackets(Player, Object...)}.
+     *
+     * @param player The non-null player to send the packets to.
+     * @param packets The non-null list of non-null packets to send to the player.
+     */
+    default void sendBundle(Player player, List<Object> packets) {
+        sendPackets(player, packets.toArray());
+    }
+
     /**
      * Returns this version's loaded {@link NBTCompatibility}. The classes for each version can be found
      * in the nbt package.
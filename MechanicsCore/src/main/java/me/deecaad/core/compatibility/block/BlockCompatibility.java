@@ -51,42 +51,82 @@ public interface BlockCompatibility {
      * @return the block's hit box or null if it's passable for example
      */
     default @Nullable HitBox getHitBox(@NotNull Block block, boolean allowLiquid) {
+        BlockShape shape = getShape(block, allowLiquid);
+        return shape == null ? null : shape.toHitBox(block);
+    }
+
+    /**
+     * Returns the shared, immutable shape of the given block. The shape is relative to the block's
+     * position, so use {@link BlockShape#toHitBox(Block)} or
+     * {@link BlockShape#rayTrace(Block, org.bukkit.util.Vector, org.bukkit.util.Vector)} to
+     * translate it. Shapes are cached by block state, so calling this method for every block a ray
+     * passes through is much cheaper than building a new {@link HitBox}.
+     *
+     * <p>
+     * Follows the same rules as {@link #getHitBox(Block, boolean)}, so this method returns null
+     * when the block is passable.
+     *
+     * @param block the block
+     * @param allowLiquid whether liquid should be considered as having hit box
+     * @return the block's shape or null if it's passable for example
+     */
+    default @Nullable BlockShape getShape(@NotNull Block block, boolean allowLiquid) {
         if (!block.getChunk().isLoaded())
             return null;
+
+        if (BlockShape.isDynamic(block.getType()))
+            return computeShape(block).filter(allowLiquid);
+
+        BlockData state = block.getBlockData();
+        BlockShape shape = BlockShape.CACHE.get(state);
+        if (shape == null) {
+            shape = computeShape(block);
+            BlockShape.CACHE.put(state, shape);
+        }
+
+        return shape.filter(allowLiquid);
+    }
+
+    /**
+     * Computes the shape of the given block, relative to the block's position. You probably want to
+     * use {@link #getShape(Block, boolean)}, which caches the result.
+     *
+     * @param block The non-null block.
+     * @return The non-null shape of the block.
+     */
+    default @NotNull BlockShape computeShape(@NotNull Block block) {
         if (block.isEmpty())
-            return null;
+            return BlockShape.EMPTY;
 
         boolean isLiquid = block.isLiquid();
-        if (!allowLiquid) {
-            if (block.isPassable() || block.isLiquid())
-                return null;
-        } else if (!isLiquid && block.isPassable()) {
-            // Check like this because liquid is also passable...
-            return null;
-        }
+        if (isLiquid)
+            return new BlockShape(true, block.isPassable(), new double[]{0, 0, 0, 1, 1, 1}, null);
 
-        HitBox hitBox;
-        if (isLiquid) {
-            hitBox = new HitBox(block.getX(), block.getY(), block.getZ(), block.getX() + 1, block.getY() + 1, block.getZ() + 1);
-        } else {
-            BoundingBox boundingBox = block.getBoundingBox();
-            hitBox = new HitBox(boundingBox.getMinX(), boundingBox.getMinY(), boundingBox.getMinZ(), boundingBox.getMaxX(), boundingBox.getMaxY(), boundingBox.getMaxZ());
-        }
-        hitBox.setBlockHitBox(block);
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        BoundingBox boundingBox = block.getBoundingBox();
+        double[] box = new double[]{
+            boundingBox.getMinX() - x, boundingBox.getMinY() - y, boundingBox.getMinZ() - z,
+            boundingBox.getMaxX() - x, boundingBox.getMaxY() - y, boundingBox.getMaxZ() - z};
 
         // This default should only be used after 1.17 R1
+        double[] parts = null;
         Collection<BoundingBox> voxelShape = block.getCollisionShape().getBoundingBoxes();
         if (voxelShape.size() > 1) {
-            int x = block.getX();
-            int y = block.getY();
-            int z = block.getZ();
+            parts = new double[voxelShape.size() * 6];
+            int i = 0;
             for (BoundingBox boxPart : voxelShape) {
-                hitBox.addVoxelShapePart(new HitBox(x + boxPart.getMinX(), y + boxPart.getMinY(), z + boxPart.getMinZ(),
-                    x + boxPart.getMaxX(), y + boxPart.getMaxY(), z + boxPart.getMaxZ()));
+                parts[i++] = boxPart.getMinX();
+                parts[i++] = boxPart.getMinY();
+                parts[i++] = boxPart.getMinZ();
+                parts[i++] = boxPart.getMaxX();
+                parts[i++] = boxPart.getMaxY();
+                parts[i++] = boxPart.getMaxZ();
             }
         }
 
-        return hitBox;
+        return new BlockShape(false, block.isPassable(), box, parts);
     }
 
     /**
@@ -0,0 +1,276 @@
+package me.deecaad.core.compatibility.block;
+
+import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.utils.ray.RayTraceResult;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable block hit-box, stored relative to the block's minimum corner. Since a block's shape
+ * only depends on its block state, shapes are shared between every block with the same state,
+ * and are translated to the block's position only when needed.
+ *
+ * @see BlockCompatibility#getShape(Block, boolean)
+ */
+public final class BlockShape {
+
+    /**
+     * The shape used for air, and any other block without a hit-box.
+     */
+    public static final BlockShape EMPTY = new BlockShape(false, true, null, null);
+
+    /**
+     * Block states mapped to their shape. Shapes are computed the first time a state is seen, and
+     * are never removed (there are a finite number of block states).
+     */
+    static final Map<Object, BlockShape> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Blocks whose shape depends on more than their block state (random offsets, block entities,
+     * moving pistons). These blocks are never cached.
+     */
+    private static final Set<Material> DYNAMIC = EnumSet.noneOf(Material.class);
+
+    static {
+        for (Material material : Material.values()) {
+            String name = material.name();
+            if (name.startsWith("LEGACY_"))
+                continue;
+
+            if (name.endsWith("SHULKER_BOX") || name.equals("BAMBOO") || name.equals("POINTED_DRIPSTONE")
+                || name.equals("SCAFFOLDING") || name.equals("MOVING_PISTON"))
+                DYNAMIC.add(material);
+        }
+    }
+
+    private final boolean liquid;
+    private final boolean passable;
+    private final double[] box;
+    private final double[] parts;
+
+    /**
+     * Constructs a shape. Every box is given as 6 doubles
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code> relative to the block's minimum corner.
+     *
+     * @param liquid Whether the block is a liquid.
+     * @param passable Whether entities can pass through the block.
+     * @param box The main (bounding) box, or null if the block has no hit-box.
+     * @param parts The voxel shape parts packed one after another, or null if the shape is a single
+     *        box.
+     */
+    public BlockShape(boolean liquid, boolean passable, double @Nullable [] box, double @Nullable [] parts) {
+        this.liquid = liquid;
+        this.passable = passable;
+        this.box = box;
+        this.parts = parts;
+    }
+
+    public boolean isLiquid() {
+        return liquid;
+    }
+
+    public boolean isPassable() {
+        return passable;
+    }
+
+    /**
+     * Returns <code>true</code> if this shape has no hit-box at all (like air).
+     *
+     * @return true if there is no hit-box.
+     */
+    public boolean isEmpty() {
+        return box == null;
+    }
+
+    /**
+     * Applies the liquid/passable rules of {@link BlockCompatibility#getHitBox(Block, boolean)} to
+     * this shape.
+     *
+     * @param allowLiquid whether liquid should be considered as having hit box
+     * @return this shape, or null if the block should be considered passable.
+     */
+    public @Nullable BlockShape filter(boolean allowLiquid) {
+        if (box == null)
+            return null;
+
+        if (!allowLiquid) {
+            if (passable || liquid)
+                return null;
+        } else if (!liquid && passable) {
+            // Check like this because liquid is also passable...
+            return null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Creates a new, mutable {@link HitBox} of this shape translated to the given block.
+     *
+     * @param block The non-null block to translate to.
+     * @return The non-null hit-box.
+     */
+    public @NotNull HitBox toHitBox(@NotNull Block block) {
+        if (box == null)
+            throw new IllegalStateException("Cannot create hit-box of empty shape");
+
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+
+        HitBox hitBox = new HitBox(x + box[0], y + box[1], z + box[2], x + box[3], y + box[4], z + box[5]);
+        hitBox.setBlockHitBox(block);
+
+        if (parts != null) {
+            for (int i = 0; i < parts.length; i += 6) {
+                hitBox.addVoxelShapePart(new HitBox(x + parts[i], y + parts[i + 1], z + parts[i + 2],
+                    x + parts[i + 3], y + parts[i + 4], z + parts[i + 5]));
+            }
+        }
+
+        return hitBox;
+    }
+
+    /**
+     * Ray traces this shape translated to the given block. Rays that miss the bounding box are
+     * rejected without allocating, and a {@link HitBox} is only created when the ray hits.
+     *
+     * @param block The non-null block to translate to.
+     * @param location the start location of ray
+     * @param normalizedMotion the normalized direction
+     * @return the ray trace result or null if there is no hit
+     */
+    public @Nullable RayTraceResult rayTrace(@NotNull Block block, @NotNull Vector location, @NotNull Vector normalizedMotion) {
+        if (box == null)
+            return null;
+
+        double startX = location.getX() - block.getX();
+        double startY = location.getY() - block.getY();
+        double startZ = location.getZ() - block.getZ();
+        if (!intersects(box, startX, startY, startZ, normalizedMotion.getX(), normalizedMotion.getY(), normalizedMotion.getZ()))
+            return null;
+
+        return toHitBox(block).rayTrace(location, normalizedMotion);
+    }
+
+    /**
+     * Returns <code>true</code> if the line segment between the 2 given points passes through the
+     * main (bounding) box of this shape. The points are relative to the block's minimum corner.
+     * Does not allocate, so this may be used for many rays on any thread.
+     *
+     * @param startX The relative x coordinate of the start point.
+     * @param startY The relative y coordinate of the start point.
+     * @param startZ The relative z coordinate of the start point.
+     * @param endX The relative x coordinate of the end point.
+     * @param endY The relative y coordinate of the end point.
+     * @param endZ The relative z coordinate of the end point.
+     * @return true if the segment intersects this shape.
+     */
+    public boolean intersects(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        if (box == null)
+            return false;
+
+        // Slab test, clipping the segment [0, 1] to each axis of the box
+        double tMin = 0.0;
+        double tMax = 1.0;
+
+        double dirX = endX - startX;
+        if (dirX == 0.0) {
+            if (startX < box[0] || startX > box[3])
+                return false;
+        } else {
+            double t1 = (box[0] - startX) / dirX;
+            double t2 = (box[3] - startX) / dirX;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+
+        double dirY = endY - startY;
+        if (dirY == 0.0) {
+            if (startY < box[1] || startY > box[4])
+                return false;
+        } else {
+            double t1 = (box[1] - startY) / dirY;
+            double t2 = (box[4] - startY) / dirY;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+
+        double dirZ = endZ - startZ;
+        if (dirZ == 0.0) {
+            if (startZ < box[2] || startZ > box[5])
+                return false;
+        } else {
+            double t1 = (box[2] - startZ) / dirZ;
+            double t2 = (box[5] - startZ) / dirZ;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+
+        return tMin <= tMax;
+    }
+
+    private static boolean intersects(double[] box, double startX, double startY, double startZ, double dirX, double dirY, double dirZ) {
+        double divX = 1.0 / dirX;
+        double divY = 1.0 / dirY;
+        double divZ = 1.0 / dirZ;
+
+        double tMin = ((dirX >= 0.0 ? box[0] : box[3]) - startX) * divX;
+        double tMax = ((dirX >= 0.0 ? box[3] : box[0]) - startX) * divX;
+        double tyMin = ((dirY >= 0.0 ? box[1] : box[4]) - startY) * divY;
+        double tyMax = ((dirY >= 0.0 ? box[4] : box[1]) - startY) * divY;
+        if (tMin > tyMax || tMax < tyMin)
+            return false;
+        if (tyMin > tMin)
+            tMin = tyMin;
+        if (tyMax < tMax)
+            tMax = tyMax;
+
+        double tzMin = ((dirZ >= 0.0 ? box[2] : box[5]) - startZ) * divZ;
+        double tzMax = ((dirZ >= 0.0 ? box[5] : box[2]) - startZ) * divZ;
+        if (tMin > tzMax || tMax < tzMin)
+            return false;
+        if (tzMax < tMax)
+            tMax = tzMax;
+
+        return tMax >= 0.0;
+    }
+
+    /**
+     * Returns <code>true</code> if blocks of the given type may have different shapes for the same
+     * block state, and should not be cached.
+     *
+     * @param material The non-null block type.
+     * @return true if the shape cannot be cached.
+     */
+    public static boolean isDynamic(@NotNull Material material) {
+        return DYNAMIC.contains(material);
+    }
+
+    /**
+     * Returns the cached shape of the given block state, without computing it. This may be used
+     * off the main thread, for example with the block data of a {@link org.bukkit.ChunkSnapshot}.
+     * Blocks that are {@link #isDynamic(Material)} are never cached.
+     *
+     * @param state The non-null block state (The bukkit BlockData).
+     * @return The cached shape, or null if it wasn't computed yet.
+     */
+    public static @Nullable BlockShape getCached(@NotNull Object state) {
+        return CACHE.get(state);
+    }
+
+    /**
+     * Removes every cached shape. Shapes are computed again the next time they are needed.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+}
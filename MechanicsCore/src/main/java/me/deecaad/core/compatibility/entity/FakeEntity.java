@@ -1,5 +1,7 @@
 package me.deecaad.core.compatibility.entity;
 
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.ICompatibility;
 import org.bukkit.EntityEffect;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
@@ -10,7 +12,10 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static me.deecaad.core.utils.NumberUtil.square;
@@ -38,6 +43,9 @@ public abstract class FakeEntity {
 
     private static Map<String, Integer> OBJECT_REGISTRY;
 
+    // Packets queued for each player while bundling, see #bundle(Runnable)
+    private static Map<Player, List<Object>> bundles;
+
     protected final EntityType type;
     protected Location location;
     protected Location offset;
@@ -354,6 +362,55 @@ public abstract class FakeEntity {
     // * Packet Based Methods * //
     // * ------------------------- * //
 
+    /**
+     * Runs the given <code>runnable</code>, and holds back every packet that fake entities send
+     * during it. When the <code>runnable</code> finishes, each player receives all of their packets as
+     * 1 burst (see {@link ICompatibility#sendBundle(Player, List)}), instead of a few packets per
+     * entity. Nested calls are part of the outermost bundle. Must be called on the main thread.
+     *
+     * @param runnable The non-null code that spawns/moves/removes fake entities.
+     */
+    public static void bundle(@NotNull Runnable runnable) {
+        if (bundles != null) {
+            runnable.run();
+            return;
+        }
+
+        bundles = new LinkedHashMap<>();
+        try {
+            runnable.run();
+        } finally {
+            Map<Player, List<Object>> packets = bundles;
+            bundles = null;
+
+            ICompatibility compatibility = CompatibilityAPI.getCompatibility();
+            packets.forEach((player, list) -> {
+                if (player.isOnline())
+                    compatibility.sendBundle(player, list);
+            });
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if packets should be given to {@link #queue(Player, Object)} instead
+     * of being sent right away.
+     *
+     * @return true if packets are being bundled.
+     */
+    protected static boolean isBundling() {
+        return bundles != null;
+    }
+
+    /**
+     * Queues the packet to be sent at the end of {@link #bundle(Runnable)}.
+     *
+     * @param player The non-null player to send the packet to.
+     * @param packet The non-null packet.
+     */
+    protected static void queue(@NotNull Player player, @NotNull Object packet) {
+        bundles.computeIfAbsent(player, key -> new ArrayList<>()).add(packet);
+    }
+
     /**
      * Shows this entity to all players within range of the entity. Effectively the same as calling
      * {@link #show(Player)} for each player. Sends an Add Entity packet and an Entity Meta packet.
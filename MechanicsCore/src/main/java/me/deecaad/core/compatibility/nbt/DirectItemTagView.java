@@ -0,0 +1,131 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The default {@link ItemTagView}, used by versions that don't have a batched implementation. Every
+ * call is passed directly to the {@link NBTCompatibility}, so writes are visible on the item
+ * immediately and {@link #commit()} does nothing.
+ */
+class DirectItemTagView implements ItemTagView {
+
+    private final NBTCompatibility compatibility;
+    private final ItemStack item;
+    private ItemMeta meta;
+
+    DirectItemTagView(@NotNull NBTCompatibility compatibility, @NotNull ItemStack item) {
+        this.compatibility = compatibility;
+        this.item = item;
+    }
+
+    @Override
+    public @NotNull ItemStack getItem() {
+        return item;
+    }
+
+    @Override
+    public @Nullable ItemMeta getItemMeta() {
+        if (meta == null)
+            meta = item.getItemMeta();
+        return meta;
+    }
+
+    @Override
+    public boolean hasString(@NotNull String plugin, @NotNull String key) {
+        return compatibility.hasString(item, plugin, key);
+    }
+
+    @Override
+    public String getString(@NotNull String plugin, @NotNull String key, String def) {
+        return compatibility.getString(item, plugin, key, def);
+    }
+
+    @Override
+    public void setString(@NotNull String plugin, @NotNull String key, String value) {
+        compatibility.setString(item, plugin, key, value);
+        meta = null;
+    }
+
+    @Override
+    public boolean hasInt(@NotNull String plugin, @NotNull String key) {
+        return compatibility.hasInt(item, plugin, key);
+    }
+
+    @Override
+    public int getInt(@NotNull String plugin, @NotNull String key, int def) {
+        return compatibility.getInt(item, plugin, key, def);
+    }
+
+    @Override
+    public void setInt(@NotNull String plugin, @NotNull String key, int value) {
+        compatibility.setInt(item, plugin, key, value);
+        meta = null;
+    }
+
+    @Override
+    public boolean hasDouble(@NotNull String plugin, @NotNull String key) {
+        return compatibility.hasDouble(item, plugin, key);
+    }
+
+    @Override
+    public double getDouble(@NotNull String plugin, @NotNull String key, double def) {
+        return compatibility.getDouble(item, plugin, key, def);
+    }
+
+    @Override
+    public void setDouble(@NotNull String plugin, @NotNull String key, double value) {
+        compatibility.setDouble(item, plugin, key, value);
+        meta = null;
+    }
+
+    @Override
+    public boolean hasArray(@NotNull String plugin, @NotNull String key) {
+        return compatibility.hasArray(item, plugin, key);
+    }
+
+    @Override
+    public int[] getArray(@NotNull String plugin, @NotNull String key, int[] def) {
+        return compatibility.getArray(item, plugin, key, def);
+    }
+
+    @Override
+    public void setArray(@NotNull String plugin, @NotNull String key, int[] value) {
+        compatibility.setArray(item, plugin, key, value);
+        meta = null;
+    }
+
+    @Override
+    public boolean hasStringArray(@NotNull String plugin, @NotNull String key) {
+        return compatibility.hasStringArray(item, plugin, key);
+    }
+
+    @Override
+    public String[] getStringArray(@NotNull String plugin, @NotNull String key, String[] def) {
+        return compatibility.getStringArray(item, plugin, key, def);
+    }
+
+    @Override
+    public void setStringArray(@NotNull String plugin, @NotNull String key, String[] value) {
+        compatibility.setStringArray(item, plugin, key, value);
+        meta = null;
+    }
+
+    @Override
+    public void remove(@NotNull String plugin, @NotNull String key) {
+        compatibility.remove(item, plugin, key);
+        meta = null;
+    }
+
+    @Override
+    public boolean isModified() {
+        return false;
+    }
+
+    @Override
+    public void commit() {
+        // Changes were already applied
+    }
+}
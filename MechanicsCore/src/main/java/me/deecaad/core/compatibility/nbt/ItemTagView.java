@@ -0,0 +1,106 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A batched view of the NBT tags of 1 {@link ItemStack}. Using the methods in
+ * {@link NBTCompatibility} directly copies the item's {@link ItemMeta} for every read, and sets
+ * the meta again for every write. A view copies the meta once when it is opened, any amount of
+ * values can be read and written, and {@link #commit()} sets the meta once.
+ *
+ * <p>
+ * Writes are not visible on the item until {@link #commit()} is called. Changes made to the item
+ * while the view is open (by another view, or by {@link ItemStack#setItemMeta(ItemMeta)}) are not
+ * visible to the view, and are overridden when a modified view is committed. So a view should be
+ * opened, used and committed without calling other code that may modify the item in between.
+ *
+ * @see NBTCompatibility#view(ItemStack)
+ */
+public interface ItemTagView {
+
+    /**
+     * Returns the item this view was opened for.
+     *
+     * @return The non-null item.
+     */
+    @NotNull ItemStack getItem();
+
+    /**
+     * Returns a copy of the item's meta, or <code>null</code> if the item has no meta (For example,
+     * air). This is useful to read other values from the meta without copying it again. The returned
+     * meta should be treated as read-only.
+     *
+     * @return The meta copy, or null.
+     */
+    @Nullable ItemMeta getItemMeta();
+
+    boolean hasString(@NotNull String plugin, @NotNull String key);
+
+    default String getString(@NotNull String plugin, @NotNull String key) {
+        return getString(plugin, key, null);
+    }
+
+    String getString(@NotNull String plugin, @NotNull String key, String def);
+
+    void setString(@NotNull String plugin, @NotNull String key, String value);
+
+    boolean hasInt(@NotNull String plugin, @NotNull String key);
+
+    default int getInt(@NotNull String plugin, @NotNull String key) {
+        return getInt(plugin, key, 0);
+    }
+
+    int getInt(@NotNull String plugin, @NotNull String key, int def);
+
+    void setInt(@NotNull String plugin, @NotNull String key, int value);
+
+    boolean hasDouble(@NotNull String plugin, @NotNull String key);
+
+    default double getDouble(@NotNull String plugin, @NotNull String key) {
+        return getDouble(plugin, key, 0.0);
+    }
+
+    double getDouble(@NotNull String plugin, @NotNull String key, double def);
+
+    void setDouble(@NotNull String plugin, @NotNull String key, double value);
+
+    boolean hasArray(@NotNull String plugin, @NotNull String key);
+
+    default int[] getArray(@NotNull String plugin, @NotNull String key) {
+        return getArray(plugin, key, NBTCompatibility.DO_NOT_MODIFY_ME);
+    }
+
+    int[] getArray(@NotNull String plugin, @NotNull String key, int[] def);
+
+    void setArray(@NotNull String plugin, @NotNull String key, int[] value);
+
+    boolean hasStringArray(@NotNull String plugin, @NotNull String key);
+
+    default String[] getStringArray(@NotNull String plugin, @NotNull String key) {
+        return getStringArray(plugin, key, NBTCompatibility.DO_NOT_MODIFY_ME_STRING);
+    }
+
+    String[] getStringArray(@NotNull String plugin, @NotNull String key, String[] def);
+
+    void setStringArray(@NotNull String plugin, @NotNull String key, String[] value);
+
+    void remove(@NotNull String plugin, @NotNull String key);
+
+    /**
+     * Returns <code>true</code> if a value was written to (or removed from) this view since it was
+     * opened, or since the last {@link #commit()}.
+     *
+     * @return true if there are changes to commit.
+     */
+    boolean isModified();
+
+    /**
+     * Applies every change made to this view to the item, using 1
+     * {@link ItemStack#setItemMeta(ItemMeta)} call. Does nothing if this view was not modified. The
+     * view can be used (and committed) again after this call.
+     */
+    void commit();
+}
@@ -389,6 +389,19 @@ public interface NBTCompatibility {
         bukkitItem.setItemMeta(meta);
     }
 
+    /**
+     * Opens a batched view of the given item's tags. Use this instead of the other methods in this
+     * interface when reading or writing more than 1 tag of the same item, since the item's meta is
+     * only copied once, and only set once when the view is committed.
+     *
+     * @param bukkitItem The non-null item to view the tags of.
+     * @return The non-null view.
+     * @see ItemTagView#commit()
+     */
+    default @NotNull ItemTagView view(@NotNull ItemStack bukkitItem) {
+        return new DirectItemTagView(this, bukkitItem);
+    }
+
     default NamespacedKey getKey(String plugin, String key) {
         return new NamespacedKey(plugin.toLowerCase(Locale.ROOT), key.toLowerCase(Locale.ROOT));
     }
@@ -1,11 +1,16 @@
 package me.deecaad.core.compatibility.nbt;
 
+import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Due to class loading issues, this logic (that was originally implemented in
  * {@link NBTCompatibility}) is now implemented here. This way, on 1.12.2,
@@ -13,6 +18,27 @@ import org.jetbrains.annotations.NotNull;
  */
 public abstract class NBT_Persistent implements NBTCompatibility {
 
+    // plugin -> key -> NamespacedKey. The same few tags are used every time
+    // an item is checked, so we don't need to build new keys every time.
+    private final Map<String, Map<String, NamespacedKey>> keys = new ConcurrentHashMap<>();
+
+    @Override
+    public @NotNull ItemTagView view(@NotNull ItemStack bukkitItem) {
+        return new PersistentItemTagView(this, bukkitItem);
+    }
+
+    @Override
+    public NamespacedKey getKey(String plugin, String key) {
+        Map<String, NamespacedKey> pluginKeys = keys.get(plugin);
+        if (pluginKeys == null)
+            pluginKeys = keys.computeIfAbsent(plugin, k -> new ConcurrentHashMap<>());
+
+        NamespacedKey namespacedKey = pluginKeys.get(key);
+        if (namespacedKey == null)
+            namespacedKey = pluginKeys.computeIfAbsent(key, k -> new NamespacedKey(plugin.toLowerCase(Locale.ROOT), k.toLowerCase(Locale.ROOT)));
+        return namespacedKey;
+    }
+
     public boolean hasString(@NotNull ItemStack bukkitItem, @NotNull String plugin, @NotNull String key) {
         return getCompound(bukkitItem.getItemMeta()).has(getKey(plugin, key), PersistentDataType.STRING);
     }
@@ -0,0 +1,140 @@
+package me.deecaad.core.compatibility.nbt;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The {@link ItemTagView} used by {@link NBT_Persistent}. The meta is copied once when the view is
+ * opened, and every read and write uses the same {@link PersistentDataContainer}.
+ */
+class PersistentItemTagView implements ItemTagView {
+
+    private final NBT_Persistent compatibility;
+    private final ItemStack item;
+    private final ItemMeta meta;
+    private final PersistentDataContainer nbt;
+    private boolean modified;
+
+    PersistentItemTagView(@NotNull NBT_Persistent compatibility, @NotNull ItemStack item) {
+        this.compatibility = compatibility;
+        this.item = item;
+        this.meta = item.getItemMeta();
+        this.nbt = meta == null ? null : meta.getPersistentDataContainer();
+    }
+
+    @Override
+    public @NotNull ItemStack getItem() {
+        return item;
+    }
+
+    @Override
+    public @Nullable ItemMeta getItemMeta() {
+        return meta;
+    }
+
+    @Override
+    public boolean hasString(@NotNull String plugin, @NotNull String key) {
+        return nbt != null && nbt.has(compatibility.getKey(plugin, key), PersistentDataType.STRING);
+    }
+
+    @Override
+    public String getString(@NotNull String plugin, @NotNull String key, String def) {
+        return nbt == null ? def : nbt.getOrDefault(compatibility.getKey(plugin, key), PersistentDataType.STRING, def);
+    }
+
+    @Override
+    public void setString(@NotNull String plugin, @NotNull String key, String value) {
+        getWritable().set(compatibility.getKey(plugin, key), PersistentDataType.STRING, value);
+    }
+
+    @Override
+    public boolean hasInt(@NotNull String plugin, @NotNull String key) {
+        return nbt != null && nbt.has(compatibility.getKey(plugin, key), PersistentDataType.INTEGER);
+    }
+
+    @Override
+    public int getInt(@NotNull String plugin, @NotNull String key, int def) {
+        return nbt == null ? def : nbt.getOrDefault(compatibility.getKey(plugin, key), PersistentDataType.INTEGER, def);
+    }
+
+    @Override
+    public void setInt(@NotNull String plugin, @NotNull String key, int value) {
+        getWritable().set(compatibility.getKey(plugin, key), PersistentDataType.INTEGER, value);
+    }
+
+    @Override
+    public boolean hasDouble(@NotNull String plugin, @NotNull String key) {
+        return nbt != null && nbt.has(compatibility.getKey(plugin, key), PersistentDataType.DOUBLE);
+    }
+
+    @Override
+    public double getDouble(@NotNull String plugin, @NotNull String key, double def) {
+        return nbt == null ? def : nbt.getOrDefault(compatibility.getKey(plugin, key), PersistentDataType.DOUBLE, def);
+    }
+
+    @Override
+    public void setDouble(@NotNull String plugin, @NotNull String key, double value) {
+        getWritable().set(compatibility.getKey(plugin, key), PersistentDataType.DOUBLE, value);
+    }
+
+    @Override
+    public boolean hasArray(@NotNull String plugin, @NotNull String key) {
+        return nbt != null && nbt.has(compatibility.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY);
+    }
+
+    @Override
+    public int[] getArray(@NotNull String plugin, @NotNull String key, int[] def) {
+        return nbt == null ? def : nbt.getOrDefault(compatibility.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY, def);
+    }
+
+    @Override
+    public void setArray(@NotNull String plugin, @NotNull String key, int[] value) {
+        getWritable().set(compatibility.getKey(plugin, key), PersistentDataType.INTEGER_ARRAY, value);
+    }
+
+    @Override
+    public boolean hasStringArray(@NotNull String plugin, @NotNull String key) {
+        return nbt != null && nbt.has(compatibility.getKey(plugin, key), StringPersistentType.INSTANCE);
+    }
+
+    @Override
+    public String[] getStringArray(@NotNull String plugin, @NotNull String key, String[] def) {
+        return nbt == null ? def : nbt.getOrDefault(compatibility.getKey(plugin, key), StringPersistentType.INSTANCE, def);
+    }
+
+    @Override
+    public void setStringArray(@NotNull String plugin, @NotNull String key, String[] value) {
+        getWritable().set(compatibility.getKey(plugin, key), StringPersistentType.INSTANCE, value);
+    }
+
+    @Override
+    public void remove(@NotNull String plugin, @NotNull String key) {
+        getWritable().remove(compatibility.getKey(plugin, key));
+    }
+
+    @Override
+    public boolean isModified() {
+        return modified;
+    }
+
+    @Override
+    public void commit() {
+        if (!modified)
+            return;
+
+        item.setItemMeta(meta);
+        modified = false;
+    }
+
+    private PersistentDataContainer getWritable() {
+        if (nbt == null)
+            throw new IllegalStateException("Cannot write tags to " + item + " since it has no meta");
+
+        modified = true;
+        return nbt;
+    }
+}
@@ -1,6 +1,7 @@
 package me.deecaad.core.compatibility.worldguard;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +19,12 @@ public class NoWorldGuard implements WorldGuardCompatibility {
         return true;
     }
 
+    @Override
+    public @NotNull BlockTest testFlags(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+        @Nullable Player player, @NotNull String flagName) {
+        return (x, y, z) -> true;
+    }
+
     @Override
     public Object getValue(@NotNull Location location, @NotNull String flagName) {
         return null;
@@ -1,6 +1,7 @@
 package me.deecaad.core.compatibility.worldguard;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -29,6 +30,39 @@ public interface WorldGuardCompatibility {
      */
     boolean testFlag(@NotNull Location location, @Nullable Player player, @NotNull String flagName);
 
+    /**
+     * Returns a test for the state flag with the given <code>flagName</code>, for any block inside
+     * the given box. Use this instead of {@link #testFlag(Location, Player, String)} when testing
+     * many blocks at once (for example, every block in an explosion).
+     *
+     * <p>
+     * Implementations should find the regions in the box once, instead of once per block. Blocks
+     * outside the box may still be tested, but are slower to test. The returned test should only be
+     * used during the current tick, since regions may change.
+     *
+     * @param world The non-null world the blocks are in.
+     * @param minX The minimum block x coordinate.
+     * @param minY The minimum block y coordinate.
+     * @param minZ The minimum block z coordinate.
+     * @param maxX The maximum block x coordinate (inclusive).
+     * @param maxY The maximum block y coordinate (inclusive).
+     * @param maxZ The maximum block z coordinate (inclusive).
+     * @param player The player involved, or <code>null</code>.
+     * @param flagName The non-null name of the flag.
+     * @return The non-null test, which returns <code>true</code> if the flag is enabled.
+     */
+    default @NotNull BlockTest testFlags(@NotNull World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+        @Nullable Player player, @NotNull String flagName) {
+
+        Location reuse = new Location(world, 0, 0, 0);
+        return (x, y, z) -> {
+            reuse.setX(x);
+            reuse.setY(y);
+            reuse.setZ(z);
+            return testFlag(reuse, player, flagName);
+        };
+    }
+
     /**
      * Returns the value of a flag with the given <code>flagName</code>. The returned value depends on
      * the region that contains the <code>location</code>.
@@ -67,6 +101,19 @@ public interface WorldGuardCompatibility {
      */
     @NotNull Set<String> getRegisteredFlags();
 
+    /**
+     * Tests a flag at block coordinates. See
+     * {@link #testFlags(World, int, int, int, int, int, int, Player, String)}.
+     */
+    @FunctionalInterface
+    interface BlockTest {
+
+        /**
+         * Returns <code>true</code> if the flag is enabled at the given block.
+         */
+        boolean test(int x, int y, int z);
+    }
+
     /**
      * This enum outlines the different data types that a flag can store.
      */
@@ -1,9 +1,9 @@
 package me.deecaad.core.mechanics;
 
-import me.deecaad.core.MechanicsCore;
 import me.deecaad.core.placeholder.PlaceholderData;
 import me.deecaad.core.utils.LogLevel;
 import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -70,7 +70,7 @@ public class CastData implements Cloneable, PlaceholderData {
 
     private String getName(LivingEntity entity) {
         TextComponent component = LegacyComponentSerializer.legacySection().deserialize(entity.getName());
-        return MechanicsCore.getPlugin().message.serialize(component);
+        return MiniMessage.miniMessage().serialize(component);
     }
 
     @NotNull public LivingEntity getSource() {
@@ -0,0 +1,225 @@
+package me.deecaad.core.mechanics;
+
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.primitive.IntMap;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static me.deecaad.core.MechanicsCore.debug;
+
+/**
+ * Runs delayed and repeating {@link me.deecaad.core.mechanics.defaultmechanics.Mechanic}s. Every
+ * task is stored in 1 hashed timing wheel, keyed by the tick it should run on, instead of
+ * scheduling a new {@link org.bukkit.scheduler.BukkitRunnable} every time a mechanic with
+ * <code>Repeat_Amount</code>, <code>Repeat_Interval</code> or <code>Delay_Before_Play</code> is
+ * used.
+ *
+ * <p>
+ * The wheel has 1 slot per tick, and wraps around every {@link #SLOTS} ticks. Tasks due further in
+ * the future share a slot with closer tasks, and are skipped until the wheel reaches their tick.
+ *
+ * <p>
+ * Task ids from this scheduler are negative, so they never collide with Bukkit task ids. Use
+ * {@link #cancelTask(int)} to cancel task ids from {@link CastData#getTaskIdConsumer()}, since it
+ * handles both.
+ */
+public final class MechanicScheduler {
+
+    public static final MechanicScheduler SINGLETON = new MechanicScheduler();
+
+    /**
+     * The number of slots in the wheel. Must be a power of 2.
+     */
+    public static final int SLOTS = 256;
+    private static final int MASK = SLOTS - 1;
+
+    private final Bucket[] wheel;
+    private final IntMap<Task> tasks;
+    private final List<Task> due;
+    private long tick;
+    private int nextId;
+
+    MechanicScheduler() {
+        wheel = new Bucket[SLOTS];
+        for (int i = 0; i < SLOTS; i++)
+            wheel[i] = new Bucket();
+
+        tasks = new IntMap<>();
+        due = new ArrayList<>();
+        nextId = -2;
+    }
+
+    /**
+     * Schedules the given action to run <code>runs</code> times. The first run happens after
+     * <code>delay</code> ticks, and the next runs happen every <code>period</code> ticks.
+     *
+     * @param action The non-null action to run.
+     * @param delay The delay before the first run, in ticks. Delays less than 1 are treated as 1.
+     * @param period The delay between runs, in ticks. Periods less than 1 are treated as 1.
+     * @param runs The number of times to run the action.
+     * @return The negative task id, which can be used with {@link #cancelTask(int)}.
+     */
+    public synchronized int schedule(@NotNull Runnable action, int delay, int period, int runs) {
+        int id = nextId;
+        nextId = nextId == Integer.MIN_VALUE ? -2 : nextId - 1;
+        if (runs <= 0)
+            return id;
+
+        Task task = new Task(id, action, Math.max(1, period), runs);
+        tasks.put(id, task);
+        add(task, tick + Math.max(1, delay));
+        return id;
+    }
+
+    /**
+     * Cancels the task with the given id. Negative ids are tasks from this scheduler, and other ids
+     * are cancelled using {@link org.bukkit.scheduler.BukkitScheduler#cancelTask(int)}.
+     *
+     * @param id The task id.
+     */
+    public void cancelTask(int id) {
+        if (id >= 0) {
+            Bukkit.getScheduler().cancelTask(id);
+            return;
+        }
+
+        synchronized (this) {
+            Task task = tasks.remove(id);
+            if (task != null)
+                task.runs = 0;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the task with the given negative id is still going to run.
+     *
+     * @param id The task id.
+     * @return true if the task is queued.
+     */
+    public synchronized boolean isQueued(int id) {
+        return tasks.containsKey(id);
+    }
+
+    /**
+     * Returns the number of tasks that are still going to run.
+     *
+     * @return The number of queued tasks.
+     */
+    public synchronized int getQueuedCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Cancels every task. MechanicsCore calls this method when it is disabled.
+     */
+    public synchronized void cancelAll() {
+        for (Bucket bucket : wheel)
+            bucket.clear();
+        tasks.forEach((id, task) -> task.runs = 0);
+        tasks.clear();
+    }
+
+    /**
+     * Runs every task that is due this tick. MechanicsCore calls this method once every tick.
+     */
+    public void tick() {
+        synchronized (this) {
+            tick++;
+            wheel[(int) (tick & MASK)].drain(tick, due);
+        }
+
+        // Tasks are run outside the lock, since they may schedule more tasks
+        for (int i = 0; i < due.size(); i++) {
+            Task task = due.get(i);
+            if (task.runs <= 0)
+                continue;
+
+            try {
+                task.action.run();
+            } catch (Throwable ex) {
+                debug.log(LogLevel.WARN, "Unhandled exception while running a mechanic", ex);
+            }
+
+            synchronized (this) {
+                // The task may have been cancelled while it was running
+                if (task.runs > 0 && --task.runs > 0)
+                    add(task, tick + task.period);
+                else
+                    tasks.remove(task.id);
+            }
+        }
+        due.clear();
+    }
+
+    private void add(Task task, long dueTick) {
+        wheel[(int) (dueTick & MASK)].add(task, dueTick);
+    }
+
+    private static class Task {
+
+        private final int id;
+        private final Runnable action;
+        private final int period;
+        private int runs;
+
+        private Task(int id, Runnable action, int period, int runs) {
+            this.id = id;
+            this.action = action;
+            this.period = period;
+            this.runs = runs;
+        }
+    }
+
+    /**
+     * The tasks in 1 slot of the wheel, and the tick each task is due.
+     */
+    private static class Bucket {
+
+        private Task[] tasks = new Task[8];
+        private long[] ticks = new long[8];
+        private int size;
+
+        private void add(Task task, long tick) {
+            if (size == tasks.length) {
+                tasks = Arrays.copyOf(tasks, size << 1);
+                ticks = Arrays.copyOf(ticks, size << 1);
+            }
+
+            tasks[size] = task;
+            ticks[size] = tick;
+            size++;
+        }
+
+        /**
+         * Moves the tasks due on or before the given tick to <code>output</code>, keeping the order
+         * they were added in. Cancelled tasks are removed.
+         */
+        private void drain(long tick, List<Task> output) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                if (tasks[read].runs <= 0)
+                    continue;
+
+                if (ticks[read] <= tick) {
+                    output.add(tasks[read]);
+                } else {
+                    tasks[write] = tasks[read];
+                    ticks[write] = ticks[read];
+                    write++;
+                }
+            }
+
+            Arrays.fill(tasks, write, size, null);
+            size = write;
+        }
+
+        private void clear() {
+            Arrays.fill(tasks, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -9,7 +9,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -26,6 +26,12 @@ public class Mechanics implements Serializer<Mechanics> {
 
     private List<Mechanic> mechanics;
 
+    // The mechanics, compiled into arrays when constructed. Mechanics that
+    // target the source (the default targeter) right away share 1 target,
+    // since targeting an entity is more expensive than most mechanics.
+    private Mechanic[] plan;
+    private boolean[] isSourceTargeted;
+
     // WMP modifiers
     private List<Mechanic> dirty;
 
@@ -36,10 +42,21 @@ public class Mechanics implements Serializer<Mechanics> {
     }
 
     public Mechanics(List<Mechanic> mechanics) {
-        this.mechanics = mechanics;
-        this.dirty = new LinkedList<>();
+        this.mechanics = Collections.unmodifiableList(mechanics);
+        this.plan = mechanics.toArray(new Mechanic[0]);
+        this.isSourceTargeted = new boolean[plan.length];
+        this.dirty = new ArrayList<>();
+
+        for (int i = 0; i < plan.length; i++)
+            isSourceTargeted[i] = isSourceTargeted(plan[i]);
     }
 
+    /**
+     * Returns an unmodifiable view of the mechanics. Use {@link #addDirty(List)} to temporarily add
+     * mechanics.
+     *
+     * @return The non-null mechanics.
+     */
     public List<Mechanic> getMechanics() {
         return mechanics;
     }
@@ -82,14 +99,45 @@ public class Mechanics implements Serializer<Mechanics> {
     }
 
     public void use(CastData cast) {
-        for (Mechanic mechanic : mechanics)
-            mechanic.use(cast);
-        for (Mechanic mechanic : dirty)
-            mechanic.use(cast);
+        CastData source = null;
+        for (int i = 0; i < plan.length; i++) {
+            if (!isSourceTargeted[i]) {
+                plan[i].use(cast);
+                continue;
+            }
+
+            // Only target the source once, and give each mechanic a copy
+            if (source == null) {
+                source = cast.clone();
+                source.setTargetEntity(source.getSource());
+            }
+            plan[i].useTargeted(source.clone());
+        }
+
+        for (int i = 0; i < dirty.size(); i++)
+            dirty.get(i).use(cast);
 
         clearDirty();
     }
 
+    /**
+     * Returns <code>true</code> if the mechanic is used right away, and only targets the source.
+     * These mechanics can share the same target.
+     */
+    private static boolean isSourceTargeted(Mechanic mechanic) {
+        // Mechanics that override use(CastData) need their own target
+        try {
+            if (mechanic.getClass().getMethod("use", CastData.class).getDeclaringClass() != Mechanic.class)
+                return false;
+        } catch (NoSuchMethodException ex) {
+            throw new AssertionError(ex);
+        }
+
+        Targeter targeter = mechanic.getTargeter();
+        return targeter != null && targeter.getClass() == SourceTargeter.class && targeter.getOffset() == null && !targeter.isEye()
+            && mechanic.getRepeatAmount() == 1 && mechanic.getRepeatInterval() == 1 && mechanic.getDelayBeforePlay() == 0;
+    }
+
     @NotNull @Override
     public Mechanics serialize(@NotNull SerializeData data) throws SerializerException {
         List<?> list = data.config.getList(data.key);
@@ -146,7 +194,7 @@ public class Mechanics implements Serializer<Mechanics> {
 
         Mechanic mechanic = null;
         Targeter targeter = null;
-        List<Condition> conditions = new LinkedList<>();
+        List<Condition> conditions = new ArrayList<>(1);
 
         while (matcher.find()) {
             int index = matcher.start();
@@ -4,13 +4,18 @@ import me.deecaad.core.file.JarSearcherExempt;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.SerializerException;
 import me.deecaad.core.mechanics.conditions.Condition;
+import me.deecaad.core.mechanics.conditions.RangeCondition;
 import me.deecaad.core.mechanics.defaultmechanics.Mechanic;
 import me.deecaad.core.mechanics.targeters.WorldTargeter;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -22,6 +27,10 @@ import java.util.function.Supplier;
  * every mechanic we cast. This is especially crucial for the
  * {@link me.deecaad.core.mechanics.defaultmechanics.SoundMechanic}, which may exist 10+ times in 1
  * {@link Mechanics}, causing major performance issues on big servers.
+ *
+ * <p>
+ * Viewers are found once per cast for mechanics with the same viewer conditions. When the viewer
+ * conditions have a maximum range, only the players inside that range are checked.
  */
 public final class PlayerEffectMechanicList extends Mechanic implements JarSearcherExempt {
 
@@ -44,11 +53,11 @@ public final class PlayerEffectMechanicList extends Mechanic implements JarSearc
 
     @Override
     public void use(CastData cast) {
-        List<Player> players = cast.getSource().getWorld().getPlayers();
+        World world = cast.getSource().getWorld();
 
-        // We re-use these variables, so we do not need to instantiate them
-        // multiple times.
-        List<Player> cacheList = new LinkedList<>(); // linked list for fast add and clear
+        // Mechanics with the same viewer conditions (usually none) have the
+        // same viewers, so we only find the viewers once per cast.
+        List<Viewers> cache = new ArrayList<>(4);
 
         for (PlayerEffectMechanic mechanic : mechanics) {
 
@@ -58,30 +67,66 @@ public final class PlayerEffectMechanicList extends Mechanic implements JarSearc
                     if (!condition.isAllowed(target))
                         continue OUTER;
 
-                // Save these variables so they don't get overridden
-                LivingEntity targetEntity = target.getTarget();
-                Supplier<Location> supplier = target.getTargetLocationSupplier();
+                // Play the mechanic
+                mechanic.playFor(target, getViewers(world, target, mechanic.getViewerConditions(), cache));
+            }
+        }
+    }
 
-                PLAYER_LOOP : for (Player player : players) {
-                    target.setTargetEntity(player);
-                    for (Condition condition : mechanic.getViewerConditions())
-                        if (!condition.isAllowed(target))
-                            continue PLAYER_LOOP;
+    private static List<Player> getViewers(World world, CastData target, List<Condition> conditions, List<Viewers> cache) {
+        LivingEntity targetEntity = target.getTarget();
+        Supplier<Location> supplier = target.getTargetLocationSupplier();
 
-                    cacheList.add(player);
-                }
+        // Viewer conditions may check the source and target, so only reuse
+        // viewers for the same target. Without conditions, everyone can see.
+        for (Viewers viewers : cache) {
+            if (viewers.conditions.equals(conditions) && (conditions.isEmpty()
+                || viewers.source == target.getSource() && viewers.targetEntity == targetEntity && viewers.supplier == supplier))
+                return viewers.players;
+        }
 
-                // Rewrite our saved variations
-                if (targetEntity != null) {
-                    target.setTargetEntity(targetEntity);
-                }
-                target.setTargetLocation(supplier);
+        List<Player> players = new ArrayList<>();
+        PLAYER_LOOP : for (Player player : getCandidates(world, target, conditions)) {
+            target.setTargetEntity(player);
+            for (Condition condition : conditions)
+                if (!condition.isAllowed(target))
+                    continue PLAYER_LOOP;
 
-                // Play the mechanic
-                mechanic.playFor(target, cacheList);
-                cacheList.clear();
-            }
+            players.add(player);
+        }
+
+        // Rewrite our saved variations
+        if (targetEntity != null) {
+            target.setTargetEntity(targetEntity);
+        }
+        target.setTargetLocation(supplier);
+
+        cache.add(new Viewers(conditions, target.getSource(), targetEntity, supplier, players));
+        return players;
+    }
+
+    /**
+     * Returns the players that may pass the viewer conditions. When there is a maximum range, only
+     * the players inside that range are checked, using the {@link EntityIndex}.
+     */
+    private static List<Player> getCandidates(World world, CastData target, List<Condition> conditions) {
+        double maxSquared = Double.POSITIVE_INFINITY;
+        for (Condition condition : conditions) {
+            if (condition instanceof RangeCondition range && !range.isInverted() && range.getMaxSquared().isPresent())
+                maxSquared = Math.min(maxSquared, range.getMaxSquared().getAsDouble());
         }
+
+        // The entity index may only be used on the main thread
+        if (maxSquared == Double.POSITIVE_INFINITY || !Bukkit.isPrimaryThread())
+            return world.getPlayers();
+
+        // The index stores locations from the start of the tick, so add a
+        // buffer for players that moved since then. The range is checked
+        // from the eyes of the player, so also check 2 more blocks below.
+        double range = Math.sqrt(maxSquared) + 2.0;
+        Location origin = target.getSourceLocation();
+        return EntityIndex.SINGLETON.getPlayers(world, origin.getX() - range, origin.getY() - range - 2.0, origin.getZ() - range,
+            origin.getX() + range, origin.getY() + range, origin.getZ() + range, new ArrayList<>());
     }
 
     @Override
@@ -93,4 +138,7 @@ public final class PlayerEffectMechanicList extends Mechanic implements JarSearc
     public Mechanic serialize(@NotNull SerializeData data) throws SerializerException {
         throw new UnsupportedOperationException("Cannot directly serialize a PlayerEffectMechanicList");
     }
+
+    private record Viewers(List<Condition> conditions, LivingEntity source, LivingEntity targetEntity, Supplier<Location> supplier, List<Player> players) {
+    }
 }
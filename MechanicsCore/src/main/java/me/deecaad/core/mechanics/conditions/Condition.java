@@ -32,6 +32,15 @@ public abstract class Condition implements InlineSerializer<Condition> {
 
     protected abstract boolean isAllowed0(CastData cast);
 
+    /**
+     * Returns <code>true</code> if the result of this condition is inverted.
+     *
+     * @return true if this condition is inverted.
+     */
+    public boolean isInverted() {
+        return isInverted;
+    }
+
     protected Condition applyParentArgs(SerializeData data, Condition condition) throws SerializerException {
         condition.isInverted = data.of("Inverted").getBool(false);
         return condition;
@@ -25,6 +25,24 @@ public class RangeCondition extends Condition {
         this.maxSquared = maxSquared;
     }
 
+    /**
+     * Returns the squared minimum distance, if there is one.
+     *
+     * @return The non-null squared minimum distance.
+     */
+    public OptionalDouble getMinSquared() {
+        return minSquared;
+    }
+
+    /**
+     * Returns the squared maximum distance, if there is one.
+     *
+     * @return The non-null squared maximum distance.
+     */
+    public OptionalDouble getMaxSquared() {
+        return maxSquared;
+    }
+
     @Override
     public boolean isAllowed0(CastData cast) {
         // Bias towards using the target
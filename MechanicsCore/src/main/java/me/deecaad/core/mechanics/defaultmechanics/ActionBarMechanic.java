@@ -14,6 +14,10 @@ import org.jetbrains.annotations.Nullable;
 
 public class ActionBarMechanic extends Mechanic {
 
+    // Unchanged action bars are resent after this long, so they don't fade out
+    private static final long RESEND_MILLIS = 1000L;
+    private static final LastSentMessages<Component> LAST_SENT = new LastSentMessages<>();
+
     private PlaceholderMessage message;
     private int time;
 
@@ -48,6 +52,11 @@ public class ActionBarMechanic extends Mechanic {
         // Parse and send the message to the 1 player
         // TODO this method would benefit from having access to the target list
         Component component = message.replaceAndDeserialize(cast);
+
+        // Skip sending the action bar when the player can already see it
+        if (!LAST_SENT.shouldSend(player, component, RESEND_MILLIS))
+            return;
+
         Audience audience = MechanicsCore.getPlugin().adventure.player(player);
         audience.sendActionBar(component);
 
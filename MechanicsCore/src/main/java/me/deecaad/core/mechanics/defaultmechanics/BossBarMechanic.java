@@ -11,9 +11,13 @@ import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
 public class BossBarMechanic extends Mechanic {
 
     private PlaceholderMessage title;
@@ -22,6 +26,10 @@ public class BossBarMechanic extends Mechanic {
     private float progress;
     private int time;
 
+    // The boss bar each player can still see, so an unchanged title keeps
+    // that boss bar up for longer instead of showing another one.
+    private final Map<Player, ShownBossBar> shown = new WeakHashMap<>();
+
     public BossBarMechanic() {
     }
 
@@ -62,13 +70,28 @@ public class BossBarMechanic extends Mechanic {
         // TODO this method would benefit from having access to the target list
         Component chat = title.replaceAndDeserialize(cast);
         Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-        BossBar bossBar = BossBar.bossBar(chat, progress, color, style);
 
+        ShownBossBar last = shown.get(player);
+        if (last != null && last.title().equals(chat)) {
+            last.hideTask().cancel();
+            shown.put(player, new ShownBossBar(chat, last.bossBar(), hideLater(player, audience, last.bossBar())));
+            return;
+        }
+
+        BossBar bossBar = BossBar.bossBar(chat, progress, color, style);
         audience.showBossBar(bossBar);
-        new BukkitRunnable() {
+        shown.put(player, new ShownBossBar(chat, bossBar, hideLater(player, audience, bossBar)));
+    }
+
+    private BukkitTask hideLater(Player player, Audience audience, BossBar bossBar) {
+        return new BukkitRunnable() {
             @Override
             public void run() {
                 audience.hideBossBar(bossBar);
+
+                ShownBossBar last = shown.get(player);
+                if (last != null && last.bossBar() == bossBar)
+                    shown.remove(player);
             }
         }.runTaskLater(MechanicsCore.getPlugin(), time);
     }
@@ -94,4 +117,7 @@ public class BossBarMechanic extends Mechanic {
 
         return applyParentArgs(data, new BossBarMechanic(title, color, style, progress, time));
     }
-}
\ No newline at end of file
+
+    private record ShownBossBar(Component title, BossBar bossBar, BukkitTask hideTask) {
+    }
+}
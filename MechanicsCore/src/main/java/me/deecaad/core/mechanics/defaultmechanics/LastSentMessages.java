@@ -0,0 +1,43 @@
+package me.deecaad.core.mechanics.defaultmechanics;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers the last message each player was sent, so mechanics can skip sending a message the
+ * player can still see. Mechanics that show their messages in the same place (like the action bar)
+ * share 1 instance, since a different message replaces the last one.
+ *
+ * @param <T> The type of the message.
+ */
+final class LastSentMessages<T> {
+
+    // Players are weak keys, so players who leave are forgotten
+    private final Map<Player, Sent<T>> sent = new WeakHashMap<>();
+
+    /**
+     * Returns <code>true</code> if the message should be sent to the player. Messages that are the
+     * same as the last message are only sent after <code>resendMillis</code>. When this returns
+     * <code>true</code>, the message is remembered as the last message.
+     *
+     * @param player The non-null player to send the message to.
+     * @param message The non-null message.
+     * @param resendMillis How often to send unchanged messages.
+     * @return true if the message should be sent.
+     */
+    synchronized boolean shouldSend(@NotNull Player player, @NotNull T message, long resendMillis) {
+        long now = System.currentTimeMillis();
+        Sent<T> last = sent.get(player);
+        if (last != null && last.message().equals(message) && now - last.time() < resendMillis)
+            return false;
+
+        sent.put(player, new Sent<>(message, now));
+        return true;
+    }
+
+    private record Sent<T>(T message, long time) {
+    }
+}
@@ -1,15 +1,14 @@
 package me.deecaad.core.mechanics.defaultmechanics;
 
-import me.deecaad.core.MechanicsCore;
 import me.deecaad.core.file.InlineSerializer;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.SerializerException;
 import me.deecaad.core.file.serializers.ChanceSerializer;
 import me.deecaad.core.mechanics.CastData;
+import me.deecaad.core.mechanics.MechanicScheduler;
 import me.deecaad.core.mechanics.conditions.Condition;
 import me.deecaad.core.mechanics.targeters.Targeter;
 import me.deecaad.core.utils.RandomUtil;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Iterator;
 import java.util.List;
@@ -82,26 +81,37 @@ public abstract class Mechanic implements InlineSerializer<Mechanic> {
         }
 
         // Schedule a repeating event to trigger the mechanic multiple times.
-        int task = new BukkitRunnable() {
-            int runs = 0;
-
-            @Override
-            public void run() {
-                if (runs++ >= repeatAmount) {
-                    cancel();
-                    return;
-                }
-
-                handleTargetersAndConditions(cast.clone()); // clone since targeters modify the cast
-            }
-        }.runTaskTimer(MechanicsCore.getPlugin(), delayBeforePlay, repeatInterval - 1).getTaskId();
+        // Like the bukkit scheduler, a period of 0 is treated as 1 tick.
+        int task = MechanicScheduler.SINGLETON.schedule(() -> handleTargetersAndConditions(cast.clone()), // clone since targeters modify the cast
+            delayBeforePlay, repeatInterval - 1, repeatAmount);
 
         // This allows developers to consume task ids from playing a Mechanic.
-        // Good for canceling tasks early.
+        // Good for canceling tasks early, using MechanicScheduler#cancelTask.
         if (cast.getTaskIdConsumer() != null)
             cast.getTaskIdConsumer().accept(task);
     }
 
+    /**
+     * Uses this mechanic on a cast that was already targeted, skipping the targeter. The repeat and
+     * delay options are ignored, so this should only be used for mechanics without them.
+     *
+     * <p>
+     * {@link me.deecaad.core.mechanics.Mechanics} uses this to share 1 target between every
+     * mechanic that targets the source.
+     *
+     * @param target The non-null cast data, with the target already set.
+     */
+    public void useTargeted(CastData target) {
+        if (!RandomUtil.chance(chance))
+            return;
+
+        for (Condition condition : conditions)
+            if (!condition.isAllowed(target))
+                return;
+
+        use0(target);
+    }
+
     protected void handleTargetersAndConditions(CastData cast) {
 
         OUTER : for (Iterator<CastData> it = targeter.getTargets(cast); it.hasNext();) {
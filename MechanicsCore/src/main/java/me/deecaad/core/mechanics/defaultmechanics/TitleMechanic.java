@@ -15,6 +15,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class TitleMechanic extends Mechanic {
 
+    private static final LastSentMessages<Title> LAST_SENT = new LastSentMessages<>();
+
     private @Nullable PlaceholderMessage title;
     private @Nullable PlaceholderMessage subtitle;
     private Title.Times times;
@@ -53,6 +55,12 @@ public class TitleMechanic extends Mechanic {
         Component titleComponent = title == null ? Component.empty() : title.replaceAndDeserialize(cast);
         Component subtitleComponent = subtitle == null ? Component.empty() : subtitle.replaceAndDeserialize(cast);
         Title title = Title.title(titleComponent, subtitleComponent, times);
+
+        // Showing the same title again would restart its fade in, so unchanged
+        // titles are only resent when they are about to fade out
+        if (!LAST_SENT.shouldSend(player, title, times.stay().toMillis()))
+            return;
+
         Audience audience = MechanicsCore.getPlugin().adventure.player(player);
         audience.showTitle(title);
     }
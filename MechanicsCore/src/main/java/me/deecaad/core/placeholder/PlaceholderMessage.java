@@ -3,14 +3,15 @@ package me.deecaad.core.placeholder;
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.deecaad.core.MechanicsCore;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.Bukkit;
 import org.intellij.lang.annotations.RegExp;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -25,9 +26,26 @@ public class PlaceholderMessage {
     public static final @RegExp String TAG = "<([a-zA-Z_\\-]+)>";
     public static final Pattern TAG_PATTERN = Pattern.compile(TAG);
 
+    // The number of different filled templates to remember the components of
+    private static final int CACHE_SIZE = 32;
+
+    // Read once, since MechanicsCore never reloads its config.yml
+    private static Boolean isAdvancedPlaceholders;
+
     private final String template;
     private final Set<String> presentPlaceholders;
 
+    // The template is compiled into the text between tags, and the tags
+    // (slots). literals.length == slots.length + 1
+    private final String[] literals;
+    private final String[] slots;
+    private final String[] tags;
+
+    // Deserialized components of recently filled templates. Most messages
+    // (like ammo displays) only have a few different values, so parsing is
+    // usually skipped.
+    private final Map<String, Component> components;
+
     /**
      * Constructs a new PlaceholderMessage based on the provided template string.
      *
@@ -39,8 +57,12 @@ public class PlaceholderMessage {
      */
     public PlaceholderMessage(@NotNull String template) {
         Set<String> presentPlaceholders = new LinkedHashSet<>();
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
 
         Matcher matcher = TAG_PATTERN.matcher(template);
+        int literalStart = 0;
 
         while (matcher.find()) {
             String placeholderString = matcher.group(1).toLowerCase();
@@ -50,10 +72,29 @@ public class PlaceholderMessage {
             if (placeholderHandler != null) {
                 presentPlaceholders.add(placeholderString);
             }
+
+            // Escaped tags are never replaced
+            if (matcher.start() > 0 && template.charAt(matcher.start() - 1) == '\\')
+                continue;
+
+            literals.add(template.substring(literalStart, matcher.start()));
+            slots.add(placeholderString);
+            tags.add(matcher.group());
+            literalStart = matcher.end();
         }
+        literals.add(template.substring(literalStart));
 
         this.template = template;
         this.presentPlaceholders = Collections.unmodifiableSet(presentPlaceholders);
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.toArray(new String[0]);
+        this.tags = tags.toArray(new String[0]);
+        this.components = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
     }
 
     /**
@@ -88,30 +129,55 @@ public class PlaceholderMessage {
     }
 
     public Component replaceAndDeserialize(PlaceholderData data) {
-        boolean isAdvancedPlaceholders = MechanicsCore.getPlugin().getConfig().getBoolean("Advanced_Placeholders", false);
         boolean isPlaceholderApi = Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
         fillMap(data);
+        callRequestEvent(data);
+        return deserialize(data, isPlaceholderApi);
+    }
+
+    /**
+     * Lets other plugins customize the appearance of placeholders. The event is only created when
+     * something listens to it.
+     */
+    static void callRequestEvent(PlaceholderData data) {
+        if (PlaceholderRequestEvent.getHandlerList().getRegisteredListeners().length == 0)
+            return;
 
-        // Let other plugins customize the appearance of placeholders
         PlaceholderRequestEvent event = new PlaceholderRequestEvent(data);
         Bukkit.getPluginManager().callEvent(event);
+    }
 
-        // Let PlaceholderAPI
-        String message = template;
-        if (!isAdvancedPlaceholders && isPlaceholderApi) {
+    static boolean isAdvancedPlaceholders() {
+        if (isAdvancedPlaceholders == null)
+            isAdvancedPlaceholders = MechanicsCore.getPlugin().getConfig().getBoolean("Advanced_Placeholders", false);
+        return isAdvancedPlaceholders;
+    }
+
+    /**
+     * Fills the template with the values in <code>data.placeholders()</code> (and PlaceholderAPI),
+     * and deserializes it. The placeholder map should already be filled.
+     */
+    Component deserialize(PlaceholderData data, boolean isPlaceholderApi) {
+        boolean isAdvancedPlaceholders = isAdvancedPlaceholders();
+
+        // PlaceholderAPI placeholders are replaced after the compiled slots are
+        // filled, so the template never needs to be compiled again.
+        String message = fill(data.placeholders());
+        if (!isAdvancedPlaceholders && isPlaceholderApi && template.indexOf('%') != -1)
             message = PlaceholderAPI.setPlaceholders(data.player(), message);
-        }
 
-        // Convert the placeholder map into the tag resolver format for the adventure api
-        Map<String, String> placeholders = event.placeholders();
-        TagResolver[] tagResolvers = new TagResolver[event.placeholders().size()];
-        int i = 0;
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            tagResolvers[i++] = Placeholder.parsed(entry.getKey(), entry.getValue());
+        // Adventure api does the heavy lifting
+        Component returnValue;
+        synchronized (components) {
+            returnValue = components.get(message);
+        }
+        if (returnValue == null) {
+            returnValue = MechanicsCore.getPlugin().message.deserialize(message);
+            synchronized (components) {
+                components.put(message, returnValue);
+            }
         }
 
-        // Adventure api does the heavy lifting
-        Component returnValue = MechanicsCore.getPlugin().message.deserialize(message, tagResolvers);
         if (isAdvancedPlaceholders && isPlaceholderApi) {
             message = MechanicsCore.getPlugin().message.serialize(returnValue);
             message = PlaceholderAPI.setPlaceholders(data.player(), message);
@@ -119,4 +185,27 @@ public class PlaceholderMessage {
         }
         return returnValue;
     }
+
+    /**
+     * Replaces every slot in the compiled template with its value. Like MiniMessage's parsed
+     * placeholders, values are inserted before the message is parsed, so values may contain tags.
+     * Tags without a value are kept, so MiniMessage can handle them.
+     */
+    private String fill(Map<String, String> placeholders) {
+        if (slots.length == 0)
+            return template;
+
+        StringBuilder builder = new StringBuilder(template.length() + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            if (placeholders.containsKey(slots[i])) {
+                String value = placeholders.get(slots[i]);
+                if (value != null)
+                    builder.append(value);
+            } else {
+                builder.append(tags[i]);
+            }
+        }
+        return builder.append(literals[slots.length]).toString();
+    }
 }
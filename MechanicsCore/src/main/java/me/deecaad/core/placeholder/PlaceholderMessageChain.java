@@ -1,7 +1,5 @@
 package me.deecaad.core.placeholder;
 
-import me.clip.placeholderapi.PlaceholderAPI;
-import me.deecaad.core.MechanicsCore;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
@@ -37,12 +35,11 @@ public class PlaceholderMessageChain {
         }
 
         // Let other plugins customize the appearance of placeholders
-        PlaceholderRequestEvent event = new PlaceholderRequestEvent(data);
-        Bukkit.getPluginManager().callEvent(event);
+        PlaceholderMessage.callRequestEvent(data);
 
         // Convert the placeholder map into the tag resolver format for the adventure api
-        Map<String, String> placeholders = event.placeholders();
-        TagResolver[] tagResolvers = new TagResolver[event.placeholders().size()];
+        Map<String, String> placeholders = data.placeholders();
+        TagResolver[] tagResolvers = new TagResolver[placeholders.size()];
         int i = 0;
         for (Map.Entry<String, String> entry : placeholders.entrySet()) {
             tagResolvers[i++] = Placeholder.parsed(entry.getKey(), entry.getValue());
@@ -52,40 +49,37 @@ public class PlaceholderMessageChain {
     }
 
     public List<Component> replaceAndDeserialize(PlaceholderData data) {
-        TagResolver[] tagResolvers = getTagResolvers(data);
-        boolean isPlaceholderAPI = Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
+        boolean isPlaceholderAPI = fillMap(data);
 
         List<Component> temp = new ArrayList<>(chain.size());
         for (PlaceholderMessage message : chain) {
-            String str = message.getTemplate();
-
-            // Handle any PlaceholderAPI placeholders
-            if (isPlaceholderAPI) {
-                str = PlaceholderAPI.setPlaceholders(data.player(), str);
-            }
-
-            temp.add(MechanicsCore.getPlugin().message.deserialize(str, tagResolvers));
+            temp.add(message.deserialize(data, isPlaceholderAPI));
         }
 
         return temp;
     }
 
     public TextComponent.Builder replaceAndDeserializeAndMerge(PlaceholderData data) {
-        TagResolver[] tagResolvers = getTagResolvers(data);
-        boolean isPlaceholderAPI = Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
+        boolean isPlaceholderAPI = fillMap(data);
 
         TextComponent.Builder builder = Component.text();
         for (PlaceholderMessage message : chain) {
-            String str = message.getTemplate();
+            builder.append(message.deserialize(data, isPlaceholderAPI));
+        }
 
-            // Handle any PlaceholderAPI placeholders
-            if (isPlaceholderAPI) {
-                str = PlaceholderAPI.setPlaceholders(data.player(), str);
-            }
+        return builder;
+    }
 
-            builder.append(MechanicsCore.getPlugin().message.deserialize(str, tagResolvers));
+    /**
+     * Fills the placeholders of every message, and returns <code>true</code> if PlaceholderAPI is
+     * enabled.
+     */
+    private boolean fillMap(PlaceholderData data) {
+        for (PlaceholderMessage message : chain) {
+            message.fillMap(data);
         }
 
-        return builder;
+        PlaceholderMessage.callRequestEvent(data);
+        return Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI");
     }
 }
@@ -0,0 +1,13 @@
+package me.deecaad.core.utils.primitive;
+
+/**
+ * This interface outlines some action that accepts an int first argument and a generic second
+ * argument. This interface has the advantage of not needing to wrap and unwrap a {@link Integer}.
+ *
+ * @param <T> The second argument generic type.
+ * @see IntMap#forEach(IntObjectConsumer)
+ */
+@FunctionalInterface
+public interface IntObjectConsumer<T> {
+    void accept(int num, T t);
+}
@@ -0,0 +1,213 @@
+package me.deecaad.core.utils.primitive;
+
+import java.util.Arrays;
+
+/**
+ * An optimized, open addressing implementation of a {@link java.util.HashMap} that maps a
+ * <code>long</code> key to a value. Has the advantage of not needing to wrap/unwrap keys, so
+ * lookups do not allocate. This is useful for packed coordinates, like chunk keys.
+ *
+ * <p>
+ * This map does not accept <code>null</code> values, since <code>null</code> is used to mark
+ * empty slots in the table.
+ *
+ * @param <V> The value type.
+ */
+public class LongMap<V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private V[] values;
+    private int threshold;
+    private int size;
+
+    public LongMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LongMap(int cap) {
+        int capacity = tableSizeFor((int) Math.ceil(cap / LOAD_FACTOR));
+        this.keys = new long[capacity];
+        this.values = (V[]) new Object[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Internal mapping methods
+
+    private static int tableSizeFor(int cap) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(cap, 2) - 1);
+        return (n < 0) ? 1 : (n >= MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : n + 1;
+    }
+
+    private static int hash(long key) {
+        // Murmur3 finalizer, spreads packed coordinates across the table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key)
+                return index;
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        if (oldKeys.length >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+
+        int newCap = oldKeys.length << 1;
+        keys = new long[newCap];
+        values = (V[]) new Object[newCap];
+        threshold = (int) (newCap * LOAD_FACTOR);
+
+        int mask = newCap - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            V value = oldValues[i];
+            if (value == null)
+                continue;
+
+            int index = hash(oldKeys[i]) & mask;
+            while (values[index] != null)
+                index = (index + 1) & mask;
+            keys[index] = oldKeys[i];
+            values[index] = value;
+        }
+    }
+
+    // Public API methods
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Returns the value mapped to the given key, or <code>null</code> if there is no mapping.
+     *
+     * @param key The key to lookup.
+     * @return The mapped value, or null.
+     */
+    public V get(long key) {
+        int index = indexOf(key);
+        return index == -1 ? null : values[index];
+    }
+
+    /**
+     * Maps the given key to the given non-null value.
+     *
+     * @param key The key to map.
+     * @param value The non-null value.
+     * @return The previously mapped value, or null.
+     */
+    public V put(long key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("LongMap does not support null values");
+
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V old = values[index];
+                values[index] = value;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given key, if one exists.
+     *
+     * @param key The key to remove.
+     * @return The previously mapped value, or null.
+     */
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index == -1)
+            return null;
+
+        V old = values[index];
+        values[index] = null;
+        size--;
+
+        // Backward shift deletion, so we don't need tombstones. Every entry
+        // after the removed slot (until an empty slot) might need to move
+        // back to stay reachable from its ideal slot.
+        int mask = keys.length - 1;
+        int hole = index;
+        int next = (index + 1) & mask;
+        while (values[next] != null) {
+            int ideal = hash(keys[next]) & mask;
+            boolean shift = (hole <= next) ? (ideal <= hole || ideal > next) : (ideal <= hole && ideal > next);
+            if (shift) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                values[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        return old;
+    }
+
+    /**
+     * Removes every mapping, but keeps the allocated table so the map can be refilled without
+     * resizing.
+     */
+    public void clear() {
+        if (size == 0)
+            return;
+
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            V value = values[i];
+            if (value != null)
+                consumer.accept(keys[i], value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1)
+                builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,13 @@
+package me.deecaad.core.utils.primitive;
+
+/**
+ * This interface outlines some action that accepts a long first argument and a generic second
+ * argument. This interface has the advantage of not needing to wrap and unwrap a {@link Long}.
+ *
+ * @param <T> The second argument generic type.
+ * @see LongMap#forEach(LongObjectConsumer)
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<T> {
+    void accept(long num, T t);
+}
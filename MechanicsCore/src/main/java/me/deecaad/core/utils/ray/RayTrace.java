@@ -2,8 +2,9 @@ package me.deecaad.core.utils.ray;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.compatibility.block.BlockShape;
 import me.deecaad.core.utils.NumberUtil;
-import org.bukkit.Chunk;
+import me.deecaad.core.utils.spatial.EntityIndex;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -13,8 +14,14 @@ import org.bukkit.util.Vector;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+/**
+ * Casts rays through blocks and entities. Casting a ray that hits nothing does not allocate a
+ * result list. A <code>RayTrace</code> instance should only be used by 1 thread at a time, since
+ * the entity pass stores its state in fields instead of allocating a new lambda every cast.
+ */
 public class RayTrace {
 
     private boolean disableEntityChecks;
@@ -27,6 +34,13 @@ public class RayTrace {
     private boolean allowLiquid;
     private double raySize = 0.1;
 
+    // Entity pass state, reused between casts. See #getEntityHits
+    private final Consumer<LivingEntity> entityVisitor = this::visitEntity;
+    private List<RayTraceResult> entityHits;
+    private Vector entityStart;
+    private Vector entityDirection;
+    private double boundsMinX, boundsMinY, boundsMinZ, boundsMaxX, boundsMaxY, boundsMaxZ;
+
     public RayTrace() {
     }
 
@@ -85,11 +99,10 @@ public class RayTrace {
     }
 
     public List<RayTraceResult> cast(World world, Vector start, Vector end, Vector direction, double maximumBlockThrough) {
-        List<RayTraceResult> hits = new ArrayList<>(5);
-        getBlockHits(hits, world, start, end, direction, maximumBlockThrough);
-        getEntityHits(hits, world, start, end, direction);
+        List<RayTraceResult> hits = getBlockHits(null, world, start, end, direction, maximumBlockThrough);
+        hits = getEntityHits(hits, world, start, end, direction);
 
-        if (!hits.isEmpty()) {
+        if (hits != null) {
 
             // If more than 1 hit, sort based on distance travelled (lowest to highest)
             if (hits.size() > 1)
@@ -113,9 +126,20 @@ public class RayTrace {
         return null;
     }
 
-    private void getBlockHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction, double maximumBlockThrough) {
+    /**
+     * Adds a hit to the list, creating the list if it is null. This way, rays that don't hit
+     * anything (most rays) don't need to allocate a list.
+     */
+    private static List<RayTraceResult> addHit(List<RayTraceResult> hits, RayTraceResult hit) {
+        if (hits == null)
+            hits = new ArrayList<>(5);
+        hits.add(hit);
+        return hits;
+    }
+
+    private List<RayTraceResult> getBlockHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction, double maximumBlockThrough) {
         if (this.disableBlockChecks)
-            return;
+            return hits;
 
         // Method based on NMS block traversing
 
@@ -130,12 +154,12 @@ public class RayTrace {
         Block startBlock = world.getBlockAt(currentX, currentY, currentZ);
         RayTraceResult rayStartBlock = rayBlock(startBlock, start, direction);
         if (rayStartBlock != null) {
-            hits.add(rayStartBlock);
+            hits = addHit(hits, rayStartBlock);
 
             // Don't count liquid as actual hits along the path
             if (!allowLiquid || !startBlock.isLiquid()) {
                 if (maximumBlockThrough != -1.0 && (maximumBlockThrough -= rayStartBlock.getThroughDistance()) < 0)
-                    return;
+                    return hits;
             }
         }
 
@@ -180,7 +204,7 @@ public class RayTrace {
             Block newBlock = world.getBlockAt(currentX, currentY, currentZ);
             RayTraceResult rayNewBlock = rayBlock(newBlock, start, direction);
             if (rayNewBlock != null) {
-                hits.add(rayNewBlock);
+                hits = addHit(hits, rayNewBlock);
 
                 // Don't count liquid as actual hits along the path
                 if (!allowLiquid || !newBlock.isLiquid()) {
@@ -190,46 +214,61 @@ public class RayTrace {
 
             }
         }
+        return hits;
     }
 
     private RayTraceResult rayBlock(Block block, Vector start, Vector direction) {
         if (blockFilter != null && blockFilter.test(block))
             return null;
 
-        HitBox blockBox = CompatibilityAPI.getBlockCompatibility().getHitBox(block, allowLiquid);
-        if (blockBox == null)
+        // Shapes are cached per block state, so we only need to translate
+        // the shape to this block instead of building a new hit-box
+        BlockShape blockShape = CompatibilityAPI.getBlockCompatibility().getShape(block, allowLiquid);
+        if (blockShape == null)
             return null;
 
-        return blockBox.rayTrace(start, direction);
+        return blockShape.rayTrace(block, start, direction);
     }
 
-    private void getEntityHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction) {
+    private List<RayTraceResult> getEntityHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction) {
         if (this.disableEntityChecks)
-            return;
-        HitBox hitBox = new HitBox(start, end);
-
-        int minX = NumberUtil.floorToInt((hitBox.getMinX() - 2.0) / 16.0);
-        int maxX = NumberUtil.floorToInt((hitBox.getMaxX() + 2.0) / 16.0);
-        int minZ = NumberUtil.floorToInt((hitBox.getMinZ() - 2.0) / 16.0);
-        int maxZ = NumberUtil.floorToInt((hitBox.getMaxZ() + 2.0) / 16.0);
-
-        for (int x = minX; x <= maxX; ++x) {
-            for (int z = minZ; z <= maxZ; ++z) {
-                Chunk chunk = world.getChunkAt(x, z);
-                for (final Entity entity : chunk.getEntities()) {
-                    RayTraceResult rayNewEntity = rayEntity(hitBox, entity, start, direction);
-                    if (rayNewEntity != null) {
-                        hits.add(rayNewEntity);
-                    }
-                }
-            }
+            return hits;
+
+        boundsMinX = Math.min(start.getX(), end.getX());
+        boundsMinY = Math.min(start.getY(), end.getY());
+        boundsMinZ = Math.min(start.getZ(), end.getZ());
+        boundsMaxX = Math.max(start.getX(), end.getX());
+        boundsMaxY = Math.max(start.getY(), end.getY());
+        boundsMaxZ = Math.max(start.getZ(), end.getZ());
+        entityHits = hits;
+        entityStart = start;
+        entityDirection = direction;
+
+        // The number 2.0 is taken from Mojang's code. It is probably big
+        // enough to include entities whose hit-box is within the bounds, but
+        // their actual location is not in the box. Tall entities may stand
+        // far below the ray, so the y-axis is left to the hit-box check.
+        EntityIndex.SINGLETON.forEachLivingEntity(world,
+            boundsMinX - 2.0, Double.NEGATIVE_INFINITY, boundsMinZ - 2.0,
+            boundsMaxX + 2.0, Double.POSITIVE_INFINITY, boundsMaxZ + 2.0,
+            entityVisitor);
+
+        hits = entityHits;
+        entityHits = null;
+        entityStart = null;
+        entityDirection = null;
+        return hits;
+    }
+
+    private void visitEntity(LivingEntity entity) {
+        RayTraceResult rayNewEntity = rayEntity(entity, entityStart, entityDirection);
+        if (rayNewEntity != null) {
+            entityHits = addHit(entityHits, rayNewEntity);
         }
     }
 
-    private RayTraceResult rayEntity(HitBox hitBox, Entity entity, Vector start, Vector direction) {
-        if (!entity.getType().isAlive())
-            return null;
-        if (entityFilter != null && entityFilter.test((LivingEntity) entity))
+    private RayTraceResult rayEntity(LivingEntity entity, Vector start, Vector direction) {
+        if (entityFilter != null && entityFilter.test(entity))
             return null;
 
         HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
@@ -237,9 +276,10 @@ public class RayTrace {
             return null;
 
         entityBox.grow(raySize);
-        if (!hitBox.overlaps(entityBox))
+        if (!(boundsMinX < entityBox.getMaxX() && boundsMaxX > entityBox.getMinX() && boundsMinY < entityBox.getMaxY() && boundsMaxY > entityBox.getMinY()
+            && boundsMinZ < entityBox.getMaxZ() && boundsMaxZ > entityBox.getMinZ()))
             return null;
 
         return entityBox.rayTrace(start, direction);
     }
-}
\ No newline at end of file
+}
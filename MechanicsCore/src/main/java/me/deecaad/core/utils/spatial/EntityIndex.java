@@ -0,0 +1,602 @@
+package me.deecaad.core.utils.spatial;
+
+import me.deecaad.core.utils.MinecraftVersions;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.IntMap;
+import me.deecaad.core.utils.primitive.LongMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPortalEvent;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A per-world index of living entities, bucketed by the chunk they are standing in. Use this
+ * instead of looping through {@link org.bukkit.Chunk#getEntities()} (which allocates a new array
+ * every call) or {@link World#getLivingEntities()} (which scans the entire world) when you need
+ * the entities inside a bounding box. Players are also indexed separately, see
+ * {@link #forEachPlayer(World, double, double, double, double, double, double, Consumer)}.
+ *
+ * <p>
+ * The index is maintained incrementally. Entities are added when they spawn, when their chunk
+ * loads and when players join, and are removed when their chunk unloads and when players quit.
+ * Entities that teleport (or use a portal) to another world are moved to that world's index on the
+ * next tick, since the entity only arrives in the other world after the event. The first time a world is queried during a tick, a move pass re-buckets the
+ * tracked entities by their current location, and drops entities that died or were removed. The
+ * move pass only reads the tracked entities, it never scans the world. Every
+ * {@link #RESYNC_TICKS} ticks, entities that were added without an event (like entities spawned
+ * by other plugins) are picked up from {@link World#getLivingEntities()}.
+ *
+ * <p>
+ * Entities are filtered by the location they had during the move pass (or when they were added),
+ * so callers should add a small buffer to their bounding box (Mojang uses 2 blocks) to catch
+ * entities with large hit-boxes and entities that moved later in the same tick. Bucket arrays are
+ * reused between move passes, so steady-state queries do not allocate.
+ *
+ * <p>
+ * This class is not thread safe, and should only be used on the main server thread. The only
+ * exception is {@link #containsLivingEntity(World, double, double, double, double, double, double)},
+ * see its documentation.
+ */
+public final class EntityIndex implements Listener {
+
+    public static final EntityIndex SINGLETON = new EntityIndex();
+
+    /**
+     * The number of ticks between checks for entities that were added without an event.
+     */
+    public static final int RESYNC_TICKS = 100;
+
+    private final Map<UUID, WorldIndex> worlds;
+    private final List<UUID> changedWorlds;
+    private int tick;
+
+    private EntityIndex() {
+        worlds = new HashMap<>();
+        changedWorlds = new ArrayList<>();
+    }
+
+    /**
+     * Registers the listeners that keep this index up-to-date. MechanicsCore calls this method when
+     * it is enabled.
+     *
+     * @param plugin The non-null plugin to register the listeners for.
+     */
+    public void register(@NotNull Plugin plugin) {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+
+        // Since 1.17, entities are loaded separately from their chunk
+        if (MinecraftVersions.CAVES_AND_CLIFFS_1.isAtLeast())
+            Bukkit.getPluginManager().registerEvents(new EntitiesListener(), plugin);
+        else
+            Bukkit.getPluginManager().registerEvents(new ChunkListener(), plugin);
+    }
+
+    /**
+     * Lets the index know that a new tick has started, so every world does a move pass the next time
+     * it is queried. MechanicsCore calls this method once every tick.
+     */
+    public void nextTick() {
+        tick++;
+
+        // Entities that changed worlds last tick are in their new world now.
+        // Non-player entities are copied into the other world, so look up the
+        // new entity by its UUID.
+        if (!changedWorlds.isEmpty()) {
+            for (UUID uuid : changedWorlds) {
+                if (Bukkit.getEntity(uuid) instanceof LivingEntity living)
+                    add(living.getWorld(), living);
+            }
+            changedWorlds.clear();
+        }
+    }
+
+    /**
+     * Adds every living entity whose location is inside the given bounding box to
+     * <code>output</code>. Entities are ordered by chunk, and are not sorted by distance.
+     *
+     * @param world The non-null world to search.
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @param output The non-null collection to add the entities to.
+     * @return The given <code>output</code>, for chaining.
+     * @param <T> The collection type.
+     */
+    public <T extends Collection<? super LivingEntity>> @NotNull T getLivingEntities(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ, @NotNull T output) {
+
+        forEachLivingEntity(world, minX, minY, minZ, maxX, maxY, maxZ, output::add);
+        return output;
+    }
+
+    /**
+     * Shorthand for {@link #getLivingEntities(World, double, double, double, double, double, double, Collection)}
+     * which returns a new list.
+     */
+    public @NotNull List<LivingEntity> getLivingEntities(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ) {
+
+        return getLivingEntities(world, minX, minY, minZ, maxX, maxY, maxZ, new ArrayList<>());
+    }
+
+    /**
+     * Runs the given action for every living entity whose location is inside the given bounding
+     * box.
+     *
+     * @param world The non-null world to search.
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @param action The non-null action to run for each entity.
+     */
+    public void forEachLivingEntity(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ, @NotNull Consumer<? super LivingEntity> action) {
+
+        getEntityGrid(world).forEach(minX, minY, minZ, maxX, maxY, maxZ, action);
+    }
+
+    /**
+     * Adds every player whose location is inside the given bounding box to <code>output</code>.
+     * Players are ordered by chunk, and are not sorted by distance.
+     *
+     * @param world The non-null world to search.
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @param output The non-null collection to add the players to.
+     * @return The given <code>output</code>, for chaining.
+     * @param <T> The collection type.
+     */
+    public <T extends Collection<? super Player>> @NotNull T getPlayers(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ, @NotNull T output) {
+
+        forEachPlayer(world, minX, minY, minZ, maxX, maxY, maxZ, output::add);
+        return output;
+    }
+
+    /**
+     * Runs the given action for every player whose location is inside the given bounding box. Players
+     * are indexed separately from the other living entities, so the move pass for players does not
+     * visit every entity in the world.
+     *
+     * @param world The non-null world to search.
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @param action The non-null action to run for each player.
+     */
+    public void forEachPlayer(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ, @NotNull Consumer<? super Player> action) {
+
+        getPlayerGrid(world).forEach(minX, minY, minZ, maxX, maxY, maxZ, entity -> action.accept((Player) entity));
+    }
+
+    /**
+     * Makes sure the given world's index has done its move pass for the current tick. Call this on
+     * the main
+     * thread before using
+     * {@link #containsLivingEntity(World, double, double, double, double, double, double)} from
+     * other threads.
+     *
+     * @param world The non-null world to prepare.
+     */
+    public void prepare(@NotNull World world) {
+        getEntityGrid(world);
+    }
+
+    /**
+     * Returns <code>true</code> if any living entity's location is inside the given bounding box.
+     *
+     * <p>
+     * Unlike the other methods of this class, this method may be called from other threads, but
+     * only if {@link #prepare(World)} was called for the world during this tick, and only while the
+     * main thread is not using this index (for example, while the main thread waits for the other
+     * threads to finish). It never updates the index.
+     *
+     * @param world The non-null world to search.
+     * @param minX The minimum x coordinate of the box.
+     * @param minY The minimum y coordinate of the box.
+     * @param minZ The minimum z coordinate of the box.
+     * @param maxX The maximum x coordinate of the box.
+     * @param maxY The maximum y coordinate of the box.
+     * @param maxZ The maximum z coordinate of the box.
+     * @return true if there is at least 1 entity in the box.
+     * @throws IllegalStateException If the world was not prepared this tick.
+     */
+    public boolean containsLivingEntity(@NotNull World world, double minX, double minY, double minZ,
+        double maxX, double maxY, double maxZ) {
+
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null || index.entities.tick != tick || !index.entities.initialized)
+            throw new IllegalStateException("Did you forget to prepare(" + world.getName() + ")?");
+
+        Grid grid = index.entities;
+        int minChunkX = NumberUtil.floorToInt(minX) >> 4;
+        int minChunkZ = NumberUtil.floorToInt(minZ) >> 4;
+        int maxChunkX = NumberUtil.floorToInt(maxX) >> 4;
+        int maxChunkZ = NumberUtil.floorToInt(maxZ) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Bucket bucket = grid.buckets.get(chunkKey(chunkX, chunkZ));
+                if (bucket == null)
+                    continue;
+
+                for (int i = 0; i < bucket.size; i++) {
+                    int j = i * 3;
+                    double x = bucket.positions[j];
+                    double y = bucket.positions[j + 1];
+                    double z = bucket.positions[j + 2];
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ && grid.isTracked(bucket.entities[i]))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worlds.remove(event.getWorld().getUID());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawn(EntitySpawnEvent event) {
+        if (event.getEntity() instanceof LivingEntity living)
+            add(living.getWorld(), living);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        add(event.getPlayer().getWorld(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer().getWorld(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangeWorld(PlayerChangedWorldEvent event) {
+        remove(event.getFrom(), event.getPlayer());
+        add(event.getPlayer().getWorld(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(EntityTeleportEvent event) {
+        changeWorld(event.getEntity(), event.getFrom(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPortal(EntityPortalEvent event) {
+        changeWorld(event.getEntity(), event.getFrom(), event.getTo());
+    }
+
+    /**
+     * Remembers non-player entities that are moving to another world, so they can be added to that
+     * world's index on the next tick. Players are handled by {@link PlayerChangedWorldEvent}.
+     */
+    private void changeWorld(Entity entity, Location from, Location to) {
+        if (!(entity instanceof LivingEntity living) || entity instanceof Player || to == null || to.getWorld() == null
+            || to.getWorld() == from.getWorld())
+            return;
+
+        remove(from.getWorld(), living);
+        changedWorlds.add(living.getUniqueId());
+    }
+
+    /**
+     * Adds the living entities to the index of the given world, if that world is indexed.
+     */
+    private void addAll(World world, Entity[] entities) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null)
+            return;
+
+        for (Entity entity : entities) {
+            if (entity instanceof LivingEntity living)
+                index.add(living, tick);
+        }
+    }
+
+    /**
+     * Removes the living entities from the index of the given world, if that world is indexed.
+     */
+    private void removeAll(World world, Entity[] entities) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null)
+            return;
+
+        for (Entity entity : entities) {
+            if (entity instanceof LivingEntity living)
+                index.remove(living);
+        }
+    }
+
+    private void add(World world, LivingEntity entity) {
+        // Worlds that were never queried are filled on their first query
+        WorldIndex index = worlds.get(world.getUID());
+        if (index != null)
+            index.add(entity, tick);
+    }
+
+    private void remove(World world, LivingEntity entity) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index != null)
+            index.remove(entity);
+    }
+
+    private Grid getEntityGrid(World world) {
+        WorldIndex index = getIndex(world);
+        Grid grid = index.entities;
+        if (grid.tick != tick || !grid.initialized) {
+            if (tick - index.lastResync >= RESYNC_TICKS) {
+                index.lastResync = tick;
+                for (LivingEntity entity : world.getLivingEntities())
+                    grid.add(entity, tick);
+            }
+            grid.update(world, tick);
+        }
+        return grid;
+    }
+
+    private Grid getPlayerGrid(World world) {
+        Grid grid = getIndex(world).players;
+        if (grid.tick != tick || !grid.initialized)
+            grid.update(world, tick);
+        return grid;
+    }
+
+    private WorldIndex getIndex(World world) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null) {
+            index = new WorldIndex(tick);
+            for (LivingEntity entity : world.getLivingEntities())
+                index.entities.add(entity, tick);
+            for (Player player : world.getPlayers())
+                index.players.add(player, tick);
+            worlds.put(world.getUID(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Packs the chunk coordinates into 1 long, the same way that Minecraft does.
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX & 0xFFFFFFFFL | ((long) chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
+    private static class WorldIndex {
+
+        private final Grid entities = new Grid();
+        private final Grid players = new Grid();
+        private int lastResync;
+
+        private WorldIndex(int tick) {
+            this.lastResync = tick;
+        }
+
+        private void add(LivingEntity entity, int tick) {
+            entities.add(entity, tick);
+            if (entity instanceof Player)
+                players.add(entity, tick);
+        }
+
+        private void remove(LivingEntity entity) {
+            entities.remove(entity);
+            if (entity instanceof Player)
+                players.remove(entity);
+        }
+    }
+
+    /**
+     * The tracked entities of 1 world, bucketed by chunk. Re-bucketed at most once per tick.
+     */
+    private static class Grid {
+
+        private final IntMap<LivingEntity> tracked = new IntMap<>(64);
+        private final LongMap<Bucket> buckets = new LongMap<>(64);
+        private final List<Bucket> pool = new ArrayList<>();
+        private final List<LivingEntity> removed = new ArrayList<>();
+        private final Location reuse = new Location(null, 0, 0, 0);
+        private int tick;
+        private boolean initialized;
+
+        private boolean isTracked(LivingEntity entity) {
+            return tracked.get(entity.getEntityId()) == entity;
+        }
+
+        /**
+         * Starts tracking the entity. If the move pass already happened this tick, the entity is
+         * bucketed right away, so it can be found during the rest of the tick.
+         */
+        private void add(LivingEntity entity, int tick) {
+            if (tracked.put(entity.getEntityId(), entity) == entity || !initialized || this.tick != tick)
+                return;
+
+            bucket(entity, entity.getLocation(reuse));
+            reuse.setWorld(null);
+        }
+
+        /**
+         * Stops tracking the entity. It stays in its bucket until the next move pass, but is skipped
+         * by queries.
+         */
+        private void remove(LivingEntity entity) {
+            if (isTracked(entity))
+                tracked.remove(entity.getEntityId());
+        }
+
+        /**
+         * The move pass. Re-buckets every tracked entity by its current location, and stops tracking
+         * entities that are dead, removed, or in another world.
+         */
+        private void update(World world, int tick) {
+
+            // Return every bucket to the pool, so we don't need to allocate
+            // new arrays for the chunks that still have entities in them.
+            buckets.forEach((key, bucket) -> {
+                bucket.clear();
+                pool.add(bucket);
+            });
+            buckets.clear();
+
+            tracked.forEach((id, entity) -> {
+                // Dead players are still in the world until they respawn
+                boolean exists = entity.isValid() || entity instanceof Player player && player.isOnline();
+                Location location = entity.getLocation(reuse);
+                if (exists && location.getWorld() == world)
+                    bucket(entity, location);
+                else
+                    removed.add(entity);
+            });
+
+            for (LivingEntity entity : removed)
+                tracked.remove(entity.getEntityId());
+            removed.clear();
+
+            // Don't keep a reference to the world after it may be unloaded
+            reuse.setWorld(null);
+            this.tick = tick;
+            this.initialized = true;
+        }
+
+        private void bucket(LivingEntity entity, Location location) {
+            double x = location.getX();
+            double z = location.getZ();
+
+            long key = chunkKey(NumberUtil.floorToInt(x) >> 4, NumberUtil.floorToInt(z) >> 4);
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = pool.isEmpty() ? new Bucket() : pool.remove(pool.size() - 1);
+                buckets.put(key, bucket);
+            }
+            bucket.add(entity, x, location.getY(), z);
+        }
+
+        private void forEach(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+            Consumer<? super LivingEntity> action) {
+
+            int minChunkX = NumberUtil.floorToInt(minX) >> 4;
+            int minChunkZ = NumberUtil.floorToInt(minZ) >> 4;
+            int maxChunkX = NumberUtil.floorToInt(maxX) >> 4;
+            int maxChunkZ = NumberUtil.floorToInt(maxZ) >> 4;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    Bucket bucket = buckets.get(chunkKey(chunkX, chunkZ));
+                    if (bucket == null)
+                        continue;
+
+                    for (int i = 0; i < bucket.size; i++) {
+                        int j = i * 3;
+                        double x = bucket.positions[j];
+                        double y = bucket.positions[j + 1];
+                        double z = bucket.positions[j + 2];
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ && isTracked(bucket.entities[i]))
+                            action.accept(bucket.entities[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds and removes the entities of chunks, before 1.17.
+     */
+    private static class ChunkListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onLoad(ChunkLoadEvent event) {
+            SINGLETON.addAll(event.getWorld(), event.getChunk().getEntities());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onUnload(ChunkUnloadEvent event) {
+            SINGLETON.removeAll(event.getWorld(), event.getChunk().getEntities());
+        }
+    }
+
+    /**
+     * Adds and removes entities when they are loaded and unloaded, since 1.17. This is a separate
+     * class, since these events don't exist on older versions.
+     */
+    private static class EntitiesListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onLoad(EntitiesLoadEvent event) {
+            SINGLETON.addAll(event.getWorld(), event.getEntities().toArray(new Entity[0]));
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onUnload(EntitiesUnloadEvent event) {
+            SINGLETON.removeAll(event.getWorld(), event.getEntities().toArray(new Entity[0]));
+        }
+    }
+
+    private static class Bucket {
+
+        private LivingEntity[] entities = new LivingEntity[8];
+        private double[] positions = new double[8 * 3];
+        private int size;
+
+        private void add(LivingEntity entity, double x, double y, double z) {
+            if (size == entities.length) {
+                entities = Arrays.copyOf(entities, size << 1);
+                positions = Arrays.copyOf(positions, (size << 1) * 3);
+            }
+
+            int j = size * 3;
+            entities[size] = entity;
+            positions[j] = x;
+            positions[j + 1] = y;
+            positions[j + 2] = z;
+            size++;
+        }
+
+        private void clear() {
+            Arrays.fill(entities, 0, size, null);
+            size = 0;
+        }
+    }
+}
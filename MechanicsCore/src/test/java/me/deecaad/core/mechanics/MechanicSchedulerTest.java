@@ -0,0 +1,126 @@
+package me.deecaad.core.mechanics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MechanicSchedulerTest {
+
+    private static List<Integer> tick(MechanicScheduler scheduler, int ticks, int[] counter) {
+        List<Integer> runTicks = new ArrayList<>();
+        for (int i = 1; i <= ticks; i++) {
+            int before = counter[0];
+            scheduler.tick();
+            if (counter[0] != before)
+                runTicks.add(i);
+        }
+        return runTicks;
+    }
+
+    @Test
+    public void test_delay() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        scheduler.schedule(() -> counter[0]++, 5, 1, 1);
+
+        assertEquals(List.of(5), tick(scheduler, 10, counter));
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void test_zeroDelay() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        scheduler.schedule(() -> counter[0]++, 0, 0, 3);
+
+        assertEquals(List.of(1, 2, 3), tick(scheduler, 10, counter));
+    }
+
+    @Test
+    public void test_repeat() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        scheduler.schedule(() -> counter[0]++, 2, 3, 4);
+
+        assertEquals(List.of(2, 5, 8, 11), tick(scheduler, 20, counter));
+        assertEquals(4, counter[0]);
+    }
+
+    @Test
+    public void test_longDelay() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        int delay = MechanicScheduler.SLOTS * 2 + 7;
+        scheduler.schedule(() -> counter[0]++, delay, 1, 1);
+
+        assertEquals(List.of(delay), tick(scheduler, delay + 10, counter));
+    }
+
+    @Test
+    public void test_cancel() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        int id = scheduler.schedule(() -> counter[0]++, 1, 1, 10);
+
+        assertTrue(id < 0);
+        assertTrue(scheduler.isQueued(id));
+        tick(scheduler, 3, counter);
+        scheduler.cancelTask(id);
+
+        assertFalse(scheduler.isQueued(id));
+        tick(scheduler, 10, counter);
+        assertEquals(3, counter[0]);
+    }
+
+    @Test
+    public void test_cancelWhileRunning() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        int[] id = new int[1];
+        id[0] = scheduler.schedule(() -> {
+            if (++counter[0] == 2)
+                scheduler.cancelTask(id[0]);
+        }, 1, 1, 10);
+
+        tick(scheduler, 10, counter);
+        assertEquals(2, counter[0]);
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void test_scheduleWhileRunning() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        scheduler.schedule(() -> scheduler.schedule(() -> counter[0]++, 0, 1, 1), 1, 1, 1);
+
+        assertEquals(List.of(2), tick(scheduler, 5, counter));
+    }
+
+    @Test
+    public void test_cancelAll() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int[] counter = new int[1];
+        scheduler.schedule(() -> counter[0]++, 1, 1, 5);
+        scheduler.schedule(() -> counter[0]++, 300, 1, 5);
+        scheduler.cancelAll();
+
+        tick(scheduler, 400, counter);
+        assertEquals(0, counter[0]);
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void test_uniqueIds() {
+        MechanicScheduler scheduler = new MechanicScheduler();
+        int first = scheduler.schedule(() -> {
+        }, 1, 1, 1);
+        int second = scheduler.schedule(() -> {
+        }, 1, 1, 1);
+
+        assertNotEquals(first, second);
+        assertTrue(second < 0);
+    }
+}
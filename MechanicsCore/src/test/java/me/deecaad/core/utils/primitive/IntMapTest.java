@@ -0,0 +1,96 @@
+package me.deecaad.core.utils.primitive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntMapTest {
+
+    private static IntMap<String> provideInts() {
+        IntMap<String> ints = new IntMap<>();
+        ints.put(0, "Origin");
+        ints.put(-1, "Negative");
+        ints.put(1 << 16, "Shifted");
+        ints.put(Integer.MAX_VALUE, "Max");
+        ints.put(Integer.MIN_VALUE, "Min");
+
+        return ints;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,Origin", "-1,Negative", "65536,Shifted", "2147483647,Max", "-2147483648,Min", "5,"})
+    public void test_get(int key, String expected) {
+        IntMap<String> ints = provideInts();
+        String actual = ints.get(key);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_emptyMap() {
+        IntMap<String> empty = new IntMap<>();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertFalse(empty.containsKey(0));
+        assertNull(empty.remove(0));
+
+        // Fail if it loops at all
+        empty.forEach((key, value) -> fail());
+    }
+
+    @Test
+    public void test_putReplaces() {
+        IntMap<String> ints = provideInts();
+
+        assertEquals("Origin", ints.put(0, "Replaced"));
+        assertEquals("Replaced", ints.get(0));
+        assertEquals(5, ints.size());
+    }
+
+    @Test
+    public void test_clear() {
+        IntMap<String> ints = provideInts();
+        ints.clear();
+
+        assertTrue(ints.isEmpty());
+        assertNull(ints.get(0));
+
+        ints.put(7, "Seven");
+        assertEquals("Seven", ints.get(7));
+    }
+
+    @Test
+    public void test_againstHashMap() {
+        Random random = new Random(12345);
+        IntMap<Integer> ints = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        // Use a small key range so we get plenty of collisions and removals
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2048) - 1024;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, key * 3), ints.put(key, key * 3));
+            } else {
+                assertEquals(expected.remove(key), ints.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), ints.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet())
+            assertEquals(entry.getValue(), ints.get(entry.getKey()));
+
+        int[] count = new int[1];
+        ints.forEach((key, value) -> {
+            assertEquals(expected.get(key), value);
+            count[0]++;
+        });
+        assertEquals(expected.size(), count[0]);
+    }
+}
@@ -0,0 +1,96 @@
+package me.deecaad.core.utils.primitive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongMapTest {
+
+    private static LongMap<String> provideLongs() {
+        LongMap<String> longs = new LongMap<>();
+        longs.put(0L, "Origin");
+        longs.put(-1L, "Negative");
+        longs.put(1L << 32, "Shifted");
+        longs.put(Long.MAX_VALUE, "Max");
+        longs.put(Long.MIN_VALUE, "Min");
+
+        return longs;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,Origin", "-1,Negative", "4294967296,Shifted", "9223372036854775807,Max", "-9223372036854775808,Min", "5,"})
+    public void test_get(long key, String expected) {
+        LongMap<String> longs = provideLongs();
+        String actual = longs.get(key);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_emptyMap() {
+        LongMap<String> empty = new LongMap<>();
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertFalse(empty.containsKey(0L));
+        assertNull(empty.remove(0L));
+
+        // Fail if it loops at all
+        empty.forEach((key, value) -> fail());
+    }
+
+    @Test
+    public void test_putReplaces() {
+        LongMap<String> longs = provideLongs();
+
+        assertEquals("Origin", longs.put(0L, "Replaced"));
+        assertEquals("Replaced", longs.get(0L));
+        assertEquals(5, longs.size());
+    }
+
+    @Test
+    public void test_clear() {
+        LongMap<String> longs = provideLongs();
+        longs.clear();
+
+        assertTrue(longs.isEmpty());
+        assertNull(longs.get(0L));
+
+        longs.put(7L, "Seven");
+        assertEquals("Seven", longs.get(7L));
+    }
+
+    @Test
+    public void test_againstHashMap() {
+        Random random = new Random(12345);
+        LongMap<Long> longs = new LongMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+
+        // Use a small key range so we get plenty of collisions and removals
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2048) - 1024;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, key * 3), longs.put(key, key * 3));
+            } else {
+                assertEquals(expected.remove(key), longs.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), longs.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet())
+            assertEquals(entry.getValue(), longs.get(entry.getKey()));
+
+        int[] count = new int[1];
+        longs.forEach((key, value) -> {
+            assertEquals(expected.get(key), value);
+            count[0]++;
+        });
+        assertEquals(expected.size(), count[0]);
+    }
+}
@@ -4,6 +4,7 @@ plugins {
     id("io.codearte.nexus-staging") version "0.30.0"
     id("me.deecaad.mechanics-project")
     kotlin("jvm") version Versions.KOTLIN
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -12,6 +13,9 @@ repositories {
     maven(url = "https://repo.jeff-media.com/public/")
 }
 
+// The benchmarks share MechanicsCore's fake bukkit helpers (BenchmarkFakes)
+evaluationDependsOn(":MechanicsCore")
+
 dependencies {
     implementation(Dependencies.BSTATS)
     implementation("com.jeff_media:SpigotUpdateChecker:3.0.3")
@@ -26,6 +30,16 @@ dependencies {
     compileOnly(Dependencies.VIVECRAFT)
     compileOnly(files(file("../lib/crackshot/CrackShotPlus.jar")))
     compileOnly(files(file("../lib/crackshot/CrackShot.jar")))
+
+    jmh(Dependencies.LATEST_SPIGOT_API)
+    jmh(project(":MechanicsCore"))
+    jmh(project(":MechanicsCore").the<SourceSetContainer>()["jmh"].output)
+}
+
+// Run with ./gradlew :WeaponMechanics:jmh, "gc.alloc.rate.norm" is the bytes
+// allocated per benchmark operation
+jmh {
+    profilers.add("gc")
 }
 
 // Create javadocJar and sourcesJar tasks
@@ -0,0 +1,163 @@
+package me.deecaad.weaponmechanics.weapon.explode.shapes;
+
+import me.deecaad.core.BenchmarkFakes;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long it takes an explosion to find the entities inside of it, while the number of
+ * living entities in the world grows. The entities are spread over a 2048x2048 block area, and a
+ * few of them stand inside the explosion.
+ *
+ * <p>
+ * {@link #indexed()} should stay flat as the <code>population</code> grows, since it only checks
+ * the chunks around the explosion. {@link #legacy()} is a copy of the old
+ * <code>world.getLivingEntities()</code> scan, and grows linearly. {@link #indexedRefresh()}
+ * includes the move pass of the {@link EntityIndex}, which happens once per tick no matter how many
+ * explosions (and projectiles) query it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExplosionEntitiesBenchmark {
+
+    private static final double RADIUS = 5.0;
+    private static final int NEARBY = 8;
+
+    private static int nextEntityId;
+
+    @Param({"100", "1000", "10000"})
+    public int population;
+
+    private Location origin;
+    private ExplosionShape shape;
+    private List<LivingEntity> entities;
+
+    @Setup
+    public void setup() {
+        BenchmarkFakes.setupServer();
+
+        entities = new ArrayList<>(population);
+        World world = world(entities);
+        origin = new Location(world, 0.5, 64.0, 0.5);
+
+        Random random = new Random(0);
+        for (int i = 0; i < population; i++) {
+            double x, z;
+            if (i < NEARBY) {
+                x = random.nextDouble() * 6.0 - 3.0;
+                z = random.nextDouble() * 6.0 - 3.0;
+            } else {
+                x = random.nextDouble() * 2048.0 - 1024.0;
+                z = random.nextDouble() * 2048.0 - 1024.0;
+            }
+            entities.add(entity(new Location(world, x, 64.0, z)));
+        }
+
+        // Uses the default ExplosionShape#getEntities, like SphericalExplosion
+        shape = new BenchmarkShape();
+        EntityIndex.SINGLETON.nextTick();
+        EntityIndex.SINGLETON.prepare(world);
+    }
+
+    @Benchmark
+    public List<LivingEntity> indexed() {
+        return shape.getEntities(origin);
+    }
+
+    @Benchmark
+    public List<LivingEntity> indexedRefresh() {
+        EntityIndex.SINGLETON.nextTick();
+        return shape.getEntities(origin);
+    }
+
+    @Benchmark
+    public List<LivingEntity> legacy() {
+        double radiusSquared = RADIUS * RADIUS;
+        return origin.getWorld().getLivingEntities()
+            .stream()
+            .filter(entity -> entity.getLocation().distanceSquared(origin) < radiusSquared)
+            .collect(Collectors.toList());
+    }
+
+    private static World world(List<LivingEntity> entities) {
+        UUID uuid = UUID.randomUUID();
+        return BenchmarkFakes.proxy(World.class, (proxy, method, args) -> switch (method) {
+            case "getUID" -> uuid;
+            case "getLivingEntities" -> new ArrayList<>(entities);
+            case "getPlayers" -> new ArrayList<>();
+            default -> null;
+        });
+    }
+
+    private static LivingEntity entity(Location location) {
+        int id = nextEntityId++;
+        return BenchmarkFakes.proxy(LivingEntity.class, (proxy, method, args) -> switch (method) {
+            case "getEntityId" -> id;
+            case "isValid" -> true;
+            case "getLocation" -> {
+                if (args == null)
+                    yield location.clone();
+
+                Location reuse = (Location) args[0];
+                reuse.setWorld(location.getWorld());
+                reuse.setX(location.getX());
+                reuse.setY(location.getY());
+                reuse.setZ(location.getZ());
+                yield reuse;
+            }
+            default -> null;
+        });
+    }
+
+    /**
+     * A sphere which does not read the config, so it can be used without the plugin.
+     */
+    private static class BenchmarkShape implements ExplosionShape {
+
+        @Override
+        public @NotNull List<Block> getBlocks(@NotNull Location origin) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public double getMaxDistance() {
+            return RADIUS;
+        }
+
+        @Override
+        public boolean isContained(@NotNull Location origin, @NotNull Location point) {
+            return origin.distanceSquared(point) < RADIUS * RADIUS;
+        }
+
+        @Override
+        public double getArea() {
+            return 4.0 / 3.0 * Math.PI * RADIUS * RADIUS * RADIUS;
+        }
+    }
+}
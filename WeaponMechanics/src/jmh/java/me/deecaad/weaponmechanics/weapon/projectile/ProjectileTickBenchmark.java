@@ -0,0 +1,595 @@
+package me.deecaad.weaponmechanics.weapon.projectile;
+
+import me.deecaad.core.BenchmarkFakes;
+import me.deecaad.core.MechanicsCore;
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.HitBox;
+import me.deecaad.core.compatibility.ICompatibility;
+import me.deecaad.core.compatibility.block.BlockCompatibility;
+import me.deecaad.core.compatibility.entity.EntityCompatibility;
+import me.deecaad.core.utils.Debugger;
+import me.deecaad.core.utils.MinecraftVersions;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.ray.RayTraceResult;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.ProjectileSettings;
+import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Measures 1 tick of a {@link WeaponProjectile} flying through the air, including the drag and
+ * chunk checks, and the {@link me.deecaad.core.utils.ray.RayTrace} through blocks and the
+ * {@link EntityIndex}. The world, its blocks and entities, and the version dependant compatibility
+ * are fake, so the benchmark runs without a server.
+ *
+ * <p>
+ * The projectile flies high above <code>entities</code> living entities spread along its path, so
+ * every entity in the nearby chunks is checked, but nothing is hit. Run with the gc profiler, and
+ * compare <code>gc.alloc.rate.norm</code> (bytes allocated per projectile-tick) of
+ * {@link #current()} against {@link #legacy()}, which is a copy of the old {@link Vector} based
+ * tick and ray trace, flying through the same world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectileTickBenchmark {
+
+    private static final double START_Y = 200.0;
+    private static final double RESET_Y = 100.0;
+    private static final double ENTITY_Y = 64.0;
+
+    private static int nextEntityId;
+
+    @Param({"0", "100"})
+    public int entities;
+
+    private WeaponProjectile current;
+    private LegacyProjectile legacy;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        BenchmarkFakes.setupServer();
+        if (MechanicsCore.debug == null)
+            MechanicsCore.debug = new Debugger(Logger.getLogger("ProjectileTickBenchmark"), 2);
+
+        // There is no version dependant compatibility without a server, so the
+        // default block shapes and entity hit-boxes are used instead.
+        Field field = CompatibilityAPI.class.getDeclaredField("compatibility");
+        field.setAccessible(true);
+        field.set(null, compatibility());
+
+        List<LivingEntity> living = new ArrayList<>(entities);
+        LongMap<List<Entity>> chunkEntities = new LongMap<>();
+        World world = world(living, chunkEntities);
+
+        // The projectile falls from START_Y to RESET_Y in about 70 ticks, and
+        // moves about 76 blocks along the x-axis and -35 along the z-axis
+        Random random = new Random(0);
+        for (int i = 0; i < entities; i++) {
+            double along = random.nextDouble();
+            double x = 0.5 + along * 76.0 + random.nextDouble() * 8.0 - 4.0;
+            double z = 0.5 - along * 35.0 + random.nextDouble() * 8.0 - 4.0;
+            LivingEntity entity = entity(new Location(world, x, ENTITY_Y, z));
+            living.add(entity);
+
+            long key = EntityIndex.chunkKey(NumberUtil.floorToInt(x) >> 4, NumberUtil.floorToInt(z) >> 4);
+            List<Entity> inChunk = chunkEntities.get(key);
+            if (inChunk == null)
+                chunkEntities.put(key, inChunk = new ArrayList<>());
+            inChunk.add(entity);
+        }
+
+        EntityIndex.SINGLETON.nextTick();
+        EntityIndex.SINGLETON.prepare(world);
+
+        // The default projectile settings from the config
+        ProjectileSettings settings = new ProjectileSettings(null, null, 0.05, false, -1.0, false, -1.0,
+            0.99, 0.96, 0.98, false, Integer.MAX_VALUE, -1.0, 0.1);
+        LivingEntity shooter = entity(new Location(world, 0.5, START_Y, 0.5));
+        current = new WeaponProjectile(settings, shooter, new Location(world, 0.5, START_Y, 0.5),
+            new Vector(1.5, 0.2, -0.7), null, "Benchmark", EquipmentSlot.HAND, null, null, null);
+        legacy = new LegacyProjectile(settings, shooter, new Location(world, 0.5, START_Y, 0.5),
+            new Vector(1.5, 0.2, -0.7));
+    }
+
+    @Benchmark
+    public boolean current() {
+        WeaponProjectile projectile = current;
+        if (projectile.getY() < RESET_Y) {
+            projectile.setLocation(0.5, START_Y, 0.5);
+            projectile.setMotion(1.5, 0.2, -0.7);
+        }
+        return projectile.tick();
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        LegacyProjectile projectile = legacy;
+        if (projectile.location.getY() < RESET_Y) {
+            projectile.location = new Vector(0.5, START_Y, 0.5);
+            projectile.setMotion(new Vector(1.5, 0.2, -0.7));
+        }
+        return projectile.tick();
+    }
+
+    private static ICompatibility compatibility() {
+        BlockCompatibility blocks = BenchmarkFakes.proxy(BlockCompatibility.class);
+        EntityCompatibility entities = BenchmarkFakes.proxy(EntityCompatibility.class, (proxy, method, args) -> switch (method) {
+            case "getLastLocation" -> ((Entity) args[0]).getLocation().toVector();
+            default -> null;
+        });
+        return BenchmarkFakes.proxy(ICompatibility.class, (proxy, method, args) -> switch (method) {
+            case "getBlockCompatibility" -> blocks;
+            case "getEntityCompatibility" -> entities;
+            default -> null;
+        });
+    }
+
+    /**
+     * Like the server, chunks are cached, but every call to <code>getEntities</code> copies the
+     * entities of the chunk.
+     */
+    private static World world(List<LivingEntity> entities, LongMap<List<Entity>> chunkEntities) {
+        UUID uuid = UUID.randomUUID();
+        LongMap<Chunk> chunks = new LongMap<>();
+        BlockData air = BenchmarkFakes.proxy(BlockData.class, (proxy, method, args) -> switch (method) {
+            case "getMaterial" -> Material.AIR;
+            default -> null;
+        });
+        return BenchmarkFakes.proxy(World.class, (proxy, method, args) -> switch (method) {
+            case "getUID" -> uuid;
+            case "getLivingEntities" -> new ArrayList<>(entities);
+            case "getPlayers" -> new ArrayList<>();
+            case "isChunkLoaded" -> true;
+            case "isThundering", "hasStorm" -> false;
+            case "getChunkAt" -> chunk(chunks, chunkEntities, (int) args[0], (int) args[1]);
+            case "getBlockAt" -> {
+                int x = (int) args[0];
+                int z = (int) args[2];
+                yield block((World) proxy, x, (int) args[1], z, chunk(chunks, chunkEntities, x >> 4, z >> 4), air);
+            }
+            default -> null;
+        });
+    }
+
+    private static Chunk chunk(LongMap<Chunk> chunks, LongMap<List<Entity>> chunkEntities, int chunkX, int chunkZ) {
+        long key = EntityIndex.chunkKey(chunkX, chunkZ);
+        Chunk chunk = chunks.get(key);
+        if (chunk != null)
+            return chunk;
+
+        List<Entity> inChunk = chunkEntities.get(key);
+        Entity[] entities = inChunk == null ? new Entity[0] : inChunk.toArray(new Entity[0]);
+        chunk = BenchmarkFakes.proxy(Chunk.class, (proxy, method, args) -> switch (method) {
+            case "isLoaded" -> true;
+            case "getEntities" -> entities.clone();
+            default -> null;
+        });
+        chunks.put(key, chunk);
+        return chunk;
+    }
+
+    /**
+     * Every block is air. Like the server, a new block is created every time the world is asked for
+     * one.
+     */
+    private static Block block(World world, int x, int y, int z, Chunk chunk, BlockData air) {
+        return BenchmarkFakes.proxy(Block.class, (proxy, method, args) -> switch (method) {
+            case "getX" -> x;
+            case "getY" -> y;
+            case "getZ" -> z;
+            case "getWorld" -> world;
+            case "getLocation" -> new Location(world, x, y, z);
+            case "getChunk" -> chunk;
+            case "getType" -> Material.AIR;
+            case "getBlockData" -> air;
+            case "isEmpty", "isPassable" -> true;
+            case "isLiquid" -> false;
+            default -> null;
+        });
+    }
+
+    private static LivingEntity entity(Location location) {
+        int id = nextEntityId++;
+        return BenchmarkFakes.proxy(LivingEntity.class, (proxy, method, args) -> switch (method) {
+            case "getEntityId" -> id;
+            case "getType" -> EntityType.ZOMBIE;
+            case "getWorld" -> location.getWorld();
+            case "getWidth" -> 0.6;
+            case "getHeight" -> 1.95;
+            case "getPassengers" -> List.of();
+            case "isValid" -> true;
+            case "isDead", "isInvulnerable" -> false;
+            case "getLocation" -> {
+                if (args == null)
+                    yield location.clone();
+
+                Location reuse = (Location) args[0];
+                reuse.setWorld(location.getWorld());
+                reuse.setX(location.getX());
+                reuse.setY(location.getY());
+                reuse.setZ(location.getZ());
+                yield reuse;
+            }
+            default -> null;
+        });
+    }
+
+    /**
+     * A copy of the {@link WeaponProjectile} tick before projectiles used primitive fields, for a
+     * projectile without sticky, through or bouncy. The fake world has nothing to hit, so only the
+     * no-collision path is copied.
+     */
+    private static class LegacyProjectile {
+
+        private final ProjectileSettings projectileSettings;
+        private final LivingEntity shooter;
+        private final World world;
+        private final LegacyRayTrace rayTrace;
+
+        private Vector lastLocation;
+        private Vector location;
+        private Vector motion;
+        private double motionLength;
+        private int aliveTicks;
+        private double distanceTravelled;
+
+        private Location lastBlock;
+        private int lastBlockUpdateTick;
+        private int lastEntity = -1;
+        private int lastEntityUpdateTick;
+
+        private LegacyProjectile(ProjectileSettings projectileSettings, LivingEntity shooter, Location location, Vector motion) {
+            this.projectileSettings = projectileSettings;
+            this.shooter = shooter;
+            this.world = location.getWorld();
+            this.location = location.toVector();
+            this.lastLocation = this.location.clone();
+            setMotion(motion);
+            this.rayTrace = new LegacyRayTrace(this::equalToLastHit, entity -> equalToLastHit(entity)
+                || (shooter != null && aliveTicks < 10 && entity.getEntityId() == shooter.getEntityId())
+                || entity.getPassengers().contains(shooter), projectileSettings.getSize());
+        }
+
+        private Vector getLocation() {
+            return location.clone();
+        }
+
+        private Vector getMotion() {
+            return motion.clone();
+        }
+
+        private Vector getNormalizedMotion() {
+            if (motionLength == 0)
+                return getMotion();
+            return getMotion().divide(new Vector(motionLength, motionLength, motionLength));
+        }
+
+        private void setMotion(Vector motion) {
+            this.motion = motion;
+            this.motionLength = motion.length();
+        }
+
+        private double getDrag() {
+            Block current = world.getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+            if (current.isLiquid())
+                return projectileSettings.getDecreaseInWater();
+            else if (world.isThundering() || world.hasStorm())
+                return projectileSettings.getDecreaseWhenRainingOrSnowing();
+            else
+                return projectileSettings.getDecrease();
+        }
+
+        private boolean hasTravelledMaximumDistance() {
+            double maximum = projectileSettings.getMaximumTravelDistance();
+            return maximum != -1 && distanceTravelled >= maximum;
+        }
+
+        private boolean tick() {
+            // Update last location here since handle collisions will change the location
+            lastLocation = location.clone();
+
+            double gravity = projectileSettings.getGravity();
+            if (gravity != 0) {
+                motion.setY(motion.getY() - gravity);
+            }
+            motion.multiply(getDrag());
+
+            if (updatePosition()) {
+                return true;
+            }
+
+            double locationY = location.getY();
+            int minWorldHeight = MinecraftVersions.NETHER_UPDATE.isAtLeast() ? world.getMinHeight() : -32;
+            if (aliveTicks >= projectileSettings.getMaximumAliveTicks() || locationY < minWorldHeight || locationY > world.getMaxHeight()) {
+                return true;
+            }
+
+            if (gravity == 0 && motionLength < Vector.getEpsilon()) {
+                if (motionLength != 0)
+                    motionLength = 0;
+                ++aliveTicks;
+                return false;
+            }
+
+            motionLength = motion.length();
+
+            double minimumSpeed = projectileSettings.getMinimumSpeed();
+            double maximumSpeed = projectileSettings.getMaximumSpeed();
+            if (minimumSpeed != -1.0 && motionLength < minimumSpeed) {
+                if (projectileSettings.isRemoveAtMinimumSpeed()) {
+                    return true;
+                }
+                setMotion(getNormalizedMotion().multiply(minimumSpeed));
+            } else if (maximumSpeed != -1.0 && motionLength > maximumSpeed) {
+                if (projectileSettings.isRemoveAtMaximumSpeed()) {
+                    return true;
+                }
+                setMotion(getNormalizedMotion().multiply(maximumSpeed));
+            }
+
+            ++aliveTicks;
+            return false;
+        }
+
+        private boolean updatePosition() {
+            Vector possibleNextLocation = getLocation().add(getMotion());
+            if (!world.isChunkLoaded(possibleNextLocation.getBlockX() >> 4, possibleNextLocation.getBlockZ() >> 4)) {
+                // Remove projectile if next location would be in unloaded chunk
+                return true;
+            }
+
+            // Don't check for new collisions if motion is empty
+            if (motionLength < Vector.getEpsilon())
+                return false;
+
+            List<RayTraceResult> hits = rayTrace.cast(world, getLocation(), possibleNextLocation, getNormalizedMotion(), 0.0);
+            if (hits != null)
+                throw new IllegalStateException("The benchmark world should have nothing to hit, but hit " + hits);
+
+            // No hits, simply update location and distance travelled
+            location = possibleNextLocation;
+            distanceTravelled += motionLength;
+            return hasTravelledMaximumDistance();
+        }
+
+        private boolean equalToLastHit(Block hit) {
+            Location hitBlock = hit.getLocation();
+            return lastBlock != null && lastBlock.getBlockX() == hitBlock.getBlockX() && lastBlock.getBlockY() == hitBlock.getBlockY() && lastBlock.getBlockZ() == hitBlock.getBlockZ()
+                && aliveTicks <= lastBlockUpdateTick;
+        }
+
+        private boolean equalToLastHit(LivingEntity entity) {
+            return lastEntity != -1 && lastEntity == entity.getEntityId()
+                && aliveTicks <= lastEntityUpdateTick;
+        }
+    }
+
+    /**
+     * A copy of the ray trace before block shapes were cached and entities were indexed. Every block
+     * builds a new hit-box, and the entities of every nearby chunk are checked. Liquid checks are
+     * enabled, like for weapon projectiles.
+     */
+    private static class LegacyRayTrace {
+
+        private final Predicate<Block> blockFilter;
+        private final Predicate<LivingEntity> entityFilter;
+        private final double raySize;
+
+        private LegacyRayTrace(Predicate<Block> blockFilter, Predicate<LivingEntity> entityFilter, double raySize) {
+            this.blockFilter = blockFilter;
+            this.entityFilter = entityFilter;
+            this.raySize = raySize;
+        }
+
+        private List<RayTraceResult> cast(World world, Vector start, Vector end, Vector direction, double maximumBlockThrough) {
+            List<RayTraceResult> hits = new ArrayList<>(5);
+            getBlockHits(hits, world, start, end, direction, maximumBlockThrough);
+            getEntityHits(hits, world, start, end, direction);
+
+            if (!hits.isEmpty()) {
+                if (hits.size() > 1)
+                    hits.sort(Comparator.comparingDouble(RayTraceResult::getHitMin));
+                return hits;
+            }
+
+            return null;
+        }
+
+        private void getBlockHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction, double maximumBlockThrough) {
+            double startX = NumberUtil.lerp(start.getX(), end.getX(), -1.0E-7);
+            double startY = NumberUtil.lerp(start.getY(), end.getY(), -1.0E-7);
+            double startZ = NumberUtil.lerp(start.getZ(), end.getZ(), -1.0E-7);
+
+            int currentX = NumberUtil.floorToInt(startX);
+            int currentY = NumberUtil.floorToInt(startY);
+            int currentZ = NumberUtil.floorToInt(startZ);
+
+            Block startBlock = world.getBlockAt(currentX, currentY, currentZ);
+            RayTraceResult rayStartBlock = rayBlock(startBlock, start, direction);
+            if (rayStartBlock != null) {
+                hits.add(rayStartBlock);
+
+                // Don't count liquid as actual hits along the path
+                if (!startBlock.isLiquid()) {
+                    if (maximumBlockThrough != -1.0 && (maximumBlockThrough -= rayStartBlock.getThroughDistance()) < 0)
+                        return;
+                }
+            }
+
+            double endX = NumberUtil.lerp(end.getX(), start.getX(), -1.0E-7);
+            double endY = NumberUtil.lerp(end.getY(), start.getY(), -1.0E-7);
+            double endZ = NumberUtil.lerp(end.getZ(), start.getZ(), -1.0E-7);
+
+            double directionX = endX - startX;
+            double directionY = endY - startY;
+            double directionZ = endZ - startZ;
+            int blockX = NumberUtil.signum(directionX);
+            int blockY = NumberUtil.signum(directionY);
+            int blockZ = NumberUtil.signum(directionZ);
+            double addX = blockX == 0 ? Double.MAX_VALUE : (double) blockX / directionX;
+            double addY = blockY == 0 ? Double.MAX_VALUE : (double) blockY / directionY;
+            double addZ = blockZ == 0 ? Double.MAX_VALUE : (double) blockZ / directionZ;
+            double maxX = addX * (blockX > 0 ? 1.0 - NumberUtil.fraction(startX) : NumberUtil.fraction(startX));
+            double maxY = addY * (blockY > 0 ? 1.0 - NumberUtil.fraction(startY) : NumberUtil.fraction(startY));
+            double maxZ = addZ * (blockZ > 0 ? 1.0 - NumberUtil.fraction(startZ) : NumberUtil.fraction(startZ));
+
+            while (maximumBlockThrough > -1) {
+                if (maxX > 1.0 && maxY > 1.0 && maxZ > 1.0) {
+                    break;
+                }
+
+                if (maxX < maxY) {
+                    if (maxX < maxZ) {
+                        currentX += blockX;
+                        maxX += addX;
+                    } else {
+                        currentZ += blockZ;
+                        maxZ += addZ;
+                    }
+                } else if (maxY < maxZ) {
+                    currentY += blockY;
+                    maxY += addY;
+                } else {
+                    currentZ += blockZ;
+                    maxZ += addZ;
+                }
+
+                Block newBlock = world.getBlockAt(currentX, currentY, currentZ);
+                RayTraceResult rayNewBlock = rayBlock(newBlock, start, direction);
+                if (rayNewBlock != null) {
+                    hits.add(rayNewBlock);
+
+                    // Don't count liquid as actual hits along the path
+                    if (!newBlock.isLiquid()) {
+                        if (--maximumBlockThrough < 0)
+                            break;
+                    }
+                }
+            }
+        }
+
+        private RayTraceResult rayBlock(Block block, Vector start, Vector direction) {
+            if (blockFilter.test(block))
+                return null;
+
+            HitBox blockBox = getHitBox(block);
+            if (blockBox == null)
+                return null;
+
+            return blockBox.rayTrace(start, direction);
+        }
+
+        /**
+         * The old default of <code>BlockCompatibility#getHitBox(Block, boolean)</code>, with liquid
+         * allowed.
+         */
+        private static HitBox getHitBox(Block block) {
+            if (!block.getChunk().isLoaded())
+                return null;
+            if (block.isEmpty())
+                return null;
+
+            boolean isLiquid = block.isLiquid();
+            if (!isLiquid && block.isPassable())
+                return null;
+
+            HitBox hitBox;
+            if (isLiquid) {
+                hitBox = new HitBox(block.getX(), block.getY(), block.getZ(), block.getX() + 1, block.getY() + 1, block.getZ() + 1);
+            } else {
+                BoundingBox boundingBox = block.getBoundingBox();
+                hitBox = new HitBox(boundingBox.getMinX(), boundingBox.getMinY(), boundingBox.getMinZ(), boundingBox.getMaxX(), boundingBox.getMaxY(), boundingBox.getMaxZ());
+            }
+            hitBox.setBlockHitBox(block);
+
+            Collection<BoundingBox> voxelShape = block.getCollisionShape().getBoundingBoxes();
+            if (voxelShape.size() > 1) {
+                int x = block.getX();
+                int y = block.getY();
+                int z = block.getZ();
+                for (BoundingBox boxPart : voxelShape) {
+                    hitBox.addVoxelShapePart(new HitBox(x + boxPart.getMinX(), y + boxPart.getMinY(), z + boxPart.getMinZ(),
+                        x + boxPart.getMaxX(), y + boxPart.getMaxY(), z + boxPart.getMaxZ()));
+                }
+            }
+
+            return hitBox;
+        }
+
+        private void getEntityHits(List<RayTraceResult> hits, World world, Vector start, Vector end, Vector direction) {
+            HitBox hitBox = new HitBox(start, end);
+
+            int minX = NumberUtil.floorToInt((hitBox.getMinX() - 2.0) / 16.0);
+            int maxX = NumberUtil.floorToInt((hitBox.getMaxX() + 2.0) / 16.0);
+            int minZ = NumberUtil.floorToInt((hitBox.getMinZ() - 2.0) / 16.0);
+            int maxZ = NumberUtil.floorToInt((hitBox.getMaxZ() + 2.0) / 16.0);
+
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    Chunk chunk = world.getChunkAt(x, z);
+                    for (final Entity entity : chunk.getEntities()) {
+                        RayTraceResult rayNewEntity = rayEntity(hitBox, entity, start, direction);
+                        if (rayNewEntity != null) {
+                            hits.add(rayNewEntity);
+                        }
+                    }
+                }
+            }
+        }
+
+        private RayTraceResult rayEntity(HitBox hitBox, Entity entity, Vector start, Vector direction) {
+            if (!entity.getType().isAlive())
+                return null;
+            if (entityFilter.test((LivingEntity) entity))
+                return null;
+
+            HitBox entityBox = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
+            if (entityBox == null)
+                return null;
+
+            entityBox.grow(raySize);
+            if (!hitBox.overlaps(entityBox))
+                return null;
+
+            return entityBox.rayTrace(start, direction);
+        }
+    }
+}
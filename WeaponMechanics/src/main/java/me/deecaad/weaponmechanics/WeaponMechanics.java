@@ -34,9 +34,14 @@ import me.deecaad.weaponmechanics.packetlisteners.OutEntityEffectListener;
 import me.deecaad.weaponmechanics.packetlisteners.OutRemoveEntityEffectListener;
 import me.deecaad.weaponmechanics.packetlisteners.OutSetSlotBobFix;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.weaponmechanics.weapon.WeaponProfile;
 import me.deecaad.weaponmechanics.weapon.damage.AssistData;
 import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
 import me.deecaad.weaponmechanics.weapon.damage.DamageModifier;
+import me.deecaad.weaponmechanics.weapon.explode.ExplosionScheduler;
+import me.deecaad.weaponmechanics.weapon.explode.FallingBlockBudget;
+import me.deecaad.weaponmechanics.weapon.explode.regeneration.RegenerationJournal;
+import me.deecaad.weaponmechanics.weapon.explode.regeneration.RegenerationScheduler;
 import me.deecaad.weaponmechanics.weapon.info.InfoHandler;
 import me.deecaad.weaponmechanics.weapon.placeholders.PlaceholderValidator;
 import me.deecaad.weaponmechanics.weapon.projectile.HitBoxValidator;
@@ -46,6 +51,8 @@ import me.deecaad.weaponmechanics.weapon.shoot.recoil.Recoil;
 import me.deecaad.weaponmechanics.weapon.stats.PlayerStat;
 import me.deecaad.weaponmechanics.weapon.stats.WeaponStat;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
+import me.deecaad.weaponmechanics.wrappers.MoveTask;
+import me.deecaad.weaponmechanics.wrappers.MoveTasksRunnable;
 import me.deecaad.weaponmechanics.wrappers.PlayerWrapper;
 import org.bstats.bukkit.Metrics;
 import org.bstats.charts.SimplePie;
@@ -60,6 +67,7 @@ import org.bukkit.permissions.Permission;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
@@ -68,6 +76,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.logging.Logger;
 
@@ -77,11 +86,16 @@ public class WeaponMechanics {
     JavaPlugin javaPlugin;
     Map<LivingEntity, EntityWrapper> entityWrappers;
     Configuration configurations;
+    Map<String, WeaponProfile> weaponProfiles = new ConcurrentHashMap<>();
+    Map<String, WeaponProfile> unknownWeaponProfiles = new ConcurrentHashMap<>();
     Configuration basicConfiguration;
     MainCommand mainCommand;
     WeaponHandler weaponHandler;
     ResourcePackListener resourcePackListener;
     ProjectilesRunnable projectilesRunnable;
+    MoveTasksRunnable moveTasksRunnable;
+    RegenerationScheduler regenerationScheduler;
+    ExplosionScheduler explosionScheduler;
     ProtocolManager protocolManager;
     Metrics metrics;
     Database database;
@@ -154,7 +168,11 @@ public class WeaponMechanics {
         registerPacketListeners();
 
         weaponHandler = new WeaponHandler();
+        FallingBlockBudget.reset();
         projectilesRunnable = new ProjectilesRunnable(getPlugin());
+        moveTasksRunnable = new MoveTasksRunnable(getPlugin());
+        regenerationScheduler = new RegenerationScheduler(getPlugin());
+        explosionScheduler = new ExplosionScheduler(getPlugin());
         resourcePackListener = new ResourcePackListener();
 
         // Set millis between recoil rotations
@@ -178,6 +196,7 @@ public class WeaponMechanics {
         new TaskChain(javaPlugin)
             .thenRunSync(() -> {
                 loadConfig();
+                setupRegenerationJournal();
                 registerListeners();
                 registerBStats();
                 registerPermissions();
@@ -295,9 +314,23 @@ public class WeaponMechanics {
                 database = new MySQL(hostname, port, databaseName, username, password);
             }
             database.executeUpdate(true, PlayerStat.getCreateTableString(), WeaponStat.getCreateTableString());
+            weaponHandler.getStatsHandler().start(database, new File(getDataFolder(), "stats.journal"), basicConfiguration);
         }
     }
 
+    void setupRegenerationJournal() {
+        int flushInterval = basicConfiguration.getInt("Explosions.Regeneration_Journal_Flush_Interval", 20);
+        if (flushInterval < 0 || !MinecraftVersions.UPDATE_AQUATIC.isAtLeast())
+            return;
+
+        // Blocks left broken by a crash are restored before new explosions happen
+        RegenerationJournal journal = new RegenerationJournal(new File(getDataFolder(), "regeneration.journal"), flushInterval);
+        int restored = journal.replay();
+        if (restored != 0)
+            debug.info("Restored " + restored + " blocks that were broken by explosions before the server stopped");
+        regenerationScheduler.setJournal(journal);
+    }
+
     void loadConfig() {
         debug.debug("Loading and serializing config");
 
@@ -306,6 +339,8 @@ public class WeaponMechanics {
         } else {
             configurations.clear();
         }
+        weaponProfiles = new ConcurrentHashMap<>();
+        unknownWeaponProfiles = new ConcurrentHashMap<>();
 
         List<IValidator> validators = null;
         try {
@@ -332,6 +367,22 @@ public class WeaponMechanics {
         } catch (DuplicateKeyException e) {
             debug.error("Error loading config: " + e.getMessage());
         }
+
+        compileWeaponProfiles();
+        projectilesRunnable.loadConfig(basicConfiguration);
+    }
+
+    void compileWeaponProfiles() {
+        debug.debug("Compiling weapon profiles");
+
+        // Profiles compiled while the config was loading may have missing
+        // values, so replace the entire map.
+        Map<String, WeaponProfile> profiles = new ConcurrentHashMap<>();
+        for (String weaponTitle : weaponHandler.getInfoHandler().getSortedWeaponList()) {
+            profiles.put(weaponTitle, new WeaponProfile(configurations, weaponTitle));
+        }
+        weaponProfiles = profiles;
+        unknownWeaponProfiles = new ConcurrentHashMap<>();
     }
 
     void registerPlaceholders() {
@@ -540,7 +591,13 @@ public class WeaponMechanics {
         setupDebugger();
         entityWrappers = new HashMap<>();
         weaponHandler = new WeaponHandler();
+        weaponProfiles = new ConcurrentHashMap<>();
+        unknownWeaponProfiles = new ConcurrentHashMap<>();
+        FallingBlockBudget.reset();
         projectilesRunnable = new ProjectilesRunnable(getPlugin());
+        moveTasksRunnable = new MoveTasksRunnable(getPlugin());
+        regenerationScheduler = new RegenerationScheduler(getPlugin());
+        explosionScheduler = new ExplosionScheduler(getPlugin());
         resourcePackListener = new ResourcePackListener();
 
         return new TaskChain(getPlugin())
@@ -548,6 +605,7 @@ public class WeaponMechanics {
             .thenRunSync(() -> {
 
                 loadConfig();
+                setupRegenerationJournal();
                 registerPacketListeners();
                 registerListeners();
                 registerCommands();
@@ -565,7 +623,11 @@ public class WeaponMechanics {
     }
 
     public void onDisable() {
+        if (explosionScheduler != null)
+            explosionScheduler.finishAll();
         BlockDamageData.regenerateAll();
+        if (regenerationScheduler != null)
+            regenerationScheduler.close();
 
         HandlerList.unregisterAll(getPlugin());
         Bukkit.getServer().getScheduler().cancelTasks(getPlugin());
@@ -575,8 +637,11 @@ public class WeaponMechanics {
             for (EntityWrapper entityWrapper : entityWrappers.values()) {
                 if (!entityWrapper.isPlayer())
                     continue;
-                weaponHandler.getStatsHandler().save((PlayerWrapper) entityWrapper, true);
+                weaponHandler.getStatsHandler().save((PlayerWrapper) entityWrapper, false);
             }
+
+            // Writes every queued row in 1 transaction before closing
+            weaponHandler.getStatsHandler().stop();
             try {
                 database.close();
             } catch (SQLException e) {
@@ -595,6 +660,9 @@ public class WeaponMechanics {
         configurations = null;
         basicConfiguration = null;
         projectilesRunnable = null;
+        moveTasksRunnable = null;
+        regenerationScheduler = null;
+        explosionScheduler = null;
         plugin = null;
         debug = null;
     }
@@ -606,6 +674,27 @@ public class WeaponMechanics {
         return plugin.projectilesRunnable;
     }
 
+    /**
+     * @return The BukkitRunnable running the move task of every entity wrapper
+     */
+    public static MoveTasksRunnable getMoveTasksRunnable() {
+        return plugin.moveTasksRunnable;
+    }
+
+    /**
+     * @return The BukkitRunnable regenerating the blocks broken by explosions
+     */
+    public static RegenerationScheduler getRegenerationScheduler() {
+        return plugin.regenerationScheduler;
+    }
+
+    /**
+     * @return The BukkitRunnable damaging the blocks of big explosions over multiple ticks
+     */
+    public static ExplosionScheduler getExplosionScheduler() {
+        return plugin.explosionScheduler;
+    }
+
     /**
      * @return the WeaponMechanics plugin instance
      */
@@ -682,9 +771,9 @@ public class WeaponMechanics {
     public static void removeEntityWrapper(LivingEntity entity) {
         EntityWrapper oldWrapper = plugin.entityWrappers.remove(entity);
         if (oldWrapper != null) {
-            int oldMoveTask = oldWrapper.getMoveTaskId();
-            if (oldMoveTask != 0) {
-                Bukkit.getScheduler().cancelTask(oldMoveTask);
+            MoveTask oldMoveTask = oldWrapper.getMoveTask();
+            if (oldMoveTask != null) {
+                oldMoveTask.cancel();
             }
             oldWrapper.getMainHandData().cancelTasks();
             oldWrapper.getOffHandData().cancelTasks();
@@ -700,6 +789,29 @@ public class WeaponMechanics {
         return plugin.configurations;
     }
 
+    /**
+     * Returns the compiled config values of the given weapon. Use this instead of
+     * {@link #getConfigurations()} for values that are read every time the weapon is used.
+     * Profiles are compiled when the config is loaded; weapons added later are compiled the first
+     * time they are used. Profiles of unknown weapon titles (like misspelled titles from
+     * placeholders) are cached separately until the next reload, so a weapon that is added later
+     * still gets its own profile.
+     *
+     * @param weaponTitle The non-null weapon title.
+     * @return The non-null profile.
+     */
+    public static @NotNull WeaponProfile getWeaponProfile(@NotNull String weaponTitle) {
+        Map<String, WeaponProfile> profiles = plugin.weaponProfiles;
+        WeaponProfile profile = profiles.get(weaponTitle);
+        if (profile != null)
+            return profile;
+
+        Configuration config = plugin.configurations;
+        if (plugin.weaponHandler.getInfoHandler().hasWeapon(weaponTitle))
+            return profiles.computeIfAbsent(weaponTitle, title -> new WeaponProfile(config, title));
+        return plugin.unknownWeaponProfiles.computeIfAbsent(weaponTitle, title -> new WeaponProfile(config, title));
+    }
+
     /**
      * This method returns ONLY config.yml configurations used by WeaponMechanics.
      *
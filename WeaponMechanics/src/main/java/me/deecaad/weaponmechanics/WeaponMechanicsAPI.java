@@ -85,7 +85,7 @@ public final class WeaponMechanicsAPI {
         }
 
         // Check if the weapon uses skins
-        SkinSelector skins = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = WeaponMechanics.getWeaponProfile(weaponTitle).getSkin();
         if (skins == null)
             throw new IllegalArgumentException("Weapon " + weaponTitle + " does not use skins");
 
@@ -132,7 +132,7 @@ public final class WeaponMechanicsAPI {
         }
 
         // List valid skins, and check if the skin is valid
-        SkinSelector skins = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = WeaponMechanics.getWeaponProfile(weaponTitle).getSkin();
         if (skins == null)
             throw new IllegalArgumentException("Weapon " + weaponTitle + " does not use skins");
         if (!"default".equals(skin) && !skins.getCustomSkins().contains(skin))
@@ -162,7 +162,7 @@ public final class WeaponMechanicsAPI {
             skin = "default";
 
         // List valid skins, and check if the skin is valid
-        SkinSelector skins = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = WeaponMechanics.getWeaponProfile(weaponTitle).getSkin();
         if (skins == null)
             throw new IllegalArgumentException("Weapon " + weaponTitle + " does not use skins");
         if (!"default".equals(skin) && !skins.getCustomSkins().contains(skin))
@@ -215,7 +215,7 @@ public final class WeaponMechanicsAPI {
      * @return The non-null set of custom skins.
      */
     public static @NotNull Set<String> getCustomSkins(@NotNull String weaponTitle) {
-        SkinSelector skins = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = WeaponMechanics.getWeaponProfile(weaponTitle).getSkin();
         if (skins == null)
             throw new IllegalArgumentException("Weapon " + weaponTitle + " does not use skins");
 
@@ -413,6 +413,7 @@ public final class WeaponMechanicsAPI {
      */
     public static void regenerateAllBlocks() {
         BlockDamageData.regenerateAll();
+        WeaponMechanics.getRegenerationScheduler().cancelAll();
     }
 
     /**
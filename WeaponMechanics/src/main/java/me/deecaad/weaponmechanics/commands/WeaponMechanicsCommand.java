@@ -106,7 +106,7 @@ public class WeaponMechanicsCommand {
                     return;
                 }
 
-                CustomDurability durability = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+                CustomDurability durability = WeaponMechanics.getWeaponProfile(weaponTitle).getCustomDurability();
                 if (durability == null) {
                     sender.sendMessage(RED + weaponTitle + " does not use durability");
                     return;
@@ -587,7 +587,7 @@ public class WeaponMechanicsCommand {
                     String title = WeaponMechanicsAPI.getWeaponTitle(item);
                     if (title == null)
                         title = CustomTag.BROKEN_WEAPON.getString(item);
-                    CustomDurability customDurability = WeaponMechanics.getConfigurations().getObject(title + ".Shoot.Custom_Durability", CustomDurability.class);
+                    CustomDurability customDurability = WeaponMechanics.getWeaponProfile(title).getCustomDurability();
                     if (customDurability == null)
                         continue;
 
@@ -614,7 +614,7 @@ public class WeaponMechanicsCommand {
                 if (weaponTitle == null)
                     continue;
 
-                CustomDurability customDurability = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+                CustomDurability customDurability = WeaponMechanics.getWeaponProfile(weaponTitle).getCustomDurability();
                 if (customDurability == null)
                     continue;
 
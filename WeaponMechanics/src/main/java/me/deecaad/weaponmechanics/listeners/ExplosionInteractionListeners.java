@@ -1,5 +1,6 @@
 package me.deecaad.weaponmechanics.listeners;
 
+import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
 import org.bukkit.Chunk;
 import org.bukkit.block.Block;
@@ -21,6 +22,7 @@ public class ExplosionInteractionListeners implements Listener {
     public void onChunkUnload(ChunkUnloadEvent e) {
         Chunk chunk = e.getChunk();
         BlockDamageData.regenerate(chunk);
+        WeaponMechanics.getRegenerationScheduler().cancel(chunk);
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -39,6 +39,7 @@ import java.util.Map;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
 import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class WeaponListeners implements Listener {
 
@@ -73,7 +74,7 @@ public class WeaponListeners implements Listener {
                 if (playerWrapper.getStatsData() != null)
                     playerWrapper.getStatsData().add(weaponTitle, WeaponStat.EQUIP_TIMES, 1);
 
-                WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+                WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
                 if (weaponInfoDisplay != null)
                     weaponInfoDisplay.send(playerWrapper, e.getSlot(), mainhand ? weaponStack : null, !mainhand ? weaponStack : null);
             }
@@ -36,8 +36,8 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 import static me.deecaad.weaponmechanics.WeaponMechanics.getPlayerWrapper;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 import static me.deecaad.weaponmechanics.WeaponMechanics.removeEntityWrapper;
 
 public class TriggerPlayerListeners implements Listener {
@@ -199,13 +199,13 @@ public class TriggerPlayerListeners implements Listener {
         if (mainWeapon == null && offWeapon == null)
             return;
 
-        if ((mainWeapon != null && getConfigurations().getBool(mainWeapon + ".Info.Cancel.Block_Interactions")
-            || offWeapon != null && getConfigurations().getBool(offWeapon + ".Info.Cancel.Block_Interactions"))) {
+        if ((mainWeapon != null && getWeaponProfile(mainWeapon).isCancelBlockInteractions()
+            || offWeapon != null && getWeaponProfile(offWeapon).isCancelBlockInteractions())) {
             e.setUseInteractedBlock(Event.Result.DENY);
         }
 
-        if ((mainWeapon != null && getConfigurations().getBool(mainWeapon + ".Info.Cancel.Item_Interactions")
-            || offWeapon != null && getConfigurations().getBool(offWeapon + ".Info.Cancel.Item_Interactions"))) {
+        if ((mainWeapon != null && getWeaponProfile(mainWeapon).isCancelItemInteractions()
+            || offWeapon != null && getWeaponProfile(offWeapon).isCancelItemInteractions())) {
             e.setUseItemInHand(Event.Result.DENY);
         }
 
@@ -265,7 +265,7 @@ public class TriggerPlayerListeners implements Listener {
         ItemStack mainStack = playerEquipment.getItemInMainHand();
         String mainWeapon = weaponHandler.getInfoHandler().getWeaponTitle(mainStack, false);
 
-        if (mainWeapon != null && getConfigurations().getBool(mainWeapon + ".Info.Cancel.Arm_Swing_Animation")) {
+        if (mainWeapon != null && getWeaponProfile(mainWeapon).isCancelArmSwingAnimation()) {
             e.setCancelled(true);
             return;
         }
@@ -273,7 +273,7 @@ public class TriggerPlayerListeners implements Listener {
         ItemStack offStack = playerEquipment.getItemInOffHand();
         String offWeapon = weaponHandler.getInfoHandler().getWeaponTitle(offStack, false);
 
-        if (offWeapon != null && getConfigurations().getBool(offWeapon + ".Info.Cancel.Arm_Swing_Animation")) {
+        if (offWeapon != null && getWeaponProfile(offWeapon).isCancelArmSwingAnimation()) {
             e.setCancelled(true);
         }
     }
@@ -305,8 +305,8 @@ public class TriggerPlayerListeners implements Listener {
         // If players are dead, don't do anything... This cancel can sometimes let players keep their
         // weapons
         if (!player.isDead()) {
-            boolean cancelMainHand = mainWeapon != null && getConfigurations().getBool(mainWeapon + ".Info.Cancel.Drop_Item");
-            boolean cancelOffHand = offWeapon != null && getConfigurations().getBool(offWeapon + ".Info.Cancel.Drop_Item");
+            boolean cancelMainHand = mainWeapon != null && getWeaponProfile(mainWeapon).isCancelDropItem();
+            boolean cancelOffHand = offWeapon != null && getWeaponProfile(offWeapon).isCancelDropItem();
             if (cancelOffHand || cancelMainHand) {
                 e.setCancelled(true);
             }
@@ -358,8 +358,8 @@ public class TriggerPlayerListeners implements Listener {
         if (toMainWeapon == null && toOffWeapon == null)
             return;
 
-        if ((toMainWeapon != null && getConfigurations().getBool(toMainWeapon + ".Info.Cancel.Swap_Hands"))
-            || (toOffWeapon != null && getConfigurations().getBool(toOffWeapon + ".Info.Cancel.Swap_Hands"))) {
+        if ((toMainWeapon != null && getWeaponProfile(toMainWeapon).isCancelSwapHands())
+            || (toOffWeapon != null && getWeaponProfile(toOffWeapon).isCancelSwapHands())) {
 
             e.setCancelled(true);
 
@@ -408,7 +408,7 @@ public class TriggerPlayerListeners implements Listener {
         ItemStack weapon = player.getInventory().getItemInMainHand();
         String weaponTitle = !isValid(weapon) ? null : weaponHandler.getInfoHandler().getWeaponTitle(weapon, false);
 
-        if (weaponTitle != null && getConfigurations().getBool(weaponTitle + ".Info.Cancel.Break_Blocks")) {
+        if (weaponTitle != null && getWeaponProfile(weaponTitle).isCancelBreakBlocks()) {
 
             // WeaponMechanicsCosmetics calls the BlockBreakEvent for block
             // damage, so we need to make sure that this doesn't interfere.
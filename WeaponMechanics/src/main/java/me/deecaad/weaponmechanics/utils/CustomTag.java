@@ -1,6 +1,7 @@
 package me.deecaad.weaponmechanics.utils;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.Locale;
@@ -9,6 +10,11 @@ import java.util.Locale;
  * This enum is used to keep a list of all NBT tags used by WeaponMechanics. This enum also wraps
  * the {@link me.deecaad.core.compatibility.nbt.NBTCompatibility} api, making it easier to access
  * data from items.
+ *
+ * <p>
+ * When more than 1 tag of the same item is used, open an {@link ItemTagView} with
+ * {@link #view(ItemStack)} and use the methods that take a view. Then the item's meta is only
+ * copied once, and only set once by {@link ItemTagView#commit()}.
  */
 public enum CustomTag {
 
@@ -212,4 +218,54 @@ public enum CustomTag {
     public void remove(ItemStack item) {
         CompatibilityAPI.getNBTCompatibility().remove(item, owningPlugin, id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Shorthand for {@link me.deecaad.core.compatibility.nbt.NBTCompatibility#view(ItemStack)}.
+     *
+     * @param item The non-null item to view the tags of.
+     * @return The non-null view, which must be committed after writing to it.
+     */
+    public static ItemTagView view(ItemStack item) {
+        return CompatibilityAPI.getNBTCompatibility().view(item);
+    }
+
+    public boolean hasString(ItemTagView view) {
+        return view.hasString(owningPlugin, id);
+    }
+
+    public String getString(ItemTagView view) {
+        return view.getString(owningPlugin, id);
+    }
+
+    public void setString(ItemTagView view, String value) {
+        view.setString(owningPlugin, id, value);
+    }
+
+    public boolean hasInteger(ItemTagView view) {
+        return view.hasInt(owningPlugin, id);
+    }
+
+    public int getInteger(ItemTagView view) {
+        return view.getInt(owningPlugin, id);
+    }
+
+    public void setInteger(ItemTagView view, int value) {
+        view.setInt(owningPlugin, id, value);
+    }
+
+    public boolean hasDouble(ItemTagView view) {
+        return view.hasDouble(owningPlugin, id);
+    }
+
+    public double getDouble(ItemTagView view) {
+        return view.getDouble(owningPlugin, id);
+    }
+
+    public void setDouble(ItemTagView view, double value) {
+        view.setDouble(owningPlugin, id, value);
+    }
+
+    public void remove(ItemTagView view) {
+        view.remove(owningPlugin, id);
+    }
+}
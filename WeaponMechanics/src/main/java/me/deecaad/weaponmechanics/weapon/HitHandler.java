@@ -29,7 +29,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class HitHandler {
 
@@ -94,7 +94,7 @@ public class HitHandler {
             hand.setLastMeleeTime(System.currentTimeMillis());
         }
 
-        return !weaponHandler.getDamageHandler().tryUse(livingEntity, getConfigurations().getDouble(weaponTitle + ".Damage.Base_Damage"),
+        return !weaponHandler.getDamageHandler().tryUse(livingEntity, getWeaponProfile(weaponTitle).getBaseDamage(),
             getDamagePoint(result, shooterDirection), backstab, shooter, weaponTitle, weaponStack, slot, result.getHitMinClamped());
     }
 
@@ -104,7 +104,7 @@ public class HitHandler {
         if (hitBlockEvent.isCancelled())
             return true;
 
-        Explosion explosion = getConfigurations().getObject(projectile.getWeaponTitle() + ".Explosion", Explosion.class);
+        Explosion explosion = getWeaponProfile(projectile.getWeaponTitle()).getExplosion();
         if (explosion != null) {
             // When the explosion is instant, the origin is the hit location
             Location origin = null;
@@ -143,12 +143,12 @@ public class HitHandler {
         hitPoint = hitEntityEvent.getPoint();
         backstab = hitEntityEvent.isBackStab();
 
-        if (!weaponHandler.getDamageHandler().tryUse(livingEntity, projectile, getConfigurations().getDouble(projectile.getWeaponTitle() + ".Damage.Base_Damage"), hitPoint, backstab)) {
+        if (!weaponHandler.getDamageHandler().tryUse(livingEntity, projectile, getWeaponProfile(projectile.getWeaponTitle()).getBaseDamage(), hitPoint, backstab)) {
             // Damage was cancelled
             return true;
         }
 
-        Explosion explosion = getConfigurations().getObject(projectile.getWeaponTitle() + ".Explosion", Explosion.class);
+        Explosion explosion = getWeaponProfile(projectile.getWeaponTitle()).getExplosion();
         if (explosion != null) {
             // When the explosion is instant, the origin is the hit location
             Location origin = null;
@@ -0,0 +1,269 @@
+package me.deecaad.weaponmechanics.weapon;
+
+import me.deecaad.core.file.Configuration;
+import me.deecaad.core.mechanics.Mechanics;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.explode.Explosion;
+import me.deecaad.weaponmechanics.weapon.firearm.FirearmAction;
+import me.deecaad.weaponmechanics.weapon.info.WeaponInfoDisplay;
+import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.Projectile;
+import me.deecaad.weaponmechanics.weapon.shoot.CustomDurability;
+import me.deecaad.weaponmechanics.weapon.shoot.ShootLocationChooser;
+import me.deecaad.weaponmechanics.weapon.shoot.recoil.Recoil;
+import me.deecaad.weaponmechanics.weapon.shoot.spread.Spread;
+import me.deecaad.weaponmechanics.weapon.skin.SkinSelector;
+import me.deecaad.weaponmechanics.weapon.trigger.Trigger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The config values of 1 weapon that are used every time the weapon is used (shooting, hitting,
+ * interacting, updating the info display). Looking up these values from
+ * {@link WeaponMechanics#getConfigurations()} requires building a key like
+ * <code>weaponTitle + ".Shoot.Trigger"</code> and hashing it, so profiles read every value once,
+ * when the config is loaded.
+ *
+ * <p>
+ * Every value matches what the config lookup would return, including defaults for missing keys.
+ * Values that are not in this class can still be read from {@link WeaponMechanics#getConfigurations()}.
+ *
+ * @see WeaponMechanics#getWeaponProfile(String)
+ */
+public final class WeaponProfile {
+
+    private final String weaponTitle;
+
+    // Shoot
+    private final @Nullable Trigger shootTrigger;
+    private final boolean consumeItemOnShoot;
+    private final int ammoPerShot;
+    private final boolean destroyWhenEmpty;
+    private final @Nullable CustomDurability customDurability;
+    private final @Nullable ShootLocationChooser offsets;
+    private final @Nullable Trigger selectiveFireTrigger;
+    private final int delayBetweenShots;
+    private final int shotsPerBurst;
+    private final int ticksBetweenEachShot;
+    private final int fullyAutomaticShotsPerSecond;
+    private final @Nullable Mechanics shootMechanics;
+    private final boolean resetFallDistance;
+    private final @Nullable Projectile projectile;
+    private final double projectileSpeed;
+    private final int projectilesPerShot;
+    private final @Nullable Spread spread;
+    private final @Nullable Recoil recoil;
+    private final boolean unscopeAfterShot;
+
+    // Delays
+    private final int weaponEquipDelay;
+    private final int shootDelayAfterScope;
+    private final int shootDelayAfterReload;
+
+    private final @Nullable FirearmAction firearmAction;
+    private final int magazineSize;
+    private final double baseDamage;
+    private final @Nullable Explosion explosion;
+    private final @Nullable SkinSelector skin;
+    private final @Nullable WeaponInfoDisplay weaponInfoDisplay;
+
+    // Info.Cancel
+    private final boolean cancelBlockInteractions;
+    private final boolean cancelItemInteractions;
+    private final boolean cancelArmSwingAnimation;
+    private final boolean cancelDropItem;
+    private final boolean cancelSwapHands;
+    private final boolean cancelBreakBlocks;
+
+    /**
+     * Reads every value of the given weapon from the given config.
+     *
+     * @param config The non-null config to read from.
+     * @param weaponTitle The non-null weapon title.
+     */
+    public WeaponProfile(@NotNull Configuration config, @NotNull String weaponTitle) {
+        this.weaponTitle = weaponTitle;
+
+        this.shootTrigger = config.getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
+        this.consumeItemOnShoot = config.getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
+        this.ammoPerShot = config.getInt(weaponTitle + ".Shoot.Ammo_Per_Shot", 1);
+        this.destroyWhenEmpty = config.getBool(weaponTitle + ".Shoot.Destroy_When_Empty");
+        this.customDurability = config.getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+        this.offsets = config.getObject(weaponTitle + ".Shoot.Offsets", ShootLocationChooser.class);
+        this.selectiveFireTrigger = config.getObject(weaponTitle + ".Shoot.Selective_Fire.Trigger", Trigger.class);
+        this.delayBetweenShots = config.getInt(weaponTitle + ".Shoot.Delay_Between_Shots");
+        this.shotsPerBurst = config.getInt(weaponTitle + ".Shoot.Burst.Shots_Per_Burst");
+        this.ticksBetweenEachShot = config.getInt(weaponTitle + ".Shoot.Burst.Ticks_Between_Each_Shot");
+        this.fullyAutomaticShotsPerSecond = config.getInt(weaponTitle + ".Shoot.Fully_Automatic_Shots_Per_Second");
+        this.shootMechanics = config.getObject(weaponTitle + ".Shoot.Mechanics", Mechanics.class);
+        this.resetFallDistance = config.getBool(weaponTitle + ".Shoot.Reset_Fall_Distance");
+        this.projectile = config.getObject(weaponTitle + ".Projectile", Projectile.class);
+        this.projectileSpeed = config.getDouble(weaponTitle + ".Shoot.Projectile_Speed");
+        this.projectilesPerShot = config.getInt(weaponTitle + ".Shoot.Projectiles_Per_Shot");
+        this.spread = config.getObject(weaponTitle + ".Shoot.Spread", Spread.class);
+        this.recoil = config.getObject(weaponTitle + ".Shoot.Recoil", Recoil.class);
+        this.unscopeAfterShot = config.getBool(weaponTitle + ".Scope.Unscope_After_Shot");
+
+        this.weaponEquipDelay = config.getInt(weaponTitle + ".Info.Weapon_Equip_Delay");
+        this.shootDelayAfterScope = config.getInt(weaponTitle + ".Scope.Shoot_Delay_After_Scope");
+        this.shootDelayAfterReload = config.getInt(weaponTitle + ".Reload.Shoot_Delay_After_Reload");
+
+        this.firearmAction = config.getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
+        this.magazineSize = config.getInt(weaponTitle + ".Reload.Magazine_Size");
+        this.baseDamage = config.getDouble(weaponTitle + ".Damage.Base_Damage");
+        this.explosion = config.getObject(weaponTitle + ".Explosion", Explosion.class);
+        this.skin = config.getObject(weaponTitle + ".Skin", SkinSelector.class);
+        this.weaponInfoDisplay = config.getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+
+        this.cancelBlockInteractions = config.getBool(weaponTitle + ".Info.Cancel.Block_Interactions");
+        this.cancelItemInteractions = config.getBool(weaponTitle + ".Info.Cancel.Item_Interactions");
+        this.cancelArmSwingAnimation = config.getBool(weaponTitle + ".Info.Cancel.Arm_Swing_Animation");
+        this.cancelDropItem = config.getBool(weaponTitle + ".Info.Cancel.Drop_Item");
+        this.cancelSwapHands = config.getBool(weaponTitle + ".Info.Cancel.Swap_Hands");
+        this.cancelBreakBlocks = config.getBool(weaponTitle + ".Info.Cancel.Break_Blocks");
+    }
+
+    public @NotNull String getWeaponTitle() {
+        return weaponTitle;
+    }
+
+    public @Nullable Trigger getShootTrigger() {
+        return shootTrigger;
+    }
+
+    public boolean isConsumeItemOnShoot() {
+        return consumeItemOnShoot;
+    }
+
+    public int getAmmoPerShot() {
+        return ammoPerShot;
+    }
+
+    public boolean isDestroyWhenEmpty() {
+        return destroyWhenEmpty;
+    }
+
+    public @Nullable CustomDurability getCustomDurability() {
+        return customDurability;
+    }
+
+    public @Nullable ShootLocationChooser getOffsets() {
+        return offsets;
+    }
+
+    public @Nullable Trigger getSelectiveFireTrigger() {
+        return selectiveFireTrigger;
+    }
+
+    public int getDelayBetweenShots() {
+        return delayBetweenShots;
+    }
+
+    public int getShotsPerBurst() {
+        return shotsPerBurst;
+    }
+
+    public int getTicksBetweenEachShot() {
+        return ticksBetweenEachShot;
+    }
+
+    public int getFullyAutomaticShotsPerSecond() {
+        return fullyAutomaticShotsPerSecond;
+    }
+
+    public @Nullable Mechanics getShootMechanics() {
+        return shootMechanics;
+    }
+
+    public boolean isResetFallDistance() {
+        return resetFallDistance;
+    }
+
+    public @Nullable Projectile getProjectile() {
+        return projectile;
+    }
+
+    public double getProjectileSpeed() {
+        return projectileSpeed;
+    }
+
+    public int getProjectilesPerShot() {
+        return projectilesPerShot;
+    }
+
+    public @Nullable Spread getSpread() {
+        return spread;
+    }
+
+    public @Nullable Recoil getRecoil() {
+        return recoil;
+    }
+
+    public boolean isUnscopeAfterShot() {
+        return unscopeAfterShot;
+    }
+
+    public int getWeaponEquipDelay() {
+        return weaponEquipDelay;
+    }
+
+    public int getShootDelayAfterScope() {
+        return shootDelayAfterScope;
+    }
+
+    public int getShootDelayAfterReload() {
+        return shootDelayAfterReload;
+    }
+
+    public @Nullable FirearmAction getFirearmAction() {
+        return firearmAction;
+    }
+
+    public int getMagazineSize() {
+        return magazineSize;
+    }
+
+    public double getBaseDamage() {
+        return baseDamage;
+    }
+
+    public @Nullable Explosion getExplosion() {
+        return explosion;
+    }
+
+    public @Nullable SkinSelector getSkin() {
+        return skin;
+    }
+
+    public @Nullable WeaponInfoDisplay getWeaponInfoDisplay() {
+        return weaponInfoDisplay;
+    }
+
+    public boolean isCancelBlockInteractions() {
+        return cancelBlockInteractions;
+    }
+
+    public boolean isCancelItemInteractions() {
+        return cancelItemInteractions;
+    }
+
+    public boolean isCancelArmSwingAnimation() {
+        return cancelArmSwingAnimation;
+    }
+
+    public boolean isCancelDropItem() {
+        return cancelDropItem;
+    }
+
+    public boolean isCancelSwapHands() {
+        return cancelSwapHands;
+    }
+
+    public boolean isCancelBreakBlocks() {
+        return cancelBreakBlocks;
+    }
+
+    @Override
+    public String toString() {
+        return "WeaponProfile{" + weaponTitle + "}";
+    }
+}
@@ -5,6 +5,9 @@ import me.deecaad.core.compatibility.block.BlockCompatibility;
 import me.deecaad.core.utils.DistanceUtil;
 import me.deecaad.core.utils.MinecraftVersions;
 import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.IntMap;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.spatial.EntityIndex;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
@@ -28,16 +31,20 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Utility class that stores all block damage on the server.
+ *
+ * <p>
+ * Damage is stored per world, then per chunk (keyed by {@link EntityIndex#chunkKey(int, int)}),
+ * then per block in that chunk (keyed by {@link #blockKey(int, int, int)}). Lookups only use
+ * primitive keys, so {@link #isBroken(Block)} and {@link #getBlockDamage(Block)} never allocate.
  */
 public final class BlockDamageData {
 
-    private static final Map<ChunkPos, Map<Block, DamageData>> DAMAGE_MAP = new LinkedHashMap<>(256);
+    private static final Map<UUID, LongMap<IntMap<DamageData>>> DAMAGE_MAP = new HashMap<>();
     public static final int MAX_BLOCK_CRACK = 9;
     public static final Material MASK = Material.valueOf("AIR");
 
@@ -49,6 +56,19 @@ public final class BlockDamageData {
     private BlockDamageData() {
     }
 
+    /**
+     * Packs the position of a block inside its chunk into 1 int. The x and z coordinates use 4 bits
+     * each, and the rest of the bits are the y coordinate.
+     *
+     * @param x The block x coordinate.
+     * @param y The block y coordinate.
+     * @param z The block z coordinate.
+     * @return The packed position in the chunk.
+     */
+    public static int blockKey(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
     /**
      * Shorthand for {@link #damage(Block, double, boolean, boolean, Material)}
      */
@@ -68,23 +88,42 @@ public final class BlockDamageData {
      * @return <code>true</code> if the block was broken.
      */
     public static DamageData damage(@NotNull Block block, double damage, boolean isBreak, boolean isRegenerate, Material mask) {
-        ChunkPos pos = new ChunkPos(block);
+        int x = block.getX();
+        int z = block.getZ();
 
         // Get the DamageData for the given block, or create a new one if needed
-        Map<Block, DamageData> map = DAMAGE_MAP.computeIfAbsent(pos, k -> new HashMap<>());
-        DamageData damageData = map.computeIfAbsent(block, DamageData::new);
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.computeIfAbsent(block.getWorld().getUID(), k -> new LongMap<>());
+        long chunkKey = EntityIndex.chunkKey(x >> 4, z >> 4);
+        IntMap<DamageData> blocks = chunks.get(chunkKey);
+        if (blocks == null) {
+            blocks = new IntMap<>();
+            chunks.put(chunkKey, blocks);
+        }
+
+        int blockKey = blockKey(x, block.getY(), z);
+        DamageData damageData = blocks.get(blockKey);
+        if (damageData == null) {
+            damageData = new DamageData(block);
+            blocks.put(blockKey, damageData);
+        }
 
         damageData.damage(damage, isBreak, isRegenerate, mask);
         return damageData;
     }
 
     @Nullable public static DamageData getBlockDamage(@NotNull Block block) {
-        Map<Block, DamageData> map = DAMAGE_MAP.get(new ChunkPos(block));
-        if (map == null)
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.get(block.getWorld().getUID());
+        if (chunks == null)
+            return null;
+
+        int x = block.getX();
+        int z = block.getZ();
+        IntMap<DamageData> blocks = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+        if (blocks == null)
             return null;
 
         // may return null
-        return map.get(block);
+        return blocks.get(blockKey(x, block.getY(), z));
     }
 
     /**
@@ -96,6 +135,10 @@ public final class BlockDamageData {
      * @return true if the block is broken and going to regenerate.
      */
     public static boolean isBroken(@NotNull Block block) {
+        // Most worlds have no damaged blocks, skip the block lookups
+        if (DAMAGE_MAP.isEmpty())
+            return false;
+
         DamageData data = getBlockDamage(block);
         return data != null && data.isBroken();
     }
@@ -107,14 +150,12 @@ public final class BlockDamageData {
      * @param block The non-null block to regenerate
      */
     public static void regenerate(@NotNull Block block) {
-        Map<Block, DamageData> data = DAMAGE_MAP.get(new ChunkPos(block));
-
-        if (data == null)
+        DamageData damage = getBlockDamage(block);
+        if (damage == null)
             return;
 
-        DamageData damage = data.get(block);
         damage.regenerate();
-        data.remove(block);
+        damage.remove();
     }
 
     /**
@@ -128,10 +169,17 @@ public final class BlockDamageData {
      * @see #regenerate(Block)
      */
     public static void regenerate(@NotNull Chunk chunk) {
-        ChunkPos pos = new ChunkPos(chunk);
+        UUID world = chunk.getWorld().getUID();
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.get(world);
+        if (chunks == null)
+            return;
 
-        regenerate(pos);
-        DAMAGE_MAP.remove(pos);
+        IntMap<DamageData> blocks = chunks.remove(EntityIndex.chunkKey(chunk.getX(), chunk.getZ()));
+        if (chunks.isEmpty())
+            DAMAGE_MAP.remove(world);
+
+        if (blocks != null)
+            regenerate(blocks);
     }
 
     /**
@@ -144,35 +192,19 @@ public final class BlockDamageData {
      * @see #regenerate(Block)
      */
     public static void regenerate(@NotNull World world) {
-        Iterator<ChunkPos> iterator = DAMAGE_MAP.keySet().iterator();
-
-        while (iterator.hasNext()) {
-            ChunkPos pos = iterator.next();
-
-            if (pos.world.equals(world)) {
-                regenerate(pos);
-                iterator.remove();
-            }
-        }
+        LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.remove(world.getUID());
+        if (chunks != null)
+            chunks.forEach((key, blocks) -> regenerate(blocks));
     }
 
     public static void regenerateAll() {
-        Iterator<ChunkPos> iterator = DAMAGE_MAP.keySet().iterator();
-
-        while (iterator.hasNext()) {
-            ChunkPos pos = iterator.next();
-            regenerate(pos);
-            iterator.remove();
-        }
+        for (LongMap<IntMap<DamageData>> chunks : DAMAGE_MAP.values())
+            chunks.forEach((key, blocks) -> regenerate(blocks));
+        DAMAGE_MAP.clear();
     }
 
-    private static void regenerate(@NotNull ChunkPos pos) {
-        Map<Block, DamageData> blocks = DAMAGE_MAP.get(pos);
-
-        if (blocks == null)
-            return;
-
-        blocks.forEach((block, damage) -> {
+    private static void regenerate(@NotNull IntMap<DamageData> blocks) {
+        blocks.forEach((key, damage) -> {
             damage.regenerate();
         });
     }
@@ -180,7 +212,10 @@ public final class BlockDamageData {
     /**
      * The {@link org.bukkit.Chunk} class does not provide a hashing method, so we are stuck wrapping
      * the chunk in order to use a {@link HashMap}
+     *
+     * @deprecated Block damage is keyed by {@link EntityIndex#chunkKey(int, int)} instead.
      */
+    @Deprecated
     public static class ChunkPos {
 
         private final World world;
@@ -225,6 +260,20 @@ public final class BlockDamageData {
             this.block = block;
         }
 
+        public Block getBlock() {
+            return block;
+        }
+
+        /**
+         * Returns the state of the block before it was broken, or <code>null</code> if the block
+         * is not broken.
+         *
+         * @return The nullable state before the block broke.
+         */
+        public @Nullable BlockState getState() {
+            return state;
+        }
+
         public void damage(double amount, boolean isBreak, boolean isRegenerate) {
             damage(amount, isBreak, isRegenerate, MASK);
         }
@@ -302,8 +351,25 @@ public final class BlockDamageData {
         }
 
         public void remove() {
-            Map<Block, DamageData> map = DAMAGE_MAP.get(new ChunkPos(block));
-            map.remove(block);
+            UUID world = block.getWorld().getUID();
+            LongMap<IntMap<DamageData>> chunks = DAMAGE_MAP.get(world);
+            if (chunks == null)
+                return;
+
+            int x = block.getX();
+            int z = block.getZ();
+            long chunkKey = EntityIndex.chunkKey(x >> 4, z >> 4);
+            IntMap<DamageData> blocks = chunks.get(chunkKey);
+            if (blocks == null || blocks.get(blockKey(x, block.getY(), z)) != this)
+                return;
+
+            // Remove empty maps, so chunks without damage are skipped
+            blocks.remove(blockKey(x, block.getY(), z));
+            if (blocks.isEmpty()) {
+                chunks.remove(chunkKey);
+                if (chunks.isEmpty())
+                    DAMAGE_MAP.remove(world);
+            }
         }
 
         public void sendCrackPacket() {
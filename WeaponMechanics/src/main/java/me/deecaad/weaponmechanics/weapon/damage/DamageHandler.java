@@ -145,8 +145,7 @@ public class DamageHandler {
             damageEntityEvent.getDamageMechanics().use(cast);
         if (shooterData != null) {
             shooterData.add(weaponTitle, WeaponStat.TOTAL_DAMAGE, (float) finalDamage);
-            shooterData.set(weaponTitle, WeaponStat.LONGEST_DISTANCE_HIT,
-                (key, value) -> value == null ? (float) distanceTravelled : Math.max((float) value, (float) distanceTravelled));
+            shooterData.max(weaponTitle, WeaponStat.LONGEST_DISTANCE_HIT, (float) distanceTravelled);
         }
         if (victimData != null)
             victimData.add(PlayerStat.DAMAGE_TAKEN, (float) finalDamage);
@@ -168,8 +167,7 @@ public class DamageHandler {
                 } else {
                     shooterData.add(weaponTitle, WeaponStat.OTHER_KILLS, 1);
                 }
-                shooterData.set(weaponTitle, WeaponStat.LONGEST_DISTANCE_KILL,
-                    (key, value) -> value == null ? (float) distanceTravelled : Math.max((float) value, (float) distanceTravelled));
+                shooterData.max(weaponTitle, WeaponStat.LONGEST_DISTANCE_KILL, (float) distanceTravelled);
             }
         } else if (shooter.getType() == EntityType.PLAYER && getBasicConfigurations().getBool("Assists_Event.Enable", true)
             && (!getBasicConfigurations().getBool("Assists_Event.Only_Players", true) || victim.getType() == EntityType.PLAYER)) {
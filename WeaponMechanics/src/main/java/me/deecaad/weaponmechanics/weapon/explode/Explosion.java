@@ -289,9 +289,21 @@ public class Explosion implements Serializer<Explosion> {
         // spawn falling blocks. We also don't need to worry about regeneration.
         if (blockDamage != null) {
             int timeOffset = regeneration == null ? -1 : (solid.size() * regeneration.getInterval() / regeneration.getMaxBlocksPerUpdate());
+            FallingBlockBudget debris = blockChance > 0.0 ? new FallingBlockBudget(origin) : null;
 
-            damageBlocks(transparent, true, origin, timeOffset, playerWrapper, projectile);
-            damageBlocks(solid, false, origin, 0, playerWrapper, projectile);
+            // Big explosions may damage their blocks over the next few ticks,
+            // but entities are still damaged on this tick.
+            ExplosionScheduler scheduler = WeaponMechanics.getExplosionScheduler();
+            if (scheduler.isAmortized(transparent.size() + solid.size())) {
+                scheduler.schedule(this, transparent, solid, origin.clone(), timeOffset, playerWrapper, projectile, debris);
+            } else {
+
+                // Each player receives the falling blocks as 1 burst of packets
+                FakeEntity.bundle(() -> {
+                    damageBlocks(transparent, true, origin, timeOffset, playerWrapper, projectile, debris);
+                    damageBlocks(solid, false, origin, 0, playerWrapper, projectile, debris);
+                });
+            }
         }
 
         if (projectile != null && projectile.getWeaponTitle() != null) {
@@ -341,26 +353,71 @@ public class Explosion implements Serializer<Explosion> {
         }
     }
 
+    /**
+     * Damages the blocks without limiting the falling blocks.
+     *
+     * @deprecated Explosions no longer call this method, so overriding it has no effect. Override
+     *             {@link #damageBlocks(List, boolean, Location, int, PlayerWrapper, WeaponProjectile, FallingBlockBudget)}
+     *             instead.
+     */
+    @Deprecated
     protected void damageBlocks(List<Block> blocks, boolean isAtOnce, Location origin, int timeOffset, PlayerWrapper playerWrapper, WeaponProjectile projectile) {
+        damageBlocks(blocks, isAtOnce, origin, timeOffset, playerWrapper, projectile, FallingBlockBudget.unlimited());
+    }
+
+    /**
+     * Damages the blocks, spawning at most as many falling blocks as <code>debris</code> allows. A
+     * <code>null</code> budget spawns no falling blocks. Explosions damaged on this tick call this
+     * method, so subclasses may override it.
+     */
+    protected void damageBlocks(List<Block> blocks, boolean isAtOnce, Location origin, int timeOffset, PlayerWrapper playerWrapper, WeaponProjectile projectile,
+        FallingBlockBudget debris) {
+        damageBlocks(blocks, isAtOnce, origin, timeOffset, playerWrapper, projectile, debris, 0, blocks.size());
+    }
+
+    /**
+     * Damages the blocks between the indices <code>from</code> (inclusive) and <code>to</code>
+     * (exclusive). Used by {@link ExplosionScheduler} to damage the blocks of 1 explosion over
+     * multiple ticks. Regeneration delays are still based on the index of each block in the whole
+     * list.
+     */
+    protected void damageBlocks(List<Block> blocks, boolean isAtOnce, Location origin, int timeOffset, PlayerWrapper playerWrapper, WeaponProjectile projectile,
+        FallingBlockBudget debris, int from, int to) {
         boolean isRegenerate = regeneration != null;
 
         if (isRegenerate)
             timeOffset += regeneration.getTicksBeforeStart();
 
         List<BlockDamageData.DamageData> brokenBlocks = isRegenerate ? new ArrayList<>(regeneration.getMaxBlocksPerUpdate()) : null;
-        Location temp = new Location(null, 0, 0, 0);
 
         int blocksBroken = 0;
 
         int size = blocks.size();
-        for (int i = 0; i < size; i++) {
+        if (from >= to)
+            return;
+
+        // Check WorldGuard to determine whether we can break blocks here
+        // Always use null for player. We could check if the projectile
+        // shooter owns the region, but it is best to simply deny for all
+        // players (Less confused people). Regions are resolved once for
+        // the whole explosion, instead of once per block.
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
             Block block = blocks.get(i);
+            minX = Math.min(minX, block.getX());
+            minY = Math.min(minY, block.getY());
+            minZ = Math.min(minZ, block.getZ());
+            maxX = Math.max(maxX, block.getX());
+            maxY = Math.max(maxY, block.getY());
+            maxZ = Math.max(maxZ, block.getZ());
+        }
+        WorldGuardCompatibility.BlockTest canBreak = CompatibilityAPI.getWorldGuardCompatibility()
+            .testFlags(origin.getWorld(), minX, minY, minZ, maxX, maxY, maxZ, null, "weapon-break-block");
 
-            // Check WorldGuard to determine whether we can break blocks here
-            // Always use null for player. We could check if the projectile
-            // shooter owns the region, but it is best to simply deny for all
-            // players (Less confused people).
-            if (!CompatibilityAPI.getWorldGuardCompatibility().testFlag(block.getLocation(temp), null, "weapon-break-block"))
+        for (int i = from; i < to; i++) {
+            Block block = blocks.get(i);
+            if (!canBreak.test(block.getX(), block.getY(), block.getZ()))
                 continue;
 
             // We need the BlockState for falling blocks. If we get the state
@@ -377,28 +434,14 @@ public class Explosion implements Serializer<Explosion> {
             if (data == null)
                 continue;
 
-            // Group blocks together to reduce task scheduling. After
-            // reaching the bound, we can schedule a task to generate later.
+            // Group blocks together, so each group of blocks regenerates
+            // on the same tick. The list is copied by the scheduler.
             if (isRegenerate) {
                 brokenBlocks.add(data);
 
-                if (brokenBlocks.size() == regeneration.getMaxBlocksPerUpdate() || i == size - 1) {
+                if (brokenBlocks.size() == regeneration.getMaxBlocksPerUpdate() || i == to - 1) {
                     int time = timeOffset + ((isAtOnce ? size : i) / regeneration.getMaxBlocksPerUpdate() * regeneration.getInterval());
-
-                    List<BlockDamageData.DamageData> finalBrokenBlocks = new ArrayList<>(brokenBlocks);
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            for (BlockDamageData.DamageData block : finalBrokenBlocks) {
-
-                                // The blocks may have been regenerated already
-                                if (block.isBroken()) {
-                                    block.regenerate();
-                                    block.remove();
-                                }
-                            }
-                        }
-                    }.runTaskLater(WeaponMechanics.getPlugin(), time);
+                    WeaponMechanics.getRegenerationScheduler().schedule(brokenBlocks, time);
 
                     // Reset back to 0 elements, so we can continue adding
                     // blocks to regenerate to the list.
@@ -413,7 +456,7 @@ public class Explosion implements Serializer<Explosion> {
                 // For stat tracking
                 blocksBroken += 1;
 
-                if (RandomUtil.chance(blockChance)) {
+                if (RandomUtil.chance(blockChance) && debris != null && debris.tryAcquire()) {
                     Location loc = block.getLocation().add(0.5, 0.5, 0.5);
                     Vector velocity = loc.toVector().subtract(origin.toVector()).normalize(); // normalize to slow down
 
@@ -429,6 +472,12 @@ public class Explosion implements Serializer<Explosion> {
             }
         }
 
+        // When the last block was skipped, the last group was never scheduled
+        if (isRegenerate && !brokenBlocks.isEmpty()) {
+            int time = timeOffset + ((isAtOnce ? size : to - 1) / regeneration.getMaxBlocksPerUpdate() * regeneration.getInterval());
+            WeaponMechanics.getRegenerationScheduler().schedule(brokenBlocks, time);
+        }
+
         if (blocksBroken != 0 && playerWrapper != null && playerWrapper.getStatsData() != null
             && projectile != null && projectile.getWeaponTitle() != null)
             playerWrapper.getStatsData().add(projectile.getWeaponTitle(), WeaponStat.BLOCKS_DESTROYED, blocksBroken);
@@ -437,7 +486,13 @@ public class Explosion implements Serializer<Explosion> {
     protected void spawnFallingBlock(Location location, BlockState state, Vector velocity) {
         FakeEntity disguise = CompatibilityAPI.getEntityCompatibility().generateFakeEntity(location, state);
 
-        RemoveOnBlockCollisionProjectile projectile = new RemoveOnBlockCollisionProjectile(location, velocity, disguise);
+        RemoveOnBlockCollisionProjectile projectile = new RemoveOnBlockCollisionProjectile(location, velocity, disguise) {
+            @Override
+            public void onEnd() {
+                super.onEnd();
+                FallingBlockBudget.release();
+            }
+        };
         projectile.setIntTag("explosion-falling-block", 1);
         WeaponMechanics.getProjectilesRunnable().addProjectile(projectile);
     }
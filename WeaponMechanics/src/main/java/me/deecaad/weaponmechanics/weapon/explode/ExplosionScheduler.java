@@ -0,0 +1,180 @@
+package me.deecaad.weaponmechanics.weapon.explode;
+
+import me.deecaad.core.compatibility.entity.FakeEntity;
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile.WeaponProjectile;
+import me.deecaad.weaponmechanics.wrappers.PlayerWrapper;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * Damages the blocks of big explosions over multiple ticks. Breaking thousands of blocks (and
+ * spawning their falling blocks) in 1 tick causes lag spikes, so when
+ * <code>Explosions.Amortized_Millis_Per_Tick</code> is enabled, explosions with at least
+ * <code>Explosions.Amortized_Minimum_Blocks</code> blocks are queued here instead. Entities are
+ * still damaged right away, only the blocks are delayed.
+ *
+ * <p>
+ * Each tick, queued explosions damage their blocks in small batches, in the order they exploded,
+ * until the time budget is used up. At least 1 batch is damaged every tick, so explosions always
+ * finish.
+ */
+public class ExplosionScheduler extends BukkitRunnable {
+
+    private static final int BATCH_SIZE = 32;
+
+    private final ArrayDeque<Job> jobs;
+    private long budgetNanos;
+    private int minimumBlocks;
+    private boolean isConfigLoaded;
+
+    /**
+     * Initializes and registers this runnable. WeaponMechanics initializes one of these by default,
+     * use {@link WeaponMechanics#getExplosionScheduler()}.
+     *
+     * @param plugin The non-null plugin.
+     */
+    public ExplosionScheduler(Plugin plugin) {
+        jobs = new ArrayDeque<>();
+
+        runTaskTimer(plugin, 0, 1);
+    }
+
+    /**
+     * Config is read lazily since this runnable is created before config.yml is loaded during a
+     * reload.
+     */
+    private void loadConfig() {
+        if (isConfigLoaded)
+            return;
+
+        double millis = WeaponMechanics.getBasicConfigurations().getDouble("Explosions.Amortized_Millis_Per_Tick", -1.0);
+        budgetNanos = millis < 0.0 ? -1L : (long) (millis * 1_000_000.0);
+        minimumBlocks = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Amortized_Minimum_Blocks", 512);
+        isConfigLoaded = true;
+    }
+
+    /**
+     * Returns <code>true</code> if an explosion with the given number of blocks should be queued
+     * using {@link #schedule}, instead of damaging every block right away.
+     *
+     * @param blocks The number of blocks in the explosion.
+     * @return true if the blocks should be damaged over multiple ticks.
+     */
+    public boolean isAmortized(int blocks) {
+        loadConfig();
+        return budgetNanos >= 0L && blocks >= minimumBlocks;
+    }
+
+    /**
+     * Returns the number of explosions that still have blocks to damage.
+     *
+     * @return The number of queued explosions.
+     */
+    public int getQueuedCount() {
+        return jobs.size();
+    }
+
+    /**
+     * Queues the blocks of 1 explosion. The transparent blocks are damaged before the solid blocks,
+     * like {@link Explosion#explode}.
+     */
+    void schedule(Explosion explosion, List<Block> transparent, List<Block> solid, Location origin, int timeOffset, PlayerWrapper playerWrapper,
+        WeaponProjectile projectile, FallingBlockBudget debris) {
+        jobs.add(new Job(explosion, transparent, solid, origin, timeOffset, playerWrapper, projectile, debris));
+    }
+
+    /**
+     * Damages every queued block right away, without spawning falling blocks. Should be called
+     * before the plugin is disabled, so every broken block can be regenerated.
+     */
+    public void finishAll() {
+        Job job;
+        while ((job = jobs.poll()) != null) {
+            job.debris = null;
+            try {
+                job.process(Integer.MAX_VALUE);
+            } catch (Throwable ex) {
+                debug.log(LogLevel.WARN, "Failed to damage the blocks of an explosion", ex);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        if (jobs.isEmpty())
+            return;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        FakeEntity.bundle(() -> {
+            do {
+                Job job = jobs.peek();
+                try {
+                    if (job.process(BATCH_SIZE))
+                        jobs.poll();
+                } catch (Throwable ex) {
+                    jobs.poll();
+                    debug.log(LogLevel.WARN, "Failed to damage the blocks of an explosion", ex);
+                }
+            } while (!jobs.isEmpty() && System.nanoTime() < deadline);
+        });
+    }
+
+    /**
+     * The blocks of 1 explosion that have not been damaged yet.
+     */
+    private static class Job {
+
+        private final Explosion explosion;
+        private final List<Block> transparent;
+        private final List<Block> solid;
+        private final Location origin;
+        private final int timeOffset;
+        private final PlayerWrapper playerWrapper;
+        private final WeaponProjectile projectile;
+        private FallingBlockBudget debris;
+        private int transparentIndex;
+        private int solidIndex;
+
+        private Job(Explosion explosion, List<Block> transparent, List<Block> solid, Location origin, int timeOffset, PlayerWrapper playerWrapper,
+            WeaponProjectile projectile, FallingBlockBudget debris) {
+            this.explosion = explosion;
+            this.transparent = transparent;
+            this.solid = solid;
+            this.origin = origin;
+            this.timeOffset = timeOffset;
+            this.playerWrapper = playerWrapper;
+            this.projectile = projectile;
+            this.debris = debris;
+        }
+
+        /**
+         * Damages up to <code>amount</code> blocks, and returns <code>true</code> once every block
+         * was damaged.
+         */
+        private boolean process(int amount) {
+            if (transparentIndex < transparent.size()) {
+                int to = (int) Math.min(transparent.size(), (long) transparentIndex + amount);
+                explosion.damageBlocks(transparent, true, origin, timeOffset, playerWrapper, projectile, debris, transparentIndex, to);
+                amount -= to - transparentIndex;
+                transparentIndex = to;
+            }
+
+            if (amount > 0 && solidIndex < solid.size()) {
+                int to = (int) Math.min(solid.size(), (long) solidIndex + amount);
+                explosion.damageBlocks(solid, false, origin, 0, playerWrapper, projectile, debris, solidIndex, to);
+                solidIndex = to;
+            }
+
+            return transparentIndex >= transparent.size() && solidIndex >= solid.size();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package me.deecaad.weaponmechanics.weapon.explode;
+
+import me.deecaad.core.utils.DistanceUtil;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits how many falling blocks (debris) explosions spawn. Every falling block is a fake entity,
+ * which sends a few packets to every nearby player every tick. Without a limit, big explosions (or
+ * many explosions at once) can flood clients with hundreds of these entities.
+ *
+ * <p>
+ * Each explosion may spawn at most <code>Explosions.Max_Falling_Blocks_Per_Explosion</code>
+ * falling blocks, and at most <code>Explosions.Max_Falling_Blocks</code> may exist at once. When
+ * the closest player is further than <code>Explosions.Falling_Block_Full_Detail_Distance</code>
+ * blocks away, the per-explosion limit shrinks, until it reaches 0 at the view distance.
+ */
+public final class FallingBlockBudget {
+
+    // The number of falling blocks that currently exist, across every explosion
+    private static int alive;
+
+    private int remaining;
+
+    /**
+     * Creates the budget for 1 explosion.
+     *
+     * @param origin The non-null center of the explosion.
+     */
+    public FallingBlockBudget(@NotNull Location origin) {
+        int perExplosion = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Max_Falling_Blocks_Per_Explosion", 64);
+        int global = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Max_Falling_Blocks", 512);
+        int fullDetail = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Falling_Block_Full_Detail_Distance", 32);
+
+        remaining = perExplosion < 0 ? Integer.MAX_VALUE : perExplosion;
+        if (global >= 0)
+            remaining = Math.min(remaining, Math.max(0, global - alive));
+        if (remaining == 0 || fullDetail < 0)
+            return;
+
+        World world = origin.getWorld();
+        double range = DistanceUtil.getRange(world);
+        double closest = Double.MAX_VALUE;
+        for (Player player : world.getPlayers())
+            closest = Math.min(closest, player.getLocation().distanceSquared(origin));
+
+        closest = Math.sqrt(closest);
+        if (closest >= range) {
+            remaining = 0;
+        } else if (closest > fullDetail && remaining != Integer.MAX_VALUE) {
+            remaining = (int) Math.ceil(remaining * (range - closest) / (range - fullDetail));
+        }
+    }
+
+    private FallingBlockBudget(int remaining) {
+        this.remaining = remaining;
+    }
+
+    /**
+     * Creates a budget that never runs out. Falling blocks spawned with this budget still count
+     * towards the falling blocks that currently exist.
+     *
+     * @return The non-null unlimited budget.
+     */
+    public static @NotNull FallingBlockBudget unlimited() {
+        return new FallingBlockBudget(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Uses 1 falling block from this budget. Every successful call must be followed by a call to
+     * {@link #release()} once the falling block is removed.
+     *
+     * @return true if a falling block may be spawned.
+     */
+    public boolean tryAcquire() {
+        if (remaining <= 0)
+            return false;
+
+        remaining--;
+        alive++;
+        return true;
+    }
+
+    /**
+     * Called after a falling block acquired by {@link #tryAcquire()} was removed.
+     */
+    public static void release() {
+        if (alive > 0)
+            alive--;
+    }
+
+    /**
+     * Forgets every falling block. Falling blocks are ticked by the
+     * {@link me.deecaad.weaponmechanics.weapon.projectile.ProjectilesRunnable}, so they are dropped
+     * without calling {@link #release()} when it is replaced on enable and reload.
+     */
+    public static void reset() {
+        alive = 0;
+    }
+
+    /**
+     * Returns the number of falling blocks that currently exist.
+     *
+     * @return The number of falling blocks.
+     */
+    public static int getAlive() {
+        return alive;
+    }
+}
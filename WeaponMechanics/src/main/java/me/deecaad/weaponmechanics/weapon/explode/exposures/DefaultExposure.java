@@ -5,15 +5,11 @@ import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.primitive.DoubleMap;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceCollision;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceResult;
 import me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
+import org.bukkit.util.NumberConversions;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -44,58 +40,81 @@ public class DefaultExposure implements ExplosionExposure {
             return temp;
         }
 
-        Vector vector = new Vector(x, y, z);
+        // Hit-boxes are read on the main thread, so the rays can be traced on
+        // multiple threads. See ExposureEngine.
+        int size = 0;
+        LivingEntity[] candidates = new LivingEntity[entities.size()];
+        double[] impactRates = new double[entities.size()];
+        double[] boxes = new double[entities.size() * 6];
 
         for (LivingEntity entity : entities) {
-            Vector entityLocation = entity.getLocation().toVector();
+            Location entityLocation = entity.getLocation();
+            double distance = Math.sqrt(NumberConversions.square(entityLocation.getX() - x)
+                + NumberConversions.square(entityLocation.getY() - y)
+                + NumberConversions.square(entityLocation.getZ() - z));
 
             // Gets the "rate" or percentage of how far the entity
             // is from the explosion. For example, it the distance
             // is 8 and explosion radius is 10, the rate will be 1/5
-            double impactRate = (damageRadius - entityLocation.distance(vector)) / damageRadius;
+            double impactRate = (damageRadius - distance) / damageRadius;
 
             if (impactRate > 1.0D) {
                 debug.log(LogLevel.DEBUG, "Entity " + entity + " was just outside the blast radius");
                 continue;
             }
 
-            Vector betweenEntityAndExplosion = entityLocation.subtract(vector);
-            double distance = betweenEntityAndExplosion.length();
-
-            // If there is distance between the entity and the explosion
-            if (distance != 0.0) {
-
-                // Normalize
-                betweenEntityAndExplosion.multiply(1 / distance);
-
-                double exposure = getExposure(vector, entity);
-                double impact = impactRate * exposure;
+            // If there is no distance between the entity and the explosion
+            if (distance == 0.0)
+                continue;
 
-                temp.put(entity, impact);
+            HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
+            int index = size * 6;
+            if (box == null) {
+                boxes[index] = Double.NaN;
+            } else {
+                boxes[index] = box.getMinX();
+                boxes[index + 1] = box.getMinY();
+                boxes[index + 2] = box.getMinZ();
+                boxes[index + 3] = box.getMaxX();
+                boxes[index + 4] = box.getMaxY();
+                boxes[index + 5] = box.getMaxZ();
             }
+
+            candidates[size] = entity;
+            impactRates[size++] = impactRate;
         }
 
+        double[] exposures = ExposureEngine.getExposures(world, x, y, z, boxes, size, DefaultExposure::getExposure);
+        for (int i = 0; i < size; i++)
+            temp.put(candidates[i], impactRates[i] * exposures[i]);
+
         return temp;
     }
 
     /**
      * Gets a double [0, 1] representing how exposed the entity is to the explosion
      *
-     * @param vec3d The origin of the explosion
-     * @param entity The entity exposed to the explosion
-     * @return The level of exposure of the entity to the epxlosion
+     * @param tracer Checks if each ray is blocked
+     * @param originX The x coordinate of the explosion
+     * @param originY The y coordinate of the explosion
+     * @param originZ The z coordinate of the explosion
+     * @param boxes The hit-boxes of the entities exposed to the explosion
+     * @param index The index of the entity's hit-box
+     * @return The level of exposure of the entity to the explosion, or NaN if unknown
      */
-    private static double getExposure(Vector vec3d, Entity entity) {
-        HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
-
-        if (box == null) {
+    private static double getExposure(ExposureEngine.Tracer tracer, double originX, double originY, double originZ, double[] boxes, int index) {
+        int i = index * 6;
+        if (Double.isNaN(boxes[i])) {
             return 0.0;
         }
 
+        double minX = boxes[i], minY = boxes[i + 1], minZ = boxes[i + 2];
+        double maxX = boxes[i + 3], maxY = boxes[i + 4], maxZ = boxes[i + 5];
+
         // Get the dimensions of the bounding box
-        double width = box.getWidth();
-        double height = box.getHeight();
-        double depth = box.getDepth();
+        double width = maxX - minX;
+        double height = maxY - minY;
+        double depth = maxZ - minZ;
 
         // Gets the size of the grid in each axis
         double stepX = width * 2.0 + 1.0;
@@ -112,9 +131,6 @@ public class DefaultExposure implements ExplosionExposure {
         double d3 = (1.0 - Math.floor(stepX) * gridX) / 2.0;
         double d4 = (1.0 - Math.floor(stepZ) * gridZ) / 2.0;
 
-        // Setup variables for the loop
-        World world = entity.getWorld();
-
         int successfulTraces = 0;
         int totalTraces = 0;
 
@@ -123,18 +139,17 @@ public class DefaultExposure implements ExplosionExposure {
             for (double y = 0; y <= 1; y += gridY) {
                 for (double z = 0; z <= 1; z += gridZ) {
 
-                    double a = NumberUtil.lerp(box.getMinX(), box.getMaxX(), x);
-                    double b = NumberUtil.lerp(box.getMinY(), box.getMaxY(), y);
-                    double c = NumberUtil.lerp(box.getMinZ(), box.getMaxZ(), z);
+                    double a = NumberUtil.lerp(minX, maxX, x);
+                    double b = NumberUtil.lerp(minY, maxY, y);
+                    double c = NumberUtil.lerp(minZ, maxZ, z);
 
                     // Calculates a path from the origin of the explosion
-                    // (0, 0, 0) to the current grid on the entity's bounding
-                    // box. The Vector is then ray traced to check for obstructions
-                    Vector vector = new Vector(a + d3, b, c + d4).subtract(vec3d);
-
-                    Ray ray = new Ray(vec3d.toLocation(world), vector);
-                    TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-                    if (trace.getBlocks().isEmpty()) {
+                    // to the current grid on the entity's bounding box.
+                    // The path is then ray traced to check for obstructions
+                    int trace = tracer.trace(originX, originY, originZ, a + d3, b, c + d4);
+                    if (trace == ExposureEngine.UNKNOWN) {
+                        return Double.NaN;
+                    } else if (trace == ExposureEngine.CLEAR) {
                         successfulTraces++;
                     }
 
@@ -4,7 +4,7 @@ import me.deecaad.core.utils.primitive.DoubleMap;
 import me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.util.Vector;
+import org.bukkit.util.NumberConversions;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -20,11 +20,16 @@ public class DistanceExposure implements ExplosionExposure {
         // The outer "shell" of the explosion
         double maxDistance = shape.getMaxDistance();
 
+        // No rays are used, so there is nothing to trace in parallel. Only
+        // reuse 1 location instead of creating vectors for every entity.
+        Location reuse = new Location(null, 0, 0, 0);
         for (LivingEntity entity : entities) {
 
             // Determine how far away the entity is from the explosion
-            Vector vector = origin.toVector().subtract(entity.getLocation().toVector());
-            double length = vector.length();
+            Location location = entity.getLocation(reuse);
+            double length = Math.sqrt(NumberConversions.square(origin.getX() - location.getX())
+                + NumberConversions.square(origin.getY() - location.getY())
+                + NumberConversions.square(origin.getZ() - location.getZ()));
 
             double distanceRate = (maxDistance - length) / maxDistance;
             temp.put(entity, distanceRate);
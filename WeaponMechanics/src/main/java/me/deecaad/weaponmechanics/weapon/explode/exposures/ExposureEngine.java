@@ -0,0 +1,263 @@
+package me.deecaad.weaponmechanics.weapon.explode.exposures;
+
+import me.deecaad.core.compatibility.block.BlockShape;
+import me.deecaad.core.utils.MinecraftVersions;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray;
+import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceCollision;
+import me.deecaad.weaponmechanics.weapon.explode.shapes.BlockSnapshot;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.stream.IntStream;
+
+/**
+ * Checks if exposure rays between an explosion and the entities around it are blocked. The
+ * {@link ChunkSnapshot} of every loaded chunk the rays can cross is captured once on the main
+ * thread, so the rays of every entity can be checked on multiple threads.
+ *
+ * <p>
+ * Rays walk through every block they cross (a DDA traversal, like
+ * {@link me.deecaad.core.utils.ray.RayTrace}), and are blocked by any block whose cached
+ * {@link BlockShape} is hit. This matches
+ * <code>new Ray(...).trace(TraceCollision.BLOCK, 0.3)</code>, except that thin corners can no
+ * longer be skipped between 2 samples.
+ *
+ * <p>
+ * Shapes can only be computed on the main thread. When a ray crosses a block whose shape was never
+ * computed, {@link #UNKNOWN} is returned, and the exposure of that entity should be calculated
+ * with {@link #live(World)} on the main thread instead.
+ */
+final class ExposureEngine implements ExposureEngine.Tracer {
+
+    static final int CLEAR = 0;
+    static final int BLOCKED = 1;
+    static final int UNKNOWN = 2;
+
+    // Ray#trace skips the first 0.3 blocks of each ray. See issue #26.
+    private static final double ACCURACY = 0.3;
+
+    private final LongMap<ChunkSnapshot> chunks;
+    private final int minY;
+    private final int maxY;
+
+    /**
+     * Captures every loaded chunk between the given coordinates. Must be called on the main
+     * thread. Unloaded chunks are considered empty, like
+     * {@link me.deecaad.core.compatibility.block.BlockCompatibility#getShape} does.
+     */
+    ExposureEngine(@NotNull World world, double minX, double minZ, double maxX, double maxZ) {
+        this.chunks = new LongMap<>();
+        this.minY = MinecraftVersions.CAVES_AND_CLIFFS_1.isAtLeast() ? world.getMinHeight() : 0;
+        this.maxY = world.getMaxHeight();
+
+        int minChunkX = NumberUtil.floorToInt(minX) >> 4;
+        int minChunkZ = NumberUtil.floorToInt(minZ) >> 4;
+        int maxChunkX = NumberUtil.floorToInt(maxX) >> 4;
+        int maxChunkZ = NumberUtil.floorToInt(maxZ) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (world.isChunkLoaded(chunkX, chunkZ))
+                    chunks.put(EntityIndex.chunkKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the exposure of the given number of entities should be
+     * calculated on multiple threads. See <code>Explosions.Parallel_Minimum_Entities</code> in
+     * config.yml.
+     *
+     * @param entities The number of entities in the explosion.
+     * @return true if exposures should be calculated in parallel.
+     */
+    static boolean isParallel(int entities) {
+        int minimum = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Parallel_Minimum_Entities", 16);
+        return minimum >= 0 && entities >= minimum && BlockSnapshot.isSupported();
+    }
+
+    /**
+     * Returns a tracer that uses {@link Ray} in the live world. Must be used on the main thread.
+     * Never returns {@link #UNKNOWN}.
+     *
+     * @param world The non-null world of the explosion.
+     * @return The non-null tracer.
+     */
+    static Tracer live(@NotNull World world) {
+        return (startX, startY, startZ, endX, endY, endZ) -> {
+            Ray ray = new Ray(world, new Vector(startX, startY, startZ), new Vector(endX, endY, endZ));
+            return ray.trace(TraceCollision.BLOCK, ACCURACY).getBlocks().isEmpty() ? CLEAR : BLOCKED;
+        };
+    }
+
+    /**
+     * Calculates the exposure of every hit-box. Hit-boxes are stored as 6 doubles
+     * <code>minX, minY, minZ, maxX, maxY, maxZ</code>, and an entity without a hit-box is stored as
+     * {@link Double#NaN}. When {@link #isParallel(int)}, the exposures are calculated on multiple
+     * threads, and exposures the engine could not determine are calculated again on the main
+     * thread. Must be called on the main thread.
+     *
+     * @param world The non-null world of the explosion.
+     * @param x The x coordinate of the explosion.
+     * @param y The y coordinate of the explosion.
+     * @param z The z coordinate of the explosion.
+     * @param boxes The non-null hit-boxes.
+     * @param size The number of hit-boxes.
+     * @param function The exposure function, which returns NaN if a trace was {@link #UNKNOWN}.
+     * @return The non-null exposure of every hit-box.
+     */
+    static double[] getExposures(@NotNull World world, double x, double y, double z, double[] boxes, int size, @NotNull ExposureFunction function) {
+        double[] exposures = new double[size];
+        Tracer live = live(world);
+        if (!isParallel(size)) {
+            for (int i = 0; i < size; i++)
+                exposures[i] = function.getExposure(live, x, y, z, boxes, i);
+            return exposures;
+        }
+
+        double minX = x, minZ = z, maxX = x, maxZ = z;
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(boxes[i * 6]))
+                continue;
+            minX = Math.min(minX, boxes[i * 6]);
+            minZ = Math.min(minZ, boxes[i * 6 + 2]);
+            maxX = Math.max(maxX, boxes[i * 6 + 3]);
+            maxZ = Math.max(maxZ, boxes[i * 6 + 5]);
+        }
+
+        ExposureEngine engine = new ExposureEngine(world, minX, minZ, maxX, maxZ);
+        IntStream.range(0, size).parallel().forEach(i -> exposures[i] = function.getExposure(engine, x, y, z, boxes, i));
+
+        // Computing these on the main thread also caches the shapes that
+        // were missing, so the next explosion can use the engine.
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(exposures[i]))
+                exposures[i] = function.getExposure(live, x, y, z, boxes, i);
+        }
+        return exposures;
+    }
+
+    @Override
+    public int trace(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        double directionX = endX - startX;
+        double directionY = endY - startY;
+        double directionZ = endZ - startZ;
+        double length = Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+
+        // Rays shorter than the accuracy are never blocked
+        double skip = ACCURACY / length;
+        if (skip > 1.0)
+            return CLEAR;
+
+        startX += directionX * skip;
+        startY += directionY * skip;
+        startZ += directionZ * skip;
+        directionX = endX - startX;
+        directionY = endY - startY;
+        directionZ = endZ - startZ;
+
+        int currentX = NumberUtil.floorToInt(startX);
+        int currentY = NumberUtil.floorToInt(startY);
+        int currentZ = NumberUtil.floorToInt(startZ);
+        int result = test(currentX, currentY, currentZ, startX, startY, startZ, endX, endY, endZ);
+        if (result != CLEAR)
+            return result;
+
+        int blockX = NumberUtil.signum(directionX);
+        int blockY = NumberUtil.signum(directionY);
+        int blockZ = NumberUtil.signum(directionZ);
+        double addX = blockX == 0 ? Double.MAX_VALUE : (double) blockX / directionX;
+        double addY = blockY == 0 ? Double.MAX_VALUE : (double) blockY / directionY;
+        double addZ = blockZ == 0 ? Double.MAX_VALUE : (double) blockZ / directionZ;
+        double maxX = addX * (blockX > 0 ? 1.0 - NumberUtil.fraction(startX) : NumberUtil.fraction(startX));
+        double maxY = addY * (blockY > 0 ? 1.0 - NumberUtil.fraction(startY) : NumberUtil.fraction(startY));
+        double maxZ = addZ * (blockZ > 0 ? 1.0 - NumberUtil.fraction(startZ) : NumberUtil.fraction(startZ));
+
+        while (maxX <= 1.0 || maxY <= 1.0 || maxZ <= 1.0) {
+            if (maxX < maxY) {
+                if (maxX < maxZ) {
+                    currentX += blockX;
+                    maxX += addX;
+                } else {
+                    currentZ += blockZ;
+                    maxZ += addZ;
+                }
+            } else if (maxY < maxZ) {
+                currentY += blockY;
+                maxY += addY;
+            } else {
+                currentZ += blockZ;
+                maxZ += addZ;
+            }
+
+            result = test(currentX, currentY, currentZ, startX, startY, startZ, endX, endY, endZ);
+            if (result != CLEAR)
+                return result;
+        }
+        return CLEAR;
+    }
+
+    /**
+     * Checks if the segment is blocked by the block at the given coordinates. Only reads the
+     * snapshots and the shape cache, so this may run on any thread.
+     */
+    private int test(int x, int y, int z, double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        if (y < minY || y >= maxY)
+            return CLEAR;
+
+        ChunkSnapshot chunk = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+        if (chunk == null)
+            return CLEAR;
+
+        BlockData data = chunk.getBlockData(x & 15, y, z & 15);
+        Material type = data.getMaterial();
+        if (type.isAir())
+            return CLEAR;
+        if (BlockShape.isDynamic(type))
+            return UNKNOWN;
+
+        BlockShape shape = BlockShape.getCached(data);
+        if (shape == null)
+            return UNKNOWN;
+
+        // Same rules as TraceCollision.BLOCK, liquids and passable blocks never block rays
+        shape = shape.filter(false);
+        if (shape == null)
+            return CLEAR;
+
+        return shape.intersects(startX - x, startY - y, startZ - z, endX - x, endY - y, endZ - z) ? BLOCKED : CLEAR;
+    }
+
+    /**
+     * Calculates the exposure [0, 1] of 1 hit-box using the given tracer.
+     */
+    @FunctionalInterface
+    interface ExposureFunction {
+
+        /**
+         * Returns the exposure of the hit-box at <code>index</code>, or NaN if any trace returned
+         * {@link #UNKNOWN}.
+         */
+        double getExposure(Tracer tracer, double x, double y, double z, double[] boxes, int index);
+    }
+
+    /**
+     * Checks if the segment between 2 points is blocked by blocks.
+     */
+    @FunctionalInterface
+    interface Tracer {
+
+        /**
+         * Returns {@link #CLEAR}, {@link #BLOCKED}, or {@link #UNKNOWN} when the result cannot be
+         * determined on this thread.
+         */
+        int trace(double startX, double startY, double startZ, double endX, double endY, double endZ);
+    }
+}
@@ -5,14 +5,11 @@ import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.primitive.DoubleMap;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.Ray;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceCollision;
-import me.deecaad.weaponmechanics.weapon.explode.raytrace.TraceResult;
 import me.deecaad.weaponmechanics.weapon.explode.shapes.ExplosionShape;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
@@ -42,36 +39,53 @@ public class OptimizedExposure implements ExplosionExposure {
             return temp;
         }
 
-        Vector vector = new Vector(x, y, z);
+        // Hit-boxes are read on the main thread, so the rays can be traced on
+        // multiple threads. See ExposureEngine.
+        int size = 0;
+        LivingEntity[] candidates = new LivingEntity[entities.size()];
+        double[] impactRates = new double[entities.size()];
+        double[] boxes = new double[entities.size() * 6];
+
         for (LivingEntity entity : entities) {
-            Vector entityLocation = entity.getLocation().toVector();
+            Location entityLocation = entity.getLocation();
 
             // Gets the "rate" or percentage of how far the entity
             // is from the explosion. For example, if the distance
             // is 8 and explosion radius is 10, the rate will be 1/5
-            Vector between = entityLocation.subtract(vector);
-            double distance = between.length();
+            double distance = Math.sqrt(NumberConversions.square(entityLocation.getX() - x)
+                + NumberConversions.square(entityLocation.getY() - y)
+                + NumberConversions.square(entityLocation.getZ() - z));
             double impactRate = (damageRadius - distance) / damageRadius;
             if (impactRate > 1.0D) {
                 debug.log(LogLevel.DEBUG, "Entity " + entity + " was just outside the blast radius");
                 continue;
             }
 
-            Vector betweenEntityAndExplosion = entityLocation.subtract(vector);
-
-            // If there is distance between the entity and the explosion
-            if (distance != 0.0) {
-
-                // Normalize
-                betweenEntityAndExplosion.multiply(1.0 / distance);
-
-                double exposure = getExposure(vector, entity);
-                double impact = impactRate * exposure;
+            // If there is no distance between the entity and the explosion
+            if (distance == 0.0)
+                continue;
 
-                temp.put(entity, impact);
+            HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
+            int index = size * 6;
+            if (box == null) {
+                boxes[index] = Double.NaN;
+            } else {
+                boxes[index] = box.getMinX();
+                boxes[index + 1] = box.getMinY();
+                boxes[index + 2] = box.getMinZ();
+                boxes[index + 3] = box.getMaxX();
+                boxes[index + 4] = box.getMaxY();
+                boxes[index + 5] = box.getMaxZ();
             }
+
+            candidates[size] = entity;
+            impactRates[size++] = impactRate;
         }
 
+        double[] exposures = ExposureEngine.getExposures(world, x, y, z, boxes, size, OptimizedExposure::getExposure);
+        for (int i = 0; i < size; i++)
+            temp.put(candidates[i], impactRates[i] * exposures[i]);
+
         return temp;
     }
 
@@ -83,36 +97,37 @@ public class OptimizedExposure implements ExplosionExposure {
      * <p>
      * There is also one ray going to the center of the entity hit-box that has the power of 4 rays.
      *
-     * @param vec3d The origin point
-     * @param entity The entity exposed to the explosion
-     * @return The level of exposure of the entity to the explosion
+     * @param tracer Checks if each ray is blocked
+     * @param originX The x coordinate of the origin point
+     * @param originY The y coordinate of the origin point
+     * @param originZ The z coordinate of the origin point
+     * @param boxes The hit-boxes of the entities exposed to the explosion
+     * @param index The index of the entity's hit-box
+     * @return The level of exposure of the entity to the explosion, or NaN if unknown
      */
-    private static double getExposure(Vector vec3d, Entity entity) {
-        HitBox box = CompatibilityAPI.getEntityCompatibility().getHitBox(entity);
-
-        if (box == null) {
+    private static double getExposure(ExposureEngine.Tracer tracer, double originX, double originY, double originZ, double[] boxes, int index) {
+        int i = index * 6;
+        if (Double.isNaN(boxes[i])) {
             return 0.0;
         }
 
-        // Setup variables for the loop
-        World world = entity.getWorld();
-        Vector min = box.getMin();
-        Vector max = box.getMax();
+        double minX = boxes[i], minY = boxes[i + 1], minZ = boxes[i + 2];
+        double maxX = boxes[i + 3], maxY = boxes[i + 4], maxZ = boxes[i + 5];
 
         int successfulTraces = 0;
         int totalTraces = 0;
 
         // For each corner of the bounding box
-        Vector reuse = new Vector();
         for (int x = 0; x <= 1; x++) {
             for (int y = 0; y <= 1; y++) {
                 for (int z = 0; z <= 1; z++) {
-                    lerp(reuse, min, max, x, y, z);
 
                     // Determine if the ray can hit the entity without hitting a block
-                    Ray ray = new Ray(world, vec3d, reuse);
-                    TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-                    if (trace.getBlocks().isEmpty()) {
+                    int trace = tracer.trace(originX, originY, originZ,
+                        NumberUtil.lerp(minX, maxX, x), NumberUtil.lerp(minY, maxY, y), NumberUtil.lerp(minZ, maxZ, z));
+                    if (trace == ExposureEngine.UNKNOWN) {
+                        return Double.NaN;
+                    } else if (trace == ExposureEngine.CLEAR) {
                         successfulTraces++;
                     }
 
@@ -124,10 +139,11 @@ public class OptimizedExposure implements ExplosionExposure {
         // Add one more ray pointing to the center of the bound box. If this
         // ray hits the entity, it has the power of 4 rays. If this ray does
         // not hit the entity, it has the power of 0 rays
-        lerp(reuse, min, max, 0.5, 0.5, 0.5);
-        Ray ray = new Ray(world, vec3d, reuse);
-        TraceResult trace = ray.trace(TraceCollision.BLOCK, 0.3);
-        if (trace.getBlocks().isEmpty()) {
+        int trace = tracer.trace(originX, originY, originZ,
+            NumberUtil.lerp(minX, maxX, 0.5), NumberUtil.lerp(minY, maxY, 0.5), NumberUtil.lerp(minZ, maxZ, 0.5));
+        if (trace == ExposureEngine.UNKNOWN) {
+            return Double.NaN;
+        } else if (trace == ExposureEngine.CLEAR) {
             successfulTraces += 4;
             totalTraces += 4;
         }
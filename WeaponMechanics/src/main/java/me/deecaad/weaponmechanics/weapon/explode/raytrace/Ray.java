@@ -5,6 +5,7 @@ import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.compatibility.block.BlockCompatibility;
 import me.deecaad.core.utils.MinecraftVersions;
 import me.deecaad.core.utils.VectorUtil;
+import me.deecaad.core.utils.spatial.EntityIndex;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.*;
 import org.bukkit.block.Block;
@@ -191,30 +192,14 @@ public class Ray {
         Vector min = VectorUtil.min(origin, end).subtract(BUFFER);
         Vector max = VectorUtil.max(origin, end).add(BUFFER);
 
-        int minChunkX = (int) Math.floor(min.getX() / 16.0);
-        int minChunkZ = (int) Math.floor(min.getZ() / 16.0);
-        int maxChunkX = (int) Math.ceil(max.getX() / 16.0);
-        int maxChunkZ = (int) Math.ceil(max.getZ() / 16.0);
-
         // Using Map for O(1) lookup
         Map<Entity, HitBox> temp = new HashMap<>();
 
-        // By reusing the same location, we stop spigot from instantiating a
-        // new location every time we grab an entity's location. This probably
-        // saves computing power.
-        Location reuse = new Location(null, 0, 0, 0);
-
-        for (int x = minChunkX; x <= maxChunkX; x++) {
-            for (int z = minChunkZ; z <= maxChunkZ; z++) {
-                Chunk chunk = world.getChunkAt(x, z);
-
-                for (Entity entity : chunk.getEntities()) {
-                    if (contains(min, max, entity.getLocation(reuse)) && collision.canHit(entity)) {
-                        temp.put(entity, CompatibilityAPI.getEntityCompatibility().getHitBox(entity));
-                    }
-                }
+        EntityIndex.SINGLETON.forEachLivingEntity(world, min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ(), entity -> {
+            if (collision.canHit(entity)) {
+                temp.put(entity, CompatibilityAPI.getEntityCompatibility().getHitBox(entity));
             }
-        }
+        });
 
         return temp;
     }
@@ -237,12 +222,6 @@ public class Ray {
         }.runTaskTimer(WeaponMechanics.getPlugin(), 0, 2);
     }
 
-    private static boolean contains(Vector min, Vector max, Location loc) {
-        return loc.getX() > min.getX() && loc.getX() < max.getX() &&
-            loc.getY() > min.getY() && loc.getY() < max.getY() &&
-            loc.getZ() > min.getZ() && loc.getZ() < max.getZ();
-    }
-
     private static boolean contains(HitBox hitbox, Vector point) {
         if (hitbox == null)
             return false;
@@ -0,0 +1,408 @@
+package me.deecaad.weaponmechanics.weapon.explode.regeneration;
+
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.weaponmechanics.weapon.explode.shapes.BlockSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * An append-only journal of the blocks waiting in the {@link RegenerationScheduler}, so craters
+ * are restored even if the server crashes before they regenerate. Each broken block is stored as
+ * its position and its {@link BlockData} (as a string) from before it was broken.
+ *
+ * <p>
+ * Records are buffered in memory on the main thread, and every <code>flushInterval</code> ticks
+ * the buffer is appended to the file as 1 entry <code>[length][records][crc32]</code> and synced
+ * to the disk on the journal's own thread. An explosion only pays for encoding its records.
+ *
+ * <p>
+ * When most records in the file belong to blocks that already regenerated, the file is compacted:
+ * the blocks that are still broken are written to a new file, which replaces the old one.
+ *
+ * <p>
+ * {@link #replay()} restores every block left in the journal on startup. Blocks in worlds that are
+ * not loaded are kept in the journal until they can be restored. Tile entity contents (chest
+ * items, sign text) are not stored.
+ */
+public class RegenerationJournal {
+
+    private static final byte BROKEN = 0;
+    private static final byte RESTORED = 1;
+
+    // Compact when the file has this many times more records than broken blocks
+    private static final int COMPACT_RATIO = 4;
+    private static final int COMPACT_MINIMUM = 4096;
+
+    private final File file;
+    private final int flushInterval;
+
+    // Only used on the main thread. Stores the data of every broken block
+    private final Map<UUID, LongMap<String>> broken;
+    private int brokenCount;
+    private ByteArrayOutputStream buffer;
+    private DataOutputStream out;
+    private int bufferedRecords;
+    private long fileRecords;
+    private int ticks;
+
+    private final LinkedBlockingQueue<Write> queue;
+    private final Thread thread;
+    private volatile boolean running;
+    private FileChannel channel;
+
+    /**
+     * Creates the journal. Call {@link #replay()} before anything else.
+     *
+     * @param file The non-null journal file. Does not need to exist.
+     * @param flushInterval The number of ticks between writes to the file.
+     */
+    public RegenerationJournal(@NotNull File file, int flushInterval) {
+        this.file = file;
+        this.flushInterval = Math.max(1, flushInterval);
+        this.broken = new HashMap<>();
+        this.buffer = new ByteArrayOutputStream(1024);
+        this.out = new DataOutputStream(buffer);
+        this.queue = new LinkedBlockingQueue<>();
+        this.thread = new Thread(this::runThread, "WeaponMechanics Regeneration Journal");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Returns the number of broken blocks in this journal.
+     *
+     * @return The number of blocks that have not regenerated.
+     */
+    public int getBrokenCount() {
+        return brokenCount;
+    }
+
+    /**
+     * Records that the given block was broken, and should be set back to <code>data</code>.
+     *
+     * @param block The non-null broken block.
+     * @param data The non-null data of the block before it broke.
+     */
+    public void broken(@NotNull Block block, @NotNull BlockData data) {
+        UUID world = block.getWorld().getUID();
+        long position = BlockSnapshot.pack(block.getX(), block.getY(), block.getZ());
+        String string = data.getAsString();
+
+        // A block broken twice keeps the data from the first time it broke
+        LongMap<String> positions = broken.computeIfAbsent(world, k -> new LongMap<>());
+        if (positions.containsKey(position))
+            return;
+
+        positions.put(position, string);
+        brokenCount++;
+        try {
+            out.writeByte(BROKEN);
+            out.writeLong(world.getMostSignificantBits());
+            out.writeLong(world.getLeastSignificantBits());
+            out.writeLong(position);
+            out.writeUTF(string);
+            bufferedRecords++;
+        } catch (IOException e) {
+            throw new InternalError(e); // ByteArrayOutputStream never throws
+        }
+    }
+
+    /**
+     * Records that the given block regenerated (or was cancelled).
+     *
+     * @param block The non-null block.
+     */
+    public void restored(@NotNull Block block) {
+        UUID world = block.getWorld().getUID();
+        long position = BlockSnapshot.pack(block.getX(), block.getY(), block.getZ());
+
+        LongMap<String> positions = broken.get(world);
+        if (positions == null || positions.remove(position) == null)
+            return;
+
+        brokenCount--;
+        if (positions.isEmpty())
+            broken.remove(world);
+
+        try {
+            out.writeByte(RESTORED);
+            out.writeLong(world.getMostSignificantBits());
+            out.writeLong(world.getLeastSignificantBits());
+            out.writeLong(position);
+            bufferedRecords++;
+        } catch (IOException e) {
+            throw new InternalError(e); // ByteArrayOutputStream never throws
+        }
+    }
+
+    /**
+     * Called every tick by the {@link RegenerationScheduler}. Flushes the buffered records every
+     * <code>flushInterval</code> ticks.
+     */
+    public void tick() {
+        if (++ticks >= flushInterval) {
+            ticks = 0;
+            flush();
+        }
+    }
+
+    /**
+     * Sends the buffered records to the journal's thread, or compacts the journal when most of its
+     * records are outdated.
+     */
+    public void flush() {
+        if (bufferedRecords == 0)
+            return;
+
+        fileRecords += bufferedRecords;
+        if (fileRecords >= COMPACT_MINIMUM && fileRecords > (long) brokenCount * COMPACT_RATIO) {
+            resetBuffer();
+            fileRecords = brokenCount;
+            queue.add(new Write(encodeBroken(), true));
+            return;
+        }
+
+        queue.add(new Write(buffer.toByteArray(), false));
+        resetBuffer();
+    }
+
+    private void resetBuffer() {
+        buffer = new ByteArrayOutputStream(1024);
+        out = new DataOutputStream(buffer);
+        bufferedRecords = 0;
+    }
+
+    /**
+     * Encodes every broken block as a {@link #BROKEN} record.
+     */
+    private byte[] encodeBroken() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(brokenCount * 48 + 16);
+        DataOutputStream data = new DataOutputStream(bytes);
+        try {
+            for (Map.Entry<UUID, LongMap<String>> entry : broken.entrySet()) {
+                UUID world = entry.getKey();
+                IOException[] exception = new IOException[1];
+                entry.getValue().forEach((position, string) -> {
+                    try {
+                        data.writeByte(BROKEN);
+                        data.writeLong(world.getMostSignificantBits());
+                        data.writeLong(world.getLeastSignificantBits());
+                        data.writeLong(position);
+                        data.writeUTF(string);
+                    } catch (IOException e) {
+                        exception[0] = e;
+                    }
+                });
+                if (exception[0] != null)
+                    throw exception[0];
+            }
+        } catch (IOException e) {
+            throw new InternalError(e); // ByteArrayOutputStream never throws
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the journal, restores every block in a loaded world, then compacts the journal and
+     * starts the journal's thread. Must be called on the main thread, after worlds are loaded.
+     *
+     * @return The number of blocks restored.
+     */
+    public int replay() {
+        if (file.exists() && file.length() != 0)
+            read();
+
+        int restored = 0;
+        Iterator<Map.Entry<UUID, LongMap<String>>> iterator = broken.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, LongMap<String>> entry = iterator.next();
+            World world = Bukkit.getWorld(entry.getKey());
+            if (world == null)
+                continue;
+
+            int[] count = new int[1];
+            entry.getValue().forEach((position, string) -> {
+                Block block = world.getBlockAt(BlockSnapshot.unpackX(position), BlockSnapshot.unpackY(position), BlockSnapshot.unpackZ(position));
+                try {
+                    block.setBlockData(Bukkit.createBlockData(string), false);
+                    count[0]++;
+                } catch (IllegalArgumentException e) {
+                    debug.log(LogLevel.WARN, "Could not restore " + block + " to '" + string + "' from the regeneration journal", e);
+                }
+            });
+
+            restored += count[0];
+            brokenCount -= entry.getValue().size();
+            iterator.remove();
+        }
+
+        // Start a fresh file with only the blocks we could not restore
+        write(new Write(encodeBroken(), true));
+        fileRecords = brokenCount;
+
+        running = true;
+        thread.start();
+        return restored;
+    }
+
+    private void read() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] data = new byte[length];
+                in.readFully(data);
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                if (crc.getValue() != in.readLong()) {
+                    debug.log(LogLevel.WARN, "Regeneration journal " + file + " has a corrupted entry, skipping the rest of the journal");
+                    break;
+                }
+
+                DataInputStream entry = new DataInputStream(new ByteArrayInputStream(data));
+                while (entry.available() > 0) {
+                    byte type = entry.readByte();
+                    UUID world = new UUID(entry.readLong(), entry.readLong());
+                    long position = entry.readLong();
+                    if (type == BROKEN) {
+                        String string = entry.readUTF();
+                        if (broken.computeIfAbsent(world, k -> new LongMap<>()).put(position, string) == null)
+                            brokenCount++;
+                    } else {
+                        LongMap<String> positions = broken.get(world);
+                        if (positions != null && positions.remove(position) != null)
+                            brokenCount--;
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            debug.log(LogLevel.WARN, "Regeneration journal " + file + " ends with a partial entry (the server probably crashed), skipping it");
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to read regeneration journal " + file, e);
+        }
+    }
+
+    /**
+     * Writes the buffered records, compacts the journal, and stops the journal's thread. Call this
+     * after every pending block was regenerated, so only blocks in unloaded worlds are kept.
+     */
+    public void close() {
+        resetBuffer();
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Everything that was queued is replaced by the compacted journal
+        queue.clear();
+        write(new Write(encodeBroken(), true));
+        closeChannel();
+    }
+
+    private void runThread() {
+        while (running) {
+            try {
+                write(queue.take());
+            } catch (InterruptedException e) {
+                // close() was called, it compacts the journal
+                break;
+            } catch (Throwable ex) {
+                debug.log(LogLevel.ERROR, "Unhandled exception while writing regeneration journal", ex);
+            }
+        }
+    }
+
+    /**
+     * Appends the records as 1 entry, or replaces the file when compacting. Synchronized since
+     * {@link #close()} may write while the thread is still writing.
+     */
+    private synchronized void write(Write write) {
+        CRC32 crc = new CRC32();
+        crc.update(write.records);
+        ByteBuffer entry = ByteBuffer.allocate(write.records.length + 12);
+        entry.putInt(write.records.length).put(write.records).putLong(crc.getValue()).flip();
+
+        try {
+            if (write.replace) {
+                closeChannel();
+                Path temp = new File(file.getPath() + ".tmp").toPath();
+                try (FileChannel compacted = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    if (write.records.length != 0) {
+                        while (entry.hasRemaining())
+                            compacted.write(entry);
+                    }
+                    compacted.force(false);
+                }
+                try {
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return;
+            }
+
+            if (channel == null)
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            while (entry.hasRemaining())
+                channel.write(entry);
+            channel.force(false);
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to write regeneration journal " + file, e);
+        }
+    }
+
+    private synchronized void closeChannel() {
+        if (channel == null)
+            return;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to close regeneration journal " + file, e);
+        }
+        channel = null;
+    }
+
+    /**
+     * Records to append to the journal, or to replace the journal with when <code>replace</code>.
+     */
+    private record Write(byte[] records, boolean replace) {
+    }
+}
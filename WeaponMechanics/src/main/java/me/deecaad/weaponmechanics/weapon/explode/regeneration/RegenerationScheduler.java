@@ -0,0 +1,348 @@
+package me.deecaad.weaponmechanics.weapon.explode.regeneration;
+
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import me.deecaad.weaponmechanics.weapon.damage.BlockDamageData;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * Regenerates the blocks broken by explosions. Every pending block is stored in 1 hashed timing
+ * wheel, keyed by the tick it should regenerate on, instead of scheduling a task for every
+ * <code>Max_Blocks_Per_Update</code> blocks of every explosion.
+ *
+ * <p>
+ * The wheel has 1 slot per tick, and wraps around every {@link #SLOTS} ticks. Blocks due further
+ * in the future share a slot with closer blocks, and are skipped until the wheel reaches their
+ * tick. Each tick, only the blocks in the current slot are checked.
+ *
+ * <p>
+ * At most <code>Explosions.Max_Regenerated_Blocks_Per_Tick</code> blocks are regenerated each tick,
+ * across every explosion. Blocks over this budget are regenerated on the next ticks, in the order
+ * they were due.
+ */
+public class RegenerationScheduler extends BukkitRunnable {
+
+    /**
+     * The number of slots in the wheel. Must be a power of 2.
+     */
+    public static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    private final Bucket[] wheel;
+    private final ArrayDeque<BlockDamageData.DamageData> due;
+
+    // The number of pending blocks in each chunk, so cancelling a chunk
+    // without pending blocks (most chunk unloads) doesn't scan the wheel.
+    private final Map<UUID, LongMap<int[]>> pending;
+    private long tick;
+    private int size;
+    private int budget;
+    private boolean isBudgetLoaded;
+    private RegenerationJournal journal;
+
+    /**
+     * Initializes and registers this runnable. WeaponMechanics initializes one of these by default,
+     * use {@link WeaponMechanics#getRegenerationScheduler()}.
+     *
+     * @param plugin The non-null plugin.
+     */
+    public RegenerationScheduler(Plugin plugin) {
+        wheel = new Bucket[SLOTS];
+        for (int i = 0; i < SLOTS; i++)
+            wheel[i] = new Bucket();
+
+        due = new ArrayDeque<>();
+        pending = new HashMap<>();
+
+        runTaskTimer(plugin, 0, 1);
+    }
+
+    /**
+     * Returns the maximum number of blocks to regenerate per tick, or a negative number for no limit.
+     * Config is read lazily since this runnable is created before config.yml is loaded during a
+     * reload.
+     */
+    private int getBudget() {
+        if (!isBudgetLoaded) {
+            budget = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Max_Regenerated_Blocks_Per_Tick", 1000);
+            isBudgetLoaded = true;
+        }
+        return budget;
+    }
+
+    /**
+     * Sets the journal that records every pending block, so they can be restored if the server
+     * crashes. Blocks that are already pending are not added to the journal.
+     *
+     * @param journal The nullable journal, after it was replayed.
+     */
+    public void setJournal(@Nullable RegenerationJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Returns the number of blocks waiting to be regenerated.
+     *
+     * @return The number of pending blocks.
+     */
+    public int getPendingCount() {
+        return size;
+    }
+
+    /**
+     * Schedules the given blocks to regenerate after <code>delay</code> ticks. The blocks are
+     * copied, so the given collection can be reused. Blocks due on the same tick are regenerated in
+     * the order they were scheduled.
+     *
+     * @param blocks The non-null blocks to regenerate.
+     * @param delay The delay, in ticks. Delays less than 1 are treated as 1.
+     */
+    public void schedule(@NotNull Collection<BlockDamageData.DamageData> blocks, int delay) {
+        long dueTick = tick + Math.max(1, delay);
+        Bucket bucket = wheel[(int) (dueTick & MASK)];
+        for (BlockDamageData.DamageData block : blocks) {
+            bucket.add(block, dueTick);
+            count(block.getBlock(), 1);
+
+            BlockState state = block.getState();
+            if (journal != null && state != null)
+                journal.broken(block.getBlock(), state.getBlockData());
+        }
+        size += blocks.size();
+    }
+
+    /**
+     * Removes every pending block in the given chunk, without regenerating them. Use
+     * {@link BlockDamageData#regenerate(Chunk)} to regenerate them right away.
+     *
+     * @param chunk The non-null chunk.
+     * @return The number of blocks that were removed.
+     */
+    public int cancel(@NotNull Chunk chunk) {
+        World world = chunk.getWorld();
+        LongMap<int[]> chunks = pending.get(world.getUID());
+        if (chunks == null)
+            return 0;
+
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        if (chunks.remove(EntityIndex.chunkKey(chunkX, chunkZ)) == null)
+            return 0;
+        if (chunks.isEmpty())
+            pending.remove(world.getUID());
+
+        return removeIf(block -> block.getX() >> 4 == chunkX && block.getZ() >> 4 == chunkZ && block.getWorld().equals(world));
+    }
+
+    /**
+     * Removes every pending block in the given world, without regenerating them. Use
+     * {@link BlockDamageData#regenerate(World)} to regenerate them right away.
+     *
+     * @param world The non-null world.
+     * @return The number of blocks that were removed.
+     */
+    public int cancel(@NotNull World world) {
+        if (pending.remove(world.getUID()) == null)
+            return 0;
+
+        return removeIf(block -> block.getWorld().equals(world));
+    }
+
+    /**
+     * Removes every pending block, without regenerating them. Use
+     * {@link BlockDamageData#regenerateAll()} to regenerate them right away.
+     */
+    public void cancelAll() {
+        if (journal != null)
+            removeIf(block -> true);
+
+        for (Bucket bucket : wheel)
+            bucket.clear();
+        due.clear();
+        pending.clear();
+        size = 0;
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        wheel[(int) (tick & MASK)].drain(tick, due);
+
+        int budget = getBudget();
+        int regenerated = 0;
+        while (!due.isEmpty() && (budget < 0 || regenerated < budget)) {
+            BlockDamageData.DamageData block = due.poll();
+            count(block.getBlock(), -1);
+            size--;
+            if (journal != null)
+                journal.restored(block.getBlock());
+
+            // The blocks may have been regenerated already
+            if (!block.isBroken())
+                continue;
+
+            try {
+                block.regenerate();
+                block.remove();
+            } catch (Throwable ex) {
+                debug.log(LogLevel.WARN, "Failed to regenerate " + block.getBlock(), ex);
+            }
+            regenerated++;
+        }
+
+        if (journal != null)
+            journal.tick();
+    }
+
+    /**
+     * Removes every pending block, and closes the journal. Should be called after every broken block
+     * was regenerated, when the plugin is disabled.
+     */
+    public void close() {
+        cancelAll();
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Removes every pending block that matches the filter. The per-chunk counts must already be
+     * removed by the caller.
+     */
+    private int removeIf(Predicate<Block> filter) {
+        int removed = 0;
+        Predicate<Block> journaled = journal == null ? filter : block -> {
+            if (!filter.test(block))
+                return false;
+            journal.restored(block);
+            return true;
+        };
+        for (Bucket bucket : wheel)
+            removed += bucket.removeIf(journaled);
+
+        Iterator<BlockDamageData.DamageData> iterator = due.iterator();
+        while (iterator.hasNext()) {
+            Block block = iterator.next().getBlock();
+            if (filter.test(block)) {
+                iterator.remove();
+                removed++;
+                if (journal != null)
+                    journal.restored(block);
+            }
+        }
+
+        size -= removed;
+        return removed;
+    }
+
+    private void count(Block block, int amount) {
+        UUID world = block.getWorld().getUID();
+        long key = EntityIndex.chunkKey(block.getX() >> 4, block.getZ() >> 4);
+
+        LongMap<int[]> chunks = pending.get(world);
+        if (chunks == null) {
+            if (amount < 0)
+                return;
+            chunks = new LongMap<>();
+            pending.put(world, chunks);
+        }
+
+        int[] count = chunks.get(key);
+        if (count == null) {
+            if (amount < 0)
+                return;
+            count = new int[1];
+            chunks.put(key, count);
+        }
+
+        count[0] += amount;
+        if (count[0] <= 0) {
+            chunks.remove(key);
+            if (chunks.isEmpty())
+                pending.remove(world);
+        }
+    }
+
+    /**
+     * The blocks in 1 slot of the wheel, and the tick each block is due.
+     */
+    private static class Bucket {
+
+        private BlockDamageData.DamageData[] blocks = new BlockDamageData.DamageData[16];
+        private long[] ticks = new long[16];
+        private int size;
+
+        private void add(BlockDamageData.DamageData block, long tick) {
+            if (size == blocks.length) {
+                blocks = Arrays.copyOf(blocks, size << 1);
+                ticks = Arrays.copyOf(ticks, size << 1);
+            }
+
+            blocks[size] = block;
+            ticks[size] = tick;
+            size++;
+        }
+
+        /**
+         * Moves the blocks due on or before the given tick to <code>output</code>, keeping the
+         * order they were added in.
+         */
+        private void drain(long tick, ArrayDeque<BlockDamageData.DamageData> output) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                if (ticks[read] <= tick) {
+                    output.add(blocks[read]);
+                } else {
+                    blocks[write] = blocks[read];
+                    ticks[write] = ticks[read];
+                    write++;
+                }
+            }
+
+            Arrays.fill(blocks, write, size, null);
+            size = write;
+        }
+
+        private int removeIf(Predicate<Block> filter) {
+            int write = 0;
+            for (int read = 0; read < size; read++) {
+                if (!filter.test(blocks[read].getBlock())) {
+                    blocks[write] = blocks[read];
+                    ticks[write] = ticks[read];
+                    write++;
+                }
+            }
+
+            int removed = size - write;
+            Arrays.fill(blocks, write, size, null);
+            size = write;
+            return removed;
+        }
+
+        private void clear() {
+            Arrays.fill(blocks, 0, size, null);
+            size = 0;
+        }
+    }
+}
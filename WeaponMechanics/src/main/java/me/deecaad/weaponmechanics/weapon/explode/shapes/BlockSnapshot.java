@@ -0,0 +1,252 @@
+package me.deecaad.weaponmechanics.weapon.explode.shapes;
+
+import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.utils.MinecraftVersions;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read-only copy of the blocks an explosion may affect, so {@link ExplosionShape}s can find
+ * their blocks on multiple threads. The {@link ChunkSnapshot} of every chunk in the explosion's
+ * bounding box is captured on the main thread when this snapshot is created.
+ *
+ * <p>
+ * Block positions are passed around as packed longs (see {@link #pack(int, int, int)}), and only
+ * turned into {@link Block}s on the main thread by {@link #toBlocks(World, long[])}.
+ *
+ * <p>
+ * Capturing chunks is only worth it when the blocks are found on multiple threads (see
+ * {@link #isParallel(long)}). Otherwise, use {@link #live(World)}, which reads blocks from the world
+ * directly. On versions where chunk snapshots don't support block types, nothing is captured
+ * either. In both cases, {@link #isThreadSafe()} returns <code>false</code>, and the snapshot may
+ * only be used on the main thread.
+ */
+public final class BlockSnapshot {
+
+    private static final int PACKED_X_BITS = 26;
+    private static final int PACKED_Z_BITS = 26;
+    private static final int PACKED_Y_BITS = 12;
+    private static final int PACKED_Z_SHIFT = PACKED_Y_BITS;
+    private static final int PACKED_X_SHIFT = PACKED_Y_BITS + PACKED_Z_BITS;
+    private static final long PACKED_X_MASK = (1L << PACKED_X_BITS) - 1;
+    private static final long PACKED_Z_MASK = (1L << PACKED_Z_BITS) - 1;
+    private static final long PACKED_Y_MASK = (1L << PACKED_Y_BITS) - 1;
+
+    private final World world;
+    private final LongMap<ChunkSnapshot> chunks;
+    private final int minY;
+    private final int maxY;
+
+    /**
+     * Captures every chunk between the given block coordinates. Must be called on the main thread.
+     * Chunks that are not loaded are loaded, like <code>world.getBlockAt</code> would.
+     *
+     * @param world The non-null world of the explosion.
+     * @param minX The minimum block x coordinate.
+     * @param minZ The minimum block z coordinate.
+     * @param maxX The maximum block x coordinate (inclusive).
+     * @param maxZ The maximum block z coordinate (inclusive).
+     */
+    public BlockSnapshot(@NotNull World world, int minX, int minZ, int maxX, int maxZ) {
+        this(world, isSupported() ? capture(world, minX, minZ, maxX, maxZ) : null);
+    }
+
+    private BlockSnapshot(@NotNull World world, @Nullable LongMap<ChunkSnapshot> chunks) {
+        this.world = world;
+        this.chunks = chunks;
+        this.minY = MinecraftVersions.CAVES_AND_CLIFFS_1.isAtLeast() ? world.getMinHeight() : 0;
+        this.maxY = world.getMaxHeight();
+    }
+
+    private static LongMap<ChunkSnapshot> capture(World world, int minX, int minZ, int maxX, int maxZ) {
+        LongMap<ChunkSnapshot> chunks = new LongMap<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                chunks.put(EntityIndex.chunkKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns a snapshot that captures nothing, and reads blocks from the world instead. Use this
+     * when the blocks are found on the main thread.
+     *
+     * @param world The non-null world of the explosion.
+     * @return The non-null snapshot, which is not thread safe.
+     */
+    public static @NotNull BlockSnapshot live(@NotNull World world) {
+        return new BlockSnapshot(world, null);
+    }
+
+    /**
+     * Returns <code>true</code> if blocks can be captured on this server version.
+     *
+     * @return true if chunk snapshots support block types, and materials support isAir().
+     */
+    public static boolean isSupported() {
+        return MinecraftVersions.BUZZY_BEES.isAtLeast();
+    }
+
+    /**
+     * Returns <code>true</code> if an explosion checking the given number of blocks should find them
+     * on multiple threads. See <code>Explosions.Parallel_Minimum_Blocks</code> in config.yml.
+     *
+     * @param blocks The number of blocks the explosion checks.
+     * @return true if the blocks should be found in parallel.
+     */
+    public static boolean isParallel(long blocks) {
+        int minimum = WeaponMechanics.getBasicConfigurations().getInt("Explosions.Parallel_Minimum_Blocks", 4096);
+        return minimum >= 0 && blocks >= minimum && isSupported();
+    }
+
+    public @NotNull World getWorld() {
+        return world;
+    }
+
+    /**
+     * @return The lowest block y coordinate in the world.
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * @return The highest block y coordinate in the world (exclusive).
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Returns <code>true</code> if this snapshot may be read from any thread.
+     *
+     * @return true if blocks were captured.
+     */
+    public boolean isThreadSafe() {
+        return chunks != null;
+    }
+
+    /**
+     * Returns <code>true</code> if the block is air, or is outside the world's height.
+     *
+     * @param x The block x coordinate.
+     * @param y The block y coordinate.
+     * @param z The block z coordinate.
+     * @return true if the block is empty.
+     */
+    public boolean isEmpty(int x, int y, int z) {
+        if (y < minY || y >= maxY)
+            return true;
+        if (chunks == null)
+            return world.getBlockAt(x, y, z).isEmpty();
+
+        ChunkSnapshot chunk = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+        return chunk == null || chunk.getBlockType(x & 15, y, z & 15).isAir();
+    }
+
+    /**
+     * Returns the type of the block, or {@link Material#AIR} when the block is outside the world's
+     * height. Returns <code>null</code> when blocks were not captured (see {@link #isThreadSafe()}),
+     * in which case {@link #isEmpty(int, int, int)} and {@link #getBlastResistance(int, int, int)}
+     * should be used instead.
+     *
+     * @param x The block x coordinate.
+     * @param y The block y coordinate.
+     * @param z The block z coordinate.
+     * @return The type of the block, or null.
+     */
+    public @Nullable Material getType(int x, int y, int z) {
+        if (chunks == null)
+            return null;
+        if (y < minY || y >= maxY)
+            return Material.AIR;
+
+        ChunkSnapshot chunk = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+        return chunk == null ? Material.AIR : chunk.getBlockType(x & 15, y, z & 15);
+    }
+
+    /**
+     * Returns the blast resistance of the block. See
+     * {@link me.deecaad.core.compatibility.block.BlockCompatibility#getBlastResistance(Block)}.
+     *
+     * @param x The block x coordinate.
+     * @param y The block y coordinate.
+     * @param z The block z coordinate.
+     * @return The positive blast resistance.
+     */
+    public float getBlastResistance(int x, int y, int z) {
+        if (y < minY || y >= maxY)
+            return Material.AIR.getBlastResistance();
+        if (chunks == null)
+            return CompatibilityAPI.getBlockCompatibility().getBlastResistance(world.getBlockAt(x, y, z));
+
+        ChunkSnapshot chunk = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+        Material type = chunk == null ? Material.AIR : chunk.getBlockType(x & 15, y, z & 15);
+        return type.getBlastResistance();
+    }
+
+    /**
+     * Packs the block coordinates into 1 long. The x and z coordinates use 26 bits each, and the y
+     * coordinate uses 12 bits, like Minecraft's block positions.
+     *
+     * @param x The block x coordinate.
+     * @param y The block y coordinate.
+     * @param z The block z coordinate.
+     * @return The packed position.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((x & PACKED_X_MASK) << PACKED_X_SHIFT) | ((z & PACKED_Z_MASK) << PACKED_Z_SHIFT) | (y & PACKED_Y_MASK);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> PACKED_X_SHIFT);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << (Long.SIZE - PACKED_Y_BITS) >> (Long.SIZE - PACKED_Y_BITS));
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << (Long.SIZE - PACKED_X_SHIFT) >> (Long.SIZE - PACKED_Z_BITS));
+    }
+
+    /**
+     * Turns the packed positions into blocks. Must be called on the main thread.
+     *
+     * @param world The non-null world the blocks are in.
+     * @param positions The non-null packed positions.
+     * @return The non-null, modifiable list of blocks.
+     */
+    public static @NotNull List<Block> toBlocks(@NotNull World world, long @NotNull [] positions) {
+        List<Block> blocks = new ArrayList<>(positions.length);
+        for (long position : positions)
+            blocks.add(world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position)));
+        return blocks;
+    }
+
+    /**
+     * Packs the position of every block.
+     *
+     * @param blocks The non-null blocks.
+     * @return The non-null packed positions.
+     */
+    public static long @NotNull [] toPositions(@NotNull List<Block> blocks) {
+        long[] positions = new long[blocks.size()];
+        for (int i = 0; i < positions.length; i++) {
+            Block block = blocks.get(i);
+            positions[i] = pack(block.getX(), block.getY(), block.getZ());
+        }
+        return positions;
+    }
+}
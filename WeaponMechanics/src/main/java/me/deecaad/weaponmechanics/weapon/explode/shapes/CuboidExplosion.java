@@ -3,6 +3,7 @@ package me.deecaad.weaponmechanics.weapon.explode.shapes;
 import me.deecaad.core.file.Configuration;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.RandomUtil;
+import me.deecaad.core.utils.spatial.EntityIndex;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -12,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
 
@@ -52,35 +54,55 @@ public class CuboidExplosion implements ExplosionShape {
      */
     @NotNull @Override
     public List<Block> getBlocks(@NotNull Location origin) {
-        List<Block> temp = new ArrayList<>((int) (2 * width + 2 * height) + 1);
+        World world = origin.getWorld();
+        if (world == null) {
+            debug.log(LogLevel.WARN, "Cuboid explosion's origin was null? Origin:", origin.toString());
+            return new ArrayList<>();
+        }
+        return BlockSnapshot.toBlocks(world, getBlockPositions(origin));
+    }
 
+    @Override
+    public long @NotNull [] getBlockPositions(@NotNull Location origin) {
         double noiseDistance = config.getDouble("Explosions.Spherical.Noise_Distance", 1.25);
         double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
 
         World world = origin.getWorld();
         if (world == null) {
             debug.log(LogLevel.WARN, "Cuboid explosion's origin was null? Origin:", origin.toString());
-            return temp;
+            return new long[0];
         }
         int blockX = origin.getBlockX();
         int blockY = origin.getBlockY();
         int blockZ = origin.getBlockZ();
 
-        for (int x = (int) -width; x < width; x++) {
-            for (int y = (int) -height; y < height; y++) {
-                for (int z = (int) -width; z < width; z++) {
+        int minX = (int) -width, maxX = (int) Math.ceil(width);
+        int minY = (int) -height, maxY = (int) Math.ceil(height);
+
+        // Each x slice can be checked on a different thread. Chunks are
+        // only copied when that happens, otherwise the world is read.
+        boolean parallel = BlockSnapshot.isParallel((long) (maxX - minX) * (maxY - minY) * (maxX - minX));
+        BlockSnapshot snapshot = parallel
+            ? new BlockSnapshot(world, blockX + minX, blockZ + minX, blockX + maxX, blockZ + maxX)
+            : BlockSnapshot.live(world);
+        IntStream stream = IntStream.range(minX, maxX);
+        if (parallel)
+            stream = stream.parallel();
+
+        PositionBuffer positions = stream.collect(PositionBuffer::new, (buffer, x) -> {
+            for (int y = minY; y < height; y++) {
+                for (int z = minX; z < width; z++) {
 
                     // Noise checker
-                    if (isNearEdge(x, y, z, noiseDistance) && RandomUtil.chance(noiseChance)) {
-                        debug.log(LogLevel.DEBUG, "Skipping block(" + x + ", " + y + ", " + z + ") due to noise.");
+                    if (isNearEdge(x, y, z, noiseDistance) && RandomUtil.chance(noiseChance))
                         continue; // outer noise checker
-                    }
 
-                    temp.add(world.getBlockAt(x + blockX, y + blockY, z + blockZ));
+                    if (!snapshot.isEmpty(x + blockX, y + blockY, z + blockZ))
+                        buffer.add(BlockSnapshot.pack(x + blockX, y + blockY, z + blockZ));
                 }
             }
-        }
-        return temp;
+        }, PositionBuffer::addAll);
+        return positions.toArray();
     }
 
     /**
@@ -107,12 +129,15 @@ public class CuboidExplosion implements ExplosionShape {
         double yMin = origin.getY() - height, yMax = origin.getY() + height;
         double zMin = origin.getZ() - width, zMax = origin.getZ() + width;
 
-        List<LivingEntity> all = origin.getWorld().getLivingEntities();
-        List<LivingEntity> temp = new ArrayList<>(all.size());
-        for (LivingEntity entity : all) {
-            double x = entity.getLocation().getX();
-            double y = entity.getLocation().getY();
-            double z = entity.getLocation().getZ();
+        // Same buffer as ExplosionShape#getEntities, the index stores
+        // positions from earlier in the tick.
+        List<LivingEntity> temp = new ArrayList<>();
+        Location reuse = new Location(origin.getWorld(), 0, 0, 0);
+        EntityIndex.SINGLETON.forEachLivingEntity(origin.getWorld(), xMin - 2.0, yMin - 2.0, zMin - 2.0, xMax + 2.0, yMax + 2.0, zMax + 2.0, entity -> {
+            Location location = entity.getLocation(reuse);
+            double x = location.getX();
+            double y = location.getY();
+            double z = location.getZ();
 
             boolean in = x >= xMin && x <= xMax &&
                 y >= yMin && y <= yMax &&
@@ -120,7 +145,7 @@ public class CuboidExplosion implements ExplosionShape {
 
             if (in)
                 temp.add(entity);
-        }
+        });
         return temp;
     }
 
@@ -1,12 +1,15 @@
 package me.deecaad.weaponmechanics.weapon.explode.shapes;
 
+import me.deecaad.core.utils.spatial.EntityIndex;
 import me.deecaad.weaponmechanics.utils.Factory;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnegative;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,6 +42,22 @@ public interface ExplosionShape {
      */
     @NotNull List<Block> getBlocks(@NotNull Location origin);
 
+    /**
+     * Returns the packed positions (See {@link BlockSnapshot#pack(int, int, int)}) of the blocks
+     * that {@link #getBlocks(Location)} would return. Must be called on the main thread.
+     *
+     * <p>
+     * The built-in shapes find their positions on multiple threads, reading blocks from a
+     * {@link BlockSnapshot}. Their {@link #getBlocks(Location)} only turns these positions into
+     * blocks.
+     *
+     * @param origin The non-null origin of the explosion (Usually the center).
+     * @return The non-null packed positions of the blocks contained in the explosion.
+     */
+    default long @NotNull [] getBlockPositions(@NotNull Location origin) {
+        return BlockSnapshot.toPositions(getBlocks(origin));
+    }
+
     /**
      * Returns a list of all effect entities effected by this shape. An entity is effected if they are
      * contained in the area of the explosion.
@@ -47,10 +66,32 @@ public interface ExplosionShape {
      * Data returned by this method is usually consumed by an
      * {@link me.deecaad.weaponmechanics.weapon.explode.exposures.ExplosionExposure}.
      *
+     * <p>
+     * By default, only the entities within {@link #getMaxDistance()} blocks (on each axis) of the
+     * origin are checked, using the {@link EntityIndex}, so the cost of this method depends on the
+     * number of entities near the explosion instead of the number of entities in the world.
+     *
      * @param origin The non-null origin of the explosion (Usually the center).
      * @return The non-null list of entities contained in the explosion.
      */
-    List<LivingEntity> getEntities(@NotNull Location origin);
+    default List<LivingEntity> getEntities(@NotNull Location origin) {
+        World world = origin.getWorld();
+        double x = origin.getX();
+        double y = origin.getY();
+        double z = origin.getZ();
+
+        // The index stores positions from earlier in the tick, so add a
+        // buffer for entities that moved since then, and check their
+        // current location instead.
+        double distance = getMaxDistance() + 2.0;
+        List<LivingEntity> entities = new ArrayList<>();
+        Location reuse = new Location(world, 0, 0, 0);
+        EntityIndex.SINGLETON.forEachLivingEntity(world, x - distance, y - distance, z - distance, x + distance, y + distance, z + distance, entity -> {
+            if (isContained(origin, entity.getLocation(reuse)))
+                entities.add(entity);
+        });
+        return entities;
+    }
 
     /**
      * Returns the maximum distance from the origin of the explosion that an entity is considered to be
@@ -1,18 +1,15 @@
 package me.deecaad.weaponmechanics.weapon.explode.shapes;
 
 import me.deecaad.core.file.Configuration;
-import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.RandomUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
-import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.NumberConversions;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
-
-import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+import java.util.stream.IntStream;
 
 /**
  * Uses parabolas to calculate the area of explosions, where a parabola is defined as: y = m(x -
@@ -51,7 +48,11 @@ public class ParabolicExplosion implements ExplosionShape {
 
     @NotNull @Override
     public List<Block> getBlocks(@NotNull Location origin) {
-        List<Block> temp = new ArrayList<>();
+        return BlockSnapshot.toBlocks(origin.getWorld(), getBlockPositions(origin));
+    }
+
+    @Override
+    public long @NotNull [] getBlockPositions(@NotNull Location origin) {
 
         // Solve for x
         // y = angle * x^2 + depth
@@ -65,36 +66,44 @@ public class ParabolicExplosion implements ExplosionShape {
         double noiseDistance = config.getDouble("Explosions.Spherical.Noise_Distance", 1.25);
         double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.25);
 
-        for (double x = -intercept; x < intercept; x++) {
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+
+        // x = -intercept + slice, for every x < intercept. Each x slice can
+        // be checked on a different thread. Chunks are only copied when that
+        // happens, otherwise the world is read.
+        int slices = (int) Math.ceil(2 * intercept);
+        boolean parallel = BlockSnapshot.isParallel((long) slices * slices * (long) Math.ceil(-2 * depth));
+        BlockSnapshot snapshot = parallel
+            ? new BlockSnapshot(origin.getWorld(),
+                NumberConversions.floor(originX - intercept), NumberConversions.floor(originZ - intercept),
+                NumberConversions.floor(originX + intercept), NumberConversions.floor(originZ + intercept))
+            : BlockSnapshot.live(origin.getWorld());
+        IntStream stream = IntStream.range(0, slices);
+        if (parallel)
+            stream = stream.parallel();
+
+        PositionBuffer positions = stream.collect(PositionBuffer::new, (buffer, slice) -> {
+            double x = -intercept + slice;
             for (double y = depth; y < -depth; y++) {
                 for (double z = -intercept; z < intercept; z++) {
                     if (test(x, y, z)) {
 
                         // Checking chance first for resource usage
-                        if (RandomUtil.chance(noiseChance) && isNearEdge(x, y, z, noiseDistance)) {
-                            debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
+                        if (RandomUtil.chance(noiseChance) && isNearEdge(x, y, z, noiseDistance))
                             continue; // outer noise checker
-                        }
 
-                        temp.add(origin.clone().add(x, y, z).getBlock());
+                        int blockX = NumberConversions.floor(originX + x);
+                        int blockY = NumberConversions.floor(originY + y);
+                        int blockZ = NumberConversions.floor(originZ + z);
+                        if (!snapshot.isEmpty(blockX, blockY, blockZ))
+                            buffer.add(BlockSnapshot.pack(blockX, blockY, blockZ));
                     }
                 }
             }
-        }
-        return temp;
-    }
-
-    @NotNull @Override
-    public List<LivingEntity> getEntities(@NotNull Location origin) {
-        List<LivingEntity> all = origin.getWorld().getLivingEntities();
-        List<LivingEntity> temp = new ArrayList<>(all.size());
-
-        for (LivingEntity entity : all) {
-            if (isContained(origin, entity.getLocation()))
-                temp.add(entity);
-        }
-
-        return temp;
+        }, PositionBuffer::addAll);
+        return positions.toArray();
     }
 
     @Override
@@ -0,0 +1,57 @@
+package me.deecaad.weaponmechanics.weapon.explode.shapes;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of packed block positions (see {@link BlockSnapshot#pack(int, int, int)}).
+ * Each thread fills its own buffer, and the buffers are merged with {@link #addAll(PositionBuffer)}
+ * (which is how {@link java.util.stream.IntStream#collect} combines results).
+ */
+final class PositionBuffer {
+
+    private long[] positions;
+    private int size;
+
+    PositionBuffer() {
+        positions = new long[64];
+    }
+
+    void add(long position) {
+        if (size == positions.length)
+            positions = Arrays.copyOf(positions, size * 2);
+        positions[size++] = position;
+    }
+
+    void addAll(PositionBuffer other) {
+        if (size + other.size > positions.length)
+            positions = Arrays.copyOf(positions, Math.max(size + other.size, size * 2));
+        System.arraycopy(other.positions, 0, positions, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Returns the positions in this buffer.
+     *
+     * @return The non-null positions, in the order they were added.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(positions, size);
+    }
+
+    /**
+     * Returns the positions in this buffer, sorted, without duplicates.
+     *
+     * @return The non-null, distinct positions.
+     */
+    long[] toDistinctArray() {
+        long[] sorted = Arrays.copyOf(positions, size);
+        Arrays.parallelSort(sorted);
+
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1])
+                sorted[distinct++] = sorted[i];
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+}
@@ -1,20 +1,15 @@
 package me.deecaad.weaponmechanics.weapon.explode.shapes;
 
 import me.deecaad.core.file.Configuration;
-import me.deecaad.core.utils.LogLevel;
 import me.deecaad.core.utils.RandomUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.NumberConversions;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+import java.util.stream.IntStream;
 
 public class SphericalExplosion implements ExplosionShape {
 
@@ -30,48 +25,55 @@ public class SphericalExplosion implements ExplosionShape {
 
     @NotNull @Override
     public List<Block> getBlocks(@NotNull Location origin) {
-        List<Block> temp = new ArrayList<>();
+        return BlockSnapshot.toBlocks(origin.getWorld(), getBlockPositions(origin));
+    }
+
+    @Override
+    public long @NotNull [] getBlockPositions(@NotNull Location origin) {
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
 
-        Location pos1 = origin.clone().add(-radius, -radius, -radius);
-        Location pos2 = origin.clone().add(+radius, +radius, +radius);
+        int minX = NumberConversions.floor(originX - radius), maxX = NumberConversions.floor(originX + radius);
+        int minY = NumberConversions.floor(originY - radius), maxY = NumberConversions.floor(originY + radius);
+        int minZ = NumberConversions.floor(originZ - radius), maxZ = NumberConversions.floor(originZ + radius);
 
         double noiseDistance = NumberConversions.square(config.getDouble("Explosions.Spherical.Noise_Distance", 1.0));
         double noiseChance = config.getDouble("Explosions.Spherical.Noise_Chance", 0.10);
 
-        // Loops through a cuboid region between pos1 and pos2
-        // effectively looping through every single block inside
-        // of a square
-        for (int x = pos1.getBlockX(); x < pos2.getBlockX(); x++) {
-            for (int y = pos1.getBlockY(); y < pos2.getBlockY(); y++) {
-                for (int z = pos1.getBlockZ(); z < pos2.getBlockZ(); z++) {
-                    Location loc = new Location(origin.getWorld(), x, y, z);
+        // Loops through a cuboid region between the min and max points,
+        // effectively looping through every single block inside of a
+        // square. Each x slice can be checked on a different thread. Chunks
+        // are only copied when that happens, otherwise the world is read.
+        boolean parallel = BlockSnapshot.isParallel((long) (maxX - minX) * (maxY - minY) * (maxZ - minZ));
+        BlockSnapshot snapshot = parallel
+            ? new BlockSnapshot(origin.getWorld(), minX, minZ, maxX, maxZ)
+            : BlockSnapshot.live(origin.getWorld());
+        IntStream stream = IntStream.range(minX, maxX);
+        if (parallel)
+            stream = stream.parallel();
+
+        PositionBuffer positions = stream.collect(PositionBuffer::new, (buffer, x) -> {
+            for (int y = minY; y < maxY; y++) {
+                for (int z = minZ; z < maxZ; z++) {
 
                     // If the distance between the current iteration
                     // and the origin is less than the radius of the
                     // sphere. This "reshapes" the cube into a sphere
-                    double distance = loc.distanceSquared(origin);
+                    double distance = NumberConversions.square(x - originX) + NumberConversions.square(y - originY) + NumberConversions.square(z - originZ);
                     if (distance <= radiusSquared) {
 
                         boolean isNearEdge = radiusSquared - distance < noiseDistance;
-                        if (isNearEdge && RandomUtil.chance(noiseChance)) {
-                            debug.log(LogLevel.DEBUG, "Skipping block (" + x + ", " + y + ", " + z + ") due to noise.");
+                        if (isNearEdge && RandomUtil.chance(noiseChance))
                             continue; // outer noise checker
-                        }
 
-                        temp.add(loc.getBlock());
+                        if (!snapshot.isEmpty(x, y, z))
+                            buffer.add(BlockSnapshot.pack(x, y, z));
                     }
                 }
             }
-        }
-        return temp;
-    }
-
-    @NotNull @Override
-    public List<LivingEntity> getEntities(@NotNull Location origin) {
-        return origin.getWorld().getLivingEntities()
-            .stream()
-            .filter(entity -> entity.getLocation().distanceSquared(origin) < radiusSquared)
-            .collect(Collectors.toList());
+        }, PositionBuffer::addAll);
+        return positions.toArray();
     }
 
     @Override
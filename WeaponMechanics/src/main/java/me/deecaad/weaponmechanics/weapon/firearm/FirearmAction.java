@@ -1,5 +1,6 @@
 package me.deecaad.weaponmechanics.weapon.firearm;
 
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
@@ -46,7 +47,14 @@ public class FirearmAction implements Serializer<FirearmAction> {
     }
 
     public FirearmState getState(ItemStack weaponStack) {
-        int state = CustomTag.FIREARM_ACTION_STATE.getInteger(weaponStack);
+        return getState(CustomTag.FIREARM_ACTION_STATE.getInteger(weaponStack));
+    }
+
+    public FirearmState getState(ItemTagView view) {
+        return getState(CustomTag.FIREARM_ACTION_STATE.getInteger(view));
+    }
+
+    private static FirearmState getState(int state) {
         return switch (state) {
             case 1 -> FirearmState.OPEN;
             case 2 -> FirearmState.CLOSE;
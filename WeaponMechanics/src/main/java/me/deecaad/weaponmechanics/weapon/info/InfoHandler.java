@@ -27,6 +27,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class InfoHandler implements IValidator {
 
@@ -177,7 +178,7 @@ public class InfoHandler implements IValidator {
         AdventureUtil.updatePlaceholders(null, weaponStack);
 
         // Apply default skin
-        SkinSelector skins = getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = getWeaponProfile(weaponTitle).getSkin();
         if (skins != null)
             skins.getDefaultSkin().apply(weaponStack);
 
@@ -215,7 +216,7 @@ public class InfoHandler implements IValidator {
             CustomTag.SELECTIVE_FIRE.setInteger(weaponStack, firemode);
 
         // Custom Durability Arguments
-        CustomDurability customDurability = WeaponMechanics.getConfigurations().getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+        CustomDurability customDurability = WeaponMechanics.getWeaponProfile(weaponTitle).getCustomDurability();
         if (customDurability != null) {
             CustomTag.DURABILITY.setInteger(weaponStack, durability == -1 ? customDurability.getMaxDurability() : durability);
             CustomTag.MAX_DURABILITY.setInteger(weaponStack, maxDurability == -1 ? customDurability.getMaxDurability() : maxDurability);
@@ -232,7 +233,7 @@ public class InfoHandler implements IValidator {
         }
 
         // Apply default skin
-        SkinSelector skins = getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = getWeaponProfile(weaponTitle).getSkin();
         if (skins != null) {
             skins.getDefaultSkin().apply(weaponStack);
         }
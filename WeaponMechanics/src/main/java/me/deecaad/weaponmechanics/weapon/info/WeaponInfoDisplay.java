@@ -94,6 +94,27 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
         Player player = playerWrapper.getPlayer();
         MessageHelper messageHelper = playerWrapper.getMessageHelper();
 
+        // Limit how often each player receives updates. Delayed updates are
+        // sent once the time is up, so players always see the latest ammo.
+        long now = System.currentTimeMillis();
+        int minMillis = getBasicConfigurations().getInt("Weapon_Info_Display.Min_Millis_Between_Updates", 0);
+        long wait = messageHelper.getLastUpdateTime() + minMillis - now;
+        if (minMillis > 0 && wait > 0) {
+            messageHelper.setUpdateSlot(slot);
+            if (messageHelper.getUpdateTask() == 0) {
+                messageHelper.setUpdateTask(new BukkitRunnable() {
+                    @Override
+                    public void run() {
+                        messageHelper.setUpdateTask(0);
+                        if (player.isOnline())
+                            sendDelayed(playerWrapper);
+                    }
+                }.runTaskLater(WeaponMechanics.getPlugin(), (wait + 49) / 50).getTaskId());
+            }
+            return;
+        }
+        messageHelper.setLastUpdateTime(now);
+
         String mainWeapon = playerWrapper.getMainHandData().getCurrentWeaponTitle();
         String offWeapon = playerWrapper.getOffHandData().getCurrentWeaponTitle();
 
@@ -142,8 +163,8 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                     mainDisplay = this;
                     offDisplay = this;
                 } else {
-                    mainDisplay = mainhand ? this : getConfigurations().getObject(mainWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
-                    offDisplay = mainhand ? getConfigurations().getObject(offWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class) : this;
+                    mainDisplay = mainhand ? this : getWeaponProfile(mainWeapon).getWeaponInfoDisplay();
+                    offDisplay = mainhand ? getWeaponProfile(offWeapon).getWeaponInfoDisplay() : this;
                 }
 
                 // OFF HAND < dual wield split > MAIN HAND
@@ -151,17 +172,14 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                 ComponentLike offHand = getDualDisplay(offDisplay, PlaceholderData.of(player, offStack, offWeapon, EquipmentSlot.OFF_HAND), mainDisplay, false, hasInvertedMainHand);
                 ComponentLike mainHand = getDualDisplay(mainDisplay, PlaceholderData.of(player, mainStack, mainWeapon, EquipmentSlot.HAND), offDisplay, false, hasInvertedMainHand);
 
-                Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-                audience.sendActionBar(buildDisplay(Component.text(), hasInvertedMainHand, mainHand, offHand));
+                sendActionBar(player, messageHelper, now, buildDisplay(Component.text(), hasInvertedMainHand, mainHand, offHand).build());
             } else {
                 if (mainhand) {
                     if (mainStack != null && mainStack.hasItemMeta()) {
-                        Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-                        audience.sendActionBar(actionBar.replaceAndDeserialize(PlaceholderData.of(player, mainStack, mainWeapon, slot)));
+                        sendActionBar(player, messageHelper, now, actionBar.replaceAndDeserialize(PlaceholderData.of(player, mainStack, mainWeapon, slot)));
                     }
                 } else if (offStack != null && offStack.hasItemMeta()) {
-                    Audience audience = MechanicsCore.getPlugin().adventure.player(player);
-                    audience.sendActionBar(actionBar.replaceAndDeserialize(PlaceholderData.of(player, offStack, offWeapon, slot)));
+                    sendActionBar(player, messageHelper, now, actionBar.replaceAndDeserialize(PlaceholderData.of(player, offStack, offWeapon, slot)));
                 }
             }
         }
@@ -180,8 +198,8 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                     mainDisplay = this;
                     offDisplay = this;
                 } else {
-                    mainDisplay = mainhand ? this : getConfigurations().getObject(mainWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
-                    offDisplay = mainhand ? getConfigurations().getObject(offWeapon + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class) : this;
+                    mainDisplay = mainhand ? this : getWeaponProfile(mainWeapon).getWeaponInfoDisplay();
+                    offDisplay = mainhand ? getWeaponProfile(offWeapon).getWeaponInfoDisplay() : this;
                 }
 
                 // OFF HAND < dual wield split > MAIN HAND
@@ -209,6 +227,8 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                 audience.showBossBar(bossBar);
 
             } else {
+                // Adventure only sends the name, color, overlay and progress
+                // to the player when they change
                 Bukkit.getScheduler().cancelTask(messageHelper.getBossBarTask());
                 bossBar.name(builder);
                 bossBar.color(barColor);
@@ -240,17 +260,21 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                 magazineProgress = getMagazineProgress(useStack, useWeapon);
             }
 
+            // Unchanged experience is not sent again, but it is still shown
+            // for another 40 ticks
+            float expProgress = showAmmoInExpProgress ? (float) magazineProgress : player.getExp();
+            int expLevel = showAmmoInExpLevel ? getAmmoLeft(useStack, useWeapon) : player.getLevel();
+            boolean isExpChanged = messageHelper.shouldSendExp(expProgress, expLevel);
+
             int lastExpTask = messageHelper.getExpTask();
             if (lastExpTask != 0)
                 Bukkit.getServer().getScheduler().cancelTask(lastExpTask);
 
             if (!MinecraftVersions.BUZZY_BEES.isAtLeast()) {
-                CompatibilityAPI.getCompatibility().sendPackets(player,
-                    ReflectionUtil.newInstance(packetPlayOutExperienceConstructor, showAmmoInExpProgress
-                        ? (float) (magazineProgress != -1 ? magazineProgress : getMagazineProgress(useStack, useWeapon))
-                        : player.getExp(),
-                        player.getTotalExperience(),
-                        showAmmoInExpLevel ? getAmmoLeft(useStack, useWeapon) : player.getLevel()));
+                if (isExpChanged) {
+                    CompatibilityAPI.getCompatibility().sendPackets(player,
+                        ReflectionUtil.newInstance(packetPlayOutExperienceConstructor, expProgress, player.getTotalExperience(), expLevel));
+                }
                 messageHelper.setExpTask(new BukkitRunnable() {
                     public void run() {
                         CompatibilityAPI.getCompatibility().sendPackets(player,
@@ -262,8 +286,9 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
                     }
                 }.runTaskLater(WeaponMechanics.getPlugin(), 40).getTaskId());
             } else {
-                player.sendExperienceChange(showAmmoInExpProgress ? (float) (magazineProgress != -1 ? magazineProgress : getMagazineProgress(useStack, useWeapon)) : player.getExp(),
-                    showAmmoInExpLevel ? getAmmoLeft(useStack, useWeapon) : player.getLevel());
+                if (isExpChanged) {
+                    player.sendExperienceChange(expProgress, expLevel);
+                }
                 messageHelper.setExpTask(new BukkitRunnable() {
                     public void run() {
                         player.sendExperienceChange(player.getExp(), player.getLevel());
@@ -274,6 +299,38 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
         }
     }
 
+    /**
+     * Sends the action bar, unless the player can already see it. Unchanged action bars are sent
+     * again every <code>Weapon_Info_Display.Action_Bar_Resend_Millis</code>, so they don't fade out
+     * (and replace other action bar messages).
+     */
+    private static void sendActionBar(Player player, MessageHelper messageHelper, long now, Component component) {
+        int resendMillis = getBasicConfigurations().getInt("Weapon_Info_Display.Action_Bar_Resend_Millis", 1000);
+        if (!messageHelper.shouldSendActionBar(component, now, resendMillis))
+            return;
+
+        Audience audience = MechanicsCore.getPlugin().adventure.player(player);
+        audience.sendActionBar(component);
+    }
+
+    /**
+     * Sends the update delayed by <code>Weapon_Info_Display.Min_Millis_Between_Updates</code>. The
+     * player may have switched weapons since then, so the display of the held weapon is used.
+     */
+    private static void sendDelayed(PlayerWrapper playerWrapper) {
+        EquipmentSlot slot = playerWrapper.getMessageHelper().getUpdateSlot();
+        Player player = playerWrapper.getPlayer();
+        ItemStack weaponStack = slot == EquipmentSlot.HAND ? player.getEquipment().getItemInMainHand() : player.getEquipment().getItemInOffHand();
+
+        String weaponTitle = getWeaponHandler().getInfoHandler().getWeaponTitle(weaponStack, false);
+        if (weaponTitle == null)
+            return;
+
+        WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
+        if (weaponInfoDisplay != null)
+            weaponInfoDisplay.send(playerWrapper, slot);
+    }
+
     private ComponentLike getDualDisplay(WeaponInfoDisplay display, PlaceholderData data, WeaponInfoDisplay otherDisplay, boolean bossbar, boolean isInverted) {
         if (display == null)
             return null;
@@ -340,7 +397,7 @@ public class WeaponInfoDisplay implements Serializer<WeaponInfoDisplay> {
     }
 
     private double getMagazineProgress(ItemStack weaponStack, String weaponTitle) {
-        double progress = (double) getWeaponHandler().getReloadHandler().getAmmoLeft(weaponStack, weaponTitle) / (double) getConfigurations().getInt(weaponTitle + ".Reload.Magazine_Size");
+        double progress = (double) getWeaponHandler().getReloadHandler().getAmmoLeft(weaponStack, weaponTitle) / (double) getWeaponProfile(weaponTitle).getMagazineSize();
         return NumberUtil.clamp(progress, 0.0, 1.0);
     }
 
@@ -9,6 +9,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 import static me.deecaad.weaponmechanics.WeaponMechanics.getPlayerWrapper;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class PAmmoAvailable extends PlaceholderHandler {
 
@@ -26,6 +27,6 @@ public class PAmmoAvailable extends PlaceholderHandler {
         if (ammo == null)
             return null;
 
-        return String.valueOf(ammo.getMaximumAmmo(data.item(), getPlayerWrapper(data.player()), getConfigurations().getInt(data.itemTitle() + ".Reload.Magazine_Size")));
+        return String.valueOf(ammo.getMaximumAmmo(data.item(), getPlayerWrapper(data.player()), getWeaponProfile(data.itemTitle()).getMagazineSize()));
     }
 }
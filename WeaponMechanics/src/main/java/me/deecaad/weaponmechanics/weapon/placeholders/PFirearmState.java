@@ -8,7 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class PFirearmState extends PlaceholderHandler {
 
@@ -21,7 +21,7 @@ public class PFirearmState extends PlaceholderHandler {
         if (data.item() == null || data.itemTitle() == null)
             return null;
 
-        FirearmAction firearmAction = getConfigurations().getObject(data.itemTitle() + ".Firearm_Action", FirearmAction.class);
+        FirearmAction firearmAction = getWeaponProfile(data.itemTitle()).getFirearmAction();
 
         // Simply don't show anything
         if (firearmAction == null)
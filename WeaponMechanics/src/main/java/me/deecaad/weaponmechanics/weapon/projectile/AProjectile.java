@@ -32,14 +32,17 @@ public abstract class AProjectile {
     private FakeEntity disguise;
     private int lastDisguiseUpdateTick;
 
-    private Vector lastLocation;
-    private Vector location;
-    private Vector motion;
+    // Position and motion are stored as primitives so the physics step in
+    // tick() does not need to allocate. Vector getters copy these values.
+    private double lastX, lastY, lastZ;
+    private double x, y, z;
+    private double motionX, motionY, motionZ;
     private double motionLength;
 
     private int aliveTicks;
     private double distanceTravelled;
     private boolean dead;
+    private boolean pathClear;
     private Map<String, String> stringTags;
     private Map<String, Integer> integerTags;
 
@@ -57,10 +60,10 @@ public abstract class AProjectile {
     protected AProjectile(LivingEntity shooter, Location location, Vector motion) {
         this.shooter = shooter;
         this.world = location.getWorld();
-        this.location = location.toVector();
-        this.lastLocation = this.location.clone();
-        this.motion = motion;
-        this.motionLength = motion.length();
+        this.x = this.lastX = location.getX();
+        this.y = this.lastY = location.getY();
+        this.z = this.lastZ = location.getZ();
+        setMotion(motion);
         this.scripts = new LinkedList<>(); // dynamic, O(1) resize
         onStart();
     }
@@ -116,6 +119,52 @@ public abstract class AProjectile {
             return 0.99;
     }
 
+    /**
+     * Returns the largest value {@link #getDrag()} may return during this tick. This is used by the
+     * broad phase to find the longest path this projectile can travel, without checking blocks.
+     *
+     * @return the maximum drag, or a negative number if the drag can be negative
+     */
+    public double getMaximumDrag() {
+        return 0.99;
+    }
+
+    /**
+     * Override this method to return <code>true</code> if {@link #updatePosition()} checks
+     * {@link #isPathClear()}. Projectiles that can use the broad phase must only move along
+     * <code>location + motion</code>, with gravity and drag applied the same way as in
+     * {@link #tick()}.
+     *
+     * @return true if this projectile can skip collision checks using the broad phase
+     * @see ProjectileBroadPhase
+     */
+    public boolean canUseBroadPhase() {
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if the broad phase found that there are no blocks or entities this
+     * projectile could collide with during this tick. This is only set during
+     * {@link #updatePosition()}, and is reset after it.
+     *
+     * @return true if collision checks can be skipped for this tick
+     */
+    public boolean isPathClear() {
+        return pathClear;
+    }
+
+    void setPathClear(boolean pathClear) {
+        this.pathClear = pathClear;
+    }
+
+    /**
+     * Scripts may change the motion of the projectile before it moves, so projectiles with scripts
+     * never use the broad phase.
+     */
+    final boolean isBroadPhaseEligible() {
+        return !dead && scripts.isEmpty() && canUseBroadPhase();
+    }
+
     /**
      * @return the maximum amount of ticks projectile can be alive
      */
@@ -145,33 +194,51 @@ public abstract class AProjectile {
     }
 
     /**
+     * Allocates a new vector, use {@link #getLastX()}, {@link #getLastY()} and {@link #getLastZ()} in
+     * code that runs every tick.
+     *
      * @return the clone of last location
      */
     public Vector getLastLocation() {
-        return lastLocation.clone();
+        return new Vector(lastX, lastY, lastZ);
     }
 
     /**
+     * Allocates a new vector, use {@link #getX()}, {@link #getY()} and {@link #getZ()} in code that
+     * runs every tick.
+     *
      * @return the clone of current location
      */
     public Vector getLocation() {
-        return location.clone();
+        return new Vector(x, y, z);
     }
 
     public Block getCurrentBlock() {
-        return world.getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return world.getBlockAt(NumberUtil.floorToInt(x), NumberUtil.floorToInt(y), NumberUtil.floorToInt(z));
     }
 
     public double getX() {
-        return location.getX();
+        return x;
     }
 
     public double getY() {
-        return location.getY();
+        return y;
     }
 
     public double getZ() {
-        return location.getZ();
+        return z;
+    }
+
+    public double getLastX() {
+        return lastX;
+    }
+
+    public double getLastY() {
+        return lastY;
+    }
+
+    public double getLastZ() {
+        return lastZ;
     }
 
     /**
@@ -180,8 +247,21 @@ public abstract class AProjectile {
     public void setLocation(Vector location) {
         if (location == null)
             throw new IllegalArgumentException("Location can't be null");
-        this.lastLocation = this.location.clone();
-        this.location = location;
+        setLocation(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * @param x the new x coordinate for projectile
+     * @param y the new y coordinate for projectile
+     * @param z the new z coordinate for projectile
+     */
+    public void setLocation(double x, double y, double z) {
+        this.lastX = this.x;
+        this.lastY = this.y;
+        this.lastZ = this.z;
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -193,14 +273,43 @@ public abstract class AProjectile {
     public void setRawLocation(Vector location) {
         if (location == null)
             throw new IllegalArgumentException("Location can't be null");
-        this.location = location;
+        setRawLocation(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Main difference compared to {@link #setLocation(double, double, double)} is that this doesn't
+     * update projectile last location.
+     *
+     * @param x the new x coordinate for projectile
+     * @param y the new y coordinate for projectile
+     * @param z the new z coordinate for projectile
+     */
+    public void setRawLocation(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
+     * Allocates a new vector, use {@link #getMotionX()}, {@link #getMotionY()} and
+     * {@link #getMotionZ()} in code that runs every tick.
+     *
      * @return the clone of current motion
      */
     public Vector getMotion() {
-        return motion.clone();
+        return new Vector(motionX, motionY, motionZ);
+    }
+
+    public double getMotionX() {
+        return motionX;
+    }
+
+    public double getMotionY() {
+        return motionY;
+    }
+
+    public double getMotionZ() {
+        return motionZ;
     }
 
     /**
@@ -214,9 +323,20 @@ public abstract class AProjectile {
      * @return the normalized current motion
      */
     public Vector getNormalizedMotion() {
+        return getNormalizedMotion(new Vector());
+    }
+
+    /**
+     * Stores the normalized current motion in the given vector, so code that runs every tick can
+     * reuse the same vector.
+     *
+     * @param dest the non-null vector to store the result in
+     * @return the given vector
+     */
+    public Vector getNormalizedMotion(Vector dest) {
         if (motionLength == 0)
-            return getMotion();
-        return getMotion().divide(new Vector(motionLength, motionLength, motionLength));
+            return dest.setX(motionX).setY(motionY).setZ(motionZ);
+        return dest.setX(motionX / motionLength).setY(motionY / motionLength).setZ(motionZ / motionLength);
     }
 
     /**
@@ -227,8 +347,21 @@ public abstract class AProjectile {
     public void setMotion(Vector motion) {
         if (motion == null)
             throw new IllegalArgumentException("Motion can't be null");
-        this.motion = motion;
-        this.motionLength = motion.length();
+        setMotion(motion.getX(), motion.getY(), motion.getZ());
+    }
+
+    /**
+     * Updates motion length at same time
+     *
+     * @param motionX the new x motion for projectile
+     * @param motionY the new y motion for projectile
+     * @param motionZ the new z motion for projectile
+     */
+    public void setMotion(double motionX, double motionY, double motionZ) {
+        this.motionX = motionX;
+        this.motionY = motionY;
+        this.motionZ = motionZ;
+        this.motionLength = Math.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
     }
 
     /**
@@ -349,21 +482,28 @@ public abstract class AProjectile {
         scriptEvent(ProjectileScript::onTickStart);
 
         // Update last location here since handle collisions will change the location
-        lastLocation = location.clone();
+        lastX = x;
+        lastY = y;
+        lastZ = z;
 
         // Update motion BEFORE updating position, see #339
         double gravity = getGravity();
         if (gravity != 0) {
-            motion.setY(motion.getY() - gravity);
+            motionY -= gravity;
         }
-        motion.multiply(getDrag());
+        double drag = getDrag();
+        motionX *= drag;
+        motionY *= drag;
+        motionZ *= drag;
 
         // Handle collisions will update location and distance travelled
-        if (updatePosition()) {
+        boolean remove = updatePosition();
+        pathClear = false;
+        if (remove) {
             return true;
         }
 
-        double locationY = location.getY();
+        double locationY = y;
         int minWorldHeight = MinecraftVersions.NETHER_UPDATE.isAtLeast() ? world.getMinHeight() : -32;
         if (aliveTicks >= getMaximumAliveTicks() || locationY < minWorldHeight || locationY > world.getMaxHeight()) {
             return true;
@@ -382,7 +522,7 @@ public abstract class AProjectile {
             return false;
         }
 
-        motionLength = motion.length();
+        motionLength = Math.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
 
         double minimumSpeed = getMinimumSpeed();
         double maximumSpeed = getMaximumSpeed();
@@ -390,12 +530,12 @@ public abstract class AProjectile {
             if (isRemoveAtMinimumSpeed()) {
                 return true;
             }
-            setMotion(getNormalizedMotion().multiply(getMinimumSpeed()));
+            scaleMotion(minimumSpeed);
         } else if (maximumSpeed != -1.0 && motionLength > maximumSpeed) {
             if (isRemoveAtMaximumSpeed()) {
                 return true;
             }
-            setMotion(getNormalizedMotion().multiply(getMaximumSpeed()));
+            scaleMotion(maximumSpeed);
         }
 
         updateDisguise(false);
@@ -405,6 +545,19 @@ public abstract class AProjectile {
         return false;
     }
 
+    /**
+     * Sets the length of the motion, keeping its direction.
+     */
+    private void scaleMotion(double speed) {
+        if (motionLength != 0) {
+            double scale = speed / motionLength;
+            motionX *= scale;
+            motionY *= scale;
+            motionZ *= scale;
+        }
+        motionLength = Math.sqrt(motionX * motionX + motionY * motionY + motionZ * motionZ);
+    }
+
     /**
      * If this projectile already has disguise spawned, this call is ignored
      *
@@ -424,7 +577,7 @@ public abstract class AProjectile {
             this.disguise.setGravity(false);
 
         this.disguise.show();
-        this.disguise.setMotion(motion);
+        this.disguise.setMotion(motionX, motionY, motionZ);
     }
 
     /**
@@ -441,27 +594,28 @@ public abstract class AProjectile {
             disguise.show();
 
         if (motionLength == 0) {
-            disguise.setPosition(location.getX(), location.getY(), location.getZ(), disguise.getYaw(), disguise.getPitch(), forceTeleport);
+            disguise.setPosition(x, y, z, disguise.getYaw(), disguise.getPitch(), forceTeleport);
         } else {
-            Vector normalizedMotion = getNormalizedMotion();
-            disguise.setPosition(location.getX(), location.getY(), location.getZ(), calculateYaw(normalizedMotion), calculatePitch(normalizedMotion), forceTeleport);
+            disguise.setPosition(x, y, z, calculateYaw(), calculatePitch(), forceTeleport);
         }
-        disguise.setMotion(motion);
+        disguise.setMotion(motionX, motionY, motionZ);
 
         lastDisguiseUpdateTick = aliveTicks;
     }
 
-    private float calculateYaw(Vector normalizedMotion) {
+    private float calculateYaw() {
         if (motionLength == 0)
             return 0;
         double PI_2 = NumberUtil.TAU_DOUBLE;
-        return (float) Math.toDegrees((Math.atan2(-normalizedMotion.getX(), normalizedMotion.getZ()) + PI_2) % PI_2);
+        return (float) Math.toDegrees((Math.atan2(-motionX / motionLength, motionZ / motionLength) + PI_2) % PI_2);
     }
 
-    private float calculatePitch(Vector normalizedMotion) {
+    private float calculatePitch() {
         if (motionLength == 0)
             return 0;
-        return (float) Math.toDegrees(Math.atan(-normalizedMotion.getY() / Math.sqrt(NumberConversions.square(normalizedMotion.getX()) + NumberConversions.square(normalizedMotion.getZ()))));
+        double normalizedX = motionX / motionLength;
+        double normalizedZ = motionZ / motionLength;
+        return (float) Math.toDegrees(Math.atan(-(motionY / motionLength) / Math.sqrt(NumberConversions.square(normalizedX) + NumberConversions.square(normalizedZ))));
     }
 
     /**
@@ -496,6 +650,10 @@ public abstract class AProjectile {
     }
 
     protected void scriptEvent(Consumer<ProjectileScript<?>> consumer) {
+        // Most projectiles don't have scripts, so skip creating the iterator
+        if (scripts.isEmpty())
+            return;
+
         Iterator<ProjectileScript<?>> iterator = scripts.iterator();
         boolean removeProjectile = false;
 
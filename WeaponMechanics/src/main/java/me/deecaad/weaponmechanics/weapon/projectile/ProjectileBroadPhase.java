@@ -0,0 +1,269 @@
+package me.deecaad.weaponmechanics.weapon.projectile;
+
+import me.deecaad.core.utils.MinecraftVersions;
+import me.deecaad.core.utils.NumberUtil;
+import me.deecaad.core.utils.primitive.LongMap;
+import me.deecaad.core.utils.spatial.EntityIndex;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The optional, parallel first phase of {@link ProjectilesRunnable}. Before any projectile ticks,
+ * this class finds the projectiles that cannot collide with anything during this tick, so they
+ * can skip their ray trace.
+ *
+ * <p>
+ * The broad phase has 2 steps:
+ * <ol>
+ * <li>On the main thread: compute the longest path each projectile can travel this tick (gravity
+ * and the maximum drag applied to its motion), and capture a {@link ChunkSnapshot} of every chunk
+ * those paths cross. Each chunk is captured at most once per tick, and shared by every path that
+ * crosses it. Short paths are skipped, since a snapshot costs more than the few block lookups
+ * their ray trace does.</li>
+ * <li>In parallel: walk the blocks along each path in the snapshot (the same way as
+ * {@link me.deecaad.core.utils.ray.RayTrace} does), and look for entities near the path in the
+ * {@link EntityIndex}. Paths with only air and no entities are marked as clear.</li>
+ * </ol>
+ *
+ * <p>
+ * The projectiles are then ticked on the main thread like normal, in order, so collisions,
+ * events and damage still happen on the main thread in a deterministic order. The broad phase
+ * is conservative: any non-air block or nearby entity means the projectile does a normal ray
+ * trace.
+ */
+public final class ProjectileBroadPhase {
+
+    // The number 2.0 is taken from RayTrace, which takes it from Mojang's code
+    private static final double ENTITY_BUFFER = 2.0;
+
+    // Slightly extend paths, so the snapshot walk visits every block the
+    // (shorter, or equal) real ray trace could visit.
+    private static final double EXTEND = 1.0E-4;
+
+    private final Map<World, WorldSnapshot> worlds;
+    private AProjectile[] eligible;
+    private double[] paths;
+    private int count;
+    private double minimumPathLengthSquared;
+
+    ProjectileBroadPhase() {
+        worlds = new IdentityHashMap<>();
+        eligible = new AProjectile[64];
+        paths = new double[64 * 6];
+        minimumPathLengthSquared = 16.0 * 16.0;
+    }
+
+    /**
+     * Sets the shortest path (in blocks) a projectile must travel this tick to be checked by the
+     * broad phase. Shorter paths always do a normal ray trace.
+     *
+     * @param length The minimum path length.
+     */
+    void setMinimumPathLength(double length) {
+        minimumPathLengthSquared = length <= 0.0 ? 0.0 : length * length;
+    }
+
+    /**
+     * Returns <code>true</code> if the broad phase can run on this server version.
+     *
+     * @return true if chunk snapshots support block types, and materials support isAir().
+     */
+    static boolean isSupported() {
+        return MinecraftVersions.BUZZY_BEES.isAtLeast();
+    }
+
+    /**
+     * Runs the broad phase for the first <code>size</code> projectiles. Must be called on the main
+     * thread.
+     *
+     * @param projectiles The non-null projectiles.
+     * @param size The number of projectiles in the array.
+     */
+    void run(AProjectile[] projectiles, int size) {
+        try {
+            collect(projectiles, size);
+            if (count == 0)
+                return;
+
+            IntStream.range(0, count).parallel().forEach(this::test);
+        } finally {
+            // Don't keep snapshots or projectiles in memory between ticks
+            Arrays.fill(eligible, 0, count, null);
+            count = 0;
+            worlds.clear();
+        }
+    }
+
+    private void collect(AProjectile[] projectiles, int size) {
+        if (eligible.length < size) {
+            eligible = new AProjectile[size];
+            paths = new double[size * 6];
+        }
+
+        for (int i = 0; i < size; i++) {
+            AProjectile projectile = projectiles[i];
+            if (!projectile.isBroadPhaseEligible())
+                continue;
+
+            double drag = projectile.getMaximumDrag();
+            if (drag < 0)
+                continue;
+
+            double motionX = projectile.getMotionX() * drag;
+            double motionY = (projectile.getMotionY() - projectile.getGravity()) * drag;
+            double motionZ = projectile.getMotionZ() * drag;
+            if (motionX * motionX + motionY * motionY + motionZ * motionZ < minimumPathLengthSquared)
+                continue;
+
+            double startX = projectile.getX() - motionX * EXTEND;
+            double startY = projectile.getY() - motionY * EXTEND;
+            double startZ = projectile.getZ() - motionZ * EXTEND;
+            double endX = projectile.getX() + motionX * (1.0 + EXTEND);
+            double endY = projectile.getY() + motionY * (1.0 + EXTEND);
+            double endZ = projectile.getZ() + motionZ * (1.0 + EXTEND);
+
+            World world = projectile.getWorld();
+            WorldSnapshot snapshot = worlds.get(world);
+            if (snapshot == null) {
+                snapshot = new WorldSnapshot(world);
+                worlds.put(world, snapshot);
+                EntityIndex.SINGLETON.prepare(world);
+            }
+
+            // Unloaded chunks are left to the normal tick, which removes the projectile
+            if (!snapshot.capture(startX, startZ, endX, endZ))
+                continue;
+
+            int j = count * 6;
+            paths[j] = startX;
+            paths[j + 1] = startY;
+            paths[j + 2] = startZ;
+            paths[j + 3] = endX;
+            paths[j + 4] = endY;
+            paths[j + 5] = endZ;
+            eligible[count++] = projectile;
+        }
+    }
+
+    /**
+     * Runs on any thread. Only reads the snapshots, and only writes to its own projectile.
+     */
+    private void test(int index) {
+        AProjectile projectile = eligible[index];
+        int j = index * 6;
+        double startX = paths[j];
+        double startY = paths[j + 1];
+        double startZ = paths[j + 2];
+        double endX = paths[j + 3];
+        double endY = paths[j + 4];
+        double endZ = paths[j + 5];
+
+        World world = projectile.getWorld();
+        boolean hasEntity = EntityIndex.SINGLETON.containsLivingEntity(world,
+            Math.min(startX, endX) - ENTITY_BUFFER, Double.NEGATIVE_INFINITY, Math.min(startZ, endZ) - ENTITY_BUFFER,
+            Math.max(startX, endX) + ENTITY_BUFFER, Double.POSITIVE_INFINITY, Math.max(startZ, endZ) + ENTITY_BUFFER);
+
+        boolean clear = !hasEntity && worlds.get(world).isAir(startX, startY, startZ, endX, endY, endZ);
+        projectile.setPathClear(clear);
+    }
+
+    private static class WorldSnapshot {
+
+        private final World world;
+        private final LongMap<ChunkSnapshot> chunks;
+        private final int minY;
+        private final int maxY;
+
+        private WorldSnapshot(World world) {
+            this.world = world;
+            this.chunks = new LongMap<>();
+            this.minY = MinecraftVersions.CAVES_AND_CLIFFS_1.isAtLeast() ? world.getMinHeight() : 0;
+            this.maxY = world.getMaxHeight();
+        }
+
+        /**
+         * Captures every chunk between the given coordinates. Returns false if any of them is not
+         * loaded.
+         */
+        private boolean capture(double startX, double startZ, double endX, double endZ) {
+            int minChunkX = NumberUtil.floorToInt(Math.min(startX, endX)) >> 4;
+            int minChunkZ = NumberUtil.floorToInt(Math.min(startZ, endZ)) >> 4;
+            int maxChunkX = NumberUtil.floorToInt(Math.max(startX, endX)) >> 4;
+            int maxChunkZ = NumberUtil.floorToInt(Math.max(startZ, endZ)) >> 4;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    long key = EntityIndex.chunkKey(chunkX, chunkZ);
+                    if (chunks.containsKey(key))
+                        continue;
+                    if (!world.isChunkLoaded(chunkX, chunkZ))
+                        return false;
+
+                    chunks.put(key, world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Walks every block along the path, using the same traversal as RayTrace. Returns true if
+         * every block is air.
+         */
+        private boolean isAir(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+            int currentX = NumberUtil.floorToInt(startX);
+            int currentY = NumberUtil.floorToInt(startY);
+            int currentZ = NumberUtil.floorToInt(startZ);
+            if (!isAir(currentX, currentY, currentZ))
+                return false;
+
+            double directionX = endX - startX;
+            double directionY = endY - startY;
+            double directionZ = endZ - startZ;
+            int blockX = NumberUtil.signum(directionX);
+            int blockY = NumberUtil.signum(directionY);
+            int blockZ = NumberUtil.signum(directionZ);
+            double addX = blockX == 0 ? Double.MAX_VALUE : (double) blockX / directionX;
+            double addY = blockY == 0 ? Double.MAX_VALUE : (double) blockY / directionY;
+            double addZ = blockZ == 0 ? Double.MAX_VALUE : (double) blockZ / directionZ;
+            double maxX = addX * (blockX > 0 ? 1.0 - NumberUtil.fraction(startX) : NumberUtil.fraction(startX));
+            double maxY = addY * (blockY > 0 ? 1.0 - NumberUtil.fraction(startY) : NumberUtil.fraction(startY));
+            double maxZ = addZ * (blockZ > 0 ? 1.0 - NumberUtil.fraction(startZ) : NumberUtil.fraction(startZ));
+
+            while (maxX <= 1.0 || maxY <= 1.0 || maxZ <= 1.0) {
+                if (maxX < maxY) {
+                    if (maxX < maxZ) {
+                        currentX += blockX;
+                        maxX += addX;
+                    } else {
+                        currentZ += blockZ;
+                        maxZ += addZ;
+                    }
+                } else if (maxY < maxZ) {
+                    currentY += blockY;
+                    maxY += addY;
+                } else {
+                    currentZ += blockZ;
+                    maxZ += addZ;
+                }
+
+                if (!isAir(currentX, currentY, currentZ))
+                    return false;
+            }
+            return true;
+        }
+
+        private boolean isAir(int x, int y, int z) {
+            // RayTrace considers blocks outside the world as empty
+            if (y < minY || y >= maxY)
+                return true;
+
+            ChunkSnapshot chunk = chunks.get(EntityIndex.chunkKey(x >> 4, z >> 4));
+            return chunk != null && chunk.getBlockType(x & 15, y, z & 15).isAir();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package me.deecaad.weaponmechanics.weapon.projectile;
 
+import me.deecaad.core.compatibility.entity.FakeEntity;
+import me.deecaad.core.file.Configuration;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import org.bukkit.Bukkit;
@@ -7,9 +9,9 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -20,12 +22,31 @@ import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
  * stores the entities we need to tick, and the methods of this class are thread safe. The order in
  * which the projectiles are ticked is undefined, but every projectile is guaranteed to tick once
  * for every MC server tick.
+ *
+ * <p>
+ * Projectiles are stored in a dense array. Removed projectiles are replaced by the last
+ * projectile (swap-remove), so iteration never has to skip holes or follow list nodes.
  */
 public class ProjectilesRunnable extends BukkitRunnable {
 
-    private final LinkedList<AProjectile> projectiles;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    // Only modified on the main thread. Indices [0, size) are live projectiles
+    private AProjectile[] projectiles;
+    private int size;
+
+    // While ticking, projectiles before tickEnd have not all been ticked yet
+    // this tick. Projectiles added while ticking are placed after tickEnd.
+    private int tickEnd;
+
     private final LinkedBlockingQueue<AProjectile> asyncProjectiles;
     private final List<ProjectileScriptManager> managers;
+    private final ProjectileBroadPhase broadPhase;
+
+    // The minimum number of projectiles to run the broad phase, or -1 when
+    // it is disabled. Set by loadConfig, since the config is loaded after
+    // this runnable starts.
+    private int broadPhaseMinimum;
 
     /**
      * Initializes and registers this runnable. This runnable can be cancelled using {@link #cancel()}
@@ -39,9 +60,11 @@ public class ProjectilesRunnable extends BukkitRunnable {
      * @param plugin The non-null plugin
      */
     public ProjectilesRunnable(Plugin plugin) {
-        projectiles = new LinkedList<>();
+        projectiles = new AProjectile[DEFAULT_CAPACITY];
         asyncProjectiles = new LinkedBlockingQueue<>();
-        managers = new LinkedList<>();
+        managers = new ArrayList<>();
+        broadPhase = new ProjectileBroadPhase();
+        broadPhaseMinimum = -1;
 
         runTaskTimer(plugin, 0, 0);
     }
@@ -50,6 +73,16 @@ public class ProjectilesRunnable extends BukkitRunnable {
         managers.add(manager);
     }
 
+    /**
+     * Returns the number of projectiles currently being ticked. Projectiles added async are not
+     * counted until the next tick.
+     *
+     * @return The number of ticking projectiles.
+     */
+    public int getProjectileCount() {
+        return size;
+    }
+
     /**
      * Adds the given projectiles to be ticked. Projectile is instantly ticked once. On async call
      * ticking starts during the next tick. This method is threadsafe, and you may call this method
@@ -113,7 +146,51 @@ public class ProjectilesRunnable extends BukkitRunnable {
 
         // Since code reached this point, projectile didn't hit anything instantly
         // -> Add to the normal runnable
-        this.projectiles.add(projectile);
+        append(projectile);
+    }
+
+    /**
+     * Reads the <code>Projectiles.Parallel_Broad_Phase</code> options. WeaponMechanics calls this
+     * method every time config.yml is loaded. Until then, the broad phase is disabled.
+     *
+     * <p>
+     * The broad phase is opt-in, since capturing chunk snapshots only pays off when there are many
+     * projectiles.
+     *
+     * @param config The non-null basic configuration.
+     */
+    public void loadConfig(@NotNull Configuration config) {
+        if (!config.getBool("Projectiles.Parallel_Broad_Phase.Enabled") || !ProjectileBroadPhase.isSupported()) {
+            broadPhaseMinimum = -1;
+            return;
+        }
+
+        broadPhaseMinimum = Math.max(0, config.getInt("Projectiles.Parallel_Broad_Phase.Minimum_Projectiles", 256));
+        broadPhase.setMinimumPathLength(config.getDouble("Projectiles.Parallel_Broad_Phase.Minimum_Path_Length", 16.0));
+    }
+
+    private boolean isBroadPhaseEnabled() {
+        return broadPhaseMinimum >= 0 && size >= broadPhaseMinimum;
+    }
+
+    private void append(AProjectile projectile) {
+        if (size == projectiles.length)
+            projectiles = Arrays.copyOf(projectiles, size << 1);
+        projectiles[size++] = projectile;
+    }
+
+    /**
+     * Removes the projectile at the given index (which must be in the part of the array that is
+     * currently being ticked) by moving the last un-ticked projectile into its slot. Projectiles
+     * added during this tick are moved back so they stay after {@link #tickEnd}.
+     */
+    private void removeWhileTicking(int index) {
+        int lastUnticked = --tickEnd;
+        projectiles[index] = projectiles[lastUnticked];
+
+        int last = --size;
+        projectiles[lastUnticked] = projectiles[last];
+        projectiles[last] = null;
     }
 
     /**
@@ -127,32 +204,54 @@ public class ProjectilesRunnable extends BukkitRunnable {
             throw new IllegalStateException("Cannot tick projectiles asynchronously!");
 
         // Clears the async projectiles WHILE adding them to the normal projectiles
-        while (!asyncProjectiles.isEmpty()) {
-            AProjectile asyncProjectile = asyncProjectiles.remove();
-            projectiles.add(asyncProjectile);
+        AProjectile asyncProjectile;
+        while ((asyncProjectile = asyncProjectiles.poll()) != null) {
+            append(asyncProjectile);
 
             for (ProjectileScriptManager manager : managers)
                 manager.attach(asyncProjectile);
         }
 
-        Iterator<AProjectile> projectilesIterator = projectiles.iterator();
+        if (isBroadPhaseEnabled()) {
+            try {
+                broadPhase.run(projectiles, size);
+            } catch (Exception e) {
+                // Projectiles that were not marked as clear still do a full ray trace
+                debug.log(LogLevel.WARN, "Unhandled exception during projectile broad phase", e);
+            }
+        }
 
-        while (projectilesIterator.hasNext()) {
-            AProjectile projectile = projectilesIterator.next();
+        // Disguise packets are sent as 1 burst per player, instead of a
+        // few packets per projectile per player.
+        FakeEntity.bundle(this::tickProjectiles);
+    }
+
+    private void tickProjectiles() {
+
+        // Only tick the projectiles that existed at the start of this tick.
+        // Projectiles added while ticking were already ticked once by tickOnAdd.
+        int tickIndex = 0;
+        tickEnd = size;
+        while (tickIndex < tickEnd) {
+            AProjectile projectile = projectiles[tickIndex];
             try {
                 if (projectile.tick()) {
 
                     // Call the remove method of projectile
                     projectile.remove();
 
-                    // Remove the projectile from runnable
-                    projectilesIterator.remove();
+                    // Remove the projectile from runnable. The slot now holds
+                    // a projectile that hasn't ticked yet, so don't move on.
+                    removeWhileTicking(tickIndex);
+                    continue;
                 }
             } catch (Exception e) {
-                projectilesIterator.remove();
+                removeWhileTicking(tickIndex);
                 debug.log(LogLevel.WARN, "Unhandled exception while ticking projectiles! Removing projectile");
                 debug.log(LogLevel.WARN, "Removed Projectile: " + projectile, e);
+                continue;
             }
+            tickIndex++;
         }
     }
 }
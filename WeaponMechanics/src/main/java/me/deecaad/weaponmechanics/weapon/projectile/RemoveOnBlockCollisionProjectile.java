@@ -18,6 +18,11 @@ public class RemoveOnBlockCollisionProjectile extends AProjectile {
 
     private static final RayTrace rayTrace = new RayTrace().disableEntityChecks();
 
+    // Reused every tick for ray tracing
+    private final Vector scratchStart = new Vector();
+    private final Vector scratchEnd = new Vector();
+    private final Vector scratchDirection = new Vector();
+
     public RemoveOnBlockCollisionProjectile(Location location, Vector motion) {
         this(location, motion, null);
     }
@@ -30,15 +35,21 @@ public class RemoveOnBlockCollisionProjectile extends AProjectile {
 
     @Override
     public boolean updatePosition() {
-        Vector possibleNextLocation = getLocation().add(getMotion());
-        List<RayTraceResult> hits = rayTrace.cast(getWorld(), getLocation(), possibleNextLocation, getNormalizedMotion());
+        double nextX = getX() + getMotionX();
+        double nextY = getY() + getMotionY();
+        double nextZ = getZ() + getMotionZ();
+        scratchStart.setX(getX()).setY(getY()).setZ(getZ());
+        scratchEnd.setX(nextX).setY(nextY).setZ(nextZ);
+        List<RayTraceResult> hits = rayTrace.cast(getWorld(), scratchStart, scratchEnd, getNormalizedMotion(scratchDirection));
         if (hits != null) {
+            // This projectile is removed on the first hit, so the result can
+            // keep the scratch vectors.
             RayTraceResult firstHit = hits.get(0);
             setRawLocation(firstHit.getHitLocation());
             onCollide(firstHit);
             return true;
         }
-        setRawLocation(possibleNextLocation);
+        setRawLocation(nextX, nextY, nextZ);
         addDistanceTravelled(getMotionLength());
         return false;
     }
@@ -20,7 +20,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class Projectile implements Serializer<Projectile> {
 
@@ -98,7 +98,7 @@ public class Projectile implements Serializer<Projectile> {
         }
 
         // Handle explosions
-        Explosion explosion = getConfigurations().getObject(projectile.getWeaponTitle() + ".Explosion", Explosion.class);
+        Explosion explosion = getWeaponProfile(projectile.getWeaponTitle()).getExplosion();
         if (explosion != null)
             explosion.handleExplosion(projectile.getShooter(), projectile, ExplosionTrigger.SPAWN);
 
@@ -1,5 +1,6 @@
 package me.deecaad.weaponmechanics.weapon.projectile.weaponprojectile;
 
+import me.deecaad.core.utils.NumberUtil;
 import me.deecaad.core.utils.ray.BlockTraceResult;
 import me.deecaad.core.utils.ray.EntityTraceResult;
 import me.deecaad.core.utils.ray.RayTrace;
@@ -13,6 +14,7 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -51,6 +53,12 @@ public class WeaponProjectile extends AProjectile {
 
     private final RayTrace rayTrace;
 
+    // Reused every tick for ray tracing. Ray trace results keep references to
+    // these vectors, so they are replaced whenever the ray hits something.
+    private Vector scratchStart = new Vector();
+    private Vector scratchEnd = new Vector();
+    private Vector scratchDirection = new Vector();
+
     public WeaponProjectile(ProjectileSettings projectileSettings, LivingEntity shooter, Location location,
         Vector motion, ItemStack weaponStack, String weaponTitle, EquipmentSlot hand,
         Sticky sticky, Through through, Bouncy bouncy) {
@@ -220,6 +228,22 @@ public class WeaponProjectile extends AProjectile {
             return projectileSettings.getDecrease();
     }
 
+    @Override
+    public double getMaximumDrag() {
+        double water = projectileSettings.getDecreaseInWater();
+        double weather = projectileSettings.getDecreaseWhenRainingOrSnowing();
+        double decrease = projectileSettings.getDecrease();
+        if (water < 0 || weather < 0 || decrease < 0)
+            return -1.0;
+        return Math.max(decrease, Math.max(water, weather));
+    }
+
+    @Override
+    public boolean canUseBroadPhase() {
+        // Sticked and rolling projectiles don't move along their motion
+        return stickedData == null && !rolling;
+    }
+
     @Override
     public int getMaximumAliveTicks() {
         return projectileSettings.getMaximumAliveTicks();
@@ -330,8 +354,10 @@ public class WeaponProjectile extends AProjectile {
     @Override
     public boolean updatePosition() {
 
-        Vector possibleNextLocation = getLocation().add(getMotion());
-        if (!getWorld().isChunkLoaded(possibleNextLocation.getBlockX() >> 4, possibleNextLocation.getBlockZ() >> 4)) {
+        double nextX = getX() + getMotionX();
+        double nextY = getY() + getMotionY();
+        double nextZ = getZ() + getMotionZ();
+        if (!getWorld().isChunkLoaded(NumberUtil.floorToInt(nextX) >> 4, NumberUtil.floorToInt(nextZ) >> 4)) {
             // Remove projectile if next location would be in unloaded chunk
             return true;
         }
@@ -344,7 +370,8 @@ public class WeaponProjectile extends AProjectile {
             } else if (!stickedData.isBlockStick()) {
                 // Update location and update distance travelled if living entity
                 setRawLocation(newLocation);
-                addDistanceTravelled(getLastLocation().distance(newLocation));
+                addDistanceTravelled(Math.sqrt(NumberConversions.square(getLastX() - newLocation.getX()) + NumberConversions.square(getLastY() - newLocation.getY())
+                    + NumberConversions.square(getLastZ() - newLocation.getZ())));
                 return hasTravelledMaximumDistance();
             }
             return false;
@@ -356,8 +383,12 @@ public class WeaponProjectile extends AProjectile {
 
         // Returns sorted list of hits
 
-        List<RayTraceResult> hits = rayTrace.cast(getWorld(), getLocation(), possibleNextLocation, getNormalizedMotion(),
-            through == null ? 0.0 : through.getMaximumThroughAmount());
+        scratchStart.setX(getX()).setY(getY()).setZ(getZ());
+        scratchEnd.setX(nextX).setY(nextY).setZ(nextZ);
+        // When the broad phase found nothing to collide with, skip the ray trace
+        List<RayTraceResult> hits = isPathClear() ? null
+            : rayTrace.cast(getWorld(), scratchStart, scratchEnd, getNormalizedMotion(scratchDirection),
+                through == null ? 0.0 : through.getMaximumThroughAmount());
         if (hits == null) {
 
             // Check if can't keep rolling
@@ -365,12 +396,17 @@ public class WeaponProjectile extends AProjectile {
                 return true;
 
             // No hits, simply update location and distance travelled
-            setRawLocation(possibleNextLocation);
+            setRawLocation(nextX, nextY, nextZ);
             addDistanceTravelled(getMotionLength());
 
             return hasTravelledMaximumDistance();
         }
 
+        // The hits still reference the scratch vectors
+        scratchStart = new Vector();
+        scratchEnd = new Vector();
+        scratchDirection = new Vector();
+
         double distanceAlreadyAdded = 0;
 
         for (RayTraceResult hit : hits) {
@@ -438,7 +474,7 @@ public class WeaponProjectile extends AProjectile {
 
         // Here we know that projectile didn't die on any collision.
         // We still have to update the location to last possible location.
-        setRawLocation(possibleNextLocation);
+        setRawLocation(nextX, nextY, nextZ);
         addDistanceTravelled(getMotionLength() - distanceAlreadyAdded);
 
         return hasTravelledMaximumDistance();
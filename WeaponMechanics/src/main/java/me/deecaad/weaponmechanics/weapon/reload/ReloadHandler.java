@@ -1,6 +1,7 @@
 package me.deecaad.weaponmechanics.weapon.reload;
 
 import me.deecaad.core.MechanicsCore;
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import me.deecaad.core.file.*;
 import me.deecaad.core.mechanics.CastData;
 import me.deecaad.core.mechanics.Mechanics;
@@ -39,6 +40,7 @@ import java.util.List;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getBasicConfigurations;
 import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class ReloadHandler implements IValidator, TriggerListener {
 
@@ -149,7 +151,7 @@ public class ReloadHandler implements IValidator, TriggerListener {
         }
 
         PlayerWrapper playerWrapper = shooter.getType() != EntityType.PLAYER ? null : (PlayerWrapper) entityWrapper;
-        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
 
         FirearmAction firearmAction = config.getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
         FirearmState state = null;
@@ -398,7 +400,7 @@ public class ReloadHandler implements IValidator, TriggerListener {
                 event.useMechanics(new CastData(shooter, weaponTitle, weaponStack, handData::addReloadTask), true);
 
                 if (entityWrapper instanceof PlayerWrapper) {
-                    WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+                    WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
                     if (weaponInfoDisplay != null)
                         weaponInfoDisplay.send((PlayerWrapper) entityWrapper, slot);
                 }
@@ -443,7 +445,7 @@ public class ReloadHandler implements IValidator, TriggerListener {
                 event.useMechanics(new CastData(shooter, weaponTitle, weaponStack, handData::addReloadTask), false);
 
                 if (entityWrapper instanceof PlayerWrapper) {
-                    WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+                    WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
                     if (weaponInfoDisplay != null)
                         weaponInfoDisplay.send((PlayerWrapper) entityWrapper, slot);
                 }
@@ -466,7 +468,7 @@ public class ReloadHandler implements IValidator, TriggerListener {
             reloadFinishMechanics.use(new CastData(entityWrapper.getEntity(), weaponTitle, weaponStack));
 
         if (entityWrapper instanceof PlayerWrapper) {
-            WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+            WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
             if (weaponInfoDisplay != null)
                 weaponInfoDisplay.send((PlayerWrapper) entityWrapper, slot);
         }
@@ -486,30 +488,61 @@ public class ReloadHandler implements IValidator, TriggerListener {
         if (!weaponStack.hasItemMeta())
             return 0;
 
-        if (weaponTitle == null && CustomTag.WEAPON_TITLE.hasString(weaponStack)) {
-            weaponTitle = CustomTag.WEAPON_TITLE.getString(weaponStack);
+        ItemTagView view = CustomTag.view(weaponStack);
+        int ammoLeft = getAmmoLeft(view, weaponTitle);
+        view.commit();
+        return ammoLeft;
+    }
+
+    /**
+     * Returns ammo left in weapon. If returned value is -1, then ammo is not used in this weapon
+     * stack. The view may be modified, so it should be committed after this call.
+     *
+     * @param view the tags of the weapon stack
+     * @param weaponTitle the weapon title
+     * @return -1 if infinity, otherwise current ammo amount
+     */
+    public int getAmmoLeft(ItemTagView view, String weaponTitle) {
+        // If something odd happens...
+        if (!view.getItem().hasItemMeta())
+            return 0;
+
+        if (weaponTitle == null && CustomTag.WEAPON_TITLE.hasString(view)) {
+            weaponTitle = CustomTag.WEAPON_TITLE.getString(view);
         }
         if (weaponTitle == null)
             return -1;
 
         // If ammo is disabled for this weapon
-        if (getConfigurations().getInt(weaponTitle + ".Reload.Magazine_Size") == 0)
+        if (getWeaponProfile(weaponTitle).getMagazineSize() == 0)
             return -1;
 
-        if (!CustomTag.AMMO_LEFT.hasInteger(weaponStack)) {
+        if (!CustomTag.AMMO_LEFT.hasInteger(view)) {
             // If the ammo was added later on, add the tag
-            CustomTag.AMMO_LEFT.setInteger(weaponStack, 0);
+            CustomTag.AMMO_LEFT.setInteger(view, 0);
             return 0;
         }
 
-        return CustomTag.AMMO_LEFT.getInteger(weaponStack);
+        return CustomTag.AMMO_LEFT.getInteger(view);
     }
 
     /**
      * @return false if can't consume ammo (no enough ammo left)
      */
     public boolean consumeAmmo(ItemStack weaponStack, String weaponTitle, int amount) {
-        int ammoLeft = getAmmoLeft(weaponStack, weaponTitle);
+        ItemTagView view = CustomTag.view(weaponStack);
+        boolean consumed = consumeAmmo(view, weaponTitle, amount);
+        view.commit();
+        return consumed;
+    }
+
+    /**
+     * The view may be modified, so it should be committed after this call.
+     *
+     * @return false if can't consume ammo (no enough ammo left)
+     */
+    public boolean consumeAmmo(ItemTagView view, String weaponTitle, int amount) {
+        int ammoLeft = getAmmoLeft(view, weaponTitle);
 
         // -1 means infinite ammo
         if (ammoLeft != -1) {
@@ -521,7 +554,7 @@ public class ReloadHandler implements IValidator, TriggerListener {
                 return false;
             }
 
-            CustomTag.AMMO_LEFT.setInteger(weaponStack, ammoToSet);
+            CustomTag.AMMO_LEFT.setInteger(view, ammoToSet);
         }
         return true;
     }
@@ -1,6 +1,7 @@
 package me.deecaad.weaponmechanics.weapon.shoot;
 
 import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import me.deecaad.core.file.SerializeData;
 import me.deecaad.core.file.Serializer;
 import me.deecaad.core.file.SerializerException;
@@ -239,7 +240,9 @@ public class CustomDurability implements Serializer<CustomDurability> {
      * @return true if the item was broken.
      */
     public boolean use(LivingEntity entity, ItemStack item, String weaponTitle) {
-        ItemMeta meta = item.getItemMeta();
+        // Unbreaking and durability are read from the same copy of the meta
+        ItemTagView view = CustomTag.view(item);
+        ItemMeta meta = view.getItemMeta();
 
         // Check chance and unbreaking.
         int unbreakingLevel = meta == null ? 0 : meta.getEnchantLevel(UNBREAKING_ENCHANTMENT);
@@ -248,16 +251,23 @@ public class CustomDurability implements Serializer<CustomDurability> {
 
         // Durability has never been applied to the weapon, so we need to
         // set the max durability - durabilityPerShot
-        if (!CustomTag.DURABILITY.hasInteger(item)) {
-            CustomTag.DURABILITY.setInteger(item, maxDurability - durabilityPerShot);
-            CustomTag.MAX_DURABILITY.setInteger(item, maxDurability);
+        if (!CustomTag.DURABILITY.hasInteger(view)) {
+            CustomTag.DURABILITY.setInteger(view, maxDurability - durabilityPerShot);
+            CustomTag.MAX_DURABILITY.setInteger(view, maxDurability);
+            view.commit();
             return false;
         }
 
-        int durability = CustomTag.DURABILITY.getInteger(item) - durabilityPerShot;
+        int durability = CustomTag.DURABILITY.getInteger(view) - durabilityPerShot;
         if (durability > 0) {
-            if (durabilityMechanics != null)
-                durabilityMechanics.use(new CastData(entity, weaponTitle, item));
+            if (durabilityMechanics == null) {
+                CustomTag.DURABILITY.setInteger(view, durability);
+                view.commit();
+                return false;
+            }
+
+            // Mechanics may change the item, so the old view is not committed
+            durabilityMechanics.use(new CastData(entity, weaponTitle, item));
             CustomTag.DURABILITY.setInteger(item, durability);
             return false;
         }
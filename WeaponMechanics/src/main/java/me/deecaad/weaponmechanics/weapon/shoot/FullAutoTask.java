@@ -1,8 +1,10 @@
 package me.deecaad.weaponmechanics.weapon.shoot;
 
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.weaponmechanics.weapon.WeaponProfile;
 import me.deecaad.weaponmechanics.weapon.trigger.Trigger;
 import me.deecaad.weaponmechanics.weapon.trigger.TriggerType;
 import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
@@ -12,7 +14,7 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 /**
  * This task handles firing projectiles every <code>N</code> ticks. 1 of these tasks is created
@@ -110,9 +112,10 @@ public class FullAutoTask extends BukkitRunnable {
         this.rate = shotsPerSecond % 20;
         this.perShot = shotsPerSecond / 20;
 
-        trigger = getConfigurations().getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
-        consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
-        ammoPerShot = getConfigurations().getInt(weaponTitle + ".Shoot.Ammo_Per_Shot", 1);
+        WeaponProfile profile = getWeaponProfile(weaponTitle);
+        trigger = profile.getShootTrigger();
+        consumeItemOnShoot = profile.isConsumeItemOnShoot();
+        ammoPerShot = profile.getAmmoPerShot();
     }
 
     public EntityWrapper getEntityWrapper() {
@@ -168,9 +171,12 @@ public class FullAutoTask extends BukkitRunnable {
             return;
         }
 
-        int ammoLeft = weaponHandler.getReloadHandler().getAmmoLeft(taskReference, weaponTitle);
+        // Reading and consuming ammo uses 1 copy of the item meta
+        ItemTagView view = CustomTag.view(taskReference);
+        int ammoLeft = weaponHandler.getReloadHandler().getAmmoLeft(view, weaponTitle);
 
         if (!weaponHandler.getShootHandler().keepFullAutoOn(entityWrapper, triggerType, trigger)) {
+            view.commit();
             handData.setFullAutoTask(null, 0);
             cancel();
 
@@ -195,17 +201,21 @@ public class FullAutoTask extends BukkitRunnable {
                 shootAmount = ammoLeft;
             }
 
-            if (!weaponHandler.getReloadHandler().consumeAmmo(taskReference, weaponTitle, shootAmount * ammoPerShot)) {
+            boolean consumed = weaponHandler.getReloadHandler().consumeAmmo(view, weaponTitle, shootAmount * ammoPerShot);
+            view.commit();
+            if (!consumed) {
                 handData.setFullAutoTask(null, 0);
                 cancel();
 
                 weaponHandler.getShootHandler().startReloadIfBothWeaponsEmpty(entityWrapper, weaponTitle, taskReference, mainHand ? EquipmentSlot.HAND : EquipmentSlot.OFF_HAND, dualWield, false);
                 return;
             }
+        } else {
+            view.commit();
         }
         // END RELOAD STUFF
 
-        boolean destroyWhenEmpty = WeaponMechanics.getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty");
+        boolean destroyWhenEmpty = WeaponMechanics.getWeaponProfile(weaponTitle).isDestroyWhenEmpty();
         for (int i = 0; i < shootAmount; ++i) {
             Location shootLocation = weaponHandler.getShootHandler().getShootLocation(entityWrapper, weaponTitle, mainHand);
             weaponHandler.getShootHandler().shoot(entityWrapper, weaponTitle, taskReference, shootLocation, mainHand, true, false);
@@ -2,6 +2,7 @@ package me.deecaad.weaponmechanics.weapon.shoot;
 
 import me.deecaad.core.MechanicsCore;
 import me.deecaad.core.compatibility.CompatibilityAPI;
+import me.deecaad.core.compatibility.nbt.ItemTagView;
 import me.deecaad.core.compatibility.worldguard.WorldGuardCompatibility;
 import me.deecaad.core.file.*;
 import me.deecaad.core.mechanics.CastData;
@@ -13,6 +14,7 @@ import me.deecaad.core.utils.StringUtil;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.utils.CustomTag;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.weaponmechanics.weapon.WeaponProfile;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmAction;
 import me.deecaad.weaponmechanics.weapon.firearm.FirearmState;
 import me.deecaad.weaponmechanics.weapon.info.WeaponInfoDisplay;
@@ -71,7 +73,7 @@ public class ShootHandler implements IValidator, TriggerListener {
             return weaponHandler.getMeleeHandler().tryUse(entityWrapper, weaponTitle, weaponStack, slot, triggerType, dualWield, knownVictim);
         }
 
-        Trigger trigger = getConfigurations().getObject(weaponTitle + ".Shoot.Trigger", Trigger.class);
+        Trigger trigger = getWeaponProfile(weaponTitle).getShootTrigger();
         if (trigger == null || !trigger.check(triggerType, slot, entityWrapper))
             return false;
 
@@ -90,7 +92,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         if (handData.isUsingFullAuto() || handData.isUsingBurst())
             return false;
 
-        Configuration config = getConfigurations();
+        WeaponProfile profile = getWeaponProfile(weaponTitle);
 
         WeaponPreShootEvent preShootEvent = new WeaponPreShootEvent(weaponTitle, weaponStack, entityWrapper.getEntity(), slot);
         Bukkit.getPluginManager().callEvent(preShootEvent);
@@ -127,11 +129,18 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         ReloadHandler reloadHandler = weaponHandler.getReloadHandler();
 
-        if (!getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot")) {
+        if (!profile.isConsumeItemOnShoot()) {
             reloadHandler.handleWeaponStackAmount(entityWrapper, weaponStack);
         }
 
-        int ammoLeft = reloadHandler.getAmmoLeft(weaponStack, weaponTitle);
+        // Read every tag the shot needs from 1 copy of the item meta
+        FirearmAction firearmAction = profile.getFirearmAction();
+        boolean usesSelectiveFire = profile.getSelectiveFireTrigger() != null;
+        ItemTagView view = CustomTag.view(weaponStack);
+        int ammoLeft = reloadHandler.getAmmoLeft(view, weaponTitle);
+        FirearmState firearmState = firearmAction == null ? FirearmState.READY : firearmAction.getState(view);
+        int selectiveFireStateId = usesSelectiveFire ? CustomTag.SELECTIVE_FIRE.getInteger(view) : 0;
+        view.commit();
 
         // RELOAD START
 
@@ -145,10 +154,8 @@ public class ShootHandler implements IValidator, TriggerListener {
         }
 
         // FIREARM START
-        FirearmAction firearmAction = config.getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
         if (firearmAction != null) {
-            FirearmState state = firearmAction.getState(weaponStack);
-            if (state != FirearmState.READY) {
+            if (firearmState != FirearmState.READY) {
                 // Firearm actions were left OPEN or CLOSE
 
                 if (ammoLeft > 0) {
@@ -181,10 +188,8 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         // RELOAD END
 
-        boolean usesSelectiveFire = config.getObject(weaponTitle + ".Shoot.Selective_Fire.Trigger", Trigger.class) != null;
         SelectiveFireState selectiveFireState = SelectiveFireState.SINGLE;
         if (usesSelectiveFire) {
-            int selectiveFireStateId = CustomTag.SELECTIVE_FIRE.getInteger(weaponStack);
             if (selectiveFireStateId >= 0 && selectiveFireStateId < SelectiveFireState.count()) {
                 selectiveFireState = SelectiveFireState.getState(selectiveFireStateId);
             }
@@ -192,20 +197,20 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         // Only check if selective fire doesn't have auto selected and it isn't melee
         if (selectiveFireState != SelectiveFireState.AUTO && !isMelee) {
-            int delayBetweenShots = config.getInt(weaponTitle + ".Shoot.Delay_Between_Shots");
+            int delayBetweenShots = profile.getDelayBetweenShots();
             if (delayBetweenShots != 0 && !NumberUtil.hasMillisPassed(handData.getLastShotTime(), delayBetweenShots))
                 return false;
         }
 
-        int weaponEquipDelay = config.getInt(weaponTitle + ".Info.Weapon_Equip_Delay");
+        int weaponEquipDelay = profile.getWeaponEquipDelay();
         if (weaponEquipDelay != 0 && !NumberUtil.hasMillisPassed(handData.getLastEquipTime(), weaponEquipDelay))
             return false;
 
-        int shootDelayAfterScope = config.getInt(weaponTitle + ".Scope.Shoot_Delay_After_Scope");
+        int shootDelayAfterScope = profile.getShootDelayAfterScope();
         if (shootDelayAfterScope != 0 && !NumberUtil.hasMillisPassed(handData.getLastScopeTime(), shootDelayAfterScope))
             return false;
 
-        int shootDelayAfterReload = config.getInt(weaponTitle + ".Reload.Shoot_Delay_After_Reload");
+        int shootDelayAfterReload = profile.getShootDelayAfterReload();
         if (shootDelayAfterReload != 0 && !NumberUtil.hasMillisPassed(handData.getLastReloadTime(), shootDelayAfterReload))
             return false;
 
@@ -230,8 +235,9 @@ public class ShootHandler implements IValidator, TriggerListener {
 
     private boolean singleShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield, boolean isMelee) {
         boolean mainhand = slot == EquipmentSlot.HAND;
-        boolean consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
-        int ammoPerShot = getConfigurations().getInt(weaponTitle + ".Shoot.Ammo_Per_Shot", 1);
+        WeaponProfile profile = getWeaponProfile(weaponTitle);
+        boolean consumeItemOnShoot = profile.isConsumeItemOnShoot();
+        int ammoPerShot = profile.getAmmoPerShot();
 
         // START RELOAD STUFF
 
@@ -243,12 +249,17 @@ public class ShootHandler implements IValidator, TriggerListener {
 
         shoot(entityWrapper, weaponTitle, weaponStack, getShootLocation(entityWrapper, weaponTitle, mainhand), mainhand, true, isMelee);
 
-        boolean consumeEmpty = getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty") && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
+        // The shot may have changed the item (durability, events), so open a new view
+        ItemTagView view = CustomTag.view(weaponStack);
+        boolean consumeEmpty = profile.isDestroyWhenEmpty() && CustomTag.AMMO_LEFT.getInteger(view) == 0;
+        int ammoLeft = reloadHandler.getAmmoLeft(view, weaponTitle);
+        view.commit();
+
         if ((consumeEmpty || consumeItemOnShoot) && handleConsumeItemOnShoot(weaponStack, mainhand ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData())) {
             return true;
         }
 
-        if (reloadHandler.getAmmoLeft(weaponStack, weaponTitle) == 0) {
+        if (ammoLeft == 0) {
             startReloadIfBothWeaponsEmpty(entityWrapper, weaponTitle, weaponStack, slot, dualWield, false);
         } else {
             doShootFirearmActions(entityWrapper, weaponTitle, weaponStack, handData, slot);
@@ -258,17 +269,17 @@ public class ShootHandler implements IValidator, TriggerListener {
     }
 
     private boolean burstShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, boolean dualWield) {
-        Configuration config = getConfigurations();
-        int shotsPerBurst = config.getInt(weaponTitle + ".Shoot.Burst.Shots_Per_Burst");
-        int ticksBetweenEachShot = config.getInt(weaponTitle + ".Shoot.Burst.Ticks_Between_Each_Shot");
+        WeaponProfile profile = getWeaponProfile(weaponTitle);
+        int shotsPerBurst = profile.getShotsPerBurst();
+        int ticksBetweenEachShot = profile.getTicksBetweenEachShot();
 
         // Not used
         if (shotsPerBurst == 0 || ticksBetweenEachShot == 0)
             return false;
 
         boolean mainhand = slot == EquipmentSlot.HAND;
-        boolean consumeItemOnShoot = getConfigurations().getBool(weaponTitle + ".Shoot.Consume_Item_On_Shoot");
-        int ammoPerShot = getConfigurations().getInt(weaponTitle + ".Shoot.Ammo_Per_Shot", 1);
+        boolean consumeItemOnShoot = profile.isConsumeItemOnShoot();
+        int ammoPerShot = profile.getAmmoPerShot();
 
         handData.setBurstTask(new BukkitRunnable() {
             int shots = 0;
@@ -305,7 +316,7 @@ public class ShootHandler implements IValidator, TriggerListener {
                 // Only make the first projectile of burst modify spread change if its used
                 shoot(entityWrapper, weaponTitle, taskReference, getShootLocation(entityWrapper, weaponTitle, mainhand), mainhand, shots == 0, false);
 
-                boolean consumeEmpty = getConfigurations().getBool(weaponTitle + ".Shoot.Destroy_When_Empty") && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
+                boolean consumeEmpty = profile.isDestroyWhenEmpty() && CustomTag.AMMO_LEFT.getInteger(weaponStack) == 0;
                 if ((consumeEmpty || consumeItemOnShoot) && handleConsumeItemOnShoot(weaponStack, mainhand ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData())) {
                     return;
                 }
@@ -326,8 +337,7 @@ public class ShootHandler implements IValidator, TriggerListener {
     }
 
     private boolean fullAutoShot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot, TriggerType triggerType, boolean dualWield) {
-        Configuration config = getConfigurations();
-        int fullyAutomaticShotsPerSecond = config.getInt(weaponTitle + ".Shoot.Fully_Automatic_Shots_Per_Second");
+        int fullyAutomaticShotsPerSecond = getWeaponProfile(weaponTitle).getFullyAutomaticShotsPerSecond();
 
         // Call event before checking if full auto is used, so weapons can be converted to Full Auto
         WeaponFullAutoEvent event = new WeaponFullAutoEvent(weaponTitle, weaponStack, entityWrapper.getEntity(), slot, fullyAutomaticShotsPerSecond);
@@ -346,7 +356,7 @@ public class ShootHandler implements IValidator, TriggerListener {
     }
 
     public void doShootFirearmActions(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, HandData handData, EquipmentSlot slot) {
-        FirearmAction firearmAction = getConfigurations().getObject(weaponTitle + ".Firearm_Action", FirearmAction.class);
+        FirearmAction firearmAction = getWeaponProfile(weaponTitle).getFirearmAction();
         if (firearmAction == null || handData.hasRunningFirearmAction())
             return;
 
@@ -362,7 +372,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         boolean mainhand = slot == EquipmentSlot.HAND;
         LivingEntity shooter = entityWrapper.getEntity();
         PlayerWrapper playerWrapper = shooter.getType() != EntityType.PLAYER ? null : (PlayerWrapper) entityWrapper;
-        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+        WeaponInfoDisplay weaponInfoDisplay = playerWrapper == null ? null : getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
 
         // Initiate CLOSE task
         BukkitRunnable closeRunnable = new BukkitRunnable() {
@@ -502,17 +512,17 @@ public class ShootHandler implements IValidator, TriggerListener {
      * Shoots using weapon. Does not use ammo nor check for it.
      */
     public void shoot(EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, Location shootLocation, boolean mainHand, boolean updateSpreadChange, boolean isMelee) {
-        Configuration config = getConfigurations();
+        WeaponProfile profile = getWeaponProfile(weaponTitle);
         LivingEntity livingEntity = entityWrapper.getEntity();
         EquipmentSlot slot = mainHand ? EquipmentSlot.HAND : EquipmentSlot.OFF_HAND;
 
-        Mechanics shootMechanics = config.getObject(weaponTitle + ".Shoot.Mechanics", Mechanics.class);
-        boolean resetFallDistance = config.getBool(weaponTitle + ".Shoot.Reset_Fall_Distance");
-        Projectile projectile = config.getObject(weaponTitle + ".Projectile", Projectile.class);
-        double projectileSpeed = config.getDouble(weaponTitle + ".Shoot.Projectile_Speed");
-        int projectileAmount = config.getInt(weaponTitle + ".Shoot.Projectiles_Per_Shot");
-        Spread spread = config.getObject(weaponTitle + ".Shoot.Spread", Spread.class);
-        Recoil recoil = config.getObject(weaponTitle + ".Shoot.Recoil", Recoil.class);
+        Mechanics shootMechanics = profile.getShootMechanics();
+        boolean resetFallDistance = profile.isResetFallDistance();
+        Projectile projectile = profile.getProjectile();
+        double projectileSpeed = profile.getProjectileSpeed();
+        int projectileAmount = profile.getProjectilesPerShot();
+        Spread spread = profile.getSpread();
+        Recoil recoil = profile.getRecoil();
 
         PrepareWeaponShootEvent prepareEvent = new PrepareWeaponShootEvent(
             weaponTitle, weaponStack, entityWrapper.getEntity(), slot,
@@ -539,7 +549,7 @@ public class ShootHandler implements IValidator, TriggerListener {
             if (playerWrapper.getStatsData() != null)
                 playerWrapper.getStatsData().add(weaponTitle, WeaponStat.SHOTS, 1);
 
-            WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+            WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
             if (weaponInfoDisplay != null)
                 weaponInfoDisplay.send(playerWrapper, slot);
         }
@@ -599,7 +609,7 @@ public class ShootHandler implements IValidator, TriggerListener {
         }
 
         // Apply custom durability
-        CustomDurability durability = config.getObject(weaponTitle + ".Shoot.Custom_Durability", CustomDurability.class);
+        CustomDurability durability = profile.getCustomDurability();
         if (durability != null) {
             boolean broke = durability.use(livingEntity, weaponStack, weaponTitle);
 
@@ -607,7 +617,7 @@ public class ShootHandler implements IValidator, TriggerListener {
                 entityWrapper.getHandData(mainHand).cancelTasks();
         }
 
-        boolean unscopeAfterShot = config.getBool(weaponTitle + ".Scope.Unscope_After_Shot");
+        boolean unscopeAfterShot = profile.isUnscopeAfterShot();
         WeaponPostShootEvent event = new WeaponPostShootEvent(weaponTitle, weaponStack, entityWrapper.getEntity(), slot, unscopeAfterShot);
         Bukkit.getPluginManager().callEvent(event);
 
@@ -693,7 +703,7 @@ public class ShootHandler implements IValidator, TriggerListener {
      * @return the location to shoot from
      */
     public Location getShootLocation(EntityWrapper shooter, String weaponTitle, boolean mainhand) {
-        ShootLocationChooser offsets = getConfigurations().getObject(weaponTitle + ".Shoot.Offsets", ShootLocationChooser.class);
+        ShootLocationChooser offsets = getWeaponProfile(weaponTitle).getOffsets();
         if (offsets != null) {
             return offsets.offset(shooter, mainhand);
         }
@@ -10,7 +10,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 
-import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class SkinHandler {
 
@@ -34,7 +34,7 @@ public class SkinHandler {
 
     public boolean tryUse(TriggerType triggerType, EntityWrapper entityWrapper, String weaponTitle, ItemStack weaponStack, EquipmentSlot slot, boolean forceDefault) {
         HandData hand = slot == EquipmentSlot.HAND ? entityWrapper.getMainHandData() : entityWrapper.getOffHandData();
-        SkinSelector skins = getConfigurations().getObject(weaponTitle + ".Skin", SkinSelector.class);
+        SkinSelector skins = getWeaponProfile(weaponTitle).getSkin();
         if (skins == null || !weaponStack.hasItemMeta())
             return false;
 
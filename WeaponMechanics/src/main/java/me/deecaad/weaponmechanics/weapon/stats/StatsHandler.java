@@ -1,24 +1,32 @@
 package me.deecaad.weaponmechanics.weapon.stats;
 
 import me.deecaad.core.database.Database;
+import me.deecaad.core.file.Configuration;
 import me.deecaad.core.utils.LogLevel;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.WeaponHandler;
+import me.deecaad.weaponmechanics.wrappers.EntityWrapper;
 import me.deecaad.weaponmechanics.wrappers.PlayerWrapper;
 import me.deecaad.weaponmechanics.wrappers.StatsData;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class StatsHandler {
 
     private WeaponHandler weaponHandler;
-    private StringBuilder generatedReplaceWeaponStats;
-    private StringBuilder generatedReplacePlayerStats;
+    private StatsWriter writer;
+    private BukkitTask flushTask;
+    private int maxPendingRows;
 
     public StatsHandler(WeaponHandler weaponHandler) {
         this.weaponHandler = weaponHandler;
-        generateReplaces();
     }
 
     /**
@@ -44,6 +52,68 @@ public class StatsHandler {
         fetchAndInsertPlayerStats(database, playerWrapper.getPlayer().getUniqueId(), statsData);
     }
 
+    /**
+     * Starts writing stats to the given database. Rows left in the journal (by a crash, or by a
+     * database failure) are written first.
+     *
+     * @param database the database to write to
+     * @param journal the file used as the write-behind journal
+     * @param config config.yml
+     */
+    public void start(Database database, File journal, Configuration config) {
+        if (writer != null)
+            throw new IllegalStateException("Stats writer already started");
+
+        writer = new StatsWriter(database, journal);
+        int replayed = writer.replayJournal();
+        if (replayed != 0)
+            WeaponMechanics.debug.info("Recovered " + replayed + " stats rows from " + journal.getName());
+        writer.start();
+
+        maxPendingRows = config.getInt("Database.Max_Pending_Rows", 10000);
+        int flushInterval = config.getInt("Database.Flush_Interval", 1200);
+        if (flushInterval > 0) {
+            flushTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    saveChanges();
+                }
+            }.runTaskTimer(WeaponMechanics.getPlugin(), flushInterval, flushInterval);
+        }
+    }
+
+    /**
+     * Saves every changed stat, and waits until they are written. Has to be called before the
+     * database is closed.
+     */
+    public void stop() {
+        if (writer == null)
+            return;
+
+        if (flushTask != null)
+            flushTask.cancel();
+        flushTask = null;
+
+        writer.stop();
+        writer = null;
+    }
+
+    /**
+     * Queues the changed stats of every online player to be saved. Used periodically, so the stats
+     * of players that don't leave are saved too. When the database can't keep up, nothing is queued
+     * and the changes are kept until the next time.
+     */
+    public void saveChanges() {
+        if (writer == null || writer.getPendingRows() >= maxPendingRows)
+            return;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            EntityWrapper wrapper = WeaponMechanics.getEntityWrapper(player, true);
+            if (wrapper instanceof PlayerWrapper playerWrapper)
+                queueChanges(playerWrapper);
+        }
+    }
+
     /**
      * Saves data from player wrapper to database
      *
@@ -52,141 +122,58 @@ public class StatsHandler {
      */
     public void save(PlayerWrapper playerWrapper, boolean forceSync) {
         Database database = WeaponMechanics.getDatabase();
-        if (database == null)
+        if (database == null || writer == null)
             return;
 
         if (database.isClosed())
             throw new IllegalArgumentException("Tried to save data when database was closed");
 
-        StatsData statsData = playerWrapper.getStatsData();
-        // This might be null if sync didn't occur...
-        if (statsData == null)
-            return;
+        // Quitting players are always queued, their changes can't be saved later
+        queueChanges(playerWrapper);
 
-        database.executeUpdate(forceSync, getSaveStrings(playerWrapper));
+        if (forceSync)
+            writer.flush();
     }
 
-    private String[] getSaveStrings(PlayerWrapper playerWrapper) {
+    /**
+     * Queues a row for the player stats, and for every weapon, that changed since the last save.
+     * The rows are copied on the main thread, so the writer thread never reads stats data.
+     */
+    private void queueChanges(PlayerWrapper playerWrapper) {
         StatsData statsData = playerWrapper.getStatsData();
-        if (statsData == null)
-            return null;
-
-        if (!statsData.isSync())
-            throw new IllegalArgumentException("Tried to use REPLACE when player stat data wasn't yet synced");
-
-        Set<String> weapons = statsData.getWeapons();
-        if (weapons == null || weapons.isEmpty())
-            return new String[]{getPlayerStatReplaceString(playerWrapper)};
-
-        String[] batches = new String[weapons.size() + 1];
-
-        // Create batch for every weapon...
-        int i = 0;
-        for (String weapon : weapons) {
-
-            StringBuilder builder = new StringBuilder(generatedReplaceWeaponStats);
-
-            WeaponStat[] array = WeaponStat.VALUES;
-            for (int j = 0; j < array.length; ++j) {
-                WeaponStat stat = array[j];
-                if (j != 0) {
-                    builder.append(", ");
-                }
-                Class<?> type = stat.getClassType();
-                if (type == String.class) {
-                    Object value = statsData.get(weapon, stat);
-                    if (value == null) {
-                        // Append SQL null value
-                        builder.append("NULL");
-                    } else {
-                        builder.append("'")
-                            .append(value)
-                            .append("'");
-                    }
-                } else if (type == Set.class) {
-                    Set<?> value = (Set<?>) statsData.get(weapon, stat);
-                    if (value == null) {
-                        // Append SQL null value
-                        builder.append("NULL");
-                    } else {
-                        builder.append("'");
-
-                        // Append each string from set separated with comma
-                        value.forEach(val -> builder.append(val).append(","));
-
-                        // Take the last , out
-                        builder.deleteCharAt(builder.length() - 1);
-                        builder.append("'");
-                    }
-                } else {
-                    builder.append(statsData.get(weapon, stat));
-                }
-            }
-
-            batches[i] = builder.append(")").toString();
-
-            ++i;
-        }
-
-        // The i is actually incremented above +1 times
-        batches[i] = getPlayerStatReplaceString(playerWrapper);
-
-        return batches;
-    }
+        // This might be null if sync didn't occur...
+        if (statsData == null || !statsData.hasChanges())
+            return;
 
-    private String getPlayerStatReplaceString(PlayerWrapper playerWrapper) {
-        StatsData statsData = playerWrapper.getStatsData();
-        StringBuilder builder = new StringBuilder(generatedReplacePlayerStats);
-        PlayerStat[] array = PlayerStat.VALUES;
-        for (int i = 0; i < array.length; ++i) {
-            PlayerStat stat = array[i];
-            if (i != 0) {
-                builder.append(", ");
-            }
-            if (stat.getClassType() == String.class) {
-                Object value = statsData.get(stat);
-                if (value == null) {
-                    builder.append("NULL");
-                } else {
-                    builder.append("'")
-                        .append(value)
-                        .append("'");
-                }
-            } else {
-                builder.append(statsData.get(stat));
-            }
+        String uuid = playerWrapper.getPlayer().getUniqueId().toString();
+        if (!statsData.getChangedPlayerStats().isEmpty()) {
+            Object[] values = new Object[PlayerStat.VALUES.length];
+            for (PlayerStat stat : PlayerStat.VALUES)
+                values[stat.ordinal()] = toColumnValue(stat.getClassType(), statsData.get(stat));
+            writer.queue(StatsWriter.Row.player(uuid, values));
         }
-        return builder.append(")").toString();
-    }
-
-    private void generateReplaces() {
-        StringBuilder weaponBuilder = new StringBuilder("REPLACE INTO weapon_stats (");
 
-        WeaponStat[] weaponArray = WeaponStat.VALUES;
-        for (int i = 0; i < weaponArray.length; ++i) {
-            WeaponStat stat = weaponArray[i];
-            if (i != 0) {
-                weaponBuilder.append(", ");
-            }
-            weaponBuilder.append(stat.name());
+        for (String weapon : statsData.getChangedWeaponStats().keySet()) {
+            Object[] values = new Object[WeaponStat.VALUES.length];
+            for (WeaponStat stat : WeaponStat.VALUES)
+                values[stat.ordinal()] = toColumnValue(stat.getClassType(), statsData.get(weapon, stat));
+            writer.queue(StatsWriter.Row.weapon(uuid, weapon, values));
         }
 
-        weaponBuilder.append(") VALUES (");
-        generatedReplaceWeaponStats = weaponBuilder;
+        statsData.clearChanges();
+    }
 
-        StringBuilder playerBuilder = new StringBuilder("REPLACE INTO player_stats (");
+    private static Object toColumnValue(Class<?> type, Object value) {
+        if (type == Integer.class || type == Float.class)
+            return value;
+        if (value == null)
+            return null;
 
-        PlayerStat[] playerArray = PlayerStat.VALUES;
-        for (int i = 0; i < playerArray.length; ++i) {
-            PlayerStat stat = playerArray[i];
-            if (i != 0) {
-                playerBuilder.append(", ");
-            }
-            playerBuilder.append(stat.name());
-        }
+        // Sets are comma separated in database
+        if (value instanceof Set<?> set)
+            return set.isEmpty() ? null : set.stream().map(String::valueOf).collect(Collectors.joining(","));
 
-        playerBuilder.append(") VALUES (");
-        generatedReplacePlayerStats = playerBuilder;
+        return value.toString();
     }
 
     private void fetchAndInsertPlayerStats(Database database, UUID uuid, StatsData statsData) {
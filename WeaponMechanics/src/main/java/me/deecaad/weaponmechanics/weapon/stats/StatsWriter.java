@@ -0,0 +1,494 @@
+package me.deecaad.weaponmechanics.weapon.stats;
+
+import me.deecaad.core.database.Database;
+import me.deecaad.core.utils.LogLevel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * Writes stats to the database on its own thread (write-behind), so saving stats never blocks the
+ * main thread.
+ *
+ * <p>
+ * Rows are queued by {@link StatsHandler}, then the writer thread takes every queued row at once,
+ * and only keeps the newest row for each <code>(uuid, weapon)</code>. The rows are written using 1
+ * connection, in 1 transaction, using 1 {@link PreparedStatement} batch per table.
+ *
+ * <p>
+ * Stats are tracked per stat, but written per row. {@link StatsHandler} only queues the rows that
+ * have a changed stat, and every row contains the current value of every column (not the
+ * difference), so replacing the whole row is always correct, even when a row is written twice.
+ * Only writing the changed columns would need an upsert, which is written differently for MySQL
+ * (<code>ON DUPLICATE KEY UPDATE</code>) and SQLite (<code>ON CONFLICT DO UPDATE</code>, which
+ * the SQLite driver of older servers does not support). It would also need 1 statement for each
+ * combination of changed columns, which splits the batch.
+ *
+ * <p>
+ * Before rows are sent to the database, they are appended to a local journal file (and synced to
+ * the disk). The journal is cleared after the transaction commits. When the database is
+ * unreachable, the rows are kept (in memory and in the journal) and retried with the next write,
+ * or after a delay that doubles after every failure. If the server crashes, the journal is
+ * replayed by {@link #replayJournal()} the next time the database is set up.
+ */
+public class StatsWriter {
+
+    private static final long MIN_RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final Database database;
+    private final File journal;
+    private final String replaceWeaponStats;
+    private final String replacePlayerStats;
+
+    private final LinkedBlockingQueue<Row> queue;
+    private final AtomicInteger pendingRows;
+    private final Thread thread;
+    private volatile boolean running;
+
+    // Rows that could not be written. They stay in the journal until they
+    // are retried successfully. Only used while synchronized.
+    private final Map<RowKey, Row> failed;
+    private long retryDelay;
+    private long nextRetry;
+
+    /**
+     * Creates the writer. The thread is not started until {@link #start()} is called.
+     *
+     * @param database The non-null database to write to.
+     * @param journal The non-null journal file. Does not need to exist.
+     */
+    public StatsWriter(@NotNull Database database, @NotNull File journal) {
+        this.database = database;
+        this.journal = journal;
+        this.replaceWeaponStats = getReplaceString("weapon_stats", WeaponStat.VALUES);
+        this.replacePlayerStats = getReplaceString("player_stats", PlayerStat.VALUES);
+        this.queue = new LinkedBlockingQueue<>();
+        this.pendingRows = new AtomicInteger();
+        this.failed = new LinkedHashMap<>();
+        this.retryDelay = MIN_RETRY_DELAY;
+        this.thread = new Thread(this::runThread, "WeaponMechanics Stats Writer");
+        this.thread.setDaemon(true);
+    }
+
+    private static String getReplaceString(String table, Enum<?>[] stats) {
+        int columns = stats.length;
+        StringBuilder builder = new StringBuilder("REPLACE INTO ").append(table).append(" (");
+        for (int i = 0; i < columns; i++) {
+            if (i != 0)
+                builder.append(", ");
+            builder.append(stats[i].name());
+        }
+        builder.append(") VALUES (");
+        for (int i = 0; i < columns; i++) {
+            if (i != 0)
+                builder.append(", ");
+            builder.append('?');
+        }
+        return builder.append(')').toString();
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Returns the number of rows that are queued, but not written yet. Used to stop queueing
+     * periodic saves when the database can't keep up.
+     *
+     * @return The number of queued rows.
+     */
+    public int getPendingRows() {
+        return pendingRows.get();
+    }
+
+    /**
+     * Queues the given row to be written. A newer row for the same <code>(uuid, weapon)</code>
+     * replaces this row if it has not been written yet. Can be called from any thread.
+     *
+     * @param row The non-null row to write.
+     */
+    public void queue(@NotNull Row row) {
+        pendingRows.incrementAndGet();
+        queue.add(row);
+    }
+
+    /**
+     * Writes every queued row (and every row that failed before) on the calling thread, and waits
+     * until they are written.
+     */
+    public synchronized void flush() {
+        List<Row> rows = new ArrayList<>();
+        queue.drainTo(rows);
+        if (!rows.isEmpty() || !failed.isEmpty())
+            write(rows);
+    }
+
+    /**
+     * Stops the writer thread, then writes every queued row on the calling thread. Should be called
+     * before the database is closed.
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive())
+            debug.log(LogLevel.WARN, "Stats writer is taking a long time to write stats, writing the remaining stats anyway");
+
+        flush();
+    }
+
+    private void runThread() {
+        List<Row> rows = new ArrayList<>();
+        while (running) {
+            try {
+                Row first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    retry();
+                    continue;
+                }
+
+                rows.add(first);
+                queue.drainTo(rows);
+                write(rows);
+            } catch (InterruptedException e) {
+                // stop() was called, remaining rows are written by stop()
+                break;
+            } catch (Throwable ex) {
+                debug.log(LogLevel.ERROR, "Unhandled exception while writing stats", ex);
+            } finally {
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Retries the rows that failed before, when no new rows are queued to retry them with.
+     */
+    private synchronized void retry() {
+        if (!failed.isEmpty() && System.currentTimeMillis() >= nextRetry)
+            write(List.of());
+    }
+
+    /**
+     * Coalesces, journals, and writes the given rows, together with the rows that failed before.
+     * Synchronized since {@link #stop()} may write while the thread is still writing.
+     */
+    private synchronized void write(List<Row> rows) {
+        pendingRows.addAndGet(-rows.size());
+
+        // Newer rows replace older rows, since every row contains every column
+        Map<RowKey, Row> coalesced = new LinkedHashMap<>();
+        for (Row row : rows)
+            coalesced.put(new RowKey(row.uuid, row.weaponTitle), row);
+
+        // Rows that failed before are already in the journal
+        boolean journaled = coalesced.isEmpty() || appendJournal(coalesced.values());
+        Map<RowKey, Row> retried = coalesced;
+        if (!failed.isEmpty()) {
+            retried = new LinkedHashMap<>(failed);
+            retried.putAll(coalesced);
+        }
+
+        if (writeRows(retried.values())) {
+            failed.clear();
+            retryDelay = MIN_RETRY_DELAY;
+            clearJournal();
+            return;
+        }
+
+        if (!journaled)
+            debug.log(LogLevel.ERROR, "Failed to journal " + coalesced.size() + " stats rows, they will be lost if the server stops before the database is reachable");
+
+        failed.putAll(coalesced);
+        nextRetry = System.currentTimeMillis() + retryDelay;
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+    }
+
+    private boolean writeRows(Collection<Row> rows) {
+        Connection connection = null;
+        PreparedStatement weaponStatement = null;
+        PreparedStatement playerStatement = null;
+        try {
+            connection = database.getConnection();
+            connection.setAutoCommit(false);
+            weaponStatement = connection.prepareStatement(replaceWeaponStats);
+            playerStatement = connection.prepareStatement(replacePlayerStats);
+
+            boolean hasWeaponRows = false;
+            boolean hasPlayerRows = false;
+            for (Row row : rows) {
+                if (row.isWeaponRow()) {
+                    setParameters(weaponStatement, row.values, WeaponStat.VALUES);
+                    weaponStatement.addBatch();
+                    hasWeaponRows = true;
+                } else {
+                    setParameters(playerStatement, row.values, PlayerStat.VALUES);
+                    playerStatement.addBatch();
+                    hasPlayerRows = true;
+                }
+            }
+
+            if (hasWeaponRows)
+                weaponStatement.executeBatch();
+            if (hasPlayerRows)
+                playerStatement.executeBatch();
+
+            connection.commit();
+            connection.setAutoCommit(true);
+            return true;
+        } catch (SQLException e) {
+            debug.log(LogLevel.ERROR, "Failed to write stats to the database, they will be retried later", e);
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignore) {
+                    // The connection is likely broken, nothing else to do
+                }
+            }
+            return false;
+        } finally {
+            database.close(null, weaponStatement, null);
+            database.close(connection, playerStatement, null);
+        }
+    }
+
+    private static void setParameters(PreparedStatement statement, Object[] values, Enum<?>[] stats) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            Class<?> type = getClassType(stats[i]);
+            if (type == Integer.class) {
+                statement.setInt(i + 1, (Integer) value);
+            } else if (type == Float.class) {
+                statement.setFloat(i + 1, (Float) value);
+            } else if (value == null) {
+                statement.setNull(i + 1, Types.VARCHAR);
+            } else {
+                statement.setString(i + 1, (String) value);
+            }
+        }
+    }
+
+    private static Class<?> getClassType(Enum<?> stat) {
+        return stat instanceof WeaponStat weaponStat ? weaponStat.getClassType() : ((PlayerStat) stat).getClassType();
+    }
+
+    /**
+     * Appends the rows to the journal as 1 entry: <code>[length][rows][crc32]</code>. The checksum
+     * lets {@link #replayJournal()} ignore an entry that was only partially written.
+     */
+    private boolean appendJournal(Collection<Row> rows) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows.size() * 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(rows.size());
+            for (Row row : rows)
+                writeRow(out, row);
+            out.flush();
+
+            byte[] data = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(data);
+
+            try (FileOutputStream file = new FileOutputStream(journal, true); DataOutputStream fileOut = new DataOutputStream(file)) {
+                fileOut.writeInt(data.length);
+                fileOut.write(data);
+                fileOut.writeLong(crc.getValue());
+                fileOut.flush();
+                file.getFD().sync();
+            }
+            return true;
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to write stats journal " + journal, e);
+            return false;
+        }
+    }
+
+    private void clearJournal() {
+        if (journal.length() == 0)
+            return;
+
+        try (FileOutputStream ignore = new FileOutputStream(journal, false)) {
+            // Opening without append truncates the file
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to clear stats journal " + journal, e);
+        }
+    }
+
+    /**
+     * Writes every complete entry of the journal to the database, then clears the journal. Should
+     * be called before {@link #start()}. If the database is unreachable, the rows are retried by the
+     * writer thread instead.
+     *
+     * @return The number of rows replayed.
+     */
+    public synchronized int replayJournal() {
+        if (!journal.exists() || journal.length() == 0)
+            return 0;
+
+        Map<RowKey, Row> coalesced = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] data = new byte[length];
+                in.readFully(data);
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                if (crc.getValue() != in.readLong()) {
+                    debug.log(LogLevel.WARN, "Stats journal " + journal + " has a corrupted entry, skipping the rest of the journal");
+                    break;
+                }
+
+                DataInputStream entry = new DataInputStream(new ByteArrayInputStream(data));
+                int rows = entry.readInt();
+                for (int i = 0; i < rows; i++) {
+                    Row row = readRow(entry);
+                    coalesced.put(new RowKey(row.uuid, row.weaponTitle), row);
+                }
+            }
+        } catch (EOFException e) {
+            debug.log(LogLevel.WARN, "Stats journal " + journal + " ends with a partial entry (the server probably crashed), skipping it");
+        } catch (IOException e) {
+            debug.log(LogLevel.WARN, "Failed to read stats journal " + journal, e);
+            return 0;
+        }
+
+        if (!coalesced.isEmpty() && !writeRows(coalesced.values())) {
+            failed.putAll(coalesced);
+            nextRetry = System.currentTimeMillis() + retryDelay;
+            return 0;
+        }
+
+        clearJournal();
+        return coalesced.size();
+    }
+
+    private static void writeRow(DataOutputStream out, Row row) throws IOException {
+        out.writeBoolean(row.isWeaponRow());
+        Enum<?>[] stats = row.isWeaponRow() ? WeaponStat.VALUES : PlayerStat.VALUES;
+        for (int i = 0; i < stats.length; i++) {
+            Class<?> type = getClassType(stats[i]);
+            if (type == Integer.class) {
+                out.writeInt((Integer) row.values[i]);
+            } else if (type == Float.class) {
+                out.writeFloat((Float) row.values[i]);
+            } else {
+                writeString(out, (String) row.values[i]);
+            }
+        }
+    }
+
+    private static Row readRow(DataInputStream in) throws IOException {
+        boolean isWeaponRow = in.readBoolean();
+        Enum<?>[] stats = isWeaponRow ? WeaponStat.VALUES : PlayerStat.VALUES;
+        Object[] values = new Object[stats.length];
+        for (int i = 0; i < stats.length; i++) {
+            Class<?> type = getClassType(stats[i]);
+            if (type == Integer.class) {
+                values[i] = in.readInt();
+            } else if (type == Float.class) {
+                values[i] = in.readFloat();
+            } else {
+                values[i] = readString(in);
+            }
+        }
+
+        String uuid = (String) values[0];
+        return isWeaponRow ? Row.weapon(uuid, (String) values[WeaponStat.WEAPON_TITLE.ordinal()], values) : Row.player(uuid, values);
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @Nullable String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1)
+            return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record RowKey(String uuid, @Nullable String weaponTitle) {
+    }
+
+    /**
+     * 1 row of <code>player_stats</code> or <code>weapon_stats</code>. The values are in the same
+     * order as the stat enum, and are already converted to their column type: {@link Integer},
+     * {@link Float}, or a nullable {@link String}.
+     */
+    public static final class Row {
+
+        private final String uuid;
+        private final String weaponTitle;
+        private final Object[] values;
+
+        private Row(String uuid, String weaponTitle, Object[] values) {
+            this.uuid = uuid;
+            this.weaponTitle = weaponTitle;
+            this.values = values;
+        }
+
+        public static Row player(@NotNull String uuid, @NotNull Object[] values) {
+            if (values.length != PlayerStat.VALUES.length)
+                throw new IllegalArgumentException("Expected " + PlayerStat.VALUES.length + " values, got " + values.length);
+            return new Row(uuid, null, values);
+        }
+
+        public static Row weapon(@NotNull String uuid, @NotNull String weaponTitle, @NotNull Object[] values) {
+            if (values.length != WeaponStat.VALUES.length)
+                throw new IllegalArgumentException("Expected " + WeaponStat.VALUES.length + " values, got " + values.length);
+            return new Row(uuid, weaponTitle, values);
+        }
+
+        public boolean isWeaponRow() {
+            return weaponTitle != null;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static me.deecaad.weaponmechanics.WeaponMechanics.getConfigurations;
 import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponHandler;
+import static me.deecaad.weaponmechanics.WeaponMechanics.getWeaponProfile;
 
 public class AmmoTypeSwitchTriggerListener implements TriggerListener {
 
@@ -53,7 +54,7 @@ public class AmmoTypeSwitchTriggerListener implements TriggerListener {
         if (ammo.getSwitchMechanics() != null)
             ammo.getSwitchMechanics().use(new CastData(entityWrapper.getEntity(), weaponTitle, weaponStack));
 
-        WeaponInfoDisplay weaponInfoDisplay = getConfigurations().getObject(weaponTitle + ".Info.Weapon_Info_Display", WeaponInfoDisplay.class);
+        WeaponInfoDisplay weaponInfoDisplay = getWeaponProfile(weaponTitle).getWeaponInfoDisplay();
         if (weaponInfoDisplay != null)
             weaponInfoDisplay.send((PlayerWrapper) entityWrapper, slot);
 
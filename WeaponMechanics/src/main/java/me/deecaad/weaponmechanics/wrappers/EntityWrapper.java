@@ -1,6 +1,5 @@
 package me.deecaad.weaponmechanics.wrappers;
 
-import me.deecaad.core.file.Configuration;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.events.EntityToggleInMidairEvent;
 import me.deecaad.weaponmechanics.events.EntityToggleStandEvent;
@@ -14,6 +13,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Wraps a {@link LivingEntity} object to simplify per-entity data/methods that are used by
@@ -22,11 +22,9 @@ import org.jetbrains.annotations.NotNull;
  */
 public class EntityWrapper {
 
-    private static final int MOVE_TASK_INTERVAL = 1;
-
     private final LivingEntity entity;
 
-    private int moveTask;
+    private MoveTask moveTask;
     private boolean standing;
     private boolean walking;
     private boolean inMidair;
@@ -37,14 +35,10 @@ public class EntityWrapper {
     public EntityWrapper(LivingEntity livingEntity) {
         this.entity = livingEntity;
 
-        Configuration config = WeaponMechanics.getBasicConfigurations();
-        if (!config.getBool("Disabled_Trigger_Checks.In_Midair")
-            || !config.getBool("Disabled_Trigger_Checks.Standing_And_Walking")
-            || !config.getBool("Disabled_Trigger_Checks.Jump")
-            || !config.getBool("Disabled_Trigger_Checks.Double_Jump")) {
-
-            this.moveTask = new MoveTask(this).runTaskTimer(WeaponMechanics.getPlugin(), 0, MOVE_TASK_INTERVAL)
-                .getTaskId();
+        MoveTasksRunnable moveTasks = WeaponMechanics.getMoveTasksRunnable();
+        if (moveTasks.isEnabled()) {
+            this.moveTask = new MoveTask(this);
+            moveTasks.addTask(moveTask);
         }
     }
 
@@ -52,7 +46,13 @@ public class EntityWrapper {
         return this.entity;
     }
 
-    public int getMoveTaskId() {
+    /**
+     * Returns the task that checks the movement state of this entity, or <code>null</code> if every
+     * movement trigger is disabled in config.
+     *
+     * @return The move task, or null.
+     */
+    public @Nullable MoveTask getMoveTask() {
         return this.moveTask;
     }
 
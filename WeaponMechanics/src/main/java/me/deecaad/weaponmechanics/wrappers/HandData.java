@@ -1,5 +1,6 @@
 package me.deecaad.weaponmechanics.wrappers;
 
+import me.deecaad.core.mechanics.MechanicScheduler;
 import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.weapon.shoot.FullAutoTask;
 import me.deecaad.weaponmechanics.weapon.shoot.recoil.RecoilTask;
@@ -246,7 +247,7 @@ public class HandData {
     public void finishReload() {
         if (!reloadTasks.isEmpty()) {
             for (int task : reloadTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                MechanicScheduler.SINGLETON.cancelTask(task);
             }
             reloadTasks.clear();
 
@@ -260,7 +261,7 @@ public class HandData {
     public void stopReloadingTasks() {
         if (!reloadTasks.isEmpty()) {
             for (int task : reloadTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                MechanicScheduler.SINGLETON.cancelTask(task);
             }
             reloadTasks.clear();
 
@@ -332,7 +333,7 @@ public class HandData {
     public void stopFirearmActionTasks() {
         if (!firearmActionTasks.isEmpty()) {
             for (int task : firearmActionTasks) {
-                Bukkit.getScheduler().cancelTask(task);
+                MechanicScheduler.SINGLETON.cancelTask(task);
             }
             firearmActionTasks.clear();
         }
@@ -1,6 +1,8 @@
 package me.deecaad.weaponmechanics.wrappers;
 
 import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.EquipmentSlot;
 
 public class MessageHelper {
 
@@ -8,6 +10,18 @@ public class MessageHelper {
     private int bossBarTask;
     private int expTask;
 
+    // The last weapon info display values sent to the player, so unchanged
+    // values are not sent again.
+    private Component actionBar;
+    private long actionBarTime;
+    private float expProgress;
+    private int expLevel;
+
+    // Updates delayed by Weapon_Info_Display.Min_Millis_Between_Updates
+    private long lastUpdateTime;
+    private int updateTask;
+    private EquipmentSlot updateSlot;
+
     public BossBar getBossBar() {
         return bossBar;
     }
@@ -31,4 +45,65 @@ public class MessageHelper {
     public void setExpTask(int expTask) {
         this.expTask = expTask;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns <code>true</code> if the given action bar should be sent. Action bars that are the same
+     * as the last action bar are only sent after <code>resendMillis</code>, so they don't fade out.
+     * When this returns <code>true</code>, the action bar is remembered as the last action bar.
+     *
+     * @param actionBar The non-null action bar.
+     * @param now The current time, in milliseconds.
+     * @param resendMillis How often to send unchanged action bars.
+     * @return true if the action bar should be sent.
+     */
+    public boolean shouldSendActionBar(Component actionBar, long now, long resendMillis) {
+        if (actionBar.equals(this.actionBar) && now - actionBarTime < resendMillis)
+            return false;
+
+        this.actionBar = actionBar;
+        this.actionBarTime = now;
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if the given experience should be sent. Experience that is the same
+     * as the last experience is not sent while it is still shown (while {@link #getExpTask()} is
+     * set). When this returns <code>true</code>, the experience is remembered as the last experience.
+     *
+     * @param progress The experience bar progress.
+     * @param level The experience level.
+     * @return true if the experience should be sent.
+     */
+    public boolean shouldSendExp(float progress, int level) {
+        if (expTask != 0 && progress == expProgress && level == expLevel)
+            return false;
+
+        this.expProgress = progress;
+        this.expLevel = level;
+        return true;
+    }
+
+    public long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    public void setLastUpdateTime(long lastUpdateTime) {
+        this.lastUpdateTime = lastUpdateTime;
+    }
+
+    public int getUpdateTask() {
+        return updateTask;
+    }
+
+    public void setUpdateTask(int updateTask) {
+        this.updateTask = updateTask;
+    }
+
+    public EquipmentSlot getUpdateSlot() {
+        return updateSlot;
+    }
+
+    public void setUpdateSlot(EquipmentSlot updateSlot) {
+        this.updateSlot = updateSlot;
+    }
+}
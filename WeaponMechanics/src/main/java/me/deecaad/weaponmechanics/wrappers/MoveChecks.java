@@ -0,0 +1,55 @@
+package me.deecaad.weaponmechanics.wrappers;
+
+import me.deecaad.core.file.Configuration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The <code>Disabled_Trigger_Checks</code> from config.yml that are used by {@link MoveTask}.
+ * These values are read once, instead of every tick for every entity.
+ */
+final class MoveChecks {
+
+    private final boolean swim;
+    private final boolean standingAndWalking;
+    private final boolean inMidair;
+    private final boolean jump;
+    private final boolean doubleJump;
+
+    MoveChecks(@NotNull Configuration config) {
+        this.swim = !config.getBool("Disabled_Trigger_Checks.Swim");
+        this.standingAndWalking = !config.getBool("Disabled_Trigger_Checks.Standing_And_Walking");
+        this.inMidair = !config.getBool("Disabled_Trigger_Checks.In_Midair");
+        this.jump = !config.getBool("Disabled_Trigger_Checks.Jump");
+        this.doubleJump = !config.getBool("Disabled_Trigger_Checks.Double_Jump");
+    }
+
+    /**
+     * Returns <code>true</code> if entities need a {@link MoveTask}.
+     *
+     * @return true if any of the move checks are enabled.
+     */
+    boolean isAnyEnabled() {
+        // Swim is only checked when one of the others is enabled
+        return inMidair || standingAndWalking || jump || doubleJump;
+    }
+
+    boolean isSwim() {
+        return swim;
+    }
+
+    boolean isStandingAndWalking() {
+        return standingAndWalking;
+    }
+
+    boolean isInMidair() {
+        return inMidair;
+    }
+
+    boolean isJump() {
+        return jump;
+    }
+
+    boolean isDoubleJump() {
+        return doubleJump;
+    }
+}
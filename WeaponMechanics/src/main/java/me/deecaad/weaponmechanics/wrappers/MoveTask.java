@@ -4,7 +4,6 @@ import me.deecaad.core.compatibility.CompatibilityAPI;
 import me.deecaad.core.compatibility.HitBox;
 import me.deecaad.core.compatibility.block.BlockCompatibility;
 import me.deecaad.core.utils.MinecraftVersions;
-import me.deecaad.weaponmechanics.WeaponMechanics;
 import me.deecaad.weaponmechanics.events.PlayerJumpEvent;
 import me.deecaad.weaponmechanics.weapon.weaponevents.WeaponStopShootingEvent;
 import org.bukkit.Bukkit;
@@ -18,9 +17,12 @@ import org.bukkit.block.data.Waterlogged;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
-import org.bukkit.scheduler.BukkitRunnable;
 
-public class MoveTask extends BukkitRunnable {
+/**
+ * Checks the movement state (standing, walking, swimming, jumping, etc.) of 1 entity. Move tasks
+ * are not scheduled by themselves, {@link MoveTasksRunnable} runs every move task from 1 task.
+ */
+public class MoveTask {
 
     private final EntityWrapper entityWrapper;
     private Location from;
@@ -28,6 +30,10 @@ public class MoveTask extends BukkitRunnable {
     private int jumps;
     private int groundTicks;
 
+    // Used by MoveTasksRunnable
+    int slot;
+    private boolean cancelled;
+
     public MoveTask(EntityWrapper entityWrapper) {
         this.entityWrapper = entityWrapper;
         LivingEntity entity = entityWrapper.getEntity();
@@ -39,8 +45,27 @@ public class MoveTask extends BukkitRunnable {
         }
     }
 
-    @Override
-    public void run() {
+    public EntityWrapper getEntityWrapper() {
+        return entityWrapper;
+    }
+
+    /**
+     * Stops this task, it will be removed from {@link MoveTasksRunnable} during its next run.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks the movement state of the entity.
+     *
+     * @param checks The non-null checks that are not disabled in config.
+     */
+    void run(MoveChecks checks) {
         LivingEntity entity = entityWrapper.getEntity();
         if (entity == null || !entity.isValid() || entity.isDead()) { // Just an extra check in case something odd happened
 
@@ -59,7 +84,7 @@ public class MoveTask extends BukkitRunnable {
 
         this.from = to;
 
-        if (!WeaponMechanics.getBasicConfigurations().getBool("Disabled_Trigger_Checks.Swim")) {
+        if (checks.isSwim()) {
             if (isSwimming(entity)) {
                 entityWrapper.setSwimming(true);
 
@@ -72,7 +97,7 @@ public class MoveTask extends BukkitRunnable {
 
         boolean inMidairCheck = isInMidair(entity);
 
-        if (!WeaponMechanics.getBasicConfigurations().getBool("Disabled_Trigger_Checks.Standing_And_Walking")) {
+        if (checks.isStandingAndWalking()) {
             if (isSameLocationNonRotation(from, to)) {
                 ++this.sameMatches;
             } else {
@@ -98,7 +123,7 @@ public class MoveTask extends BukkitRunnable {
             ++groundTicks;
         }
 
-        if (!WeaponMechanics.getBasicConfigurations().getBool("Disabled_Trigger_Checks.In_Midair")) {
+        if (checks.isInMidair()) {
             entityWrapper.setInMidair(inMidairCheck);
         }
 
@@ -107,7 +132,7 @@ public class MoveTask extends BukkitRunnable {
         }
 
         if (this.jumps != -1) {
-            if (!WeaponMechanics.getBasicConfigurations().getBool("Disabled_Trigger_Checks.Jump")) {
+            if (checks.isJump()) {
                 if (from.getY() < to.getY() && !player.getLocation().getBlock().isLiquid()) {
                     int currentJumps = player.getStatistic(Statistic.JUMP);
                     int jumpsLast = this.jumps;
@@ -122,7 +147,7 @@ public class MoveTask extends BukkitRunnable {
             }
         }
 
-        if (!WeaponMechanics.getBasicConfigurations().getBool("Disabled_Trigger_Checks.Double_Jump")
+        if (checks.isDoubleJump()
             && (player.getGameMode() == GameMode.SURVIVAL || player.getGameMode() == GameMode.ADVENTURE)) {
             if (player.getFallDistance() > 3.0) {
                 // https://minecraft.gamepedia.com/Damage#Fall_damage
@@ -0,0 +1,132 @@
+package me.deecaad.weaponmechanics.wrappers;
+
+import me.deecaad.core.file.Configuration;
+import me.deecaad.core.utils.LogLevel;
+import me.deecaad.weaponmechanics.WeaponMechanics;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.deecaad.weaponmechanics.WeaponMechanics.debug;
+
+/**
+ * Runs the {@link MoveTask} of every {@link EntityWrapper} from 1 task, instead of scheduling a
+ * task for every entity. The <code>Disabled_Trigger_Checks</code> are read from config once.
+ *
+ * <p>
+ * Players are checked every tick. Other entities can be spread across multiple ticks using
+ * <code>Mob_Trigger_Check_Spread</code> in config.yml. With a spread of 4, each entity is checked
+ * every 4th tick, so 1/4 of the entities are checked each tick.
+ */
+public class MoveTasksRunnable extends BukkitRunnable {
+
+    private final List<MoveTask> players;
+    private final List<MoveTask> entities;
+    private MoveChecks checks;
+    private int spread;
+    private int nextSlot;
+    private int currentTick;
+
+    /**
+     * Initializes and registers this runnable. WeaponMechanics initializes one of these by default,
+     * use {@link WeaponMechanics#getMoveTasksRunnable()}.
+     *
+     * @param plugin The non-null plugin.
+     */
+    public MoveTasksRunnable(Plugin plugin) {
+        players = new ArrayList<>();
+        entities = new ArrayList<>();
+
+        runTaskTimer(plugin, 0, 1);
+    }
+
+    /**
+     * Returns the checks from config, reading them if they have not been read yet. Config is read
+     * lazily since this runnable is created before config.yml is loaded during a reload.
+     */
+    MoveChecks getChecks() {
+        if (checks == null) {
+            Configuration config = WeaponMechanics.getBasicConfigurations();
+            checks = new MoveChecks(config);
+            spread = Math.max(1, config.getInt("Mob_Trigger_Check_Spread", 1));
+        }
+        return checks;
+    }
+
+    /**
+     * Returns <code>true</code> if entities need a {@link MoveTask}, which is <code>false</code>
+     * when every movement trigger is disabled in config.
+     *
+     * @return true if move tasks are used.
+     */
+    public boolean isEnabled() {
+        return getChecks().isAnyEnabled();
+    }
+
+    /**
+     * Adds the given task to be run every tick (or every few ticks for non-player entities). Use
+     * {@link MoveTask#cancel()} to remove the task.
+     *
+     * @param task The non-null task to add.
+     */
+    public void addTask(@NotNull MoveTask task) {
+        getChecks();
+        if (task.getEntityWrapper().isPlayer()) {
+            players.add(task);
+        } else {
+            task.slot = nextSlot;
+            nextSlot = (nextSlot + 1) % spread;
+            entities.add(task);
+        }
+    }
+
+    /**
+     * Returns the number of tasks, including tasks that were cancelled since the last run.
+     *
+     * @return The number of move tasks.
+     */
+    public int getTaskCount() {
+        return players.size() + entities.size();
+    }
+
+    @Override
+    public void run() {
+        MoveChecks checks = getChecks();
+        int phase = currentTick;
+        currentTick = (currentTick + 1) % spread;
+
+        runTasks(players, checks, -1);
+        runTasks(entities, checks, phase);
+    }
+
+    /**
+     * Runs the tasks in the slot <code>phase</code> (or every task when <code>phase</code> is -1),
+     * and removes cancelled tasks without changing the order of the other tasks.
+     */
+    private static void runTasks(List<MoveTask> tasks, MoveChecks checks, int phase) {
+        int size = tasks.size();
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            MoveTask task = tasks.get(read);
+            if (!task.isCancelled() && (phase == -1 || task.slot == phase)) {
+                try {
+                    task.run(checks);
+                } catch (Throwable ex) {
+                    debug.log(LogLevel.WARN, "Failed to check movement of " + task.getEntityWrapper().getEntity(), ex);
+                }
+            }
+
+            if (!task.isCancelled())
+                tasks.set(write++, task);
+        }
+
+        // Tasks may be added while running other tasks (For example, by an event)
+        for (int read = size; read < tasks.size(); read++)
+            tasks.set(write++, tasks.get(read));
+
+        tasks.subList(write, tasks.size()).clear();
+    }
+}
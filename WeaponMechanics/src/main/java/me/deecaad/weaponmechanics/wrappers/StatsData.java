@@ -4,15 +4,61 @@ import me.deecaad.weaponmechanics.weapon.stats.PlayerStat;
 import me.deecaad.weaponmechanics.weapon.stats.WeaponStat;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 import static org.bukkit.ChatColor.*;
 
+/**
+ * Holds the player stats, and the weapon stats of every weapon, of 1 player.
+ *
+ * <p>
+ * Stats are stored in primitive arrays indexed by the stat's ordinal (see {@link Stats}), so
+ * updating an int or float stat doesn't box or allocate. Weapon titles are interned to an int id
+ * shared by every player, and each player stores their weapons in an array indexed by that id.
+ * Prefer the typed methods, like {@link #getInt(String, WeaponStat)}, over the {@link Object}
+ * methods when the type of the stat is known.
+ */
 public class StatsData {
 
+    // Weapon title -> id. Ids are never removed, so they stay valid through reloads.
+    private static final Map<String, Integer> WEAPON_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_WEAPON_ID = new AtomicInteger();
+
+    // Stat ordinal -> index in the array matching the stat's type
+    private static final int[] PLAYER_SLOTS = new int[PlayerStat.VALUES.length];
+    private static final int[] WEAPON_SLOTS = new int[WeaponStat.VALUES.length];
+    private static final int PLAYER_INTS, PLAYER_FLOATS, PLAYER_OBJECTS;
+    private static final int WEAPON_INTS, WEAPON_FLOATS, WEAPON_OBJECTS;
+
+    static {
+        // Present and changed stats are stored as bits of a long
+        if (PlayerStat.VALUES.length > Long.SIZE || WeaponStat.VALUES.length > Long.SIZE)
+            throw new IllegalStateException("Too many stats to fit in a long");
+
+        int ints = 0, floats = 0, objects = 0;
+        for (PlayerStat stat : PlayerStat.VALUES) {
+            Class<?> type = stat.getClassType();
+            PLAYER_SLOTS[stat.ordinal()] = type == Integer.class ? ints++ : type == Float.class ? floats++ : objects++;
+        }
+        PLAYER_INTS = ints;
+        PLAYER_FLOATS = floats;
+        PLAYER_OBJECTS = objects;
+
+        ints = floats = objects = 0;
+        for (WeaponStat stat : WeaponStat.VALUES) {
+            Class<?> type = stat.getClassType();
+            WEAPON_SLOTS[stat.ordinal()] = type == Integer.class ? ints++ : type == Float.class ? floats++ : objects++;
+        }
+        WEAPON_INTS = ints;
+        WEAPON_FLOATS = floats;
+        WEAPON_OBJECTS = objects;
+    }
+
     private final UUID uuid;
-    private Map<PlayerStat, Object> playerData;
-    private Map<String, Map<WeaponStat, Object>> weaponData;
+    private Stats playerData;
+    private Stats[] weaponData;
     private boolean isSync;
 
     public StatsData(UUID uuid) {
@@ -35,9 +81,9 @@ public class StatsData {
     public void add(PlayerStat stat, int data) {
         if (!isSync)
             return;
-        if (!stat.getClassType().isInstance(data))
+        if (stat.getClassType() != Integer.class)
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        playerData.compute(stat, (key, value) -> value == null ? data : (int) value + data);
+        playerData.addInt(stat.ordinal(), PLAYER_SLOTS[stat.ordinal()], data);
     }
 
     /**
@@ -49,9 +95,9 @@ public class StatsData {
     public void add(PlayerStat stat, float data) {
         if (!isSync)
             return;
-        if (!stat.getClassType().isInstance(data))
+        if (stat.getClassType() != Float.class)
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        playerData.compute(stat, (key, value) -> value == null ? data : (float) value + data);
+        playerData.addFloat(stat.ordinal(), PLAYER_SLOTS[stat.ordinal()], data);
     }
 
     /**
@@ -65,7 +111,31 @@ public class StatsData {
             return;
         if (!stat.getClassType().isInstance(data))
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        playerData.put(stat, data);
+        playerData.setObject(stat.ordinal(), PLAYER_SLOTS[stat.ordinal()], data);
+    }
+
+    /**
+     * Returns the int value of the player stat, or 0 when it isn't synced or has no value.
+     *
+     * @param stat the integer player stat
+     * @return the value of the stat
+     */
+    public int getInt(PlayerStat stat) {
+        if (stat.getClassType() != Integer.class)
+            throw new IllegalArgumentException("Stat " + stat + " is not an integer");
+        return isSync ? playerData.ints[PLAYER_SLOTS[stat.ordinal()]] : 0;
+    }
+
+    /**
+     * Returns the float value of the player stat, or 0 when it isn't synced or has no value.
+     *
+     * @param stat the float player stat
+     * @return the value of the stat
+     */
+    public float getFloat(PlayerStat stat) {
+        if (stat.getClassType() != Float.class)
+            throw new IllegalArgumentException("Stat " + stat + " is not a float");
+        return isSync ? playerData.floats[PLAYER_SLOTS[stat.ordinal()]] : 0f;
     }
 
     /**
@@ -91,7 +161,7 @@ public class StatsData {
             return defaultValue;
         if (stat == PlayerStat.UUID)
             return uuid;
-        return playerData.getOrDefault(stat, defaultValue);
+        return playerData.get(stat.ordinal(), PLAYER_SLOTS[stat.ordinal()], stat.getClassType(), defaultValue);
     }
 
     /**
@@ -105,10 +175,9 @@ public class StatsData {
     public void add(String weaponTitle, WeaponStat stat, int data) {
         if (!isSync)
             return;
-        if (!stat.getClassType().isInstance(data))
+        if (stat.getClassType() != Integer.class)
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        weaponData.putIfAbsent(weaponTitle, new HashMap<>());
-        weaponData.get(weaponTitle).compute(stat, (key, value) -> value == null ? data : (int) value + data);
+        getOrCreate(weaponTitle).addInt(stat.ordinal(), WEAPON_SLOTS[stat.ordinal()], data);
     }
 
     /**
@@ -122,16 +191,36 @@ public class StatsData {
     public void add(String weaponTitle, WeaponStat stat, float data) {
         if (!isSync)
             return;
-        if (!stat.getClassType().isInstance(data))
+        if (stat.getClassType() != Float.class)
+            throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
+        getOrCreate(weaponTitle).addFloat(stat.ordinal(), WEAPON_SLOTS[stat.ordinal()], data);
+    }
+
+    /**
+     * Sets the weapon's weapon stat to the given value if it is larger than the current value (or
+     * if there is no value yet). Doesn't do anything if this hasn't yet been synced with database.
+     * Useful for stats like longest distance hit.
+     *
+     * @param weaponTitle the weapon title
+     * @param stat the float stat
+     * @param data the new value
+     */
+    public void max(String weaponTitle, WeaponStat stat, float data) {
+        if (!isSync)
+            return;
+        if (stat.getClassType() != Float.class)
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        weaponData.putIfAbsent(weaponTitle, new HashMap<>());
-        weaponData.get(weaponTitle).compute(stat, (key, value) -> value == null ? data : (float) value + data);
+        Stats stats = getOrCreate(weaponTitle);
+        int ordinal = stat.ordinal();
+        int slot = WEAPON_SLOTS[ordinal];
+        if (!stats.isPresent(ordinal) || data > stats.floats[slot])
+            stats.setFloat(ordinal, slot, data);
     }
 
     /**
      * Set given data to weapon's weapon stat using BiFunction. Doesn't do anything if this hasn't yet
      * been synced with database. Useful when you want to update stat's value conditionally (e.g.
-     * longest distance hit)
+     * longest distance hit). Prefer {@link #max(String, WeaponStat, float)}, which doesn't allocate.
      *
      * @param weaponTitle the weapon title
      * @param stat the stat
@@ -140,8 +229,16 @@ public class StatsData {
     public void set(String weaponTitle, WeaponStat stat, BiFunction<WeaponStat, Object, Float> compute) {
         if (!isSync)
             return;
-        weaponData.putIfAbsent(weaponTitle, new HashMap<>());
-        weaponData.get(weaponTitle).compute(stat, compute);
+        if (stat.getClassType() != Float.class)
+            throw new IllegalArgumentException("Tried to compute float for stat " + stat);
+        Stats stats = getOrCreate(weaponTitle);
+        int ordinal = stat.ordinal();
+        int slot = WEAPON_SLOTS[ordinal];
+        Float value = compute.apply(stat, stats.isPresent(ordinal) ? stats.floats[slot] : null);
+        if (value == null)
+            stats.removeFloat(ordinal, slot);
+        else
+            stats.setFloat(ordinal, slot, value);
     }
 
     /**
@@ -157,8 +254,7 @@ public class StatsData {
             return;
         if (!stat.getClassType().isInstance(data))
             throw new IllegalArgumentException("Tried to give invalid data for stat " + stat + " " + data);
-        weaponData.putIfAbsent(weaponTitle, new HashMap<>());
-        weaponData.get(weaponTitle).put(stat, data);
+        getOrCreate(weaponTitle).setObject(stat.ordinal(), WEAPON_SLOTS[stat.ordinal()], data);
     }
 
     /**
@@ -169,19 +265,22 @@ public class StatsData {
      * @param stat the stat
      * @param data the data to add
      */
+    @SuppressWarnings("unchecked")
     public void addToSet(String weaponTitle, WeaponStat stat, String data) {
         if (!isSync)
             return;
         if (stat.getClassType() != Set.class)
             throw new IllegalArgumentException("Tried to add to set when stat wasn't set " + stat + " " + data);
-        weaponData.putIfAbsent(weaponTitle, new HashMap<>());
-        Map<WeaponStat, Object> dataMap = weaponData.get(weaponTitle);
-        Object mapData = dataMap.get(stat);
-        if (mapData == null) {
-            dataMap.put(stat, new HashSet<>(Collections.singleton(data)));
-            return;
+        Stats stats = getOrCreate(weaponTitle);
+        int ordinal = stat.ordinal();
+        int slot = WEAPON_SLOTS[ordinal];
+        Set<String> set = (Set<String>) stats.objects[slot];
+        if (set == null) {
+            set = new HashSet<>();
+            stats.setObject(ordinal, slot, set);
         }
-        ((Set<String>) mapData).add(data);
+        set.add(data);
+        stats.changed |= 1L << ordinal;
     }
 
     /**
@@ -192,25 +291,126 @@ public class StatsData {
      * @param stat the stat
      * @param data the data to remove
      */
+    @SuppressWarnings("unchecked")
     public void removeFromSet(String weaponTitle, WeaponStat stat, String data) {
         if (!isSync)
             return;
         if (stat.getClassType() != Set.class)
             throw new IllegalArgumentException("Tried to remove from set when stat wasn't set " + stat + " " + data);
-        Map<WeaponStat, Object> dataMap = weaponData.get(weaponTitle);
-        if (dataMap == null || !dataMap.containsKey(stat))
+        Stats stats = getWeapon(weaponTitle);
+        if (stats == null)
+            return;
+        Set<String> set = (Set<String>) stats.objects[WEAPON_SLOTS[stat.ordinal()]];
+        if (set != null && set.remove(data))
+            stats.changed |= 1L << stat.ordinal();
+    }
+
+    /**
+     * Returns the int value of the weapon's weapon stat, or 0 when it isn't synced or has no value.
+     *
+     * @param weaponTitle the weapon title
+     * @param stat the integer weapon stat
+     * @return the value of the stat
+     */
+    public int getInt(String weaponTitle, WeaponStat stat) {
+        if (stat.getClassType() != Integer.class)
+            throw new IllegalArgumentException("Stat " + stat + " is not an integer");
+        Stats stats = isSync ? getWeapon(weaponTitle) : null;
+        return stats == null ? 0 : stats.ints[WEAPON_SLOTS[stat.ordinal()]];
+    }
+
+    /**
+     * Returns the float value of the weapon's weapon stat, or 0 when it isn't synced or has no value.
+     *
+     * @param weaponTitle the weapon title
+     * @param stat the float weapon stat
+     * @return the value of the stat
+     */
+    public float getFloat(String weaponTitle, WeaponStat stat) {
+        if (stat.getClassType() != Float.class)
+            throw new IllegalArgumentException("Stat " + stat + " is not a float");
+        Stats stats = isSync ? getWeapon(weaponTitle) : null;
+        return stats == null ? 0f : stats.floats[WEAPON_SLOTS[stat.ordinal()]];
+    }
+
+    /**
+     * Returns <code>true</code> if any stat was changed since {@link #clearChanges()} was last
+     * called. Only changed stats need to be saved to the database.
+     *
+     * @return true if there are unsaved changes.
+     */
+    public boolean hasChanges() {
+        if (!isSync)
+            return false;
+        if (playerData.changed != 0)
+            return true;
+        for (Stats stats : weaponData) {
+            if (stats != null && stats.changed != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return a copy of the player stats changed since the last save
+     */
+    public Set<PlayerStat> getChangedPlayerStats() {
+        Set<PlayerStat> changed = EnumSet.noneOf(PlayerStat.class);
+        if (!isSync)
+            return changed;
+        for (PlayerStat stat : PlayerStat.VALUES) {
+            if ((playerData.changed & (1L << stat.ordinal())) != 0)
+                changed.add(stat);
+        }
+        return changed;
+    }
+
+    /**
+     * @return a copy of the weapon titles, and their weapon stats, changed since the last save
+     */
+    public Map<String, Set<WeaponStat>> getChangedWeaponStats() {
+        Map<String, Set<WeaponStat>> changed = new LinkedHashMap<>();
+        if (!isSync)
+            return changed;
+        for (Stats stats : weaponData) {
+            if (stats == null || stats.changed == 0)
+                continue;
+            Set<WeaponStat> set = EnumSet.noneOf(WeaponStat.class);
+            for (WeaponStat stat : WeaponStat.VALUES) {
+                if ((stats.changed & (1L << stat.ordinal())) != 0)
+                    set.add(stat);
+            }
+            changed.put(stats.weaponTitle, set);
+        }
+        return changed;
+    }
+
+    /**
+     * Marks every stat as saved. Should be called after the changed stats were sent to the
+     * database.
+     */
+    public void clearChanges() {
+        if (!isSync)
             return;
-        Set<String> dataSet = (Set<String>) dataMap.get(stat);
-        dataSet.remove(data);
+        playerData.changed = 0;
+        for (Stats stats : weaponData) {
+            if (stats != null)
+                stats.changed = 0;
+        }
     }
 
     /**
-     * @return the weapon titles which have some data saved, null if not synced yet
+     * @return a copy of the weapon titles which have some data saved, null if not synced yet
      */
     public Set<String> getWeapons() {
         if (!isSync)
             return null;
-        return weaponData.keySet();
+        Set<String> weapons = new LinkedHashSet<>();
+        for (Stats stats : weaponData) {
+            if (stats != null)
+                weapons.add(stats.weaponTitle);
+        }
+        return weapons;
     }
 
     /**
@@ -241,11 +441,11 @@ public class StatsData {
         if (stat == WeaponStat.WEAPON_TITLE)
             return weaponTitle;
 
-        Map<WeaponStat, Object> data = weaponData.get(weaponTitle);
-        if (data == null)
+        Stats stats = getWeapon(weaponTitle);
+        if (stats == null)
             return defaultValue;
 
-        return data.getOrDefault(stat, defaultValue);
+        return stats.get(stat.ordinal(), WEAPON_SLOTS[stat.ordinal()], stat.getClassType(), defaultValue);
     }
 
     /**
@@ -263,19 +463,33 @@ public class StatsData {
         if (weaponData == null)
             throw new IllegalArgumentException("Tried to set null value for weapon data");
 
-        this.playerData = playerData;
-        this.weaponData = weaponData;
+        Stats player = new Stats(null, PLAYER_INTS, PLAYER_FLOATS, PLAYER_OBJECTS);
+        for (Map.Entry<PlayerStat, Object> entry : playerData.entrySet()) {
+            int ordinal = entry.getKey().ordinal();
+            player.load(ordinal, PLAYER_SLOTS[ordinal], entry.getValue());
+        }
+
+        this.playerData = player;
+        this.weaponData = new Stats[NEXT_WEAPON_ID.get()];
+        for (Map.Entry<String, Map<WeaponStat, Object>> weapon : weaponData.entrySet()) {
+            Stats stats = getOrCreate(weapon.getKey());
+            for (Map.Entry<WeaponStat, Object> entry : weapon.getValue().entrySet()) {
+                int ordinal = entry.getKey().ordinal();
+                stats.load(ordinal, WEAPON_SLOTS[ordinal], entry.getValue());
+            }
+        }
         isSync = true;
     }
 
     public List<String> getPlayerData() {
         if (!isSync)
             return null;
-        if (playerData.isEmpty())
+        if (playerData.present == 0)
             return null;
         List<String> data = new ArrayList<>();
-        for (Map.Entry<PlayerStat, Object> entry : playerData.entrySet()) {
-            data.add("" + GOLD + entry.getKey() + ": " + GRAY + entry.getValue());
+        for (PlayerStat stat : PlayerStat.VALUES) {
+            if (playerData.isPresent(stat.ordinal()))
+                data.add("" + GOLD + stat + ": " + GRAY + get(stat));
         }
         return data;
     }
@@ -283,21 +497,145 @@ public class StatsData {
     public List<String> getWeaponData(String weapon) {
         if (!isSync)
             return null;
-        Map<WeaponStat, Object> data = weaponData.get(weapon);
-        if (data == null || data.isEmpty())
+        Stats stats = getWeapon(weapon);
+        if (stats == null || stats.present == 0)
             return null;
         List<String> dataList = new ArrayList<>();
-        for (Map.Entry<WeaponStat, Object> entry : data.entrySet()) {
-            dataList.add("" + GOLD + entry.getKey() + ": " + GRAY + entry.getValue());
+        for (WeaponStat stat : WeaponStat.VALUES) {
+            if (stats.isPresent(stat.ordinal()))
+                dataList.add("" + GOLD + stat + ": " + GRAY + get(weapon, stat));
         }
         return dataList;
     }
 
+    private Stats getWeapon(String weaponTitle) {
+        Integer id = WEAPON_IDS.get(weaponTitle);
+        if (id == null || id >= weaponData.length)
+            return null;
+        return weaponData[id];
+    }
+
+    private Stats getOrCreate(String weaponTitle) {
+        Integer id = WEAPON_IDS.get(weaponTitle);
+        if (id == null)
+            id = WEAPON_IDS.computeIfAbsent(weaponTitle, key -> NEXT_WEAPON_ID.getAndIncrement());
+
+        if (id >= weaponData.length)
+            weaponData = Arrays.copyOf(weaponData, Math.max(id + 1, NEXT_WEAPON_ID.get()));
+
+        Stats stats = weaponData[id];
+        if (stats == null) {
+            stats = new Stats(weaponTitle, WEAPON_INTS, WEAPON_FLOATS, WEAPON_OBJECTS);
+            weaponData[id] = stats;
+        }
+        return stats;
+    }
+
     @Override
     public String toString() {
-        return "StatsData{" +
-            "playerData=" + playerData +
-            ", weaponData=" + weaponData +
-            '}';
+        StringBuilder builder = new StringBuilder("StatsData{playerData={");
+        if (isSync) {
+            for (PlayerStat stat : PlayerStat.VALUES) {
+                if (playerData.isPresent(stat.ordinal()))
+                    builder.append(stat).append('=').append(get(stat)).append(", ");
+            }
+        }
+        builder.append("}, weaponData={");
+        if (isSync) {
+            for (Stats stats : weaponData) {
+                if (stats == null)
+                    continue;
+                builder.append(stats.weaponTitle).append("={");
+                for (WeaponStat stat : WeaponStat.VALUES) {
+                    if (stats.isPresent(stat.ordinal()))
+                        builder.append(stat).append('=').append(get(stats.weaponTitle, stat)).append(", ");
+                }
+                builder.append("}, ");
+            }
+        }
+        return builder.append("}}").toString();
+    }
+
+    /**
+     * The stats of the player, or of 1 weapon. Values are split by type into primitive arrays, and
+     * a stat's index in its array is found using {@link #PLAYER_SLOTS} or {@link #WEAPON_SLOTS}.
+     * Bit <code>ordinal</code> of {@link #present} is set when the stat has a value, and of
+     * {@link #changed} when the value changed since the last save.
+     */
+    private static final class Stats {
+
+        private final String weaponTitle;
+        private final int[] ints;
+        private final float[] floats;
+        private final Object[] objects;
+        private long present;
+        private long changed;
+
+        Stats(String weaponTitle, int ints, int floats, int objects) {
+            this.weaponTitle = weaponTitle;
+            this.ints = new int[ints];
+            this.floats = new float[floats];
+            this.objects = new Object[objects];
+        }
+
+        boolean isPresent(int ordinal) {
+            return (present & (1L << ordinal)) != 0;
+        }
+
+        void addInt(int ordinal, int slot, int data) {
+            ints[slot] += data;
+            mark(ordinal);
+        }
+
+        void addFloat(int ordinal, int slot, float data) {
+            floats[slot] += data;
+            mark(ordinal);
+        }
+
+        void setFloat(int ordinal, int slot, float data) {
+            floats[slot] = data;
+            mark(ordinal);
+        }
+
+        void setObject(int ordinal, int slot, Object data) {
+            objects[slot] = data;
+            mark(ordinal);
+        }
+
+        void removeFloat(int ordinal, int slot) {
+            long bit = 1L << ordinal;
+            floats[slot] = 0f;
+            present &= ~bit;
+            changed |= bit;
+        }
+
+        Object get(int ordinal, int slot, Class<?> type, Object defaultValue) {
+            if (!isPresent(ordinal))
+                return defaultValue;
+            if (type == Integer.class)
+                return ints[slot];
+            if (type == Float.class)
+                return floats[slot];
+            return objects[slot];
+        }
+
+        /**
+         * Sets a value read from the database, without marking it as changed.
+         */
+        void load(int ordinal, int slot, Object data) {
+            if (data instanceof Integer value)
+                ints[slot] = value;
+            else if (data instanceof Float value)
+                floats[slot] = value;
+            else
+                objects[slot] = data;
+            present |= 1L << ordinal;
+        }
+
+        private void mark(int ordinal) {
+            long bit = 1L << ordinal;
+            present |= bit;
+            changed |= bit;
+        }
     }
-}
\ No newline at end of file
+}